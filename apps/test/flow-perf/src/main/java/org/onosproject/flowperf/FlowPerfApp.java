@@ -167,7 +167,8 @@ public class FlowPerfApp {
         } catch (InterruptedException e) {
             Thread.interrupted();
         }
-        log.info("Time to install {} flows: {} ms", totalFlows, System.currentTimeMillis() - addStartTime);
+        long addTime = System.currentTimeMillis() - addStartTime;
+        log.info("Time to install {} flows: {} ms ({} flows/s)", totalFlows, addTime, rate(totalFlows, addTime));
         flowRuleService.removeListener(addMonitor);
 
 
@@ -194,10 +195,16 @@ public class FlowPerfApp {
         } catch (InterruptedException e) {
             Thread.interrupted();
         }
-        log.info("Time to uninstall {} flows: {} ms", totalFlows, System.currentTimeMillis() - removeStartTime);
+        long removeTime = System.currentTimeMillis() - removeStartTime;
+        log.info("Time to uninstall {} flows: {} ms ({} flows/s)", totalFlows, removeTime,
+                 rate(totalFlows, removeTime));
         flowRuleService.removeListener(removeListener);
     }
 
+    private static long rate(int flows, long millis) {
+        return millis > 0 ? flows * 1000L / millis : flows * 1000L;
+    }
+
     private List<FlowRule> nextBatch(int size) {
         List<FlowRule> rules = Lists.newArrayList();
         for (int i = 0; i < size; ++i) {
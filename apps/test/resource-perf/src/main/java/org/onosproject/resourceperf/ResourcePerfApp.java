@@ -0,0 +1,262 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.resourceperf;
+
+import com.google.common.collect.Iterables;
+import org.onlab.packet.MplsLabel;
+import org.onosproject.cfg.ComponentConfigService;
+import org.onosproject.cluster.ClusterService;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.ResourceGroup;
+import org.onosproject.net.resource.DiscreteResource;
+import org.onosproject.net.resource.Resource;
+import org.onosproject.net.resource.ResourceAdminService;
+import org.onosproject.net.resource.ResourceAllocation;
+import org.onosproject.net.resource.ResourceConsumer;
+import org.onosproject.net.resource.ResourceService;
+import org.onosproject.net.resource.ResourceStore;
+import org.onosproject.net.resource.Resources;
+import org.osgi.service.component.ComponentContext;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.slf4j.Logger;
+
+import java.util.Dictionary;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.onlab.util.Tools.getIntegerProperty;
+import static org.onlab.util.Tools.groupedThreads;
+import static org.onosproject.resourceperf.OsgiPropertyConstants.LABEL_COUNT;
+import static org.onosproject.resourceperf.OsgiPropertyConstants.LABEL_COUNT_DEFAULT;
+import static org.onosproject.resourceperf.OsgiPropertyConstants.NUM_WORKERS;
+import static org.onosproject.resourceperf.OsgiPropertyConstants.NUM_WORKERS_DEFAULT;
+import static org.onosproject.resourceperf.OsgiPropertyConstants.REPORT_INTERVAL_SECONDS;
+import static org.onosproject.resourceperf.OsgiPropertyConstants.REPORT_INTERVAL_SECONDS_DEFAULT;
+import static org.osgi.service.component.annotations.ReferenceCardinality.MANDATORY;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Application for measuring resource allocation performance. Each worker
+ * repeatedly looks up the free MPLS labels of a synthetic port, as the label
+ * allocator does, and allocates and releases one of them. Compare the results
+ * with the cacheResources property of the resource store turned on and off;
+ * the store applies the property when it is activated, so restart the
+ * instance after changing it. The reports show the mode the store is
+ * actually running in.
+ */
+@Component(
+    immediate = true,
+    service = ResourcePerfApp.class,
+    property = {
+        LABEL_COUNT + ":Integer=" + LABEL_COUNT_DEFAULT,
+        NUM_WORKERS + ":Integer=" + NUM_WORKERS_DEFAULT,
+        REPORT_INTERVAL_SECONDS + ":Integer=" + REPORT_INTERVAL_SECONDS_DEFAULT
+    }
+)
+public class ResourcePerfApp {
+    private final Logger log = getLogger(getClass());
+
+    private static final PortNumber PORT = PortNumber.portNumber(1);
+    private static final long BACKOFF_MILLIS = 1;
+
+    @Reference(cardinality = MANDATORY)
+    protected ResourceService resourceService;
+
+    @Reference(cardinality = MANDATORY)
+    protected ResourceAdminService resourceAdminService;
+
+    @Reference(cardinality = MANDATORY)
+    protected ResourceStore resourceStore;
+
+    @Reference(cardinality = MANDATORY)
+    protected ClusterService clusterService;
+
+    @Reference(cardinality = MANDATORY)
+    protected ComponentConfigService configService;
+
+    /** Number of MPLS labels registered on the test port. */
+    protected int labelCount = LABEL_COUNT_DEFAULT;
+
+    /** Number of workers allocating labels concurrently. */
+    protected int numWorkers = NUM_WORKERS_DEFAULT;
+
+    /** The frequency with which to report performance in seconds. */
+    protected int reportIntervalSeconds = REPORT_INTERVAL_SECONDS_DEFAULT;
+
+    private final AtomicLong allocated = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private DeviceId deviceId;
+    private ExecutorService workers;
+    private ScheduledExecutorService reporter;
+    private volatile boolean running;
+
+    @Activate
+    public void activate(ComponentContext context) {
+        configService.registerProperties(getClass());
+        deviceId = DeviceId.deviceId("resource-perf:" + clusterService.getLocalNode().id());
+        readConfig(context);
+        startTest();
+        logConfig("Started");
+    }
+
+    @Modified
+    public void modified(ComponentContext context) {
+        stopTest();
+        readConfig(context);
+        startTest();
+        logConfig("Restarted");
+    }
+
+    @Deactivate
+    public void deactivate(ComponentContext context) {
+        configService.unregisterProperties(getClass(), false);
+        stopTest();
+        log.info("Stopped");
+    }
+
+    private void readConfig(ComponentContext context) {
+        if (context == null) {
+            return;
+        }
+        Dictionary<?, ?> properties = context.getProperties();
+        Integer newLabelCount = getIntegerProperty(properties, LABEL_COUNT);
+        if (newLabelCount != null && newLabelCount > 0 && newLabelCount <= MplsLabel.MAX_MPLS) {
+            labelCount = newLabelCount;
+        }
+        Integer newNumWorkers = getIntegerProperty(properties, NUM_WORKERS);
+        if (newNumWorkers != null && newNumWorkers > 0) {
+            numWorkers = newNumWorkers;
+        }
+        Integer newReportIntervalSeconds = getIntegerProperty(properties, REPORT_INTERVAL_SECONDS);
+        if (newReportIntervalSeconds != null && newReportIntervalSeconds > 0) {
+            reportIntervalSeconds = newReportIntervalSeconds;
+        }
+    }
+
+    private void logConfig(String prefix) {
+        log.info("{} with labelCount = {}; numWorkers = {}; reportIntervalSeconds = {}",
+                 prefix, labelCount, numWorkers, reportIntervalSeconds);
+    }
+
+    /**
+     * Registers the test resources and starts the workers.
+     */
+    private void startTest() {
+        DiscreteResource device = Resources.discrete(deviceId).resource();
+        DiscreteResource port = Resources.discrete(deviceId, PORT).resource();
+        List<Resource> labels = IntStream.rangeClosed(1, labelCount)
+                .mapToObj(i -> port.child(MplsLabel.mplsLabel(i)))
+                .collect(Collectors.toList());
+        // Parents must be committed before their children are registered
+        if (!resourceAdminService.register(device) || !resourceAdminService.register(port) ||
+                !resourceAdminService.register(labels)) {
+            log.warn("Failed to register the test resources");
+            return;
+        }
+
+        running = true;
+        workers = Executors.newFixedThreadPool(numWorkers,
+                groupedThreads("app/resource-perf-test-runner", "worker-%d", log));
+        for (int i = 0; i < numWorkers; i++) {
+            ResourceConsumer consumer = ResourceGroup.of(i);
+            workers.execute(() -> runWorker(consumer));
+        }
+        reporter = Executors.newSingleThreadScheduledExecutor(
+                groupedThreads("onos/resource-perf-test", "reporter", log));
+        reporter.scheduleWithFixedDelay(this::reportPerformance, reportIntervalSeconds,
+                                        reportIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Allocates and releases free labels until the test is stopped.
+     */
+    private void runWorker(ResourceConsumer consumer) {
+        while (running) {
+            Set<MplsLabel> free = resourceService.getAvailableResourceValues(
+                    Resources.discrete(deviceId, PORT).id(), MplsLabel.class);
+            if (free.isEmpty()) {
+                // All labels are held by the other workers; back off
+                failed.incrementAndGet();
+                try {
+                    Thread.sleep(BACKOFF_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                continue;
+            }
+            MplsLabel label = Iterables.get(free, ThreadLocalRandom.current().nextInt(free.size()));
+            Optional<ResourceAllocation> allocation = resourceService.allocate(
+                    consumer, Resources.discrete(deviceId, PORT, label).resource());
+            if (allocation.isPresent()) {
+                allocated.incrementAndGet();
+                resourceService.release(allocation.get());
+            } else {
+                // Label taken since it was looked up
+                failed.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Reports allocation performance.
+     */
+    private void reportPerformance() {
+        log.info("Allocated: {} Failed: {} in {}s with cacheResources = {}",
+                 allocated.getAndSet(0), failed.getAndSet(0), reportIntervalSeconds,
+                 resourceStore.isCachingResources());
+    }
+
+    /**
+     * Stops the workers and unregisters the test resources.
+     */
+    private void stopTest() {
+        running = false;
+        if (workers != null) {
+            workers.shutdown();
+            reporter.shutdown();
+            try {
+                workers.awaitTermination(reportIntervalSeconds, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            workers = null;
+            reporter = null;
+        }
+        IntStream.range(0, numWorkers).forEach(i -> resourceService.release(ResourceGroup.of(i)));
+        DiscreteResource port = Resources.discrete(deviceId, PORT).resource();
+        resourceAdminService.unregister(IntStream.rangeClosed(1, labelCount)
+                .mapToObj(i -> port.child(MplsLabel.mplsLabel(i)).id())
+                .collect(Collectors.toList()));
+        resourceAdminService.unregister(port.id());
+        resourceAdminService.unregister(Resources.discrete(deviceId).id());
+    }
+}
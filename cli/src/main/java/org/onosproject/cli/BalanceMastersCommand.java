@@ -16,8 +16,11 @@
 package org.onosproject.cli;
 
 import org.apache.karaf.shell.api.action.Command;
+import org.apache.karaf.shell.api.action.Option;
 import org.apache.karaf.shell.api.action.lifecycle.Service;
 import org.onosproject.mastership.MastershipAdminService;
+import org.onosproject.mastership.MastershipBalancePlan;
+import org.onosproject.mastership.MastershipService;
 
 /**
  * Forces device mastership rebalancing.
@@ -27,9 +30,29 @@ import org.onosproject.mastership.MastershipAdminService;
         description = "Forces device mastership rebalancing")
 public class BalanceMastersCommand extends AbstractShellCommand {
 
+    private static final String MOVE_FMT = "id=%s, from=%s, to=%s";
+    private static final String PLAN_FMT = "%d devices with %d flow rules to move in about %d seconds";
+
+    @Option(name = "-n", aliases = "--dry-run",
+            description = "Show the mastership changes without applying them",
+            required = false, multiValued = false)
+    private boolean dryRun = false;
+
     @Override
     protected void doExecute() {
-        get(MastershipAdminService.class).balanceRoles();
+        MastershipAdminService adminService = get(MastershipAdminService.class);
+        MastershipBalancePlan plan = adminService.planBalanceRoles();
+        if (dryRun) {
+            MastershipService mastershipService = get(MastershipService.class);
+            plan.moves().forEach((deviceId, nodeId) ->
+                    print(MOVE_FMT, deviceId, mastershipService.getMasterFor(deviceId), nodeId));
+        }
+        print(PLAN_FMT, plan.moves().size(), plan.movedFlowCount(),
+              plan.estimatedDuration().getSeconds());
+        if (!dryRun && !plan.isEmpty()) {
+            // Moves are paced by the mastership manager; do not hold the shell
+            adminService.applyBalancePlan(plan);
+        }
     }
 
 }
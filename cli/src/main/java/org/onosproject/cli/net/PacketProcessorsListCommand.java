@@ -37,7 +37,7 @@ import static org.onosproject.net.packet.PacketProcessor.DIRECTOR_MAX;
         description = "Lists packet processors")
 public class PacketProcessorsListCommand extends AbstractShellCommand {
 
-    private static final String FMT = "priority=%s, class=%s, packets=%d, avgNanos=%d";
+    private static final String FMT = "priority=%s, class=%s, packets=%d, avgNanos=%d, interests=%s";
 
     @Override
     protected void doExecute() {
@@ -58,7 +58,8 @@ public class PacketProcessorsListCommand extends AbstractShellCommand {
                     .put("priority", priorityFormat(p.priority()))
                     .put("class", p.processor().getClass().getName())
                     .put("packets", p.invocations())
-                    .put("avgNanos", p.averageNanos()));
+                    .put("avgNanos", p.averageNanos())
+                    .put("interests", interestsFormat(p)));
         }
 
         return result;
@@ -67,7 +68,11 @@ public class PacketProcessorsListCommand extends AbstractShellCommand {
     private void print(PacketProcessorEntry entry) {
         print(FMT, priorityFormat(entry.priority()),
               entry.processor().getClass().getName(),
-              entry.invocations(), entry.averageNanos());
+              entry.invocations(), entry.averageNanos(), interestsFormat(entry));
+    }
+
+    private String interestsFormat(PacketProcessorEntry entry) {
+        return entry.interests().isEmpty() ? "all" : entry.interests().toString();
     }
 
     private String priorityFormat(int priority) {
@@ -58,4 +58,25 @@ public interface MastershipAdminService {
      */
     void balanceRoles();
 
+    /**
+     * Computes the mastership changes that {@link #balanceRoles()} would
+     * make, without applying them.
+     *
+     * @return mastership balance plan
+     */
+    default MastershipBalancePlan planBalanceRoles() {
+        throw new UnsupportedOperationException("planBalanceRoles");
+    }
+
+    /**
+     * Applies the given mastership balance plan in the background, pacing
+     * the mastership changes so as not to overwhelm the new masters.
+     *
+     * @param plan mastership balance plan
+     * @return future that is completed once all devices in the plan are moved
+     */
+    default CompletableFuture<Void> applyBalancePlan(MastershipBalancePlan plan) {
+        throw new UnsupportedOperationException("applyBalancePlan");
+    }
+
 }
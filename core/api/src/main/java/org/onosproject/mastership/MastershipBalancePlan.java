@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.mastership;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+
+import com.google.common.collect.ImmutableMap;
+import org.onosproject.cluster.NodeId;
+import org.onosproject.net.DeviceId;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Plan of the mastership changes balancing the devices among the online
+ * instances, along with an estimate of the cost of applying it.
+ */
+public final class MastershipBalancePlan {
+    private final ImmutableMap<DeviceId, NodeId> moves;
+    private final long movedFlowCount;
+    private final Duration estimatedDuration;
+
+    /**
+     * Creates a mastership balance plan.
+     *
+     * @param moves             new master of each device to move
+     * @param movedFlowCount    number of flow rules on the devices to move
+     * @param estimatedDuration estimated time needed to apply the plan
+     */
+    public MastershipBalancePlan(Map<DeviceId, NodeId> moves, long movedFlowCount,
+                                 Duration estimatedDuration) {
+        this.moves = ImmutableMap.copyOf(checkNotNull(moves));
+        this.movedFlowCount = movedFlowCount;
+        this.estimatedDuration = checkNotNull(estimatedDuration);
+    }
+
+    /**
+     * Returns the new master of each device to move, in the order in which
+     * the devices are to be moved.
+     *
+     * @return device to new master map
+     */
+    public Map<DeviceId, NodeId> moves() {
+        return moves;
+    }
+
+    /**
+     * Returns the number of flow rules on the devices to move, which the new
+     * masters will have to audit.
+     *
+     * @return number of flow rules on the moved devices
+     */
+    public long movedFlowCount() {
+        return movedFlowCount;
+    }
+
+    /**
+     * Returns the estimated time needed to apply the plan.
+     *
+     * @return estimated duration
+     */
+    public Duration estimatedDuration() {
+        return estimatedDuration;
+    }
+
+    /**
+     * Returns whether the plan moves no device.
+     *
+     * @return true if the mastership is already balanced
+     */
+    public boolean isEmpty() {
+        return moves.isEmpty();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(moves, movedFlowCount, estimatedDuration);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof MastershipBalancePlan)) {
+            return false;
+        }
+        MastershipBalancePlan that = (MastershipBalancePlan) object;
+        return moves.equals(that.moves)
+                && movedFlowCount == that.movedFlowCount
+                && estimatedDuration.equals(that.estimatedDuration);
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(getClass())
+                .add("moves", moves)
+                .add("movedFlowCount", movedFlowCount)
+                .add("estimatedDuration", estimatedDuration)
+                .toString();
+    }
+}
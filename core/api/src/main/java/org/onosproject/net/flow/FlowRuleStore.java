@@ -15,6 +15,8 @@
  */
 package org.onosproject.net.flow;
 
+import com.google.common.collect.Iterables;
+import org.onosproject.core.ApplicationId;
 import org.onosproject.net.DeviceId;
 import org.onosproject.net.flow.oldbatch.FlowRuleBatchEvent;
 import org.onosproject.net.flow.oldbatch.FlowRuleBatchOperation;
@@ -71,6 +73,42 @@ public interface FlowRuleStore extends Store<FlowRuleBatchEvent, FlowRuleStoreDe
      */
     Iterable<FlowEntry> getFlowEntries(DeviceId deviceId);
 
+    /**
+     * Returns the flow entries associated with a device that belong to the
+     * given application.
+     * <p>
+     * Stores that maintain an application index should override this method
+     * so that the cost of the lookup depends on the number of matching entries
+     * rather than on the size of the device flow table.
+     * </p>
+     *
+     * @param deviceId the device ID
+     * @param appId    the application ID
+     * @return the flow entries of the given application
+     */
+    default Iterable<FlowEntry> getFlowEntriesByAppId(DeviceId deviceId, ApplicationId appId) {
+        return Iterables.filter(getFlowEntries(deviceId), entry -> entry.appId() == appId.id());
+    }
+
+    /**
+     * Returns the flow entries associated with a device whose flow identifiers
+     * were generated for the given application group.
+     * <p>
+     * Stores that maintain a group index should override this method so that
+     * the cost of the lookup depends on the number of matching entries rather
+     * than on the size of the device flow table.
+     * </p>
+     *
+     * @param deviceId the device ID
+     * @param appId    the application ID
+     * @param groupId  the group ID
+     * @return the flow entries of the given application group
+     */
+    default Iterable<FlowEntry> getFlowEntriesByGroupId(DeviceId deviceId, ApplicationId appId, short groupId) {
+        long toLookUp = ((long) appId.id() << 16) | groupId;
+        return Iterables.filter(getFlowEntries(deviceId), entry -> (entry.id().value() >>> 32) == toLookUp);
+    }
+
     /**
      * // TODO: Better description of method behavior.
      * Stores a new flow rule without generating events.
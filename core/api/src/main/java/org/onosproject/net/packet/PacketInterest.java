@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.packet;
+
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.IPv4;
+
+import java.util.Objects;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Class of inbound packets that a packet processor is interested in. Packets
+ * are classified by their ethertype and, for IP packets, by their IP
+ * protocol and UDP destination port.
+ */
+public final class PacketInterest {
+
+    /**
+     * Wildcard value of the IP protocol and UDP port.
+     */
+    public static final int ANY = -1;
+
+    private final int ethType;
+    private final int ipProtocol;
+    private final int udpDstPort;
+
+    private PacketInterest(int ethType, int ipProtocol, int udpDstPort) {
+        checkArgument(ethType >= 0 && ethType <= 0xffff, "Invalid ethertype %s", ethType);
+        checkArgument(ipProtocol >= ANY && ipProtocol <= 0xff, "Invalid IP protocol %s", ipProtocol);
+        checkArgument(udpDstPort >= ANY && udpDstPort <= 0xffff, "Invalid UDP port %s", udpDstPort);
+        this.ethType = ethType;
+        this.ipProtocol = ipProtocol;
+        this.udpDstPort = udpDstPort;
+    }
+
+    /**
+     * Returns an interest in all packets of the given ethertype.
+     *
+     * @param ethType ethertype
+     * @return packet interest
+     */
+    public static PacketInterest ethType(short ethType) {
+        return new PacketInterest(ethType & 0xffff, ANY, ANY);
+    }
+
+    /**
+     * Returns an interest in all IP packets of the given ethertype and
+     * IP protocol.
+     *
+     * @param ethType    ethertype of IPv4 or IPv6
+     * @param ipProtocol IP protocol or IPv6 next header
+     * @return packet interest
+     */
+    public static PacketInterest ipProtocol(short ethType, byte ipProtocol) {
+        checkArgument(isIp(ethType), "Not an IP ethertype %s", ethType);
+        return new PacketInterest(ethType & 0xffff, ipProtocol & 0xff, ANY);
+    }
+
+    /**
+     * Returns an interest in all UDP packets of the given ethertype destined
+     * to the given port.
+     *
+     * @param ethType ethertype of IPv4 or IPv6
+     * @param udpPort UDP destination port
+     * @return packet interest
+     */
+    public static PacketInterest udpDstPort(short ethType, int udpPort) {
+        checkArgument(isIp(ethType), "Not an IP ethertype %s", ethType);
+        return new PacketInterest(ethType & 0xffff, IPv4.PROTOCOL_UDP, udpPort);
+    }
+
+    private static boolean isIp(short ethType) {
+        return ethType == Ethernet.TYPE_IPV4 || ethType == Ethernet.TYPE_IPV6;
+    }
+
+    /**
+     * Returns the ethertype.
+     *
+     * @return ethertype
+     */
+    public int ethType() {
+        return ethType;
+    }
+
+    /**
+     * Returns the IP protocol.
+     *
+     * @return IP protocol; {@link #ANY} if any
+     */
+    public int ipProtocol() {
+        return ipProtocol;
+    }
+
+    /**
+     * Returns the UDP destination port.
+     *
+     * @return UDP destination port; {@link #ANY} if any
+     */
+    public int udpDstPort() {
+        return udpDstPort;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(ethType, ipProtocol, udpDstPort);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof PacketInterest) {
+            PacketInterest that = (PacketInterest) obj;
+            return ethType == that.ethType && ipProtocol == that.ipProtocol &&
+                    udpDstPort == that.udpDstPort;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("ethType", String.format("0x%04x", ethType))
+                .add("ipProtocol", ipProtocol)
+                .add("udpDstPort", udpDstPort)
+                .toString();
+    }
+}
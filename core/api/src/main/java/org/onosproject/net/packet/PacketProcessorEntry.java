@@ -15,6 +15,10 @@
  */
 package org.onosproject.net.packet;
 
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Set;
+
 /**
  * Packet processor entry tracking the processor, its priority and
  * time consumption.
@@ -35,6 +39,15 @@ public interface PacketProcessorEntry {
      */
     int priority();
 
+    /**
+     * Returns the classes of packets given to the processor.
+     *
+     * @return packet interests; empty if the processor is given all packets
+     */
+    default Set<PacketInterest> interests() {
+        return ImmutableSet.of();
+    }
+
     /**
      * Returns the number of invocations.
      *
@@ -22,6 +22,7 @@ import org.onosproject.net.flow.TrafficSelector;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service for intercepting data plane packets and for emitting synthetic
@@ -43,7 +44,21 @@ public interface PacketService {
      */
     void addProcessor(PacketProcessor processor, int priority);
 
-    // TODO allow processors to register for particular types of packets
+    /**
+     * Adds the specified processor to the list of packet processors, to be
+     * given only those packets that match any of the specified interests.
+     * Processors added without interests are given all packets.
+     *
+     * @param processor processor to be added
+     * @param priority  priority in the reverse natural order
+     * @param interests classes of packets the processor is interested in
+     * @throws java.lang.IllegalArgumentException if a processor with the
+     *                                            given priority already exists
+     */
+    default void addProcessor(PacketProcessor processor, int priority,
+                              Set<PacketInterest> interests) {
+        addProcessor(processor, priority);
+    }
 
     /**
      * Removes the specified processor from the processing pipeline.
@@ -133,4 +133,12 @@ public interface ResourceStore extends Store<ResourceEvent, ResourceStoreDelegat
      * whose type is the specified class.
      */
     <T> Collection<Resource> getAllocatedResources(DiscreteResourceId parent, Class<T> cls);
+
+    /**
+     * Returns whether resource queries are served from a local cache of the
+     * stored resources.
+     *
+     * @return true if the resources are cached locally; false otherwise
+     */
+    boolean isCachingResources();
 }
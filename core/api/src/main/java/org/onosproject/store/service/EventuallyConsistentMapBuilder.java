@@ -180,6 +180,25 @@ public interface EventuallyConsistentMapBuilder<K, V> {
      */
     EventuallyConsistentMapBuilder<K, V> withFasterConvergence();
 
+    /**
+     * Configures anti-entropy to compare the map contents bucket by bucket.
+     * Peers first exchange a hash of each bucket of map entries and then the
+     * digests of the entries in the buckets that differ, instead of the
+     * digests of all entries. Suited to large maps, as the anti-entropy
+     * messages exchanged by peers in sync no longer grow with the map size.
+     * <p>
+     * The number of buckets must be the same on all instances of the map.
+     * The default behavior is to advertise the digests of all entries;
+     * builders that do not support bucketing ignore this option.
+     * </p>
+     *
+     * @param buckets number of buckets
+     * @return this EventuallyConsistentMapBuilder
+     */
+    default EventuallyConsistentMapBuilder<K, V> withBucketedAntiEntropy(int buckets) {
+        return this;
+    }
+
     /**
      * Configure the map to persist data to disk.
      * <p>
@@ -0,0 +1,393 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.common;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
+import org.onlab.graph.CompactTarjanGraphSearch;
+import org.onlab.graph.DefaultEdgeWeigher;
+import org.onlab.graph.Graph;
+import org.onlab.graph.ScalarWeight;
+import org.onlab.graph.TarjanGraphSearch.SccResult;
+import org.onlab.graph.Weight;
+import org.onosproject.net.Link.State;
+import org.onosproject.net.topology.LinkWeigher;
+import org.onosproject.net.topology.TopologyEdge;
+import org.onosproject.net.topology.TopologyGraph;
+import org.onosproject.net.topology.TopologyVertex;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.onosproject.net.Link.State.INACTIVE;
+import static org.onosproject.net.Link.Type.INDIRECT;
+
+/**
+ * Partition of a topology graph into strongly connected clusters of devices.
+ * <p>
+ * A partition can be derived from the partition of a previous graph by
+ * applying the differences between the two graphs. Only the clusters that
+ * lost devices or links are searched again, and clusters are merged only
+ * where added links close new cycles; all other clusters are carried over.
+ * </p>
+ */
+final class ClusterPartition {
+
+    private static final CompactTarjanGraphSearch<TopologyVertex, TopologyEdge> TARJAN =
+            new CompactTarjanGraphSearch<>();
+
+    private final List<Set<TopologyVertex>> clusterVertexes;
+    private final List<Set<TopologyEdge>> clusterEdges;
+    private final int[] previousClusters;
+    private final int recomputedCount;
+    private final int mutationCount;
+
+    private ClusterPartition(List<Set<TopologyVertex>> clusterVertexes,
+                             List<Set<TopologyEdge>> clusterEdges,
+                             int[] previousClusters, int recomputedCount,
+                             int mutationCount) {
+        this.clusterVertexes = clusterVertexes;
+        this.clusterEdges = clusterEdges;
+        this.previousClusters = previousClusters;
+        this.recomputedCount = recomputedCount;
+        this.mutationCount = mutationCount;
+    }
+
+    /**
+     * Searches the given graph for its clusters.
+     *
+     * @param graph topology graph or its compact form
+     * @return cluster partition
+     */
+    static ClusterPartition search(Graph<TopologyVertex, TopologyEdge> graph) {
+        SccResult<TopologyVertex, TopologyEdge> result =
+                TARJAN.search(graph, new NoIndirectLinksWeigher());
+        int[] previousClusters = new int[result.clusterCount()];
+        Arrays.fill(previousClusters, -1);
+        return new ClusterPartition(result.clusterVertexes(), result.clusterEdges(),
+                                    previousClusters, result.clusterCount(), -1);
+    }
+
+    /**
+     * Derives the clusters of the given graph from the clusters of a previous
+     * graph. Clusters carried over from the previous partition keep their
+     * relative order and precede all recomputed clusters.
+     *
+     * @param previousGraph previous topology graph
+     * @param previous      cluster partition of the previous graph
+     * @param graph         new topology graph
+     * @return cluster partition of the new graph
+     */
+    static ClusterPartition update(TopologyGraph previousGraph, ClusterPartition previous,
+                                   TopologyGraph graph) {
+        Set<TopologyVertex> removedVertexes =
+                Sets.difference(previousGraph.getVertexes(), graph.getVertexes());
+        Set<TopologyVertex> addedVertexes =
+                Sets.difference(graph.getVertexes(), previousGraph.getVertexes());
+        Set<TopologyEdge> previousEdges = viableEdges(previousGraph);
+        Set<TopologyEdge> edges = viableEdges(graph);
+        Set<TopologyEdge> removedEdges = Sets.difference(previousEdges, edges);
+        Set<TopologyEdge> addedEdges = Sets.difference(edges, previousEdges);
+
+        int mutationCount = removedVertexes.size() + addedVertexes.size() +
+                removedEdges.size() + addedEdges.size();
+        Map<TopologyVertex, Integer> previousIndex = previous.clusterIndex();
+
+        // Clusters that lost a device or an internal viable link may have
+        // split; clusters with any other change to their internal links,
+        // including indirect and inactive ones, may have a different
+        // broadcast tree.
+        Set<Integer> split = new HashSet<>();
+        Set<Integer> changed = new HashSet<>();
+        removedVertexes.forEach(v -> split.add(previousIndex.get(v)));
+        removedEdges.forEach(e -> addInternal(previousIndex, e, split));
+        Map<TopologyEdge, State> previousStates = new HashMap<>();
+        previousGraph.getEdges().forEach(e -> previousStates.put(e, e.link().state()));
+        for (TopologyEdge edge : graph.getEdges()) {
+            if (previousStates.remove(edge) != edge.link().state()) {
+                addInternal(previousIndex, edge, changed);
+            }
+        }
+        previousStates.keySet().forEach(e -> addInternal(previousIndex, e, changed));
+        changed.addAll(split);
+
+        // Form the units: intact previous clusters, the clusters into which
+        // split ones fall apart, and the added devices. These are the
+        // clusters of the new graph, less any added links between them.
+        Units units = new Units();
+        for (int i = 0; i < previous.clusterCount(); i++) {
+            if (!split.contains(i)) {
+                units.add(previous.clusterVertexes.get(i), changed.contains(i) ? -1 : i);
+            }
+        }
+        for (int i : split) {
+            Set<TopologyVertex> remaining =
+                    Sets.intersection(previous.clusterVertexes.get(i), graph.getVertexes());
+            if (!remaining.isEmpty()) {
+                units.addAll(search(graph, remaining).clusterVertexes, -1);
+            }
+        }
+        addedVertexes.forEach(v -> units.add(Collections.singleton(v), -1));
+        int recomputedCount = units.size() - (previous.clusterCount() - split.size());
+
+        // Units can only merge along cycles through added links between
+        // them; such cycles lie within the units that are reachable from the
+        // heads and reach the tails of these links.
+        Set<Integer> heads = new HashSet<>();
+        Set<Integer> tails = new HashSet<>();
+        addedEdges.forEach(e -> {
+            int src = units.index(e.src());
+            int dst = units.index(e.dst());
+            if (src != dst) {
+                tails.add(src);
+                heads.add(dst);
+            }
+        });
+        if (!heads.isEmpty()) {
+            Set<Integer> region = units.reach(heads, graph::getEdgesFrom, TopologyEdge::dst);
+            region.retainAll(units.reach(tails, graph::getEdgesTo, TopologyEdge::src));
+            Set<TopologyVertex> vertexes = new HashSet<>();
+            region.forEach(u -> vertexes.addAll(units.vertexes.get(u)));
+
+            for (Set<TopologyVertex> cluster : search(graph, vertexes).clusterVertexes) {
+                int unit = units.index(cluster.iterator().next());
+                if (cluster.size() != units.vertexes.get(unit).size()) {
+                    cluster.forEach(v -> units.remove(units.index(v)));
+                    units.add(cluster, -1);
+                    recomputedCount++;
+                }
+            }
+        }
+        return units.partition(graph, recomputedCount, mutationCount);
+    }
+
+    // Adds the previous cluster of the edge to the given set if the edge lies
+    // within a single previous cluster.
+    private static void addInternal(Map<TopologyVertex, Integer> previousIndex,
+                                    TopologyEdge edge, Set<Integer> clusters) {
+        Integer c = previousIndex.get(edge.src());
+        if (c != null && c.equals(previousIndex.get(edge.dst()))) {
+            clusters.add(c);
+        }
+    }
+
+    // Searches the subgraph induced by the given vertexes for its clusters.
+    private static ClusterPartition search(TopologyGraph graph, Set<TopologyVertex> vertexes) {
+        Set<TopologyEdge> edges = new HashSet<>();
+        for (TopologyVertex vertex : vertexes) {
+            for (TopologyEdge edge : graph.getEdgesFrom(vertex)) {
+                if (vertexes.contains(edge.dst())) {
+                    edges.add(edge);
+                }
+            }
+        }
+        return search(new DefaultTopologyGraph(vertexes, edges));
+    }
+
+    // Returns the edges along which clusters are formed.
+    private static Set<TopologyEdge> viableEdges(TopologyGraph graph) {
+        Set<TopologyEdge> edges = new HashSet<>();
+        for (TopologyEdge edge : graph.getEdges()) {
+            if (isViable(edge)) {
+                edges.add(edge);
+            }
+        }
+        return edges;
+    }
+
+    // Indicates whether the edge can be traversed within a cluster; indirect
+    // and inactive links are excluded.
+    private static boolean isViable(TopologyEdge edge) {
+        return edge.link().state() != INACTIVE && edge.link().type() != INDIRECT;
+    }
+
+    // Link weight for preventing traversal over indirect links.
+    private static class NoIndirectLinksWeigher
+            extends DefaultEdgeWeigher<TopologyVertex, TopologyEdge>
+            implements LinkWeigher {
+        @Override
+        public Weight weight(TopologyEdge edge) {
+            return isViable(edge) ?
+                    new ScalarWeight(HOP_WEIGHT_VALUE) : getNonViableWeight();
+        }
+    }
+
+    /**
+     * Returns the number of clusters.
+     *
+     * @return number of clusters
+     */
+    int clusterCount() {
+        return clusterVertexes.size();
+    }
+
+    /**
+     * Returns the vertexes of each cluster.
+     *
+     * @return list of cluster vertex sets
+     */
+    List<Set<TopologyVertex>> clusterVertexes() {
+        return clusterVertexes;
+    }
+
+    /**
+     * Returns the edges of each cluster.
+     *
+     * @return list of cluster edge sets
+     */
+    List<Set<TopologyEdge>> clusterEdges() {
+        return clusterEdges;
+    }
+
+    /**
+     * Returns the index of the cluster of the previous partition which has
+     * the same devices and links as the given cluster.
+     *
+     * @param index cluster index
+     * @return index of the identical previous cluster; -1 if none
+     */
+    int previousCluster(int index) {
+        return previousClusters[index];
+    }
+
+    /**
+     * Returns the number of clusters that had to be searched for.
+     *
+     * @return number of recomputed clusters
+     */
+    int recomputedCount() {
+        return recomputedCount;
+    }
+
+    /**
+     * Returns the number of devices and viable links that were added or
+     * removed since the previous partition.
+     *
+     * @return number of mutations; -1 if the partition was searched from scratch
+     */
+    int mutationCount() {
+        return mutationCount;
+    }
+
+    // Indexes the clusters by vertex.
+    private Map<TopologyVertex, Integer> clusterIndex() {
+        Map<TopologyVertex, Integer> index = new HashMap<>();
+        for (int i = 0; i < clusterVertexes.size(); i++) {
+            for (TopologyVertex vertex : clusterVertexes.get(i)) {
+                index.put(vertex, i);
+            }
+        }
+        return index;
+    }
+
+    // Strongly connected sets of vertexes from which clusters are assembled.
+    private static final class Units {
+        private final List<Set<TopologyVertex>> vertexes = new ArrayList<>();
+        private final List<Integer> previousClusters = new ArrayList<>();
+        private final Map<TopologyVertex, Integer> index = new HashMap<>();
+        private int removed;
+
+        private void add(Set<TopologyVertex> unit, int previousCluster) {
+            int i = vertexes.size();
+            vertexes.add(unit);
+            previousClusters.add(previousCluster);
+            unit.forEach(v -> index.put(v, i));
+        }
+
+        private void addAll(List<Set<TopologyVertex>> units, int previousCluster) {
+            units.forEach(unit -> add(unit, previousCluster));
+        }
+
+        // Removes the unit, leaving its index vacant.
+        private void remove(int i) {
+            if (vertexes.get(i) != null) {
+                vertexes.set(i, null);
+                removed++;
+            }
+        }
+
+        private int index(TopologyVertex vertex) {
+            return index.get(vertex);
+        }
+
+        private int size() {
+            return vertexes.size() - removed;
+        }
+
+        // Returns the units reachable from the given ones along viable edges.
+        private Set<Integer> reach(Set<Integer> from,
+                                   Function<TopologyVertex, Set<TopologyEdge>> edges,
+                                   Function<TopologyEdge, TopologyVertex> next) {
+            Set<Integer> reached = new HashSet<>(from);
+            Deque<Integer> queue = new ArrayDeque<>(from);
+            while (!queue.isEmpty()) {
+                for (TopologyVertex vertex : vertexes.get(queue.poll())) {
+                    for (TopologyEdge edge : edges.apply(vertex)) {
+                        int unit = index(next.apply(edge));
+                        if (isViable(edge) && reached.add(unit)) {
+                            queue.add(unit);
+                        }
+                    }
+                }
+            }
+            return reached;
+        }
+
+        // Assembles the partition from the remaining units, collecting the
+        // edges of each from the given graph.
+        private ClusterPartition partition(TopologyGraph graph, int recomputedCount,
+                                           int mutationCount) {
+            List<Set<TopologyVertex>> clusters = new ArrayList<>();
+            List<Set<TopologyEdge>> edges = new ArrayList<>();
+            int[] previous = new int[size()];
+            int[] cluster = new int[vertexes.size()];
+
+            // Carried over units go first, in their previous order.
+            for (boolean carried : new boolean[]{true, false}) {
+                for (int i = 0; i < vertexes.size(); i++) {
+                    Set<TopologyVertex> unit = vertexes.get(i);
+                    if (unit != null && (previousClusters.get(i) >= 0) == carried) {
+                        previous[clusters.size()] = previousClusters.get(i);
+                        cluster[i] = clusters.size();
+                        clusters.add(Collections.unmodifiableSet(unit));
+                        edges.add(new HashSet<>());
+                    }
+                }
+            }
+
+            // Cluster edges include inactive and indirect links.
+            for (TopologyEdge edge : graph.getEdges()) {
+                int src = cluster[index(edge.src())];
+                if (src == cluster[index(edge.dst())]) {
+                    edges.get(src).add(edge);
+                }
+            }
+            ImmutableList.Builder<Set<TopologyEdge>> clusterEdges = ImmutableList.builder();
+            edges.forEach(e -> clusterEdges.add(Collections.unmodifiableSet(e)));
+            return new ClusterPartition(ImmutableList.copyOf(clusters), clusterEdges.build(),
+                                        previous, recomputedCount, mutationCount);
+        }
+    }
+}
@@ -22,19 +22,16 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.ImmutableSetMultimap.Builder;
-import org.onlab.graph.DefaultEdgeWeigher;
+import org.onlab.graph.CompactDijkstraGraphSearch;
+import org.onlab.graph.CompactGraph;
+import org.onlab.graph.CompactKShortestPathsSearch;
 import org.onlab.graph.DijkstraGraphSearch;
 import org.onlab.graph.DisjointPathPair;
 import org.onlab.graph.GraphPathSearch;
 import org.onlab.graph.GraphPathSearch.Result;
-import org.onlab.graph.KShortestPathsSearch;
 import org.onlab.graph.LazyKShortestPathsSearch;
-import org.onlab.graph.ScalarWeight;
 import org.onlab.graph.SrlgGraphSearch;
 import org.onlab.graph.SuurballeGraphSearch;
-import org.onlab.graph.TarjanGraphSearch;
-import org.onlab.graph.TarjanGraphSearch.SccResult;
-import org.onlab.graph.Weight;
 import org.onosproject.net.AbstractModel;
 import org.onosproject.net.ConnectPoint;
 import org.onosproject.net.DefaultDisjointPath;
@@ -71,8 +68,6 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static org.onlab.graph.GraphPathSearch.ALL_PATHS;
 import static org.onlab.util.Tools.isNullOrEmpty;
 import static org.onosproject.core.CoreService.CORE_PROVIDER_ID;
-import static org.onosproject.net.Link.State.INACTIVE;
-import static org.onosproject.net.Link.Type.INDIRECT;
 
 /**
  * Default implementation of the topology descriptor. This carries the backing
@@ -82,18 +77,18 @@ public class DefaultTopology extends AbstractModel implements Topology {
 
     private static final Logger log = LoggerFactory.getLogger(DefaultTopology.class);
 
-    private static final DijkstraGraphSearch<TopologyVertex, TopologyEdge> DIJKSTRA =
-            new DijkstraGraphSearch<>();
-    private static final TarjanGraphSearch<TopologyVertex, TopologyEdge> TARJAN =
-            new TarjanGraphSearch<>();
+    private static final CompactDijkstraGraphSearch<TopologyVertex, TopologyEdge> DIJKSTRA =
+            new CompactDijkstraGraphSearch<>();
     private static final SuurballeGraphSearch<TopologyVertex, TopologyEdge> SUURBALLE =
             new SuurballeGraphSearch<>();
-    private static final KShortestPathsSearch<TopologyVertex, TopologyEdge> KSHORTEST =
-            new KShortestPathsSearch<>();
+    private static final CompactKShortestPathsSearch<TopologyVertex, TopologyEdge> KSHORTEST =
+            new CompactKShortestPathsSearch<>();
     private static final LazyKShortestPathsSearch<TopologyVertex, TopologyEdge> LAZY_KSHORTEST =
             new LazyKShortestPathsSearch<>();
 
 
+    private static final long MAX_CACHED_PATH_SEARCHES = 20_000;
+
     private static LinkWeigher defaultLinkWeigher = null;
     private static GraphPathSearch<TopologyVertex, TopologyEdge> defaultGraphPathSearch = null;
 
@@ -101,15 +96,19 @@ public class DefaultTopology extends AbstractModel implements Topology {
     private final long creationTime;
     private final long computeCost;
     private final TopologyGraph graph;
+    private final Supplier<CompactGraph<TopologyVertex, TopologyEdge>> compactGraph;
 
     private final LinkWeigher hopCountWeigher;
 
-    private final Supplier<SccResult<TopologyVertex, TopologyEdge>> clusterResults;
+    private final Supplier<ClusterPartition> clusterResults;
     private final Supplier<ImmutableMap<ClusterId, TopologyCluster>> clusters;
     private final Supplier<ImmutableSet<ConnectPoint>> infrastructurePoints;
     private final Supplier<ImmutableSetMultimap<ClusterId, ConnectPoint>> broadcastSets;
+    private final Map<ClusterId, Set<ConnectPoint>> reusedBroadcastSets;
+    private volatile boolean broadcastSetsBuilt;
     private final Function<ConnectPoint, Boolean> broadcastFunction;
     private final Supplier<ClusterIndexes> clusterIndexes;
+    private final Supplier<PathCache> pathCache;
 
     /**
      * Sets the default link-weight to be used when computing paths. If null is
@@ -145,6 +144,24 @@ public class DefaultTopology extends AbstractModel implements Topology {
      */
     public DefaultTopology(ProviderId providerId, GraphDescription description,
                            Function<ConnectPoint, Boolean> broadcastFunction) {
+        this(providerId, description, broadcastFunction, null);
+    }
+
+    /**
+     * Creates a topology descriptor attributed to the specified provider,
+     * deriving its clusters from those of the previous topology. Only the
+     * clusters affected by the device and link changes since the previous
+     * topology are recomputed; the broadcast sets of unchanged clusters are
+     * carried over as well, if the previous topology computed them.
+     *
+     * @param providerId        identity of the provider
+     * @param description       data describing the new topology
+     * @param broadcastFunction broadcast point function
+     * @param previous          previous topology; null to compute from scratch
+     */
+    public DefaultTopology(ProviderId providerId, GraphDescription description,
+                           Function<ConnectPoint, Boolean> broadcastFunction,
+                           DefaultTopology previous) {
         super(providerId);
         this.broadcastFunction = broadcastFunction;
         this.time = description.timestamp();
@@ -154,7 +171,19 @@ public class DefaultTopology extends AbstractModel implements Topology {
         this.graph = new DefaultTopologyGraph(description.vertexes(),
                 description.edges());
 
-        this.clusterResults = Suppliers.memoize(this::searchForClusters);
+        this.compactGraph = Suppliers.memoize(() -> CompactGraph.of(graph));
+        if (previous != null) {
+            // Apply the changes eagerly so as not to retain the previous topology.
+            ClusterPartition partition = ClusterPartition.update(
+                    previous.graph, previous.clusterResults.get(), graph);
+            this.clusterResults = Suppliers.ofInstance(partition);
+            this.reusedBroadcastSets = previous.broadcastSetsBuilt ?
+                    reuseBroadcastSets(partition, previous.broadcastSets.get()) :
+                    ImmutableMap.of();
+        } else {
+            this.clusterResults = Suppliers.memoize(this::searchForClusters);
+            this.reusedBroadcastSets = ImmutableMap.of();
+        }
         this.clusters = Suppliers.memoize(this::buildTopologyClusters);
 
         this.clusterIndexes = Suppliers.memoize(this::buildIndexes);
@@ -162,6 +191,7 @@ public class DefaultTopology extends AbstractModel implements Topology {
         this.hopCountWeigher = new HopCountLinkWeigher(graph.getVertexes().size());
         this.broadcastSets = Suppliers.memoize(this::buildBroadcastSets);
         this.infrastructurePoints = Suppliers.memoize(this::findInfrastructurePoints);
+        this.pathCache = Suppliers.memoize(() -> new PathCache(MAX_CACHED_PATH_SEARCHES));
         this.computeCost = Math.max(0, System.nanoTime() - time);
     }
 
@@ -190,6 +220,66 @@ public class DefaultTopology extends AbstractModel implements Topology {
         return computeCost;
     }
 
+    /**
+     * Returns the number of path searches on this topology that were served
+     * from its path cache.
+     *
+     * @return path cache hit count
+     */
+    public long pathCacheHitCount() {
+        return pathCache.get().hitCount();
+    }
+
+    /**
+     * Returns the number of path searches on this topology that had to be
+     * computed.
+     *
+     * @return path cache miss count
+     */
+    public long pathCacheMissCount() {
+        return pathCache.get().missCount();
+    }
+
+    /**
+     * Returns the number of path searches served from the path cache of any
+     * topology since start.
+     *
+     * @return cumulative path cache hit count
+     */
+    public static long totalPathCacheHitCount() {
+        return PathCache.totalHitCount();
+    }
+
+    /**
+     * Returns the number of path searches computed by any topology since
+     * start.
+     *
+     * @return cumulative path cache miss count
+     */
+    public static long totalPathCacheMissCount() {
+        return PathCache.totalMissCount();
+    }
+
+    /**
+     * Returns the number of device and active infrastructure link additions
+     * and removals applied to the previous topology to derive this one.
+     *
+     * @return number of mutations; -1 if computed from scratch
+     */
+    public int mutationCount() {
+        return clusterResults.get().mutationCount();
+    }
+
+    /**
+     * Returns the number of clusters that had to be searched for rather than
+     * carried over from the previous topology.
+     *
+     * @return number of recomputed clusters
+     */
+    public int recomputedClusterCount() {
+        return clusterResults.get().recomputedCount();
+    }
+
     @Override
     public int clusterCount() {
         return clusters.get().size();
@@ -384,13 +474,18 @@ public class DefaultTopology extends AbstractModel implements Topology {
             return ImmutableSet.of();
         }
 
-        GraphPathSearch.Result<TopologyVertex, TopologyEdge> result =
-                graphPathSearch().search(graph, srcV, dstV, weigher, maxPaths);
-        ImmutableSet.Builder<Path> builder = ImmutableSet.builder();
-        for (org.onlab.graph.Path<TopologyVertex, TopologyEdge> path : result.paths()) {
-            builder.add(networkPath(path));
-        }
-        return builder.build();
+        return pathCache.get().get(PathCache.Kind.SHORTEST, src, dst, weigher, maxPaths, () -> {
+            // The builtin search runs over the compact form of the graph.
+            GraphPathSearch<TopologyVertex, TopologyEdge> search = defaultGraphPathSearch;
+            GraphPathSearch.Result<TopologyVertex, TopologyEdge> result = search != null ?
+                    search.search(graph, srcV, dstV, weigher, maxPaths) :
+                    DIJKSTRA.search(compactGraph.get(), srcV, dstV, weigher, maxPaths);
+            ImmutableSet.Builder<Path> builder = ImmutableSet.builder();
+            for (org.onlab.graph.Path<TopologyVertex, TopologyEdge> path : result.paths()) {
+                builder.add(networkPath(path));
+            }
+            return builder.build();
+        });
     }
 
     /**
@@ -432,10 +527,11 @@ public class DefaultTopology extends AbstractModel implements Topology {
             return ImmutableSet.of();
         }
 
-        return KSHORTEST.search(graph, srcV, dstV, weigher, maxPaths)
-                .paths().stream()
-                    .map(this::networkPath)
-                    .collect(ImmutableSet.toImmutableSet());
+        return pathCache.get().get(PathCache.Kind.K_SHORTEST, src, dst, weigher, maxPaths,
+                () -> KSHORTEST.search(compactGraph.get(), srcV, dstV, weigher, maxPaths)
+                        .paths().stream()
+                            .map(this::networkPath)
+                            .collect(ImmutableSet.toImmutableSet()));
     }
 
     /**
@@ -506,17 +602,19 @@ public class DefaultTopology extends AbstractModel implements Topology {
             return ImmutableSet.of();
         }
 
-        GraphPathSearch.Result<TopologyVertex, TopologyEdge> result =
-                SUURBALLE.search(graph, srcV, dstV, weigher, ALL_PATHS);
-        ImmutableSet.Builder<DisjointPath> builder = ImmutableSet.builder();
-        for (org.onlab.graph.Path<TopologyVertex, TopologyEdge> path : result.paths()) {
-            DisjointPath disjointPath =
-                    networkDisjointPath((DisjointPathPair<TopologyVertex, TopologyEdge>) path);
-            if (disjointPath.backup() != null) {
-                builder.add(disjointPath);
+        return pathCache.get().get(PathCache.Kind.DISJOINT, src, dst, weigher, ALL_PATHS, () -> {
+            GraphPathSearch.Result<TopologyVertex, TopologyEdge> result =
+                    SUURBALLE.search(graph, srcV, dstV, weigher, ALL_PATHS);
+            ImmutableSet.Builder<DisjointPath> builder = ImmutableSet.builder();
+            for (org.onlab.graph.Path<TopologyVertex, TopologyEdge> path : result.paths()) {
+                DisjointPath disjointPath =
+                        networkDisjointPath((DisjointPathPair<TopologyVertex, TopologyEdge>) path);
+                if (disjointPath.backup() != null) {
+                    builder.add(disjointPath);
+                }
             }
-        }
-        return builder.build();
+            return builder.build();
+        });
     }
 
     /**
@@ -629,15 +727,31 @@ public class DefaultTopology extends AbstractModel implements Topology {
 
     // Searches for SCC clusters in the network topology graph using Tarjan
     // algorithm.
-    private SccResult<TopologyVertex, TopologyEdge> searchForClusters() {
-        return TARJAN.search(graph, new NoIndirectLinksWeigher());
+    private ClusterPartition searchForClusters() {
+        return ClusterPartition.search(compactGraph.get());
+    }
+
+    // Binds the broadcast sets of the previous clusters that are carried over
+    // unchanged to their new cluster identifiers.
+    private static Map<ClusterId, Set<ConnectPoint>> reuseBroadcastSets(
+            ClusterPartition partition,
+            ImmutableSetMultimap<ClusterId, ConnectPoint> previousSets) {
+        ImmutableMap.Builder<ClusterId, Set<ConnectPoint>> builder = ImmutableMap.builder();
+        for (int i = 0, n = partition.clusterCount(); i < n; i++) {
+            int previous = partition.previousCluster(i);
+            if (previous >= 0) {
+                builder.put(ClusterId.clusterId(i),
+                            previousSets.get(ClusterId.clusterId(previous)));
+            }
+        }
+        return builder.build();
     }
 
     // Builds the topology clusters and returns the id-cluster bindings.
     private ImmutableMap<ClusterId, TopologyCluster> buildTopologyClusters() {
         ImmutableMap.Builder<ClusterId, TopologyCluster> clusterBuilder =
                 ImmutableMap.builder();
-        SccResult<TopologyVertex, TopologyEdge> results = clusterResults.get();
+        ClusterPartition results = clusterResults.get();
 
         // Extract both vertexes and edges from the results; the lists form
         // pairs along the same index.
@@ -676,8 +790,14 @@ public class DefaultTopology extends AbstractModel implements Topology {
     private ImmutableSetMultimap<ClusterId, ConnectPoint> buildBroadcastSets() {
         Builder<ClusterId, ConnectPoint> builder = ImmutableSetMultimap.builder();
         for (TopologyCluster cluster : clusters.get().values()) {
-            addClusterBroadcastSet(cluster, builder);
+            Set<ConnectPoint> reused = reusedBroadcastSets.get(cluster.id());
+            if (reused != null) {
+                builder.putAll(cluster.id(), reused);
+            } else {
+                addClusterBroadcastSet(cluster, builder);
+            }
         }
+        broadcastSetsBuilt = true;
         return builder.build();
     }
 
@@ -760,26 +880,10 @@ public class DefaultTopology extends AbstractModel implements Topology {
                 linksBuilder.build());
     }
 
-    private GraphPathSearch<TopologyVertex, TopologyEdge> graphPathSearch() {
-        return defaultGraphPathSearch != null ? defaultGraphPathSearch : DIJKSTRA;
-    }
-
     private LinkWeigher linkWeight() {
         return defaultLinkWeigher != null ? defaultLinkWeigher : hopCountWeigher;
     }
 
-    // Link weight for preventing traversal over indirect links.
-    private static class NoIndirectLinksWeigher
-            extends DefaultEdgeWeigher<TopologyVertex, TopologyEdge>
-            implements LinkWeigher {
-        @Override
-        public Weight weight(TopologyEdge edge) {
-            return (edge.link().state() == INACTIVE) ||
-                    (edge.link().type() == INDIRECT) ?
-                    getNonViableWeight() : new ScalarWeight(HOP_WEIGHT_VALUE);
-        }
-    }
-
     static final class ClusterIndexes {
         final ImmutableMap<DeviceId, TopologyCluster> clustersByDevice;
         final ImmutableSetMultimap<TopologyCluster, DeviceId> devicesByCluster;
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.common;
+
+import com.google.common.base.Supplier;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.topology.LinkWeigher;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * Bounded cache of path computation results for a single immutable topology.
+ * <p>
+ * Entries are keyed by the kind of search, the source and destination
+ * devices, the identity of the link weigher and the maximum number of paths.
+ * Because the owning topology never changes, entries never need to be
+ * invalidated; the cache is discarded together with the topology.
+ */
+final class PathCache {
+
+    /**
+     * Kinds of path searches whose results may be cached.
+     */
+    enum Kind {
+        SHORTEST, K_SHORTEST, DISJOINT
+    }
+
+    private static final LongAdder TOTAL_HITS = new LongAdder();
+    private static final LongAdder TOTAL_MISSES = new LongAdder();
+
+    private final Cache<Key, Object> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a new path cache holding at most the given number of entries.
+     *
+     * @param maxSize maximum number of cached search results
+     */
+    PathCache(long maxSize) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * Returns the cached result of the given search, computing it with the
+     * given loader if it is not cached yet.
+     *
+     * @param kind     kind of search
+     * @param src      source device
+     * @param dst      destination device
+     * @param weigher  link weigher used by the search
+     * @param maxPaths maximum number of paths requested
+     * @param loader   search to run on a cache miss
+     * @param <T>      search result type
+     * @return search result
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(Kind kind, DeviceId src, DeviceId dst, LinkWeigher weigher,
+              int maxPaths, Supplier<T> loader) {
+        Key key = new Key(kind, src, dst, weigher, maxPaths);
+        Object result = cache.getIfPresent(key);
+        if (result != null) {
+            hits.increment();
+            TOTAL_HITS.increment();
+            return (T) result;
+        }
+        try {
+            return (T) cache.get(key, () -> {
+                misses.increment();
+                TOTAL_MISSES.increment();
+                return loader.get();
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Returns the number of lookups served from this cache.
+     *
+     * @return hit count
+     */
+    long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that required a path search.
+     *
+     * @return miss count
+     */
+    long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of lookups served from any path cache since start.
+     *
+     * @return cumulative hit count
+     */
+    static long totalHitCount() {
+        return TOTAL_HITS.sum();
+    }
+
+    /**
+     * Returns the number of lookups that required a path search in any path
+     * cache since start.
+     *
+     * @return cumulative miss count
+     */
+    static long totalMissCount() {
+        return TOTAL_MISSES.sum();
+    }
+
+    // Cache key; link weighers are compared by identity as they are free to
+    // carry mutable state that is not reflected in equals.
+    private static final class Key {
+        private final Kind kind;
+        private final DeviceId src;
+        private final DeviceId dst;
+        private final LinkWeigher weigher;
+        private final int maxPaths;
+
+        private Key(Kind kind, DeviceId src, DeviceId dst,
+                    LinkWeigher weigher, int maxPaths) {
+            this.kind = kind;
+            this.src = src;
+            this.dst = dst;
+            this.weigher = weigher;
+            this.maxPaths = maxPaths;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, src, dst, System.identityHashCode(weigher), maxPaths);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj instanceof Key) {
+                Key that = (Key) obj;
+                return kind == that.kind && weigher == that.weigher
+                        && maxPaths == that.maxPaths
+                        && Objects.equals(src, that.src)
+                        && Objects.equals(dst, that.dst);
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return toStringHelper(this)
+                    .add("kind", kind)
+                    .add("src", src)
+                    .add("dst", dst)
+                    .add("weigher", weigher)
+                    .add("maxPaths", maxPaths)
+                    .toString();
+        }
+    }
+}
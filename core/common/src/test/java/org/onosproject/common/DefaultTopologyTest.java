@@ -15,6 +15,7 @@
  */
 package org.onosproject.common;
 
+import com.google.common.collect.ImmutableSet;
 import org.junit.Before;
 import org.junit.Test;
 import org.onlab.graph.DefaultEdgeWeigher;
@@ -40,6 +41,8 @@ import org.onosproject.net.topology.TopologyEdge;
 import org.onosproject.net.topology.TopologyVertex;
 
 import java.util.Set;
+import java.util.stream.Collectors;
+
 import static com.google.common.collect.ImmutableSet.of;
 import static org.junit.Assert.*;
 import static org.onosproject.net.DeviceId.deviceId;
@@ -79,6 +82,8 @@ public class DefaultTopologyTest {
 
 
     private DefaultTopology dt;
+    private Set<Device> devices;
+    private Set<Link> links;
 
     public static final ClusterId C0 = ClusterId.clusterId(0);
     public static final ClusterId C1 = ClusterId.clusterId(1);
@@ -86,13 +91,13 @@ public class DefaultTopologyTest {
     @Before
     public void setUp() {
         long now = System.currentTimeMillis();
-        Set<Device> devices = of(device("1"), device("2"),
-                                 device("3"), device("4"),
-                                 device("5"));
-        Set<Link> links = of(link("1", 1, "2", 1), link("2", 1, "1", 1),
-                             link("3", 2, "2", 2), link("2", 2, "3", 2),
-                             link("1", 3, "4", 3), link("4", 3, "1", 3),
-                             link("3", 4, "4", 4), link("4", 4, "3", 4));
+        devices = of(device("1"), device("2"),
+                     device("3"), device("4"),
+                     device("5"));
+        links = of(link("1", 1, "2", 1), link("2", 1, "1", 1),
+                   link("3", 2, "2", 2), link("2", 2, "3", 2),
+                   link("1", 3, "4", 3), link("4", 3, "1", 3),
+                   link("3", 4, "4", 4), link("4", 4, "3", 4));
         GraphDescription graphDescription =
                 new DefaultGraphDescription(now, System.currentTimeMillis(), devices, links);
 
@@ -128,6 +133,29 @@ public class DefaultTopologyTest {
 
     }
 
+    @Test
+    public void pathCache() {
+        Set<Path> paths = dt.getPaths(D1, D3);
+        assertEquals("incorrect miss count", 1, dt.pathCacheMissCount());
+        assertEquals("incorrect hit count", 0, dt.pathCacheHitCount());
+
+        assertSame("cached paths expected", paths, dt.getPaths(D1, D3));
+        assertEquals("incorrect miss count", 1, dt.pathCacheMissCount());
+        assertEquals("incorrect hit count", 1, dt.pathCacheHitCount());
+
+        dt.getPaths(D1, D3, WEIGHER);
+        dt.getKShortestPaths(D1, D3, 2);
+        dt.getDisjointPaths(D1, D3);
+        assertEquals("incorrect miss count", 4, dt.pathCacheMissCount());
+        assertEquals("incorrect hit count", 1, dt.pathCacheHitCount());
+
+        dt.getPaths(D1, D3, WEIGHER);
+        dt.getKShortestPaths(D1, D3, 2);
+        dt.getDisjointPaths(D1, D3);
+        assertEquals("incorrect miss count", 4, dt.pathCacheMissCount());
+        assertEquals("incorrect hit count", 4, dt.pathCacheHitCount());
+    }
+
     @Test
     public void pointRelated() {
         assertTrue("should be infrastructure point",
@@ -148,12 +176,140 @@ public class DefaultTopologyTest {
         assertFalse("cluster should not contain D5", devs.contains(D5));
     }
 
+    @Test
+    public void incrementalClusters() {
+        // Adding an isolated device recomputes only its own cluster and
+        // carries the broadcast set of the unchanged cluster over.
+        Set<Device> moreDevices = ImmutableSet.<Device>builder()
+                .addAll(devices).add(device("6")).build();
+        DefaultTopology added = incremental(dt, moreDevices, links);
+        assertEquals("incorrect mutation count", 1, added.mutationCount());
+        assertEquals("incorrect recomputed count", 1, added.recomputedClusterCount());
+        assertClustersMatch(added);
+        assertEquals("broadcast set should be reused",
+                     dt.broadcastPoints(C0), added.broadcastPoints(added.getCluster(D1).id()));
+
+        // Links closing a cycle between clusters merge them.
+        Set<Link> moreLinks = ImmutableSet.<Link>builder()
+                .addAll(links).add(link("1", 5, "5", 5), link("5", 5, "1", 5)).build();
+        DefaultTopology merged = incremental(added, moreDevices, moreLinks);
+        assertEquals("incorrect mutation count", 2, merged.mutationCount());
+        assertEquals("incorrect recomputed count", 1, merged.recomputedClusterCount());
+        assertEquals("incorrect cluster count", 2, merged.clusterCount());
+        assertEquals("incorrect cluster size", 5,
+                     merged.getClusterDevices(merged.getCluster(D5)).size());
+        assertClustersMatch(merged);
+
+        // Removing links splits the cluster again.
+        Set<Link> fewerLinks = moreLinks.stream()
+                .filter(l -> !l.src().deviceId().equals(D2) && !l.dst().deviceId().equals(D2))
+                .collect(ImmutableSet.toImmutableSet());
+        DefaultTopology split = incremental(merged, moreDevices, fewerLinks);
+        assertEquals("incorrect mutation count", 4, split.mutationCount());
+        assertEquals("incorrect recomputed count", 2, split.recomputedClusterCount());
+        assertEquals("incorrect cluster count", 3, split.clusterCount());
+        assertClustersMatch(split);
+    }
+
+    @Test
+    public void incrementalBroadcastSets() {
+        // Indirect and inactive links within a cluster do not change its
+        // devices, but the cluster is recomputed rather than carried over.
+        Set<Device> chainDevices = of(device("1"), device("2"), device("3"), device("4"));
+        Set<Link> chain = of(link("1", 1, "2", 1), link("2", 1, "1", 1),
+                             link("2", 2, "3", 2), link("3", 2, "2", 2));
+        DefaultTopology previous = new DefaultTopology(PID,
+                new DefaultGraphDescription(0, 0, chainDevices, chain));
+        assertBroadcastSetsMatch(previous);
+
+        Set<Link> moreLinks = ImmutableSet.<Link>builder().addAll(chain)
+                .add(link("1", 3, "3", 3, Link.Type.INDIRECT, Link.State.ACTIVE),
+                     link("3", 3, "1", 3, Link.Type.INDIRECT, Link.State.ACTIVE),
+                     link("2", 4, "3", 4, Link.Type.DIRECT, Link.State.INACTIVE))
+                .build();
+        DefaultTopology changed = incremental(previous, chainDevices, moreLinks);
+        assertEquals("incorrect mutation count", 0, changed.mutationCount());
+        assertClustersMatch(changed);
+        assertBroadcastSetsMatch(changed);
+
+        // An inactive link becoming active is a change as well.
+        Set<Link> activated = moreLinks.stream()
+                .map(l -> l.state() == Link.State.INACTIVE ?
+                        link("2", 4, "3", 4, Link.Type.DIRECT, Link.State.ACTIVE) : l)
+                .collect(ImmutableSet.toImmutableSet());
+        DefaultTopology active = incremental(changed, chainDevices, activated);
+        assertEquals("incorrect mutation count", 1, active.mutationCount());
+        assertClustersMatch(active);
+        assertBroadcastSetsMatch(active);
+    }
+
+    // Builds a topology from the given devices and links incrementally.
+    private DefaultTopology incremental(DefaultTopology previous,
+                                        Set<Device> devices, Set<Link> links) {
+        long now = System.currentTimeMillis();
+        GraphDescription description =
+                new DefaultGraphDescription(now, now, devices, links);
+        DefaultTopology topology = new DefaultTopology(PID, description, null, previous);
+        topology.getClusters().forEach(c -> topology.broadcastPoints(c.id()));
+        return topology;
+    }
+
+    // Asserts that the clusters match those computed from scratch.
+    private void assertClustersMatch(DefaultTopology topology) {
+        GraphDescription description =
+                new DefaultGraphDescription(topology.time(), topology.creationTime(),
+                                            topology.getGraph().getVertexes().stream()
+                                                    .map(v -> device(v.deviceId().toString().substring(3)))
+                                                    .collect(Collectors.toSet()),
+                                            topology.getGraph().getEdges().stream()
+                                                    .map(TopologyEdge::link)
+                                                    .collect(Collectors.toSet()));
+        DefaultTopology full = new DefaultTopology(PID, description);
+        assertEquals("incorrect clusters", clusterDevices(full), clusterDevices(topology));
+        for (TopologyCluster cluster : topology.getClusters()) {
+            TopologyCluster other = full.getCluster(cluster.root().deviceId());
+            assertEquals("incorrect cluster links",
+                         full.getClusterLinks(other), topology.getClusterLinks(cluster));
+            assertEquals("incorrect cluster root", other.root(), cluster.root());
+        }
+    }
+
+    // Asserts that the broadcast sets match those computed from scratch.
+    private void assertBroadcastSetsMatch(DefaultTopology topology) {
+        DefaultTopology full = new DefaultTopology(PID, new DefaultGraphDescription(
+                topology.time(), topology.creationTime(),
+                topology.getGraph().getVertexes().stream()
+                        .map(v -> device(v.deviceId().toString().substring(3)))
+                        .collect(Collectors.toSet()),
+                topology.getGraph().getEdges().stream()
+                        .map(TopologyEdge::link)
+                        .collect(Collectors.toSet())));
+        for (TopologyCluster cluster : topology.getClusters()) {
+            TopologyCluster other = full.getCluster(cluster.root().deviceId());
+            assertEquals("incorrect broadcast set",
+                         full.broadcastPoints(other.id()), topology.broadcastPoints(cluster.id()));
+        }
+    }
+
+    private static Set<Set<DeviceId>> clusterDevices(DefaultTopology topology) {
+        return topology.getClusters().stream()
+                .map(topology::getClusterDevices)
+                .collect(Collectors.toSet());
+    }
+
     // Short-hand for creating a link.
     public static Link link(String src, int sp, String dst, int dp) {
+        return link(src, sp, dst, dp, Link.Type.DIRECT, Link.State.ACTIVE);
+    }
+
+    // Short-hand for creating a link of the given type and state.
+    public static Link link(String src, int sp, String dst, int dp,
+                            Link.Type type, Link.State state) {
         return DefaultLink.builder().providerId(PID)
                 .src(new ConnectPoint(did(src), portNumber(sp)))
                 .dst(new ConnectPoint(did(dst), portNumber(dp)))
-                .type(Link.Type.DIRECT)
+                .type(type)
+                .state(state)
                 .build();
     }
 
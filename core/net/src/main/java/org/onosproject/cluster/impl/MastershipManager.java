@@ -17,10 +17,12 @@ package org.onosproject.cluster.impl;
 
 import com.codahale.metrics.Timer;
 import com.codahale.metrics.Timer.Context;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.Futures;
 import org.onlab.metrics.MetricsService;
+import org.onlab.util.SharedScheduledExecutors;
 import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.cfg.ConfigProperty;
 import org.onosproject.cluster.ClusterService;
@@ -30,6 +32,7 @@ import org.onosproject.cluster.RoleInfo;
 import org.onosproject.core.MetricsHelper;
 import org.onosproject.event.AbstractListenerManager;
 import org.onosproject.mastership.MastershipAdminService;
+import org.onosproject.mastership.MastershipBalancePlan;
 import org.onosproject.mastership.MastershipEvent;
 import org.onosproject.mastership.MastershipInfo;
 import org.onosproject.mastership.MastershipListener;
@@ -40,6 +43,7 @@ import org.onosproject.mastership.MastershipTerm;
 import org.onosproject.mastership.MastershipTermService;
 import org.onosproject.net.DeviceId;
 import org.onosproject.net.MastershipRole;
+import org.onosproject.net.flow.FlowRuleService;
 import org.onosproject.net.region.Region;
 import org.onosproject.net.region.RegionService;
 import org.onosproject.upgrade.UpgradeEvent;
@@ -51,22 +55,20 @@ import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 
-import java.util.ArrayList;
-import java.util.Collection;
+import java.time.Duration;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import static com.google.common.collect.Lists.newArrayList;
 import static java.util.concurrent.CompletableFuture.allOf;
 import static org.onlab.metrics.MetricsUtil.startTimer;
 import static org.onlab.metrics.MetricsUtil.stopTimer;
@@ -91,7 +93,8 @@ import static org.onosproject.net.OsgiPropertyConstants.*;
         },
         property = {
                 USE_REGION_FOR_BALANCE_ROLES + ":Boolean=" + USE_REGION_FOR_BALANCE_ROLES_DEFAULT,
-                REBALANCE_ROLES_ON_UPGRADE + ":Boolean=" + REBALANCE_ROLES_ON_UPGRADE_DEFAULT
+                REBALANCE_ROLES_ON_UPGRADE + ":Boolean=" + REBALANCE_ROLES_ON_UPGRADE_DEFAULT,
+                MAX_MOVES_PER_SECOND + ":Integer=" + MAX_MOVES_PER_SECOND_DEFAULT
         }
 )
 public class MastershipManager
@@ -126,6 +129,10 @@ public class MastershipManager
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected UpgradeService upgradeService;
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL,
+            policy = ReferencePolicy.DYNAMIC)
+    protected volatile FlowRuleService flowRuleService;
+
     private NodeId localNodeId;
     private Timer requestRoleTimer;
 
@@ -135,6 +142,9 @@ public class MastershipManager
     /** Automatically rebalance roles following an upgrade. */
     protected boolean rebalanceRolesOnUpgrade = REBALANCE_ROLES_ON_UPGRADE_DEFAULT;
 
+    /** Maximum number of devices moved per second when balancing roles; 0 for no limit. */
+    protected int maxMovesPerSecond = MAX_MOVES_PER_SECOND_DEFAULT;
+
     @Activate
     public void activate() {
         cfgService.registerProperties(getClass());
@@ -157,6 +167,8 @@ public class MastershipManager
                     useRegionForBalanceRoles = property.asBoolean();
                 } else if (REBALANCE_ROLES_ON_UPGRADE.equals(property.name())) {
                     rebalanceRolesOnUpgrade = property.asBoolean();
+                } else if (MAX_MOVES_PER_SECOND.equals(property.name())) {
+                    maxMovesPerSecond = Math.max(0, property.asInteger());
                 }
             }
         }
@@ -268,302 +280,178 @@ public class MastershipManager
 
     @Override
     public void balanceRoles() {
-        List<ControllerNode> nodes = newArrayList(clusterService.getNodes());
-        Map<ControllerNode, Set<DeviceId>> controllerDevices = new HashMap<>();
-        Set<DeviceId> orphanedDevices = Sets.newHashSet();
-        int deviceCount = 0;
-
-        // Create buckets reflecting current ownership; do this irrespective of
-        // whether the node is active.
-        for (ControllerNode node : nodes) {
-            Set<DeviceId> devicesOf = new HashSet<>(getDevicesOf(node.id()));
+        Futures.getUnchecked(applyBalancePlan(planBalanceRoles()));
+    }
+
+    @Override
+    public MastershipBalancePlan planBalanceRoles() {
+        Set<NodeId> activeNodes = new HashSet<>();
+        Map<DeviceId, NodeId> masters = new HashMap<>();
+
+        // Collect the current ownership; do this irrespective of whether the
+        // node is active, as devices of inactive nodes must be moved.
+        for (ControllerNode node : clusterService.getNodes()) {
+            Set<DeviceId> devicesOf = getDevicesOf(node.id());
             if (clusterService.getState(node.id()).isActive()) {
                 log.info("Node {} has {} devices.", node.id(), devicesOf.size());
-                deviceCount += devicesOf.size();
-                controllerDevices.put(node, devicesOf);
+                activeNodes.add(node.id());
             } else if (!devicesOf.isEmpty()) {
                 log.warn("Inactive node {} has {} orphaned devices.", node.id(), devicesOf.size());
-                orphanedDevices.addAll(getDevicesOf(node.id()));
             }
+            devicesOf.forEach(deviceId -> masters.put(deviceId, node.id()));
         }
 
-        if (useRegionForBalanceRoles && balanceRolesUsingRegions(controllerDevices)) {
-            return;
+        MastershipRebalancer rebalancer = new MastershipRebalancer(this::flowRuleCount);
+        if (useRegionForBalanceRoles && !regionService.getRegions().isEmpty()) {
+            planUsingRegions(rebalancer, activeNodes, masters);
+        } else {
+            rebalancer.balance(activeNodes, masters);
         }
 
-        List<CompletableFuture<Void>> balanceBucketsFutures = Lists.newLinkedList();
-
-        // First re-balance the buckets until they are roughly even.
-        balanceControllerNodes(controllerDevices, deviceCount, balanceBucketsFutures);
-
-        // Then attempt to distribute any orphaned devices among the buckets.
-        distributeOrphanedDevices(controllerDevices, orphanedDevices, balanceBucketsFutures);
+        Map<DeviceId, NodeId> moves = rebalancer.moves();
+        long seconds = maxMovesPerSecond > 0 ? (moves.size() + maxMovesPerSecond - 1) / maxMovesPerSecond : 0;
+        return new MastershipBalancePlan(moves, rebalancer.weight(moves.keySet()),
+                                         Duration.ofSeconds(seconds));
+    }
 
-        CompletableFuture<Void> balanceRolesFuture =
-                allOf(balanceBucketsFutures.toArray(new CompletableFuture[balanceBucketsFutures.size()]));
+    @Override
+    public CompletableFuture<Void> applyBalancePlan(MastershipBalancePlan plan) {
+        checkNotNull(plan, "Plan cannot be null");
 
-        Futures.getUnchecked(balanceRolesFuture);
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        applyMoves(ImmutableList.copyOf(plan.moves().entrySet()), 0, done);
+        return done;
     }
 
     /**
-     * Balances the nodes specified in controllerDevices.
+     * Moves the devices from the given index on, at most maxMovesPerSecond
+     * of them each second. The next batch of moves is only issued once the
+     * previous one is complete.
      *
-     * @param controllerDevices controller nodes to devices map
-     * @param deviceCount       number of devices mastered by controller nodes
-     * @param futures           list of setRole futures for "moved" devices
+     * @param moves list of device moves
+     * @param from  index of the first move of the batch
+     * @param done  future completed once all moves are done
      */
-    private void balanceControllerNodes(Map<ControllerNode, Set<DeviceId>> controllerDevices,
-                                        int deviceCount,
-                                        List<CompletableFuture<Void>> futures) {
-        // Now re-balance the buckets until they are roughly even.
-        int rounds = controllerDevices.keySet().size();
-        for (int i = 0; i < rounds; i++) {
-            // Iterate over the buckets and find the smallest and the largest.
-            ControllerNode smallest = findBucket(true, controllerDevices);
-            ControllerNode largest = findBucket(false, controllerDevices);
-            futures.add(balanceBuckets(smallest, largest, controllerDevices, deviceCount));
+    private void applyMoves(List<Map.Entry<DeviceId, NodeId>> moves, int from,
+                            CompletableFuture<Void> done) {
+        if (from >= moves.size()) {
+            done.complete(null);
+            return;
         }
-    }
-
-    /**
-     * Uses the set of orphaned devices to even out the load among the controllers.
-     *
-     * @param controllerDevices controller nodes to devices map
-     * @param orphanedDevices   set of orphaned devices without an active master
-     * @param futures           list of completable future to track the progress of the balancing operation
-     */
-    private void distributeOrphanedDevices(Map<ControllerNode, Set<DeviceId>> controllerDevices,
-                                           Set<DeviceId> orphanedDevices,
-                                           List<CompletableFuture<Void>> futures) {
-        // Now re-distribute the orphaned devices into buckets until they are roughly even.
-        while (!orphanedDevices.isEmpty()) {
-            // Iterate over the buckets and find the smallest bucket.
-            ControllerNode smallest = findBucket(true, controllerDevices);
-            changeMastership(smallest, controllerDevices.get(smallest),
-                             orphanedDevices, 1, futures);
+        int batchSize = maxMovesPerSecond > 0 ? maxMovesPerSecond : moves.size();
+        int to = Math.min(moves.size(), from + batchSize);
+        long start = System.currentTimeMillis();
+
+        List<CompletableFuture<Void>> futures = Lists.newArrayList();
+        for (Map.Entry<DeviceId, NodeId> move : moves.subList(from, to)) {
+            log.info("Setting {} as the master for {}", move.getValue(), move.getKey());
+            futures.add(setRole(move.getValue(), move.getKey(), MASTER)
+                    .whenComplete((r, e) -> {
+                        if (e != null) {
+                            log.warn("Unable to set {} as the master for {}",
+                                     move.getValue(), move.getKey(), e);
+                        }
+                    }));
         }
-    }
-
-    /**
-     * Finds node with the minimum/maximum devices from a list of nodes.
-     *
-     * @param min               true: minimum, false: maximum
-     * @param controllerDevices controller nodes to devices map
-     * @return controller node with minimum/maximum devices
-     */
 
-    private ControllerNode findBucket(boolean min,
-                                      Map<ControllerNode, Set<DeviceId>> controllerDevices) {
-        int xSize = min ? Integer.MAX_VALUE : -1;
-        ControllerNode xNode = null;
-        for (ControllerNode node : controllerDevices.keySet()) {
-            int size = controllerDevices.get(node).size();
-            if ((min && size < xSize) || (!min && size > xSize)) {
-                xSize = size;
-                xNode = node;
+        // Keep going past failed moves; the devices are left where they are
+        allOf(futures.toArray(new CompletableFuture[futures.size()])).handle((r, e) -> {
+            long delay = TimeUnit.SECONDS.toMillis(1) - (System.currentTimeMillis() - start);
+            if (to < moves.size() && delay > 0) {
+                SharedScheduledExecutors.newTimeout(() -> applyMoves(moves, to, done),
+                                                    delay, TimeUnit.MILLISECONDS);
+            } else {
+                applyMoves(moves, to, done);
             }
-        }
-        return xNode;
+            return null;
+        });
     }
 
     /**
-     * Balance the node buckets by moving devices from largest to smallest node.
+     * Plans the balancing of the devices of each region among the region's
+     * preferred set of masters, and of the remaining devices among the nodes
+     * not mastering any region. Devices of regions without active masters and
+     * devices outside of the regions that are mastered by an active region
+     * master are left alone.
      *
-     * @param smallest          node that is master of the smallest number of devices
-     * @param largest           node that is master of the largest number of devices
-     * @param controllerDevices controller nodes to devices map
-     * @param deviceCount       number of devices mastered by controller nodes
-     * @return list of setRole futures for "moved" devices
+     * @param rebalancer  mastership rebalancer
+     * @param activeNodes active controller nodes
+     * @param masters     current master of each device of the cluster nodes
      */
-    private CompletableFuture<Void> balanceBuckets(ControllerNode smallest, ControllerNode largest,
-                                                   Map<ControllerNode, Set<DeviceId>> controllerDevices,
-                                                   int deviceCount) {
-        Collection<DeviceId> minBucket = controllerDevices.get(smallest);
-        Collection<DeviceId> maxBucket = controllerDevices.get(largest);
-        int bucketCount = controllerDevices.keySet().size();
-
-        int delta = (maxBucket.size() - minBucket.size()) / 2;
-        delta = Math.min(deviceCount / bucketCount, delta);
-
-        List<CompletableFuture<Void>> setRoleFutures = Lists.newLinkedList();
-
-        if (delta > 0) {
-            log.info("Attempting to move {} nodes from {} to {}...", delta,
-                     largest.id(), smallest.id());
-            changeMastership(smallest, minBucket, maxBucket, delta, setRoleFutures);
-        }
-
-        return allOf(setRoleFutures.toArray(new CompletableFuture[setRoleFutures.size()]));
-    }
+    private void planUsingRegions(MastershipRebalancer rebalancer, Set<NodeId> activeNodes,
+                                  Map<DeviceId, NodeId> masters) {
+        Set<NodeId> regionMasters = new HashSet<>();
+        Set<DeviceId> regionDevices = new HashSet<>();
+
+        for (Region region : regionService.getRegions()) {
+            Set<DeviceId> devicesInRegion = regionService.getRegionDevices(region.id());
+            log.info("Region {} has {} devices.", region.id(), devicesInRegion.size());
+            if (devicesInRegion.isEmpty()) {
+                continue; // no devices in this region, so nothing to balance.
+            }
 
-    /**
-     * Changes mastership for the specified number of devices in the given source
-     * bucket to the specified node and ads those devices to the given target
-     * bucket. Also adds the futures for tracking the role reassignment progress.
-     *
-     * @param toNode     target controller node
-     * @param toBucket   target bucket
-     * @param fromBucket source bucket
-     * @param count      number of devices
-     * @param futures    futures for tracking operation progress
-     */
-    private void changeMastership(ControllerNode toNode, Collection<DeviceId> toBucket,
-                                  Collection<DeviceId> fromBucket, int count,
-                                  List<CompletableFuture<Void>> futures) {
-        int i = 0;
-        Iterator<DeviceId> it = fromBucket.iterator();
-        while (it.hasNext() && i < count) {
-            DeviceId deviceId = it.next();
-            log.info("Setting {} as the master for {}", toNode.id(), deviceId);
-            futures.add(setRole(toNode.id(), deviceId, MASTER));
-            toBucket.add(deviceId);
-            it.remove();
-            i++;
-        }
-    }
+            Set<NodeId> preferredMasters = getRegionsPreferredMasters(region, activeNodes);
+            regionDevices.addAll(devicesInRegion);
+            if (preferredMasters.isEmpty()) {
+                // TODO handle devices that belong to a region, which has no masters defined
+                continue; // for now just leave devices alone
+            }
 
-    /**
-     * Balances the nodes considering Region information.
-     *
-     * @param allControllerDevices controller nodes to devices map
-     * @return true: nodes balanced; false: nodes not balanced
-     */
-    private boolean balanceRolesUsingRegions(Map<ControllerNode, Set<DeviceId>> allControllerDevices) {
-        Set<Region> regions = regionService.getRegions();
-        if (regions.isEmpty()) {
-            return false; // no balancing was done using regions.
+            Map<DeviceId, NodeId> regionalMasters = new HashMap<>();
+            devicesInRegion.forEach(deviceId -> regionalMasters.put(deviceId, getMasterFor(deviceId)));
+            rebalancer.balance(preferredMasters, regionalMasters);
+            regionMasters.addAll(preferredMasters);
         }
 
-        // Handle nodes belonging to regions
-        Set<ControllerNode> nodesInRegions = Sets.newHashSet();
-        for (Region region : regions) {
-            Map<ControllerNode, Set<DeviceId>> activeRegionControllers =
-                    balanceRolesInRegion(region, allControllerDevices);
-            nodesInRegions.addAll(activeRegionControllers.keySet());
+        Set<NodeId> otherNodes = Sets.difference(activeNodes, regionMasters);
+        if (otherNodes.isEmpty()) {
+            otherNodes = activeNodes;
         }
-
-        // Handle nodes not belonging to any region
-        Set<ControllerNode> nodesNotInRegions = Sets.difference(allControllerDevices.keySet(), nodesInRegions);
-        if (!nodesNotInRegions.isEmpty()) {
-            int deviceCount = 0;
-            Map<ControllerNode, Set<DeviceId>> controllerDevicesNotInRegions = new HashMap<>();
-            for (ControllerNode controllerNode : nodesNotInRegions) {
-                controllerDevicesNotInRegions.put(controllerNode, allControllerDevices.get(controllerNode));
-                deviceCount += allControllerDevices.get(controllerNode).size();
+        Map<DeviceId, NodeId> otherMasters = new HashMap<>();
+        for (Map.Entry<DeviceId, NodeId> entry : masters.entrySet()) {
+            NodeId master = entry.getValue();
+            if (!regionDevices.contains(entry.getKey()) &&
+                    (otherNodes.contains(master) || !activeNodes.contains(master))) {
+                otherMasters.put(entry.getKey(), master);
             }
-            // Now re-balance the buckets until they are roughly even.
-            List<CompletableFuture<Void>> balanceBucketsFutures = Lists.newArrayList();
-            balanceControllerNodes(controllerDevicesNotInRegions, deviceCount, balanceBucketsFutures);
-
-            CompletableFuture<Void> balanceRolesFuture = allOf(
-                    balanceBucketsFutures.toArray(new CompletableFuture[balanceBucketsFutures.size()]));
-
-            Futures.getUnchecked(balanceRolesFuture);
         }
-        return true; // balancing was done using regions.
+        rebalancer.balance(otherNodes, otherMasters);
     }
 
     /**
-     * Balances the nodes in specified region.
+     * Get region's preferred set of master nodes - the active nodes of the
+     * first master node set that has at least one active node.
      *
-     * @param region               region in which nodes are to be balanced
-     * @param allControllerDevices controller nodes to devices map
-     * @return controller nodes that were balanced
+     * @param region      region for which preferred set of master nodes is requested
+     * @param activeNodes active controller nodes
+     * @return region's preferred master nodes; empty if none is active
      */
-    private Map<ControllerNode, Set<DeviceId>>
-            balanceRolesInRegion(Region region,
-                                 Map<ControllerNode, Set<DeviceId>> allControllerDevices) {
-
-        // Retrieve all devices associated with specified region
-        Set<DeviceId> devicesInRegion = regionService.getRegionDevices(region.id());
-        log.info("Region {} has {} devices.", region.id(), devicesInRegion.size());
-        if (devicesInRegion.isEmpty()) {
-            return new HashMap<>(); // no devices in this region, so nothing to balance.
-        }
-
+    private Set<NodeId> getRegionsPreferredMasters(Region region, Set<NodeId> activeNodes) {
         List<Set<NodeId>> mastersList = region.masters();
         log.info("Region {} has {} sets of masters.", region.id(), mastersList.size());
-        if (mastersList.isEmpty()) {
-            // TODO handle devices that belong to a region, which has no masters defined
-            return new HashMap<>(); // for now just leave devices alone
-        }
-
-        // Get the region's preferred set of masters
-        Set<DeviceId> devicesInMasters = Sets.newHashSet();
-        Map<ControllerNode, Set<DeviceId>> regionalControllerDevices =
-                getRegionsPreferredMasters(region, devicesInMasters, allControllerDevices);
-
-        // Now re-balance the buckets until they are roughly even.
-        List<CompletableFuture<Void>> balanceBucketsFutures = Lists.newArrayList();
-        balanceControllerNodes(regionalControllerDevices, devicesInMasters.size(), balanceBucketsFutures);
-
-        // Handle devices that are not currently mastered by the master node set
-        Set<DeviceId> devicesNotMasteredWithControllers = Sets.difference(devicesInRegion, devicesInMasters);
-        if (!devicesNotMasteredWithControllers.isEmpty()) {
-            // active controllers in master node set are already balanced, just
-            // assign device mastership in sequence
-            List<ControllerNode> sorted = new ArrayList<>(regionalControllerDevices.keySet());
-            Collections.sort(sorted, Comparator.comparingInt(o -> (regionalControllerDevices.get(o)).size()));
-            int deviceIndex = 0;
-            for (DeviceId deviceId : devicesNotMasteredWithControllers) {
-                ControllerNode cnode = sorted.get(deviceIndex % sorted.size());
-                balanceBucketsFutures.add(setRole(cnode.id(), deviceId, MASTER));
-                regionalControllerDevices.get(cnode).add(deviceId);
-                deviceIndex++;
+        int listIndex = 0;
+        for (Set<NodeId> masterSet : mastersList) {
+            log.info("Region {} masters set {} has {} nodes.",
+                     region.id(), listIndex, masterSet.size());
+            Set<NodeId> activeMasters = Sets.newHashSet(Sets.intersection(masterSet, activeNodes));
+            if (!activeMasters.isEmpty()) {
+                return activeMasters; // now have a set of >0 active controllers
             }
+            listIndex++; // keep on looking
         }
-
-        CompletableFuture<Void> balanceRolesFuture =
-                allOf(balanceBucketsFutures.toArray(new CompletableFuture[balanceBucketsFutures.size()]));
-
-        Futures.getUnchecked(balanceRolesFuture);
-
-        // Update the map before returning
-        regionalControllerDevices.forEach((controllerNode, deviceIds) -> {
-            regionalControllerDevices.put(controllerNode, new HashSet<>(getDevicesOf(controllerNode.id())));
-        });
-
-        return regionalControllerDevices;
+        return Collections.emptySet();
     }
 
     /**
-     * Get region's preferred set of master nodes - the first master node set that has at
-     * least one active node.
+     * Returns the cost of moving the mastership of the given device, that is
+     * the number of flow rules the new master will have to audit.
      *
-     * @param region               region for which preferred set of master nodes is requested
-     * @param devicesInMasters     device set to track devices in preferred set of master nodes
-     * @param allControllerDevices controller nodes to devices map
-     * @return region's preferred master nodes (and devices that use them as masters)
+     * @param deviceId device identifier
+     * @return number of flow rules of the device; 0 if unknown
      */
-    private Map<ControllerNode, Set<DeviceId>>
-            getRegionsPreferredMasters(Region region,
-                                       Set<DeviceId> devicesInMasters,
-                                       Map<ControllerNode, Set<DeviceId>> allControllerDevices) {
-        Map<ControllerNode, Set<DeviceId>> regionalControllerDevices = new HashMap<>();
-        int listIndex = 0;
-        for (Set<NodeId> masterSet : region.masters()) {
-            log.info("Region {} masters set {} has {} nodes.",
-                     region.id(), listIndex, masterSet.size());
-            if (masterSet.isEmpty()) { // nothing on this level
-                listIndex++;
-                continue;
-            }
-            // Create buckets reflecting current ownership.
-            for (NodeId nodeId : masterSet) {
-                if (clusterService.getState(nodeId).isActive()) {
-                    ControllerNode controllerNode = clusterService.getNode(nodeId);
-                    Set<DeviceId> devicesOf = new HashSet<>(allControllerDevices.get(controllerNode));
-                    regionalControllerDevices.put(controllerNode, devicesOf);
-                    devicesInMasters.addAll(devicesOf);
-                    log.info("Active Node {} has {} devices.", nodeId, devicesOf.size());
-                }
-            }
-            if (!regionalControllerDevices.isEmpty()) {
-                break; // now have a set of >0 active controllers
-            }
-            listIndex++; // keep on looking
-        }
-        return regionalControllerDevices;
+    private long flowRuleCount(DeviceId deviceId) {
+        FlowRuleService service = flowRuleService;
+        return service != null ? service.getFlowRuleCount(deviceId) : 0;
     }
 
     public class InternalDelegate implements MastershipStoreDelegate {
@@ -578,7 +466,7 @@ public class MastershipManager
         public void event(UpgradeEvent event) {
             if (rebalanceRolesOnUpgrade &&
                     (event.type() == UpgradeEvent.Type.COMMITTED || event.type() == UpgradeEvent.Type.RESET)) {
-                balanceRoles();
+                applyBalancePlan(planBalanceRoles());
             }
         }
     }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.cluster.impl;
+
+import org.onosproject.cluster.NodeId;
+import org.onosproject.net.DeviceId;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+/**
+ * Planner of the mastership changes balancing groups of devices among sets
+ * of candidate masters with as few moves as possible.
+ * <p>
+ * Each node is given a quota of devices differing by at most one from the
+ * quota of any other node, the larger quotas going to the nodes already
+ * mastering the most devices. Only the devices past the quota of their
+ * master and the devices without a candidate master are then moved. As all
+ * candidates are equally good destinations, the cost of a plan only depends
+ * on which devices are moved, so picking the devices with the fewest flow
+ * rules gives the cheapest plan. The moved devices are handed out heaviest
+ * first to the node with the fewest flow rules among those under quota.
+ * </p>
+ */
+final class MastershipRebalancer {
+
+    private final ToLongFunction<DeviceId> weigher;
+    private final Map<DeviceId, Long> weights = new HashMap<>();
+    private final Map<DeviceId, NodeId> moves = new LinkedHashMap<>();
+
+    /**
+     * Creates a planner weighing the devices with the given function.
+     *
+     * @param weigher function returning the cost of moving a device
+     */
+    MastershipRebalancer(ToLongFunction<DeviceId> weigher) {
+        this.weigher = weigher;
+    }
+
+    /**
+     * Plans the moves balancing a group of devices among the given nodes.
+     *
+     * @param candidates nodes that may master the devices
+     * @param masters    current master of each device of the group; null
+     *                   for devices without a master
+     */
+    void balance(Set<NodeId> candidates, Map<DeviceId, NodeId> masters) {
+        if (candidates.isEmpty() || masters.isEmpty()) {
+            return;
+        }
+
+        Map<NodeId, List<DeviceId>> buckets = new HashMap<>();
+        candidates.forEach(node -> buckets.put(node, new ArrayList<>()));
+        List<DeviceId> unplaced = new ArrayList<>();
+        masters.forEach((device, master) -> {
+            List<DeviceId> bucket = master != null ? buckets.get(master) : null;
+            if (bucket != null) {
+                bucket.add(device);
+            } else {
+                unplaced.add(device);
+            }
+        });
+
+        // The nodes with the most devices keep the larger quotas
+        List<NodeId> nodes = new ArrayList<>(candidates);
+        nodes.sort(Comparator.<NodeId>comparingInt(node -> buckets.get(node).size()).reversed()
+                           .thenComparing(NodeId::id));
+        int quota = masters.size() / nodes.size();
+        int larger = masters.size() % nodes.size();
+
+        Map<NodeId, Integer> room = new HashMap<>();
+        Map<NodeId, Long> load = new HashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            NodeId node = nodes.get(i);
+            List<DeviceId> bucket = buckets.get(node);
+            int surplus = bucket.size() - quota - (i < larger ? 1 : 0);
+            if (surplus > 0) {
+                bucket.sort(byWeight());
+                List<DeviceId> lightest = bucket.subList(0, surplus);
+                unplaced.addAll(lightest);
+                lightest.clear();
+            } else if (surplus < 0) {
+                room.put(node, -surplus);
+            }
+            load.put(node, weight(bucket));
+        }
+
+        unplaced.sort(byWeight().reversed());
+        for (DeviceId device : unplaced) {
+            NodeId node = Collections.min(room.keySet(),
+                    Comparator.<NodeId>comparingLong(load::get).thenComparing(NodeId::id));
+            moves.put(device, node);
+            load.merge(node, weight(device), Long::sum);
+            if (room.merge(node, -1, Integer::sum) == 0) {
+                room.remove(node);
+            }
+        }
+    }
+
+    /**
+     * Returns the new master of each device to move, in planning order.
+     *
+     * @return device to new master map
+     */
+    Map<DeviceId, NodeId> moves() {
+        return moves;
+    }
+
+    /**
+     * Returns the cost of moving the given devices.
+     *
+     * @param devices devices
+     * @return sum of the device weights
+     */
+    long weight(Collection<DeviceId> devices) {
+        return devices.stream().mapToLong(this::weight).sum();
+    }
+
+    private long weight(DeviceId device) {
+        return weights.computeIfAbsent(device, weigher::applyAsLong);
+    }
+
+    private Comparator<DeviceId> byWeight() {
+        return Comparator.<DeviceId>comparingLong(this::weight).thenComparing(DeviceId::toString);
+    }
+}
@@ -29,6 +29,7 @@ import org.onosproject.core.IdGenerator;
 import org.onosproject.core.Version;
 import org.onosproject.core.VersionService;
 import org.onosproject.event.EventDeliveryService;
+import org.onosproject.event.impl.CoreEventDispatcher;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -104,6 +105,9 @@ public class CoreManager implements CoreService {
     protected void activate() {
         registerApplication(CORE_APP_NAME);
         cfgService.registerProperties(getClass());
+        // Registered on behalf of the event dispatcher, which cannot depend
+        // on the configuration service itself
+        cfgService.registerProperties(CoreEventDispatcher.class);
         log.info("ONOS starting up on Java version {}, JVM version {}",
             System.getProperty("java.version"),
             System.getProperty("java.vm.version"));
@@ -111,6 +115,7 @@ public class CoreManager implements CoreService {
 
     @Deactivate
     protected void deactivate() {
+        cfgService.unregisterProperties(CoreEventDispatcher.class, false);
         cfgService.unregisterProperties(getClass(), false);
         SharedExecutors.shutdown();
         SharedScheduledExecutors.shutdown();
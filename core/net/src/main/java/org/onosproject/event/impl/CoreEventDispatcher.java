@@ -15,103 +15,176 @@
  */
 package org.onosproject.event.impl;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableSet;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
 import org.onlab.util.SharedExecutors;
 import org.onosproject.event.AbstractEvent;
 import org.onosproject.event.DefaultEventSinkRegistry;
 import org.onosproject.event.Event;
 import org.onosproject.event.EventDeliveryService;
 import org.onosproject.event.EventSink;
+import org.onosproject.net.Element;
+import org.onosproject.net.Link;
+import org.onosproject.net.LinkKey;
 import org.onosproject.net.device.DeviceEvent;
 import org.onosproject.net.flow.FlowRuleEvent;
 import org.onosproject.net.host.HostEvent;
 import org.onosproject.net.intent.IntentEvent;
 import org.onosproject.net.link.LinkEvent;
 import org.onosproject.net.topology.TopologyEvent;
+import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.slf4j.Logger;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Dictionary;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Objects;
+import java.util.Properties;
 import java.util.TimerTask;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Strings.isNullOrEmpty;
+import static com.google.common.base.Strings.nullToEmpty;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static org.onlab.util.Tools.get;
+import static org.onlab.util.Tools.getIntegerProperty;
 import static org.onlab.util.Tools.groupedThreads;
+import static org.onosproject.net.OsgiPropertyConstants.DISPATCH_BACKPRESSURE_MILLIS;
+import static org.onosproject.net.OsgiPropertyConstants.DISPATCH_BACKPRESSURE_MILLIS_DEFAULT;
+import static org.onosproject.net.OsgiPropertyConstants.DISPATCH_LANES;
+import static org.onosproject.net.OsgiPropertyConstants.DISPATCH_LANES_DEFAULT;
+import static org.onosproject.net.OsgiPropertyConstants.DISPATCH_LANE_WIDTHS;
+import static org.onosproject.net.OsgiPropertyConstants.DISPATCH_LANE_WIDTHS_DEFAULT;
+import static org.onosproject.net.OsgiPropertyConstants.DISPATCH_QUEUE_CAPACITY;
+import static org.onosproject.net.OsgiPropertyConstants.DISPATCH_QUEUE_CAPACITY_DEFAULT;
 import static org.onosproject.security.AppGuard.checkPermission;
 import static org.onosproject.security.AppPermission.Type.EVENT_READ;
 import static org.onosproject.security.AppPermission.Type.EVENT_WRITE;
 import static org.slf4j.LoggerFactory.getLogger;
 /**
  * Simple implementation of an event dispatching service.
+ * <p>
+ * Events are dispatched through lanes selected by the event class. Each lane
+ * consists of one or more dispatch loops; events are partitioned among the
+ * loops of a lane by their subject, so that events pertaining to the same
+ * subject are always delivered in order.
+ * </p>
+ * <p>
+ * The component properties are registered by the core manager, because the
+ * configuration service itself depends on the event dispatcher.
+ * </p>
  */
-@Component(immediate = true, service = EventDeliveryService.class)
+@Component(
+        immediate = true,
+        service = EventDeliveryService.class,
+        property = {
+                DISPATCH_LANES + "=" + DISPATCH_LANES_DEFAULT,
+                DISPATCH_LANE_WIDTHS + "=" + DISPATCH_LANE_WIDTHS_DEFAULT,
+                DISPATCH_QUEUE_CAPACITY + ":Integer=" + DISPATCH_QUEUE_CAPACITY_DEFAULT,
+                DISPATCH_BACKPRESSURE_MILLIS + ":Integer=" + DISPATCH_BACKPRESSURE_MILLIS_DEFAULT
+        }
+)
 public class CoreEventDispatcher extends DefaultEventSinkRegistry
         implements EventDeliveryService {
 
     private final Logger log = getLogger(getClass());
 
-
-    private DispatchLoop topologyDispatcher = new DispatchLoop("topology");
-    private DispatchLoop programmingDispatcher = new DispatchLoop("programming");
-    private DispatchLoop defaultDispatcher = new DispatchLoop("default");
-
-    private Map<Class, DispatchLoop> dispatcherMap =
-            new ImmutableMap.Builder<Class, DispatchLoop>()
-                .put(TopologyEvent.class, topologyDispatcher)
-                .put(DeviceEvent.class, topologyDispatcher)
-                .put(LinkEvent.class, topologyDispatcher)
-                .put(HostEvent.class, topologyDispatcher)
-                .put(FlowRuleEvent.class, programmingDispatcher)
-                .put(IntentEvent.class, programmingDispatcher)
+    private static final String TOPOLOGY = "topology";
+    private static final String PROGRAMMING = "programming";
+    private static final String DEFAULT = "default";
+
+    private static final Map<String, String> DEFAULT_LANES =
+            new ImmutableMap.Builder<String, String>()
+                .put(TopologyEvent.class.getName(), TOPOLOGY)
+                .put(DeviceEvent.class.getName(), TOPOLOGY)
+                .put(LinkEvent.class.getName(), TOPOLOGY)
+                .put(HostEvent.class.getName(), TOPOLOGY)
+                .put(FlowRuleEvent.class.getName(), PROGRAMMING)
+                .put(IntentEvent.class.getName(), PROGRAMMING)
                 .build();
 
-    private Set<DispatchLoop> dispatchers =
-            new ImmutableSet.Builder<DispatchLoop>()
-                .addAll(dispatcherMap.values())
-                .add(defaultDispatcher)
-                .build();
+    private static final String COMMA = ",";
+    private static final String EQUALS = "=";
+
+    private static final String METRICS_COMPONENT = "EventDispatcher";
+    private static final String QUEUE_DEPTH = "queueDepth";
+    private static final String SINK_LATENCY = "sinkLatency";
+    private static final String DROPPED_EVENTS = "droppedEvents";
 
     // Default number of millis a sink can take to process an event.
     private static final long DEFAULT_EXECUTE_MS = 5_000; // ms
     private static final long WATCHDOG_MS = 250; // ms
+    private static final long DROP_WARNING_INTERVAL_MS = 10_000; // ms
 
     @SuppressWarnings("unchecked")
     private static final Event KILL_PILL = new AbstractEvent(null, 0) {
     };
 
+    // Marks the threads running the dispatch loops.
+    private static final ThreadLocal<Boolean> DISPATCHING =
+            ThreadLocal.withInitial(() -> false);
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected MetricsService metricsService;
+
+    private MetricsComponent metricsComponent;
+
+    /** Mapping of event class names to dispatch lanes; others use the default lane. */
+    private String dispatchLanes = DISPATCH_LANES_DEFAULT;
+
+    /** Number of subject-partitioned dispatch loops per lane; one if not listed. */
+    private String dispatchLaneWidths = DISPATCH_LANE_WIDTHS_DEFAULT;
+
+    /** Capacity of each dispatch loop queue; 0 for unbounded. */
+    private int dispatchQueueCapacity = DISPATCH_QUEUE_CAPACITY_DEFAULT;
+
+    /** Millis a poster waits for room in a full dispatch queue before dropping the event. */
+    private volatile int dispatchBackpressureMillis = DISPATCH_BACKPRESSURE_MILLIS_DEFAULT;
+
+    private volatile Lanes lanes;
+
     private long maxProcessMillis = DEFAULT_EXECUTE_MS;
 
-    private DispatchLoop getDispatcher(Event event) {
-        DispatchLoop dispatcher = dispatcherMap.get(event.getClass());
-        if (dispatcher == null) {
-            dispatcher = defaultDispatcher;
-        }
-        return dispatcher;
+    private DispatchLane getDispatcher(Event event) {
+        return lanes.lane(event);
     }
 
     @Override
     public void post(Event event) {
-
-        if (!getDispatcher(event).add(event)) {
-            log.error("Unable to post event {}", event);
-        }
+        // Dropped events are counted and reported by their lane
+        getDispatcher(event).add(event);
     }
 
     @Activate
-    public void activate() {
+    public void activate(ComponentContext context) {
+        metricsComponent = metricsService.registerComponent(METRICS_COMPONENT);
+        readComponentConfiguration(context);
+        lanes = buildLanes();
 
         if (maxProcessMillis != 0) {
-            dispatchers.forEach(DispatchLoop::start);
+            lanes.all().forEach(DispatchLane::start);
         }
 
         log.info("Started");
@@ -119,11 +192,94 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
 
     @Deactivate
     public void deactivate() {
-        dispatchers.forEach(DispatchLoop::stop);
+        lanes.all().forEach(DispatchLane::stop);
 
         log.info("Stopped");
     }
 
+    @Modified
+    public void modified(ComponentContext context) {
+        readComponentConfiguration(context);
+
+        // Swap in the new lanes and let the old ones drain their queues;
+        // events of a subject may briefly be delivered out of order while
+        // both are active.
+        Lanes oldLanes = lanes;
+        Lanes newLanes = buildLanes();
+        if (maxProcessMillis != 0) {
+            newLanes.all().forEach(DispatchLane::start);
+        }
+        lanes = newLanes;
+        oldLanes.all().forEach(lane -> {
+            lane.retire();
+            if (!newLanes.contains(lane.name)) {
+                lane.removeMetrics();
+            }
+        });
+    }
+
+    private void readComponentConfiguration(ComponentContext context) {
+        Dictionary<?, ?> properties = context != null ? context.getProperties() : new Properties();
+
+        if (context != null) {
+            dispatchLanes = nullToEmpty(get(properties, DISPATCH_LANES));
+            dispatchLaneWidths = nullToEmpty(get(properties, DISPATCH_LANE_WIDTHS));
+        }
+
+        Integer capacity = getIntegerProperty(properties, DISPATCH_QUEUE_CAPACITY);
+        if (capacity != null && capacity >= 0) {
+            dispatchQueueCapacity = capacity;
+        } else if (capacity != null) {
+            log.warn("{} must be greater than or equal to 0", DISPATCH_QUEUE_CAPACITY);
+        }
+
+        Integer backpressure = getIntegerProperty(properties, DISPATCH_BACKPRESSURE_MILLIS);
+        if (backpressure != null && backpressure >= 0) {
+            dispatchBackpressureMillis = backpressure;
+        } else if (backpressure != null) {
+            log.warn("{} must be greater than or equal to 0", DISPATCH_BACKPRESSURE_MILLIS);
+        }
+
+        log.info("Settings: {}={}, {}={}, {}={}, {}={}",
+                 DISPATCH_LANES, dispatchLanes,
+                 DISPATCH_LANE_WIDTHS, dispatchLaneWidths,
+                 DISPATCH_QUEUE_CAPACITY, dispatchQueueCapacity,
+                 DISPATCH_BACKPRESSURE_MILLIS, dispatchBackpressureMillis);
+    }
+
+    // Builds the lanes from the current settings.
+    private Lanes buildLanes() {
+        Map<String, String> classLanes = new HashMap<>(DEFAULT_LANES);
+        classLanes.putAll(parse(dispatchLanes, DISPATCH_LANES));
+
+        Map<String, Integer> widths = new HashMap<>();
+        parse(dispatchLaneWidths, DISPATCH_LANE_WIDTHS).forEach((lane, width) -> {
+            try {
+                widths.put(lane, Integer.parseInt(width));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring invalid width {} of dispatch lane {}", width, lane);
+            }
+        });
+        return new Lanes(classLanes, widths, dispatchQueueCapacity);
+    }
+
+    // Parses a comma-separated list of key=value entries.
+    private Map<String, String> parse(String spec, String propertyName) {
+        Map<String, String> entries = new HashMap<>();
+        if (isNullOrEmpty(spec)) {
+            return entries;
+        }
+        for (String entry : spec.split(COMMA)) {
+            String[] pair = entry.trim().split(EQUALS);
+            if (pair.length == 2 && !pair[0].trim().isEmpty() && !pair[1].trim().isEmpty()) {
+                entries.put(pair[0].trim(), pair[1].trim());
+            } else if (!entry.trim().isEmpty()) {
+                log.warn("Ignoring malformed {} entry {}", propertyName, entry);
+            }
+        }
+        return entries;
+    }
+
     @Override
     public void setDispatchTimeLimit(long millis) {
         checkPermission(EVENT_WRITE);
@@ -133,9 +289,9 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
         maxProcessMillis = millis;
 
         if (millis == 0 && oldMillis != 0) {
-            dispatchers.forEach(DispatchLoop::stopWatchdog);
+            lanes.all().forEach(DispatchLane::stopWatchdog);
         } else if (millis != 0 && oldMillis == 0) {
-            dispatchers.forEach(DispatchLoop::startWatchdog);
+            lanes.all().forEach(DispatchLane::startWatchdog);
         }
     }
 
@@ -145,10 +301,179 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
         return maxProcessMillis;
     }
 
+    // Immutable set of dispatch lanes along with the event class mapping.
+    private final class Lanes {
+        private final Map<String, DispatchLane> classLanes;
+        private final Map<String, DispatchLane> lanesByName;
+        private final DispatchLane defaultLane;
+
+        Lanes(Map<String, String> classLanes, Map<String, Integer> widths,
+              int queueCapacity) {
+            Map<String, DispatchLane> byName = new HashMap<>();
+            ImmutableMap.Builder<String, DispatchLane> byClass = ImmutableMap.builder();
+            classLanes.forEach((eventClass, lane) -> byClass.put(eventClass,
+                    byName.computeIfAbsent(lane, n -> newLane(n, widths, queueCapacity))));
+            this.defaultLane = byName.computeIfAbsent(DEFAULT, n -> newLane(n, widths, queueCapacity));
+            this.classLanes = byClass.build();
+            this.lanesByName = ImmutableMap.copyOf(byName);
+        }
+
+        private DispatchLane newLane(String name, Map<String, Integer> widths,
+                                     int queueCapacity) {
+            int width = widths.getOrDefault(name, 1);
+            if (width < 1) {
+                log.warn("Width of dispatch lane {} must be at least 1", name);
+                width = 1;
+            }
+            return new DispatchLane(name, width, queueCapacity);
+        }
+
+        DispatchLane lane(Event event) {
+            DispatchLane lane = classLanes.get(event.getClass().getName());
+            return lane != null ? lane : defaultLane;
+        }
+
+        Collection<DispatchLane> all() {
+            return lanesByName.values();
+        }
+
+        boolean contains(String name) {
+            return lanesByName.containsKey(name);
+        }
+    }
+
+    // Group of dispatch loops serving the same event classes; events are
+    // assigned to the loops by their subject to preserve per-subject order.
+    private class DispatchLane {
+        private final String name;
+        private final DispatchLoop[] loops;
+        private MetricsFeature metricsFeature;
+        private volatile Histogram sinkLatency;
+        private volatile Counter droppedEvents;
+        private final AtomicLong unreportedDrops = new AtomicLong();
+        private final AtomicLong unreportedLoopDrops = new AtomicLong();
+        private final AtomicLong lastDropWarning = new AtomicLong();
+
+        DispatchLane(String name, int width, int queueCapacity) {
+            this.name = name;
+            this.loops = new DispatchLoop[width];
+            for (int i = 0; i < width; i++) {
+                loops[i] = new DispatchLoop(this, width == 1 ? name : name + "-" + i,
+                                            queueCapacity);
+            }
+        }
+
+        boolean add(Event event) {
+            DispatchLoop loop = loops.length == 1 ? loops[0] :
+                    loops[Math.floorMod(Objects.hashCode(partitionKey(event.subject())), loops.length)];
+            return loop.add(event);
+        }
+
+        // Devices, hosts and links hash over mutable attributes as well, so
+        // their events are partitioned by identity to keep them in order.
+        private Object partitionKey(Object subject) {
+            if (subject instanceof Element) {
+                return ((Element) subject).id();
+            } else if (subject instanceof Link) {
+                return LinkKey.linkKey((Link) subject);
+            }
+            return subject;
+        }
+
+        // Returns the number of events waiting across all loops of the lane.
+        long queueDepth() {
+            long depth = 0;
+            for (DispatchLoop loop : loops) {
+                depth += loop.eventsQueue.size();
+            }
+            return depth;
+        }
+
+        void recordLatency(long nanos) {
+            Histogram histogram = sinkLatency;
+            if (histogram != null) {
+                histogram.update(TimeUnit.NANOSECONDS.toMicros(nanos));
+            }
+        }
+
+        void recordDrops(int count, boolean postedByLoop) {
+            Counter counter = droppedEvents;
+            if (counter != null) {
+                counter.inc(count);
+            }
+
+            // Warn at most once per interval, with the drops since the last warning
+            unreportedDrops.addAndGet(count);
+            if (postedByLoop) {
+                unreportedLoopDrops.addAndGet(count);
+            }
+            long now = System.currentTimeMillis();
+            long last = lastDropWarning.get();
+            if (now - last >= DROP_WARNING_INTERVAL_MS && lastDropWarning.compareAndSet(last, now)) {
+                log.warn("Dispatch lane {} dropped {} events, {} of them posted by dispatch loops",
+                         name, unreportedDrops.getAndSet(0), unreportedLoopDrops.getAndSet(0));
+            }
+        }
+
+        void start() {
+            registerMetrics();
+            for (DispatchLoop loop : loops) {
+                loop.start();
+            }
+        }
+
+        void stop() {
+            for (DispatchLoop loop : loops) {
+                loop.stop();
+                loop.executor.shutdown();
+            }
+            removeMetrics();
+        }
+
+        void retire() {
+            for (DispatchLoop loop : loops) {
+                loop.retire();
+            }
+        }
+
+        void startWatchdog() {
+            for (DispatchLoop loop : loops) {
+                loop.startWatchdog();
+            }
+        }
+
+        void stopWatchdog() {
+            for (DispatchLoop loop : loops) {
+                loop.stopWatchdog();
+            }
+        }
+
+        private void registerMetrics() {
+            metricsFeature = metricsComponent.registerFeature(name);
+            metricsService.removeMetric(metricsComponent, metricsFeature, QUEUE_DEPTH);
+            metricsService.registerMetric(metricsComponent, metricsFeature, QUEUE_DEPTH,
+                                          (Gauge<Long>) this::queueDepth);
+            sinkLatency = metricsService.createHistogram(metricsComponent, metricsFeature,
+                                                         SINK_LATENCY);
+            droppedEvents = metricsService.createCounter(metricsComponent, metricsFeature,
+                                                         DROPPED_EVENTS);
+        }
+
+        // Only the queue depth gauge refers to this lane; the histogram and
+        // the counter carry on across reconfigurations.
+        void removeMetrics() {
+            if (metricsFeature != null) {
+                metricsService.removeMetric(metricsComponent, metricsFeature, QUEUE_DEPTH);
+            }
+        }
+    }
+
     // Auxiliary event dispatching loop that feeds off the events queue.
     private class DispatchLoop implements Runnable {
+        private final DispatchLane lane;
         private final String name;
         private volatile boolean stopped;
+        private volatile boolean retired;
         private volatile EventSink lastSink;
         // Means to detect long-running sinks
         private final Stopwatch stopwatch = Stopwatch.createUnstarted();
@@ -157,27 +482,51 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
         private final BlockingQueue<Event> eventsQueue;
         private final ExecutorService executor;
 
-        DispatchLoop(String name) {
+        DispatchLoop(DispatchLane lane, String name, int queueCapacity) {
+            this.lane = lane;
             this.name = name;
             executor = newSingleThreadExecutor(
                     groupedThreads("onos/event",
                     "dispatch-" + name + "%d", log));
-            eventsQueue = new LinkedBlockingQueue<>();
+            eventsQueue = queueCapacity > 0 ?
+                    new LinkedBlockingQueue<>(queueCapacity) : new LinkedBlockingQueue<>();
         }
 
         public boolean add(Event event) {
-            return eventsQueue.add(event);
+            if (eventsQueue.offer(event)) {
+                return true;
+            }
+
+            // The queue is full; hold the poster back for a while, unless it
+            // is a dispatch loop itself, as loops waiting on each other
+            // could stall dispatching altogether.
+            boolean postedByLoop = DISPATCHING.get();
+            int backpressureMillis = dispatchBackpressureMillis;
+            if (backpressureMillis > 0 && !postedByLoop) {
+                try {
+                    if (eventsQueue.offer(event, backpressureMillis, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            lane.recordDrops(1, postedByLoop);
+            return false;
         }
 
         @Override
         public void run() {
             log.info("Dispatch loop({}) initiated", name);
+            DISPATCHING.set(true);
             while (!stopped) {
                 try {
                     // Fetch the next event and if it is the kill-pill, bail
                     Event event = eventsQueue.take();
                     if (event != KILL_PILL) {
                         process(event);
+                    } else if (retired) {
+                        break;
                     }
                 } catch (InterruptedException e) {
                     log.warn("Dispatch loop interrupted");
@@ -194,9 +543,14 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
             EventSink sink = getSink(event.getClass());
             if (sink != null) {
                 lastSink = sink;
+                long start = System.nanoTime();
                 stopwatch.start();
-                sink.process(event);
-                stopwatch.reset();
+                try {
+                    sink.process(event);
+                } finally {
+                    stopwatch.reset();
+                    lane.recordLatency(System.nanoTime() - start);
+                }
             } else {
                 log.warn("No sink registered for event class {}",
                          event.getClass().getName());
@@ -205,7 +559,7 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
 
         void stop() {
             stopped = true;
-            add(KILL_PILL);
+            eventsQueue.offer(KILL_PILL);
             if (null != dispatchFuture) {
                 dispatchFuture.cancel(true);
             }
@@ -218,12 +572,38 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
             startWatchdog();
         }
 
+        // Lets the loop process the events already queued and then terminate.
+        void retire() {
+            retired = true;
+            stopWatchdog();
+            try {
+                if (!eventsQueue.offer(KILL_PILL, WATCHDOG_MS, TimeUnit.MILLISECONDS)) {
+                    log.warn("Dispatch loop({}) not draining; dropping {} events",
+                             name, eventsQueue.size());
+                    discard();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                discard();
+            }
+            executor.shutdown();
+        }
+
+        // Stops the loop, counting the events still queued as dropped.
+        private void discard() {
+            List<Event> discarded = new ArrayList<>();
+            eventsQueue.drainTo(discarded);
+            discarded.remove(KILL_PILL);
+            lane.recordDrops(discarded.size(), false);
+            stop();
+        }
+
         // Monitors event sinks to make sure none take too long to execute.
         private class Watchdog extends TimerTask {
             @Override
             public void run() {
                 long elapsedTimeMillis = stopwatch.elapsed(TimeUnit.MILLISECONDS);
-                if (elapsedTimeMillis > maxProcessMillis) {
+                if (elapsedTimeMillis > maxProcessMillis && !executor.isShutdown()) {
                     stopwatch.reset();
                     log.warn("Event sink {} exceeded execution time limit: {} ms; " +
                              "spawning new dispatch loop",
@@ -232,10 +612,15 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
                     // Notify the sink that it has exceeded its time limit.
                     lastSink.onProcessLimit();
 
-                    // Cancel the old dispatch loop and submit a new one.
-
+                    // Cancel the old dispatch loop and submit a new one,
+                    // unless the loop was shut down in the meantime; the
+                    // shared timer must not be brought down by this task.
                     stop();
-                    start();
+                    try {
+                        start();
+                    } catch (RejectedExecutionException e) {
+                        log.debug("Dispatch loop({}) shut down; not restarting it", name);
+                    }
                 }
             }
         }
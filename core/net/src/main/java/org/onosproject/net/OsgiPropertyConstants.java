@@ -26,6 +26,9 @@ public final class OsgiPropertyConstants {
     public static final String REBALANCE_ROLES_ON_UPGRADE = "rebalanceRolesOnUpgrade";
     public static final boolean REBALANCE_ROLES_ON_UPGRADE_DEFAULT = true;
 
+    public static final String MAX_MOVES_PER_SECOND = "maxMovesPerSecond";
+    public static final int MAX_MOVES_PER_SECOND_DEFAULT = 100;
+
     public static final String SHARED_THREAD_POOL_SIZE = "sharedThreadPoolSize";
     public static final int SHARED_THREAD_POOL_SIZE_DEFAULT = 30;
 
@@ -35,6 +38,18 @@ public final class OsgiPropertyConstants {
     public static final String CALCULATE_PERFORMANCE_CHECK = "sharedThreadPerformanceCheck";
     public static final boolean CALCULATE_PERFORMANCE_CHECK_DEFAULT = false;
 
+    public static final String DISPATCH_LANES = "dispatchLanes";
+    public static final String DISPATCH_LANES_DEFAULT = "";
+
+    public static final String DISPATCH_LANE_WIDTHS = "dispatchLaneWidths";
+    public static final String DISPATCH_LANE_WIDTHS_DEFAULT = "";
+
+    public static final String DISPATCH_QUEUE_CAPACITY = "dispatchQueueCapacity";
+    public static final int DISPATCH_QUEUE_CAPACITY_DEFAULT = 0;
+
+    public static final String DISPATCH_BACKPRESSURE_MILLIS = "dispatchBackpressureMillis";
+    public static final int DISPATCH_BACKPRESSURE_MILLIS_DEFAULT = 1000;
+
     public static final String ALLOW_EXTRANEOUS_RULES = "allowExtraneousRules";
     public static final boolean ALLOW_EXTRANEOUS_RULES_DEFAULT = false;
 
@@ -47,6 +62,18 @@ public final class OsgiPropertyConstants {
     public static final String POLL_FREQUENCY = "fallbackFlowPollFrequency";
     public static final int POLL_FREQUENCY_DEFAULT = 30;
 
+    public static final String FRM_ACCUMULATE_OPERATIONS = "accumulateOperations";
+    public static final boolean FRM_ACCUMULATE_OPERATIONS_DEFAULT = false;
+
+    public static final String FRM_ACCUMULATOR_MAX_BATCHES = "accumulatorMaxBatches";
+    public static final int FRM_ACCUMULATOR_MAX_BATCHES_DEFAULT = 1000;
+
+    public static final String FRM_ACCUMULATOR_MAX_IDLE_MILLIS = "accumulatorMaxIdleMillis";
+    public static final int FRM_ACCUMULATOR_MAX_IDLE_MILLIS_DEFAULT = 10;
+
+    public static final String FRM_ACCUMULATOR_MAX_BATCH_MILLIS = "accumulatorMaxBatchMillis";
+    public static final int FRM_ACCUMULATOR_MAX_BATCH_MILLIS_DEFAULT = 50;
+
     public static final String FOM_NUM_THREADS = "numThreads";
     public static final int FOM_NUM_THREADS_DEFAULT = 4;
 
@@ -116,6 +143,9 @@ public final class OsgiPropertyConstants {
     public static final String IM_NUM_THREADS = "numThreads";
     public static final int IM_NUM_THREADS_DEFAULT = 12;
 
+    public static final String IM_MAX_BATCHES_IN_FLIGHT = "maxBatchesInFlight";
+    public static final int IM_MAX_BATCHES_IN_FLIGHT_DEFAULT = 1;
+
     public static final String MM_NUM_THREADS = "numThreads";
     public static final int MM_NUM_THREADS_DEFAULT = 12;
 
@@ -134,6 +164,15 @@ public final class OsgiPropertyConstants {
     public static final String NRM_REQUEST_INTERCEPTS_ENABLED = "requestInterceptsEnabled";
     public static final boolean NRM_REQUEST_INTERCEPTS_ENABLED_DEFAULT = true;
 
+    public static final String PM_PACKET_IN_LANES = "packetInLanes";
+    public static final int PM_PACKET_IN_LANES_DEFAULT = 0;
+
+    public static final String PM_PACKET_IN_LANE_CAPACITY = "packetInLaneCapacity";
+    public static final int PM_PACKET_IN_LANE_CAPACITY_DEFAULT = 1024;
+
+    public static final String PM_PACKET_IN_BACKPRESSURE_MILLIS = "packetInBackpressureMillis";
+    public static final int PM_PACKET_IN_BACKPRESSURE_MILLIS_DEFAULT = 0;
+
     public static final String PWM_PROBE_INTERVAL = "probeInterval";
     public static final int PWM_PROBE_INTERVAL_DEFAULT = 15;
 
@@ -161,4 +200,7 @@ public final class OsgiPropertyConstants {
     public static final String FOM_ACCUMULATOR_MAX_BATCH_MILLIS = "accumulatorMaxBatchMillis";
     public static final int FOM_ACCUMULATOR_MAX_BATCH_MILLIS_DEFAULT = 500;
 
+    public static final String PTS_TRANSLATION_CACHE_SIZE = "translationCacheSize";
+    public static final int PTS_TRANSLATION_CACHE_SIZE_DEFAULT = 100000;
+
 }
@@ -17,10 +17,12 @@ package org.onosproject.net.flow.impl;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
+import org.onlab.util.AbstractAccumulator;
 import org.onlab.util.Tools;
 import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.cluster.ClusterService;
@@ -40,6 +42,7 @@ import org.onosproject.net.driver.DriverService;
 import org.onosproject.net.flow.CompletedBatchOperation;
 import org.onosproject.net.flow.DefaultFlowEntry;
 import org.onosproject.net.flow.FlowEntry;
+import org.onosproject.net.flow.FlowId;
 import org.onosproject.net.flow.FlowRule;
 import org.onosproject.net.flow.FlowRuleEvent;
 import org.onosproject.net.flow.FlowRuleListener;
@@ -69,6 +72,7 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.slf4j.Logger;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Dictionary;
 import java.util.HashSet;
@@ -77,9 +81,12 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Timer;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Strings.isNullOrEmpty;
@@ -87,6 +94,14 @@ import static org.onlab.util.Tools.get;
 import static org.onlab.util.Tools.groupedThreads;
 import static org.onosproject.net.OsgiPropertyConstants.ALLOW_EXTRANEOUS_RULES;
 import static org.onosproject.net.OsgiPropertyConstants.ALLOW_EXTRANEOUS_RULES_DEFAULT;
+import static org.onosproject.net.OsgiPropertyConstants.FRM_ACCUMULATE_OPERATIONS;
+import static org.onosproject.net.OsgiPropertyConstants.FRM_ACCUMULATE_OPERATIONS_DEFAULT;
+import static org.onosproject.net.OsgiPropertyConstants.FRM_ACCUMULATOR_MAX_BATCHES;
+import static org.onosproject.net.OsgiPropertyConstants.FRM_ACCUMULATOR_MAX_BATCHES_DEFAULT;
+import static org.onosproject.net.OsgiPropertyConstants.FRM_ACCUMULATOR_MAX_BATCH_MILLIS;
+import static org.onosproject.net.OsgiPropertyConstants.FRM_ACCUMULATOR_MAX_BATCH_MILLIS_DEFAULT;
+import static org.onosproject.net.OsgiPropertyConstants.FRM_ACCUMULATOR_MAX_IDLE_MILLIS;
+import static org.onosproject.net.OsgiPropertyConstants.FRM_ACCUMULATOR_MAX_IDLE_MILLIS_DEFAULT;
 import static org.onosproject.net.OsgiPropertyConstants.IMPORT_EXTRANEOUS_RULES;
 import static org.onosproject.net.OsgiPropertyConstants.IMPORT_EXTRANEOUS_RULES_DEFAULT;
 import static org.onosproject.net.OsgiPropertyConstants.POLL_FREQUENCY;
@@ -113,7 +128,11 @@ import static org.slf4j.LoggerFactory.getLogger;
                 ALLOW_EXTRANEOUS_RULES + ":Boolean=" + ALLOW_EXTRANEOUS_RULES_DEFAULT,
                 IMPORT_EXTRANEOUS_RULES + ":Boolean=" + IMPORT_EXTRANEOUS_RULES_DEFAULT,
                 PURGE_ON_DISCONNECTION + ":Boolean=" + PURGE_ON_DISCONNECTION_DEFAULT,
-                POLL_FREQUENCY + ":Integer=" + POLL_FREQUENCY_DEFAULT
+                POLL_FREQUENCY + ":Integer=" + POLL_FREQUENCY_DEFAULT,
+                FRM_ACCUMULATE_OPERATIONS + ":Boolean=" + FRM_ACCUMULATE_OPERATIONS_DEFAULT,
+                FRM_ACCUMULATOR_MAX_BATCHES + ":Integer=" + FRM_ACCUMULATOR_MAX_BATCHES_DEFAULT,
+                FRM_ACCUMULATOR_MAX_IDLE_MILLIS + ":Integer=" + FRM_ACCUMULATOR_MAX_IDLE_MILLIS_DEFAULT,
+                FRM_ACCUMULATOR_MAX_BATCH_MILLIS + ":Integer=" + FRM_ACCUMULATOR_MAX_BATCH_MILLIS_DEFAULT
         }
 )
 public class FlowRuleManager
@@ -126,6 +145,8 @@ public class FlowRuleManager
     private static final String DEVICE_ID_NULL = "Device ID cannot be null";
     private static final String FLOW_RULE_NULL = "FlowRule cannot be null";
 
+    private static final Timer TIMER = new Timer("onos-flow-op-batching");
+
     /** Allow flow rules in switch not installed by ONOS. */
     private boolean allowExtraneousRules = ALLOW_EXTRANEOUS_RULES_DEFAULT;
 
@@ -138,6 +159,18 @@ public class FlowRuleManager
     /** Frequency (in seconds) for polling flow statistics via fallback provider. */
     private int fallbackFlowPollFrequency = POLL_FREQUENCY_DEFAULT;
 
+    /** Merge the per-device batches of concurrent flow rule operations. */
+    private boolean accumulateOperations = FRM_ACCUMULATE_OPERATIONS_DEFAULT;
+
+    /** Maximum number of per-device batches to accumulate; at least 2. */
+    private int accumulatorMaxBatches = FRM_ACCUMULATOR_MAX_BATCHES_DEFAULT;
+
+    /** Maximum number of millis between per-device batches. */
+    private int accumulatorMaxIdleMillis = FRM_ACCUMULATOR_MAX_IDLE_MILLIS_DEFAULT;
+
+    /** Maximum number of millis allowed since the first per-device batch. */
+    private int accumulatorMaxBatchMillis = FRM_ACCUMULATOR_MAX_BATCH_MILLIS_DEFAULT;
+
     private final FlowRuleStoreDelegate delegate = new InternalStoreDelegate();
     private final DeviceListener deviceListener = new InternalDeviceListener();
 
@@ -151,7 +184,12 @@ public class FlowRuleManager
 
     private IdGenerator idGenerator;
 
-    private final Map<Long, FlowOperationsProcessor> pendingFlowOperations = new ConcurrentHashMap<>();
+    // Completion callbacks of the batches handed to the store, by batch id
+    private final Map<Long, BiConsumer<DeviceId, CompletedBatchOperation>> pendingFlowOperations =
+            new ConcurrentHashMap<>();
+
+    // Null unless flow rule operations are to be accumulated
+    private volatile BatchAccumulator batchAccumulator;
 
     private NodeId local;
 
@@ -208,6 +246,10 @@ public class FlowRuleManager
         if (context != null) {
             readComponentConfiguration(context);
         }
+        // Batches already accumulated are still processed by the previous accumulator
+        batchAccumulator = accumulateOperations ?
+                new BatchAccumulator(accumulatorMaxBatches, accumulatorMaxBatchMillis,
+                                     accumulatorMaxIdleMillis) : null;
         driverProvider.init(new InternalFlowRuleProviderService(driverProvider),
                             deviceService, mastershipService, fallbackFlowPollFrequency);
     }
@@ -272,6 +314,37 @@ public class FlowRuleManager
                          fallbackFlowPollFrequency);
             }
         }
+
+        flag = Tools.isPropertyEnabled(properties, FRM_ACCUMULATE_OPERATIONS);
+        if (flag != null) {
+            accumulateOperations = flag;
+            log.info("Configured. AccumulateOperations is {}",
+                     accumulateOperations ? "enabled" : "disabled");
+        }
+
+        Integer maxBatches = Tools.getIntegerProperty(properties, FRM_ACCUMULATOR_MAX_BATCHES);
+        if (maxBatches != null && maxBatches < 2) {
+            log.warn("{} must be at least 2; using current value of {}",
+                     FRM_ACCUMULATOR_MAX_BATCHES, accumulatorMaxBatches);
+        } else {
+            accumulatorMaxBatches = positiveProperty(properties, FRM_ACCUMULATOR_MAX_BATCHES,
+                                                     accumulatorMaxBatches);
+        }
+        accumulatorMaxIdleMillis = positiveProperty(properties, FRM_ACCUMULATOR_MAX_IDLE_MILLIS,
+                                                    accumulatorMaxIdleMillis);
+        accumulatorMaxBatchMillis = positiveProperty(properties, FRM_ACCUMULATOR_MAX_BATCH_MILLIS,
+                                                     accumulatorMaxBatchMillis);
+    }
+
+    private int positiveProperty(Dictionary<?, ?> properties, String name, int currentValue) {
+        Integer value = Tools.getIntegerProperty(properties, name);
+        if (value == null || value <= 0) {
+            return currentValue;
+        }
+        if (value != currentValue) {
+            log.info("Configured. {} is {}", name, value);
+        }
+        return value;
     }
 
     @Override
@@ -336,11 +409,7 @@ public class FlowRuleManager
 
         Set<FlowRule> flowEntries = Sets.newHashSet();
         for (Device d : deviceService.getDevices()) {
-            for (FlowEntry flowEntry : store.getFlowEntries(d.id())) {
-                if (flowEntry.appId() == id.id()) {
-                    flowEntries.add(flowEntry);
-                }
-            }
+            Iterables.addAll(flowEntries, store.getFlowEntriesByAppId(d.id(), id));
         }
         removeFlowRules(Iterables.toArray(flowEntries, FlowRule.class));
     }
@@ -351,11 +420,7 @@ public class FlowRuleManager
 
         Set<FlowEntry> flowEntries = Sets.newHashSet();
         for (Device d : deviceService.getDevices()) {
-            for (FlowEntry flowEntry : store.getFlowEntries(d.id())) {
-                if (flowEntry.appId() == id.id()) {
-                    flowEntries.add(flowEntry);
-                }
-            }
+            Iterables.addAll(flowEntries, store.getFlowEntriesByAppId(d.id(), id));
         }
         return flowEntries;
     }
@@ -365,13 +430,8 @@ public class FlowRuleManager
         checkPermission(FLOWRULE_READ);
 
         Set<FlowRule> matches = Sets.newHashSet();
-        long toLookUp = ((long) appId.id() << 16) | groupId;
         for (Device d : deviceService.getDevices()) {
-            for (FlowEntry flowEntry : store.getFlowEntries(d.id())) {
-                if ((flowEntry.id().value() >>> 32) == toLookUp) {
-                    matches.add(flowEntry);
-                }
-            }
+            Iterables.addAll(matches, store.getFlowEntriesByGroupId(d.id(), appId, groupId));
         }
         return matches;
     }
@@ -506,11 +566,11 @@ public class FlowRuleManager
             log.debug("Flow {} is on switch but not in store.", flowRule);
         }
 
-        private boolean flowAdded(FlowEntry flowEntry) {
+        private boolean flowAdded(FlowEntry flowEntry, FlowEntry storedEntry) {
             checkNotNull(flowEntry, FLOW_RULE_NULL);
             checkValidity();
 
-            if (checkRuleLiveness(flowEntry, store.getFlowEntry(flowEntry))) {
+            if (checkRuleLiveness(flowEntry, storedEntry)) {
                 FlowRuleEvent event = store.addOrUpdateFlowRule(flowEntry);
                 if (event == null) {
                     log.debug("No flow store event generated.");
@@ -579,34 +639,37 @@ public class FlowRuleManager
 
         private void pushFlowMetricsInternal(DeviceId deviceId, Iterable<FlowEntry> flowEntries,
                                              boolean useMissingFlow) {
-            Map<FlowEntry, FlowEntry> storedRules = Maps.newHashMap();
-            store.getFlowEntries(deviceId).forEach(f -> storedRules.put(f, f));
-            NodeId master;
+            // Mastership is checked once for the whole batch; it is checked
+            // again only when a store update fails, which is the symptom of a
+            // mastership change occurring during this iteration.
+            if (!isLocalMaster(deviceId)) {
+                log.warn("Tried to update the flow stats while the node was not the master");
+                return;
+            }
+
+            // Snapshot the number of stored rules rather than the rules
+            // themselves: reported rules are resolved with point lookups and
+            // the store is only scanned if some stored rule was not reported.
+            // Matches are counted per distinct stored rule, as a switch may
+            // report the same rule more than once.
+            int storedCount = store.getFlowRuleCount(deviceId);
+            Set<FlowId> matchedIds = Sets.newHashSet();
             boolean done;
 
             // Processing flow rules
             for (FlowEntry rule : flowEntries) {
                 try {
-                    FlowEntry storedRule = storedRules.remove(rule);
+                    FlowEntry storedRule = store.getFlowEntry(rule);
                     if (storedRule != null) {
+                        matchedIds.add(storedRule.id());
                         if (storedRule.exactMatch(rule)) {
                             // we both have the rule, let's update some info then.
-                            done = flowAdded(rule);
-                            if (!done) {
-                                // Mastership change can occur during this iteration
-                                master = mastershipService.getMasterFor(deviceId);
-                                if (!Objects.equals(local, master)) {
-                                    log.warn("Tried to update the flow stats while the node was not the master");
-                                    return;
-                                }
-                            }
-                        } else {
-                            // Mastership change can occur during this iteration
-                            master = mastershipService.getMasterFor(deviceId);
-                            if (!Objects.equals(local, master)) {
-                                log.warn("Tried to update the flows while the node was not the master");
+                            done = flowAdded(rule, storedRule);
+                            if (!done && !isLocalMaster(deviceId)) {
+                                log.warn("Tried to update the flow stats while the node was not the master");
                                 return;
                             }
+                        } else {
                             // the two rules are not an exact match - remove the
                             // switch's rule and install our rule
                             extraneousFlow(rule);
@@ -615,22 +678,12 @@ public class FlowRuleManager
                     } else {
                         // the device has a rule the store does not have
                         if (!allowExtraneousRules) {
-                            // Mastership change can occur during this iteration
-                            master = mastershipService.getMasterFor(deviceId);
-                            if (!Objects.equals(local, master)) {
-                                log.warn("Tried to remove flows while the node was not the master");
-                                return;
-                            }
                             extraneousFlow(rule);
                         } else if (importExtraneousRules) { // Stores the rule, if so is indicated
                             FlowRuleEvent flowRuleEvent = store.addOrUpdateFlowRule(rule);
-                            if (flowRuleEvent == null) {
-                                // Mastership change can occur during this iteration
-                                master = mastershipService.getMasterFor(deviceId);
-                                if (!Objects.equals(local, master)) {
-                                    log.warn("Tried to import flows while the node was not the master");
-                                    return;
-                                }
+                            if (flowRuleEvent == null && !isLocalMaster(deviceId)) {
+                                log.warn("Tried to import flows while the node was not the master");
+                                return;
                             }
                         }
                     }
@@ -641,13 +694,19 @@ public class FlowRuleManager
             }
 
             // DO NOT reinstall
-            if (useMissingFlow) {
-                for (FlowEntry rule : storedRules.keySet()) {
-                    // Mastership change can occur during this iteration
-                    master = mastershipService.getMasterFor(deviceId);
-                    if (!Objects.equals(local, master)) {
-                        log.warn("Tried to install missing rules while the node was not the master");
-                        return;
+            // Every stored rule has been reported when all of them were matched
+            // and the store did not change size meanwhile; stores that do not
+            // report per-device counts are always scanned.
+            if (useMissingFlow && (storedCount <= 0 || matchedIds.size() != storedCount ||
+                    store.getFlowRuleCount(deviceId) != storedCount)) {
+                if (!isLocalMaster(deviceId)) {
+                    log.warn("Tried to install missing rules while the node was not the master");
+                    return;
+                }
+                Set<FlowEntry> reportedRules = Sets.newHashSet(flowEntries);
+                for (FlowEntry rule : store.getFlowEntries(deviceId)) {
+                    if (reportedRules.contains(rule)) {
+                        continue;
                     }
                     try {
                         // there are rules in the store that aren't on the switch
@@ -660,6 +719,10 @@ public class FlowRuleManager
             }
         }
 
+        private boolean isLocalMaster(DeviceId deviceId) {
+            return Objects.equals(local, mastershipService.getMasterFor(deviceId));
+        }
+
         @Override
         public void batchOperationCompleted(long batchId, CompletedBatchOperation operation) {
             store.batchOperationComplete(FlowRuleBatchEvent.completed(
@@ -718,14 +781,10 @@ public class FlowRuleManager
 
                 case BATCH_OPERATION_COMPLETED:
                     // Operation completed, let's retrieve the processor and trigger the callback
-                    FlowOperationsProcessor fops = pendingFlowOperations.remove(
+                    BiConsumer<DeviceId, CompletedBatchOperation> fops = pendingFlowOperations.remove(
                             event.subject().batchId());
                     if (fops != null) {
-                        if (event.result().isSuccess()) {
-                            fops.satisfy(event.deviceId());
-                        } else {
-                            fops.fail(event.deviceId(), event.result().failedItems());
-                        }
+                        fops.accept(event.deviceId(), event.result());
                     } else {
                         log.warn("Unable to find flow operations processor for batch: {}", event.subject().batchId());
                     }
@@ -782,15 +841,28 @@ public class FlowRuleManager
             }
             pendingDevices.addAll(perDeviceBatches.keySet());
 
+            BatchAccumulator accumulator = batchAccumulator;
             for (DeviceId deviceId : perDeviceBatches.keySet()) {
+                if (accumulator != null) {
+                    accumulator.add(new DeviceBatch(deviceId, perDeviceBatches.get(deviceId), this));
+                    continue;
+                }
                 long id = idGenerator.getNewId();
                 final FlowRuleBatchOperation b = new FlowRuleBatchOperation(perDeviceBatches.get(deviceId),
                                                                             deviceId, id);
-                pendingFlowOperations.put(id, this);
+                pendingFlowOperations.put(id, this::completed);
                 deviceInstallers.execute(() -> store.storeBatch(b));
             }
         }
 
+        void completed(DeviceId devId, CompletedBatchOperation result) {
+            if (result.isSuccess()) {
+                satisfy(devId);
+            } else {
+                fail(devId, result.failedItems());
+            }
+        }
+
         synchronized void satisfy(DeviceId devId) {
             pendingDevices.remove(devId);
             if (pendingDevices.isEmpty()) {
@@ -812,6 +884,111 @@ public class FlowRuleManager
         }
     }
 
+    // Entries of one stage of a flow operations processor that target one device.
+    private static final class DeviceBatch {
+        private final DeviceId deviceId;
+        private final Collection<FlowRuleBatchEntry> entries;
+        private final FlowOperationsProcessor processor;
+
+        private DeviceBatch(DeviceId deviceId, Collection<FlowRuleBatchEntry> entries,
+                            FlowOperationsProcessor processor) {
+            this.deviceId = deviceId;
+            this.entries = entries;
+            this.processor = processor;
+        }
+
+        private Set<FlowRule> rules() {
+            return entries.stream().map(FlowRuleBatchEntry::target).collect(Collectors.toSet());
+        }
+    }
+
+    /**
+     * Per-device batches merged into a single store batch, which reports the
+     * completion of the merged batch to each of the contributing processors.
+     */
+    private static final class MergedBatch {
+        private final List<DeviceBatch> batches = Lists.newArrayList();
+        private final Set<FlowRule> rules = Sets.newHashSet();
+
+        // Batches modifying the same rule must be submitted in separate store batches
+        private boolean accepts(DeviceBatch batch) {
+            return batch.entries.stream().noneMatch(entry -> rules.contains(entry.target()));
+        }
+
+        private void add(DeviceBatch batch) {
+            batches.add(batch);
+            batch.entries.forEach(entry -> rules.add(entry.target()));
+        }
+
+        private List<FlowRuleBatchEntry> entries() {
+            List<FlowRuleBatchEntry> entries = Lists.newArrayListWithCapacity(rules.size());
+            batches.forEach(batch -> entries.addAll(batch.entries));
+            return entries;
+        }
+
+        private void completed(DeviceId deviceId, CompletedBatchOperation result) {
+            // A failure that cannot be attributed to any of the merged rules,
+            // such as a device-level failure, fails every batch as a whole
+            boolean attributable = !result.isSuccess() &&
+                    result.failedItems().stream().anyMatch(rules::contains);
+            for (DeviceBatch batch : batches) {
+                Set<FlowRule> failures = Sets.newHashSet();
+                if (attributable) {
+                    Set<FlowRule> batchRules = batch.rules();
+                    result.failedItems().stream()
+                            .filter(batchRules::contains)
+                            .forEach(failures::add);
+                } else if (!result.isSuccess()) {
+                    failures.addAll(batch.rules());
+                }
+                if (failures.isEmpty()) {
+                    batch.processor.satisfy(deviceId);
+                } else {
+                    batch.processor.fail(deviceId, failures);
+                }
+            }
+        }
+    }
+
+    /**
+     * Accumulates the per-device batches of concurrent flow operations and
+     * submits them to the store as one batch per device.
+     */
+    private class BatchAccumulator extends AbstractAccumulator<DeviceBatch> {
+
+        BatchAccumulator(int maxBatches, int maxBatchMillis, int maxIdleMillis) {
+            super(TIMER, maxBatches, maxBatchMillis, maxIdleMillis);
+        }
+
+        @Override
+        public void processItems(List<DeviceBatch> items) {
+            ListMultimap<DeviceId, MergedBatch> merged = ArrayListMultimap.create();
+            for (DeviceBatch batch : items) {
+                List<MergedBatch> deviceBatches = merged.get(batch.deviceId);
+                MergedBatch last = deviceBatches.isEmpty() ? null : deviceBatches.get(deviceBatches.size() - 1);
+                if (last == null || !last.accepts(batch)) {
+                    last = new MergedBatch();
+                    deviceBatches.add(last);
+                }
+                last.add(batch);
+            }
+
+            for (DeviceId deviceId : merged.keySet()) {
+                List<FlowRuleBatchOperation> operations = Lists.newArrayList();
+                for (MergedBatch batch : merged.get(deviceId)) {
+                    long id = idGenerator.getNewId();
+                    FlowRuleBatchOperation operation = new FlowRuleBatchOperation(batch.entries(), deviceId, id);
+                    log.trace("Merged {} batches into {} flow rule operations for {}",
+                              batch.batches.size(), operation.size(), deviceId);
+                    pendingFlowOperations.put(id, batch::completed);
+                    operations.add(operation);
+                }
+                // Keep the order of conflicting batches for the same device
+                deviceInstallers.execute(() -> operations.forEach(store::storeBatch));
+            }
+        }
+    }
+
     @Override
     public Iterable<TableStatisticsEntry> getFlowTableStatistics(DeviceId deviceId) {
         checkPermission(FLOWRULE_READ);
@@ -27,8 +27,9 @@ import java.util.Map;
 import java.util.Timer;
 
 /**
- * An accumulator for building batches of intent operations. Only one batch should
- * be in process per instance at a time.
+ * An accumulator for building batches of intent operations. A new batch is only
+ * handed over once the delegate signals it is ready for one, which it may do
+ * before the previous batches have completed.
  */
 public class IntentAccumulator extends AbstractAccumulator<IntentData> {
 
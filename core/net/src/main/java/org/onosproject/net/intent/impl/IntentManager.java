@@ -15,6 +15,10 @@
  */
 package org.onosproject.net.intent.impl;
 
+import com.codahale.metrics.Timer;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
 import org.onlab.util.Tools;
 import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.core.CoreService;
@@ -67,7 +71,10 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -75,6 +82,8 @@ import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static org.onlab.util.Tools.groupedThreads;
+import static org.onosproject.net.OsgiPropertyConstants.IM_MAX_BATCHES_IN_FLIGHT;
+import static org.onosproject.net.OsgiPropertyConstants.IM_MAX_BATCHES_IN_FLIGHT_DEFAULT;
 import static org.onosproject.net.OsgiPropertyConstants.IM_NUM_THREADS;
 import static org.onosproject.net.OsgiPropertyConstants.IM_NUM_THREADS_DEFAULT;
 import static org.onosproject.net.OsgiPropertyConstants.IM_SKIP_RELEASE_RESOURCES_ON_WITHDRAWAL;
@@ -103,7 +112,8 @@ import static org.slf4j.LoggerFactory.getLogger;
     },
     property = {
         IM_SKIP_RELEASE_RESOURCES_ON_WITHDRAWAL + ":Boolean=" + IM_SKIP_RELEASE_RESOURCES_ON_WITHDRAWAL_DEFAULT,
-        IM_NUM_THREADS + ":Integer=" + IM_NUM_THREADS_DEFAULT
+        IM_NUM_THREADS + ":Integer=" + IM_NUM_THREADS_DEFAULT,
+        IM_MAX_BATCHES_IN_FLIGHT + ":Integer=" + IM_MAX_BATCHES_IN_FLIGHT_DEFAULT
     }
 )
 public class IntentManager
@@ -120,12 +130,20 @@ public class IntentManager
     private static final EnumSet<IntentState> WITHDRAW
             = EnumSet.of(WITHDRAW_REQ, WITHDRAWING, WITHDRAWN);
 
+    private static final String METRICS_COMPONENT = "IntentManager";
+    private static final String METRICS_FEATURE = "Batch";
+    private static final String PROCESS_LATENCY = "processLatency";
+    private static final String WRITE_LATENCY = "writeLatency";
+
     /** Indicates whether skipping resource releases on withdrawal is enabled or not. */
     private boolean skipReleaseResourcesOnWithdrawal = IM_SKIP_RELEASE_RESOURCES_ON_WITHDRAWAL_DEFAULT;
 
     /** Number of worker threads. */
     private int numThreads = IM_NUM_THREADS_DEFAULT;
 
+    /** Maximum number of intent batches processed concurrently. */
+    private volatile int maxBatchesInFlight = IM_MAX_BATCHES_IN_FLIGHT_DEFAULT;
+
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected CoreService coreService;
 
@@ -156,6 +174,9 @@ public class IntentManager
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     private NetworkConfigService networkConfigService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected MetricsService metricsService;
+
     private ExecutorService batchExecutor;
     private ExecutorService workerExecutor;
 
@@ -169,6 +190,11 @@ public class IntentManager
     private InstallCoordinator installCoordinator;
     private IdGenerator idGenerator;
 
+    private MetricsComponent metricsComponent;
+    private MetricsFeature metricsFeature;
+    private Timer processTimer;
+    private Timer writeTimer;
+
     private final IntentAccumulator accumulator = new IntentAccumulator(batchDelegate);
 
     @Activate
@@ -187,6 +213,7 @@ public class IntentManager
         Intent.unbindIdGenerator(idGenerator);
         Intent.bindIdGenerator(idGenerator);
         installCoordinator = new InstallCoordinator(installerRegistry, store);
+        registerMetrics();
         log.info("Started");
     }
 
@@ -203,9 +230,23 @@ public class IntentManager
         batchExecutor.shutdown();
         workerExecutor.shutdown();
         Intent.unbindIdGenerator(idGenerator);
+        removeMetrics();
         log.info("Stopped");
     }
 
+    // Exposes the latencies of the processing and store write phases of the batches.
+    private void registerMetrics() {
+        metricsComponent = metricsService.registerComponent(METRICS_COMPONENT);
+        metricsFeature = metricsComponent.registerFeature(METRICS_FEATURE);
+        processTimer = metricsService.createTimer(metricsComponent, metricsFeature, PROCESS_LATENCY);
+        writeTimer = metricsService.createTimer(metricsComponent, metricsFeature, WRITE_LATENCY);
+    }
+
+    private void removeMetrics() {
+        metricsService.removeMetric(metricsComponent, metricsFeature, PROCESS_LATENCY);
+        metricsService.removeMetric(metricsComponent, metricsFeature, WRITE_LATENCY);
+    }
+
     @Modified
     public void modified(ComponentContext context) {
         if (context == null) {
@@ -239,6 +280,13 @@ public class IntentManager
             }
             logConfig("Reconfigured number of worker threads");
         }
+
+        s = Tools.get(context.getProperties(), IM_MAX_BATCHES_IN_FLIGHT);
+        int newMaxBatchesInFlight = isNullOrEmpty(s) ? maxBatchesInFlight : Integer.parseInt(s.trim());
+        if (newMaxBatchesInFlight != maxBatchesInFlight && newMaxBatchesInFlight > 0) {
+            maxBatchesInFlight = newMaxBatchesInFlight;
+            log.info("Reconfigured maximum number of batches in flight to {}", maxBatchesInFlight);
+        }
     }
 
     private void logConfig(String prefix) {
@@ -518,48 +566,64 @@ public class IntentManager
     }
 
     private class InternalBatchDelegate implements IntentBatchDelegate {
+
+        // Store write of the latest batch in flight for each intent key
+        private final Map<Key, CompletableFuture<Void>> pendingWrites = new ConcurrentHashMap<>();
+        private final AtomicInteger batchesInFlight = new AtomicInteger();
+
         @Override
         public void execute(Collection<IntentData> operations) {
             log.debug("Execute {} operation(s).", operations.size());
             log.trace("Execute operations: {}", operations);
 
-            // batchExecutor is single-threaded, so only one batch is in flight at a time
-            CompletableFuture.runAsync(() -> {
-                // process intent until the phase reaches one of the final phases
-                List<CompletableFuture<IntentData>> futures = operations.stream()
-                        .map(data -> {
-                            log.debug("Start processing of {} {}@{}", data.request(), data.key(), data.version());
-                            return data;
-                        })
-                        .map(x -> CompletableFuture.completedFuture(x)
-                                .thenApply(IntentManager.this::createInitialPhase)
-                                .thenApplyAsync(IntentProcessPhase::process, workerExecutor)
-                                .thenApply(FinalIntentProcessPhase::data)
-                                .exceptionally(e -> {
-                                    // When the future fails, we update the Intent to simulate the failure of
-                                    // the installation/withdrawal phase and we save in the current map. In
-                                    // the next round the CleanUp Thread will pick this Intent again.
-                                    log.warn("Future failed", e);
-                                    log.warn("Intent {} - state {} - request {}",
-                                             x.key(), x.state(), x.request());
-                                    switch (x.state()) {
-                                        case INSTALL_REQ:
-                                        case INSTALLING:
-                                        case WITHDRAW_REQ:
-                                        case WITHDRAWING:
-                                            // TODO should we swtich based on current
-                                            IntentData current = store.getIntentData(x.key());
-                                            return IntentData.nextState(current, FAILED);
-                                        default:
-                                            return null;
-                                    }
-                                }))
-                        .collect(Collectors.toList());
-
+            // Batches are pipelined: processing of an intent only waits for
+            // the store write of the previous batch that contains its key, so
+            // the updates of each key are still applied in order.
+            int inFlight = batchesInFlight.incrementAndGet();
+            CompletableFuture<Void> written = new CompletableFuture<>();
+            long start = System.nanoTime();
+            List<CompletableFuture<IntentData>> futures = operations.stream()
+                    .map(x -> previousWrite(x.key(), written)
+                            .thenApplyAsync(v -> {
+                                log.debug("Start processing of {} {}@{}", x.request(), x.key(), x.version());
+                                // process intent until the phase reaches one of the final phases
+                                return IntentProcessPhase.process(createInitialPhase(x));
+                            }, workerExecutor)
+                            .thenApply(FinalIntentProcessPhase::data)
+                            .exceptionally(e -> {
+                                // When the future fails, we update the Intent to simulate the failure of
+                                // the installation/withdrawal phase and we save in the current map. In
+                                // the next round the CleanUp Thread will pick this Intent again.
+                                log.warn("Future failed", e);
+                                log.warn("Intent {} - state {} - request {}",
+                                         x.key(), x.state(), x.request());
+                                switch (x.state()) {
+                                    case INSTALL_REQ:
+                                    case INSTALLING:
+                                    case WITHDRAW_REQ:
+                                    case WITHDRAWING:
+                                        // TODO should we swtich based on current
+                                        IntentData current = store.getIntentData(x.key());
+                                        return IntentData.nextState(current, FAILED);
+                                    default:
+                                        return null;
+                                }
+                            }))
+                    .collect(Collectors.toList());
+
+            // batchExecutor is single-threaded, so store writes do not overlap
+            Tools.allOf(futures).thenAcceptAsync(processed -> {
+                long writeStart = System.nanoTime();
                 // write multiple data to store in order
-                store.batchWrite(Tools.allOf(futures).join().stream()
+                store.batchWrite(processed.stream()
                                          .filter(Objects::nonNull)
                                          .collect(Collectors.toList()));
+                long end = System.nanoTime();
+                processTimer.update(writeStart - start, TimeUnit.NANOSECONDS);
+                writeTimer.update(end - writeStart, TimeUnit.NANOSECONDS);
+                log.debug("Processed {} operation(s) in {} ms; written in {} ms", operations.size(),
+                          TimeUnit.NANOSECONDS.toMillis(writeStart - start),
+                          TimeUnit.NANOSECONDS.toMillis(end - writeStart));
             }, batchExecutor).exceptionally(e -> {
                 log.error("Error submitting batches:", e);
                 // FIXME incomplete Intents should be cleaned up
@@ -569,8 +633,23 @@ public class IntentManager
                 // TODO: maybe we should do more?
                 log.error("Walk the plank, matey...");
                 return null;
-            }).thenRun(accumulator::ready);
+            }).thenRun(() -> {
+                operations.forEach(x -> pendingWrites.remove(x.key(), written));
+                written.complete(null);
+                batchesInFlight.decrementAndGet();
+                accumulator.ready();
+            });
+
+            // Let the accumulator hand over the next batch right away if the
+            // pipeline is not full yet
+            if (inFlight < maxBatchesInFlight) {
+                accumulator.ready();
+            }
+        }
 
+        private CompletableFuture<Void> previousWrite(Key key, CompletableFuture<Void> written) {
+            CompletableFuture<Void> previous = pendingWrites.put(key, written);
+            return previous != null ? previous : CompletableFuture.completedFuture(null);
         }
     }
 
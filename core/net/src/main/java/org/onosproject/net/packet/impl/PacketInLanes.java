@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.packet.impl;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
+import org.onlab.packet.Ethernet;
+import org.onosproject.net.packet.PacketContext;
+import org.slf4j.Logger;
+
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static org.onlab.util.Tools.groupedThreads;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Worker lanes processing inbound packets off the provider threads. Packets
+ * are assigned to lanes by their ingress point and source MAC address, so
+ * that the packets of a flow are processed in the order received.
+ * <p>
+ * Lanes are bounded; when a lane is full, the provider thread waits for
+ * room up to the configured time, after which the packet is dropped.
+ * </p>
+ */
+final class PacketInLanes {
+
+    private final Logger log = getLogger(getClass());
+
+    private static final String QUEUE_DEPTH = "queueDepth";
+    private static final String DROPPED_PACKETS = "droppedPackets";
+
+    // Millis an idle retired lane waits before checking for remaining packets
+    private static final long POLL_MILLIS = 100;
+
+    private final Lane[] lanes;
+    private volatile int backpressureMillis;
+    private final Consumer<PacketContext> processor;
+    private final MetricsService metricsService;
+    private final MetricsComponent metricsComponent;
+
+    /**
+     * Creates and starts the packet-in lanes.
+     *
+     * @param count              number of lanes
+     * @param capacity           capacity of each lane
+     * @param backpressureMillis millis to wait for room in a full lane
+     * @param processor          processor of the inbound packets
+     * @param metricsService     metrics service
+     * @param metricsComponent   metrics component of the lanes
+     */
+    PacketInLanes(int count, int capacity, int backpressureMillis,
+                  Consumer<PacketContext> processor, MetricsService metricsService,
+                  MetricsComponent metricsComponent) {
+        this.backpressureMillis = backpressureMillis;
+        this.processor = processor;
+        this.metricsService = metricsService;
+        this.metricsComponent = metricsComponent;
+        this.lanes = new Lane[count];
+        for (int i = 0; i < count; i++) {
+            lanes[i] = new Lane(i, capacity);
+        }
+    }
+
+    /**
+     * Submits the packet to the lane of its flow.
+     *
+     * @param context packet context
+     * @return false if the packet was dropped as the lane was full or retired
+     */
+    boolean submit(PacketContext context) {
+        Ethernet eth = context.inPacket().parsed();
+        int hash = Objects.hash(context.inPacket().receivedFrom(),
+                                eth != null ? eth.getSourceMAC() : null);
+        return lanes[Math.floorMod(hash, lanes.length)].add(context);
+    }
+
+    /**
+     * Changes the time to wait for room in a full lane.
+     *
+     * @param backpressureMillis millis to wait for room in a full lane
+     */
+    void setBackpressureMillis(int backpressureMillis) {
+        this.backpressureMillis = backpressureMillis;
+    }
+
+    /**
+     * Stops the lanes once they have processed the packets already queued.
+     * The metrics of the lanes not taken over by lanes of the same index are
+     * removed.
+     *
+     * @param successors number of lanes taking over from these ones
+     */
+    void retire(int successors) {
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i].retire(i >= successors);
+        }
+    }
+
+    // Single-threaded packet processing loop.
+    private final class Lane implements Runnable {
+        private final String name;
+        private final BlockingQueue<PacketContext> queue;
+        private final ExecutorService executor;
+        private final MetricsFeature metricsFeature;
+        private final Counter droppedPackets;
+        private volatile boolean retired;
+
+        private Lane(int index, int capacity) {
+            this.name = "lane-" + index;
+            this.queue = new LinkedBlockingQueue<>(capacity);
+            this.metricsFeature = metricsComponent.registerFeature(name);
+            metricsService.removeMetric(metricsComponent, metricsFeature, QUEUE_DEPTH);
+            metricsService.registerMetric(metricsComponent, metricsFeature, QUEUE_DEPTH,
+                                          (Gauge<Integer>) queue::size);
+            this.droppedPackets = metricsService.createCounter(metricsComponent, metricsFeature,
+                                                               DROPPED_PACKETS);
+            this.executor = newSingleThreadExecutor(
+                    groupedThreads("onos/net/packet", "packet-in-" + name + "-%d", log));
+            executor.execute(this);
+        }
+
+        private boolean add(PacketContext context) {
+            if (!retired && offer(context)) {
+                // The loop drains the queue once more after seeing the lane
+                // retired; a packet queued after that is taken back.
+                if (!retired || !queue.remove(context)) {
+                    return true;
+                }
+            }
+            droppedPackets.inc();
+            return false;
+        }
+
+        private boolean offer(PacketContext context) {
+            if (queue.offer(context)) {
+                return true;
+            }
+            int millis = backpressureMillis;
+            if (millis > 0) {
+                try {
+                    return queue.offer(context, millis, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return false;
+        }
+
+        private void retire(boolean removeMetrics) {
+            retired = true;
+            if (removeMetrics) {
+                metricsService.removeMetric(metricsComponent, metricsFeature, QUEUE_DEPTH);
+                metricsService.removeMetric(metricsComponent, metricsFeature, DROPPED_PACKETS);
+            }
+            executor.shutdown();
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                PacketContext context;
+                try {
+                    context = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (context != null) {
+                    processor.accept(context);
+                } else if (retired) {
+                    // Catch packets queued while the lane was being retired
+                    while ((context = queue.poll()) != null) {
+                        processor.accept(context);
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
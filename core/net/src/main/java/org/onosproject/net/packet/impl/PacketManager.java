@@ -16,8 +16,12 @@
 package org.onosproject.net.packet.impl;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsService;
 import org.onlab.util.ItemNotFoundException;
+import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.core.ApplicationId;
@@ -42,6 +46,7 @@ import org.onosproject.net.packet.DefaultPacketRequest;
 import org.onosproject.net.packet.OutboundPacket;
 import org.onosproject.net.packet.PacketContext;
 import org.onosproject.net.packet.PacketEvent;
+import org.onosproject.net.packet.PacketInterest;
 import org.onosproject.net.packet.PacketPriority;
 import org.onosproject.net.packet.PacketProcessor;
 import org.onosproject.net.packet.PacketProcessorEntry;
@@ -54,25 +59,37 @@ import org.onosproject.net.packet.PacketStore;
 import org.onosproject.net.packet.PacketStoreDelegate;
 import org.onosproject.net.provider.AbstractProviderRegistry;
 import org.onosproject.net.provider.AbstractProviderService;
+import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.onosproject.net.packet.PacketInFilter;
 import org.onosproject.net.packet.PacketInFilter.FilterAction;
 import org.slf4j.Logger;
 
+import java.util.Dictionary;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
 
 
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static org.onlab.util.Tools.getIntegerProperty;
 import static org.onlab.util.Tools.groupedThreads;
+import static org.onosproject.net.OsgiPropertyConstants.PM_PACKET_IN_BACKPRESSURE_MILLIS;
+import static org.onosproject.net.OsgiPropertyConstants.PM_PACKET_IN_BACKPRESSURE_MILLIS_DEFAULT;
+import static org.onosproject.net.OsgiPropertyConstants.PM_PACKET_IN_LANES;
+import static org.onosproject.net.OsgiPropertyConstants.PM_PACKET_IN_LANES_DEFAULT;
+import static org.onosproject.net.OsgiPropertyConstants.PM_PACKET_IN_LANE_CAPACITY;
+import static org.onosproject.net.OsgiPropertyConstants.PM_PACKET_IN_LANE_CAPACITY_DEFAULT;
 import static org.onosproject.security.AppGuard.checkPermission;
 import static org.onosproject.security.AppPermission.Type.PACKET_EVENT;
 import static org.onosproject.security.AppPermission.Type.PACKET_READ;
@@ -82,7 +99,15 @@ import static org.slf4j.LoggerFactory.getLogger;
 /**
  * Provides a basic implementation of the packet SB &amp; NB APIs.
  */
-@Component(immediate = true, service = { PacketService.class, PacketProviderRegistry.class })
+@Component(
+        immediate = true,
+        service = { PacketService.class, PacketProviderRegistry.class },
+        property = {
+                PM_PACKET_IN_LANES + ":Integer=" + PM_PACKET_IN_LANES_DEFAULT,
+                PM_PACKET_IN_LANE_CAPACITY + ":Integer=" + PM_PACKET_IN_LANE_CAPACITY_DEFAULT,
+                PM_PACKET_IN_BACKPRESSURE_MILLIS + ":Integer=" + PM_PACKET_IN_BACKPRESSURE_MILLIS_DEFAULT
+        }
+)
 public class PacketManager
         extends AbstractProviderRegistry<PacketProvider, PacketProviderService>
         implements PacketService, PacketProviderRegistry {
@@ -94,6 +119,7 @@ public class PacketManager
     private static final String ERROR_NULL_APP_ID = "Application ID cannot be null";
     private static final String ERROR_NULL_DEVICE_ID = "Device ID cannot be null";
     private static final String SUPPORT_PACKET_REQUEST_PROPERTY = "supportPacketRequest";
+    private static final String METRICS_COMPONENT = "PacketManager";
 
     private final PacketStoreDelegate delegate = new InternalStoreDelegate();
 
@@ -115,11 +141,32 @@ public class PacketManager
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected FlowObjectiveService objectiveService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected ComponentConfigService cfgService;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected MetricsService metricsService;
+
+    /** Number of worker lanes processing packet-ins; 0 to process them on the provider threads. */
+    private int packetInLanes = PM_PACKET_IN_LANES_DEFAULT;
+
+    /** Capacity of each packet-in lane. */
+    private int packetInLaneCapacity = PM_PACKET_IN_LANE_CAPACITY_DEFAULT;
+
+    /** Millis a provider thread waits for room in a full lane before dropping the packet. */
+    private int packetInBackpressureMillis = PM_PACKET_IN_BACKPRESSURE_MILLIS_DEFAULT;
+
+    private MetricsComponent metricsComponent;
+    private volatile PacketInLanes lanes;
+
     private ExecutorService eventHandlingExecutor;
 
     private final DeviceListener deviceListener = new InternalDeviceListener();
 
     private final List<ProcessorEntry> processors = Lists.newCopyOnWriteArrayList();
+    private volatile ProcessorTable<ProcessorEntry> processorTable =
+            new ProcessorTable<>(ImmutableList.of());
+    private final LongAdder unclaimedPackets = new LongAdder();
 
     private final PacketDriverProvider defaultProvider = new PacketDriverProvider();
 
@@ -129,7 +176,10 @@ public class PacketManager
     private List<PacketInFilter> filters = new CopyOnWriteArrayList<>();
 
     @Activate
-    public void activate() {
+    public void activate(ComponentContext context) {
+        cfgService.registerProperties(getClass());
+        metricsComponent = metricsService.registerComponent(METRICS_COMPONENT);
+        modified(context);
         eventHandlingExecutor = Executors.newSingleThreadExecutor(
                 groupedThreads("onos/net/packet", "event-handler", log));
         localNodeId = clusterService.getLocalNode().id();
@@ -154,12 +204,64 @@ public class PacketManager
 
     @Deactivate
     public void deactivate() {
+        cfgService.unregisterProperties(getClass(), false);
         store.unsetDelegate(delegate);
         deviceService.removeListener(deviceListener);
         eventHandlingExecutor.shutdown();
+        if (lanes != null) {
+            lanes.retire(0);
+            lanes = null;
+        }
         log.info("Stopped");
     }
 
+    @Modified
+    public void modified(ComponentContext context) {
+        int oldPacketInLanes = packetInLanes;
+        int oldPacketInLaneCapacity = packetInLaneCapacity;
+        if (context != null) {
+            Dictionary<?, ?> properties = context.getProperties();
+            packetInLanes = nonNegativeProperty(properties, PM_PACKET_IN_LANES, packetInLanes);
+            packetInLaneCapacity = nonNegativeProperty(properties, PM_PACKET_IN_LANE_CAPACITY,
+                                                       packetInLaneCapacity);
+            packetInBackpressureMillis = nonNegativeProperty(properties, PM_PACKET_IN_BACKPRESSURE_MILLIS,
+                                                             packetInBackpressureMillis);
+        }
+
+        PacketInLanes oldLanes = lanes;
+        if (oldLanes != null && packetInLanes == oldPacketInLanes &&
+                packetInLaneCapacity == oldPacketInLaneCapacity) {
+            oldLanes.setBackpressureMillis(packetInBackpressureMillis);
+        } else if (oldLanes != null || packetInLanes > 0) {
+            // Swap in the new lanes and let the old ones drain their queues;
+            // packets of a flow may briefly be processed out of order while
+            // both are active.
+            lanes = packetInLanes > 0 ?
+                    new PacketInLanes(packetInLanes, Math.max(packetInLaneCapacity, 1),
+                                      packetInBackpressureMillis, this::dispatch,
+                                      metricsService, metricsComponent) : null;
+            if (oldLanes != null) {
+                oldLanes.retire(packetInLanes);
+            }
+        }
+        log.info("Settings: {}={}, {}={}, {}={}",
+                 PM_PACKET_IN_LANES, packetInLanes,
+                 PM_PACKET_IN_LANE_CAPACITY, packetInLaneCapacity,
+                 PM_PACKET_IN_BACKPRESSURE_MILLIS, packetInBackpressureMillis);
+    }
+
+    private int nonNegativeProperty(Dictionary<?, ?> properties, String name, int currentValue) {
+        Integer value = getIntegerProperty(properties, name);
+        if (value == null) {
+            return currentValue;
+        }
+        if (value < 0) {
+            log.warn("Ignoring negative value {} of {}", value, name);
+            return currentValue;
+        }
+        return value;
+    }
+
     @Override
     protected PacketProvider defaultProvider() {
         return defaultProvider;
@@ -167,9 +269,15 @@ public class PacketManager
 
     @Override
     public void addProcessor(PacketProcessor processor, int priority) {
+        addProcessor(processor, priority, ImmutableSet.of());
+    }
+
+    @Override
+    public synchronized void addProcessor(PacketProcessor processor, int priority,
+                                          Set<PacketInterest> interests) {
         checkPermission(PACKET_EVENT);
         checkNotNull(processor, ERROR_NULL_PROCESSOR);
-        ProcessorEntry entry = new ProcessorEntry(processor, priority);
+        ProcessorEntry entry = new ProcessorEntry(processor, priority, interests);
 
         // Insert the new processor according to its priority.
         int i = 0;
@@ -179,10 +287,11 @@ public class PacketManager
             }
         }
         processors.add(i, entry);
+        processorTable = new ProcessorTable<>(processors);
     }
 
     @Override
-    public void removeProcessor(PacketProcessor processor) {
+    public synchronized void removeProcessor(PacketProcessor processor) {
         checkPermission(PACKET_EVENT);
         checkNotNull(processor, ERROR_NULL_PROCESSOR);
 
@@ -193,6 +302,17 @@ public class PacketManager
                 break;
             }
         }
+        processorTable = new ProcessorTable<>(processors);
+    }
+
+    /**
+     * Returns the number of inbound packets that no processor was interested
+     * in.
+     *
+     * @return number of unclaimed packets
+     */
+    public long unclaimedPacketCount() {
+        return unclaimedPackets.sum();
     }
 
     @Override
@@ -476,31 +596,47 @@ public class PacketManager
                 }
                 return;
             }
-            // TODO filter packets sent to processors based on registrations
-            for (ProcessorEntry entry : processors) {
-                try {
-                    if (log.isTraceEnabled()) {
-                        log.trace("Starting packet processing by {}",
-                                entry.processor().getClass().getName());
-                    }
+            // Hand the packet over to a worker lane, if so configured.
+            PacketInLanes packetInLanes = lanes;
+            if (packetInLanes == null) {
+                dispatch(context);
+            } else if (!packetInLanes.submit(context) && log.isTraceEnabled()) {
+                log.trace("The packet is dropped as its lane is full");
+            }
+        }
 
-                    long start = System.nanoTime();
-                    entry.processor().process(context);
-                    entry.addNanos(System.nanoTime() - start);
+    }
 
-                    if (log.isTraceEnabled()) {
-                        log.trace("Finished packet processing by {}",
-                                entry.processor().getClass().getName());
-                    }
-                } catch (Exception e) {
-                    log.warn("Packet processor {} threw an exception", entry.processor(), e);
+
+    // Gives the packet to the processors interested in it, in order.
+    private void dispatch(PacketContext context) {
+        List<ProcessorEntry> interested =
+                processorTable.processors(context.inPacket().parsed());
+        if (interested.isEmpty()) {
+            unclaimedPackets.increment();
+            return;
+        }
+        for (ProcessorEntry entry : interested) {
+            try {
+                if (log.isTraceEnabled()) {
+                    log.trace("Starting packet processing by {}",
+                            entry.processor().getClass().getName());
+                }
+
+                long start = System.nanoTime();
+                entry.processor().process(context);
+                entry.addNanos(System.nanoTime() - start);
+
+                if (log.isTraceEnabled()) {
+                    log.trace("Finished packet processing by {}",
+                            entry.processor().getClass().getName());
                 }
+            } catch (Exception e) {
+                log.warn("Packet processor {} threw an exception", entry.processor(), e);
             }
         }
-
     }
 
-
     /**
      * Internal callback from the packet store.
      */
@@ -585,12 +721,15 @@ public class PacketManager
     private class ProcessorEntry implements PacketProcessorEntry {
         private final PacketProcessor processor;
         private final int priority;
-        private long invocations = 0;
-        private long nanos = 0;
+        private final Set<PacketInterest> interests;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
 
-        public ProcessorEntry(PacketProcessor processor, int priority) {
+        public ProcessorEntry(PacketProcessor processor, int priority,
+                              Set<PacketInterest> interests) {
             this.processor = processor;
             this.priority = priority;
+            this.interests = ImmutableSet.copyOf(interests);
         }
 
         @Override
@@ -603,24 +742,32 @@ public class PacketManager
             return priority;
         }
 
+        @Override
+        public Set<PacketInterest> interests() {
+            return interests;
+        }
+
         @Override
         public long invocations() {
-            return invocations;
+            return invocations.sum();
         }
 
         @Override
         public long totalNanos() {
-            return nanos;
+            return nanos.sum();
         }
 
         @Override
         public long averageNanos() {
-            return invocations > 0 ? nanos / invocations : 0;
+            long invocations = invocations();
+            return invocations > 0 ? totalNanos() / invocations : 0;
         }
 
+        // Accounts for a packet given to the processor; packets are
+        // processed concurrently by the provider threads.
         void addNanos(long nanos) {
-            this.nanos += nanos;
-            this.invocations++;
+            this.nanos.add(nanos);
+            this.invocations.increment();
         }
     }
 }
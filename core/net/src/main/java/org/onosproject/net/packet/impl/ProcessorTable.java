@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.packet.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.IPv4;
+import org.onlab.packet.IPv6;
+import org.onlab.packet.UDP;
+import org.onosproject.net.packet.PacketInterest;
+import org.onosproject.net.packet.PacketProcessorEntry;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.onosproject.net.packet.PacketInterest.ANY;
+
+/**
+ * Classifier table binding classes of inbound packets to the processors
+ * interested in them. The bindings are computed up-front for every class
+ * declared by any processor, so that a packet is classified by at most three
+ * lookups, from the most to the least specific class.
+ *
+ * @param <T> type of processor entry
+ */
+final class ProcessorTable<T extends PacketProcessorEntry> {
+
+    private final List<T> unclassified;
+    private final Map<Integer, List<T>> byEthType;
+    private final Map<Integer, List<T>> byIpProtocol;
+    private final Map<Long, List<T>> byUdpPort;
+
+    /**
+     * Creates a classifier table for the given processors.
+     *
+     * @param entries processor entries in the order of priority
+     */
+    ProcessorTable(List<T> entries) {
+        Map<Integer, List<T>> ethTypes = new HashMap<>();
+        Map<Integer, List<T>> ipProtocols = new HashMap<>();
+        Map<Long, List<T>> udpPorts = new HashMap<>();
+        for (T entry : entries) {
+            for (PacketInterest interest : entry.interests()) {
+                int ethType = interest.ethType();
+                ethTypes.computeIfAbsent(ethType,
+                        k -> select(entries, ethType, ANY, ANY));
+                if (interest.ipProtocol() != ANY) {
+                    int ipProtocol = interest.ipProtocol();
+                    ipProtocols.computeIfAbsent(ipKey(ethType, ipProtocol),
+                            k -> select(entries, ethType, ipProtocol, ANY));
+                }
+                if (interest.udpDstPort() != ANY) {
+                    int udpPort = interest.udpDstPort();
+                    udpPorts.computeIfAbsent(udpKey(ethType, udpPort),
+                            k -> select(entries, ethType, IPv4.PROTOCOL_UDP, udpPort));
+                }
+            }
+        }
+        this.unclassified = select(entries, ANY, ANY, ANY);
+        this.byEthType = ImmutableMap.copyOf(ethTypes);
+        this.byIpProtocol = ImmutableMap.copyOf(ipProtocols);
+        this.byUdpPort = ImmutableMap.copyOf(udpPorts);
+    }
+
+    /**
+     * Returns the processors to be given the specified packet, in the order
+     * of priority.
+     *
+     * @param packet parsed packet; null if the packet could not be parsed
+     * @return list of processor entries
+     */
+    List<T> processors(Ethernet packet) {
+        if (packet == null) {
+            return unclassified;
+        }
+        int ethType = packet.getEtherType() & 0xffff;
+        List<T> processors = byEthType.get(ethType);
+        if (processors == null) {
+            return unclassified;
+        }
+        if (byIpProtocol.isEmpty()) {
+            return processors;
+        }
+
+        int ipProtocol;
+        if (packet.getPayload() instanceof IPv4) {
+            ipProtocol = ((IPv4) packet.getPayload()).getProtocol() & 0xff;
+        } else if (packet.getPayload() instanceof IPv6) {
+            ipProtocol = ((IPv6) packet.getPayload()).getNextHeader() & 0xff;
+        } else {
+            return processors;
+        }
+        List<T> ipProcessors = byIpProtocol.get(ipKey(ethType, ipProtocol));
+        if (ipProcessors == null) {
+            return processors;
+        }
+        if (ipProtocol != IPv4.PROTOCOL_UDP ||
+                !(packet.getPayload().getPayload() instanceof UDP)) {
+            return ipProcessors;
+        }
+
+        UDP udp = (UDP) packet.getPayload().getPayload();
+        List<T> udpProcessors = byUdpPort.get(udpKey(ethType, udp.getDestinationPort()));
+        return udpProcessors != null ? udpProcessors : ipProcessors;
+    }
+
+    // Selects the entries, in order, that are interested in packets of the
+    // given class; entries without interests are interested in all packets.
+    private static <T extends PacketProcessorEntry> List<T> select(
+            List<T> entries, int ethType, int ipProtocol, int udpPort) {
+        ImmutableList.Builder<T> builder = ImmutableList.builder();
+        for (T entry : entries) {
+            if (entry.interests().isEmpty() || entry.interests().stream()
+                    .anyMatch(i -> i.ethType() == ethType &&
+                            (i.ipProtocol() == ANY || i.ipProtocol() == ipProtocol) &&
+                            (i.udpDstPort() == ANY || i.udpDstPort() == udpPort))) {
+                builder.add(entry);
+            }
+        }
+        return builder.build();
+    }
+
+    private static int ipKey(int ethType, int ipProtocol) {
+        return ethType << 8 | ipProtocol;
+    }
+
+    private static long udpKey(int ethType, int udpPort) {
+        return (long) ethType << 16 | udpPort;
+    }
+}
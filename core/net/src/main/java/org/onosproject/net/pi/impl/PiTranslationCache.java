@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.pi.impl;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.pi.model.PiPipeconfId;
+import org.onosproject.net.pi.service.PiTranslationException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Bounded cache of PI translations. Entries are keyed on the pipeconf and
+ * device the translation was done for, followed by the fields of the
+ * original entity that the translation depends on.
+ *
+ * @param <E> PI entity class
+ */
+final class PiTranslationCache<E> {
+
+    /**
+     * Translation to run on a cache miss.
+     *
+     * @param <E> PI entity class
+     */
+    @FunctionalInterface
+    interface Translation<E> {
+        E translate() throws PiTranslationException;
+    }
+
+    private volatile Cache<List<Object>, E> cache;
+
+    /**
+     * Creates a cache holding up to the given number of translations.
+     *
+     * @param maxSize maximum number of entries; 0 disables caching
+     */
+    PiTranslationCache(int maxSize) {
+        resize(maxSize);
+    }
+
+    /**
+     * Replaces the cache by an empty one with the given maximum size.
+     *
+     * @param maxSize maximum number of entries; 0 disables caching
+     */
+    void resize(int maxSize) {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached translation for the given key, running and caching
+     * the given translation on a miss. Concurrent lookups of the same key
+     * wait for a single translation. Failed translations are not cached.
+     *
+     * @param pipeconfId  pipeconf identifier
+     * @param deviceId    device identifier
+     * @param content     fields of the original entity used by the translation
+     * @param translation translation to run on a miss
+     * @return PI entity
+     * @throws PiTranslationException if the translation fails
+     */
+    E get(PiPipeconfId pipeconfId, DeviceId deviceId, List<?> content,
+          Translation<E> translation) throws PiTranslationException {
+        List<Object> key = new ArrayList<>(content.size() + 2);
+        key.add(pipeconfId);
+        key.add(deviceId);
+        key.addAll(content);
+        try {
+            return cache.get(Collections.unmodifiableList(key), translation::translate);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof PiTranslationException) {
+                throw (PiTranslationException) e.getCause();
+            }
+            throw new PiTranslationException(e.getCause().getMessage());
+        } catch (UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw e;
+        }
+    }
+
+    /**
+     * Drops all the translations.
+     */
+    void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Drops the translations done for the given pipeconf.
+     *
+     * @param pipeconfId pipeconf identifier
+     */
+    void invalidate(PiPipeconfId pipeconfId) {
+        cache.asMap().keySet().removeIf(key -> pipeconfId.equals(key.get(0)));
+    }
+
+    /**
+     * Drops the translations done for the given device.
+     *
+     * @param deviceId device identifier
+     */
+    void invalidate(DeviceId deviceId) {
+        cache.asMap().keySet().removeIf(key -> deviceId.equals(key.get(1)));
+    }
+
+    /**
+     * Returns the number of lookups served from the cache.
+     *
+     * @return hit count
+     */
+    long hitCount() {
+        return cache.stats().hitCount();
+    }
+
+    /**
+     * Returns the number of lookups that required a translation.
+     *
+     * @return miss count
+     */
+    long missCount() {
+        return cache.stats().missCount();
+    }
+
+    /**
+     * Returns the ratio of lookups served from the cache, 1.0 if there was
+     * no lookup yet.
+     *
+     * @return hit ratio
+     */
+    double hitRate() {
+        return cache.stats().hitRate();
+    }
+}
@@ -16,8 +16,16 @@
 
 package org.onosproject.net.pi.impl;
 
+import com.codahale.metrics.Gauge;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
+import org.onlab.util.Tools;
+import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.net.Device;
 import org.onosproject.net.DeviceId;
+import org.onosproject.net.device.DeviceEvent;
+import org.onosproject.net.device.DeviceListener;
 import org.onosproject.net.device.DeviceService;
 import org.onosproject.net.flow.FlowRule;
 import org.onosproject.net.group.Group;
@@ -33,33 +41,64 @@ import org.onosproject.net.pi.service.PiGroupTranslationStore;
 import org.onosproject.net.pi.service.PiGroupTranslator;
 import org.onosproject.net.pi.service.PiMeterTranslationStore;
 import org.onosproject.net.pi.service.PiMeterTranslator;
+import org.onosproject.net.pi.service.PiPipeconfEvent;
+import org.onosproject.net.pi.service.PiPipeconfListener;
+import org.onosproject.net.pi.service.PiPipeconfService;
 import org.onosproject.net.pi.service.PiReplicationGroupTranslationStore;
 import org.onosproject.net.pi.service.PiReplicationGroupTranslator;
 import org.onosproject.net.pi.service.PiTranslationException;
 import org.onosproject.net.pi.service.PiTranslationService;
+import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.Dictionary;
+import java.util.List;
+
 import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.stream.Collectors.toList;
+import static org.onosproject.net.OsgiPropertyConstants.PTS_TRANSLATION_CACHE_SIZE;
+import static org.onosproject.net.OsgiPropertyConstants.PTS_TRANSLATION_CACHE_SIZE_DEFAULT;
 
 /**
- * Implementation of the PI translation service.
+ * Implementation of the PI translation service. Translations are cached per
+ * pipeconf and device, keyed on the content of the translated entities.
  */
-@Component(immediate = true, service = PiTranslationService.class)
+@Component(
+        immediate = true,
+        service = PiTranslationService.class,
+        property = {
+                PTS_TRANSLATION_CACHE_SIZE + ":Integer=" + PTS_TRANSLATION_CACHE_SIZE_DEFAULT
+        }
+)
 public class PiTranslationServiceImpl implements PiTranslationService {
 
-    private final Logger log = LoggerFactory.getLogger(this.getClass());
+    private static final String METRICS_COMPONENT = "PiTranslation";
+    private static final String CACHE_HITS = "hits";
+    private static final String CACHE_MISSES = "misses";
+    private static final String CACHE_HIT_RATE = "hitRate";
 
-    // TODO: implement cache to speed up translation.
+    private final Logger log = LoggerFactory.getLogger(this.getClass());
 
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected DeviceService deviceService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected PiPipeconfService pipeconfService;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected ComponentConfigService cfgService;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected MetricsService metricsService;
+
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     private PiFlowRuleTranslationStore flowRuleTranslationStore;
 
@@ -77,17 +116,68 @@ public class PiTranslationServiceImpl implements PiTranslationService {
     private PiReplicationGroupTranslator repGroupTranslator;
     private PiMeterTranslator meterTranslator;
 
+    /** Maximum number of cached translations of each kind; 0 disables caching. */
+    private int translationCacheSize = PTS_TRANSLATION_CACHE_SIZE_DEFAULT;
+
+    private final PiTranslationCache<PiTableEntry> flowRuleCache =
+            new PiTranslationCache<>(PTS_TRANSLATION_CACHE_SIZE_DEFAULT);
+    private final PiTranslationCache<PiActionProfileGroup> groupCache =
+            new PiTranslationCache<>(PTS_TRANSLATION_CACHE_SIZE_DEFAULT);
+    private final PiTranslationCache<PiPreEntry> repGroupCache =
+            new PiTranslationCache<>(PTS_TRANSLATION_CACHE_SIZE_DEFAULT);
+    private final PiTranslationCache<PiMeterCellConfig> meterCache =
+            new PiTranslationCache<>(PTS_TRANSLATION_CACHE_SIZE_DEFAULT);
+    private final List<PiTranslationCache<?>> caches =
+            Arrays.asList(flowRuleCache, groupCache, repGroupCache, meterCache);
+    private final List<String> cacheNames =
+            Arrays.asList("FlowRuleCache", "GroupCache", "ReplicationGroupCache", "MeterCache");
+
+    private final PiPipeconfListener pipeconfListener = new InternalPipeconfListener();
+    private final DeviceListener deviceListener = new InternalDeviceListener();
+
+    private MetricsComponent metricsComponent;
+
     @Activate
-    public void activate() {
+    public void activate(ComponentContext context) {
+        cfgService.registerProperties(getClass());
+        modified(context);
         flowRuleTranslator = new InternalFlowRuleTranslator(flowRuleTranslationStore);
         groupTranslator = new InternalGroupTranslator(groupTranslationStore);
         repGroupTranslator = new InternalReplicationGroupTranslator(repGroupTranslationStore);
         meterTranslator = new InternalMeterTranslator(meterTranslationStore);
+        pipeconfService.addListener(pipeconfListener);
+        deviceService.addListener(deviceListener);
+        registerMetrics();
         log.info("Started");
     }
 
+    @Modified
+    public void modified(ComponentContext context) {
+        if (context == null) {
+            return;
+        }
+
+        Dictionary<?, ?> properties = context.getProperties();
+        int newTranslationCacheSize = Tools.getIntegerProperty(
+                properties, PTS_TRANSLATION_CACHE_SIZE, PTS_TRANSLATION_CACHE_SIZE_DEFAULT);
+        if (newTranslationCacheSize < 0) {
+            log.warn("{} must not be negative; using {}",
+                     PTS_TRANSLATION_CACHE_SIZE, translationCacheSize);
+        } else if (newTranslationCacheSize != translationCacheSize) {
+            translationCacheSize = newTranslationCacheSize;
+            caches.forEach(cache -> cache.resize(translationCacheSize));
+            log.info("Configured. {} is configured to {}",
+                     PTS_TRANSLATION_CACHE_SIZE, translationCacheSize);
+        }
+    }
+
     @Deactivate
     public void deactivate() {
+        removeMetrics();
+        deviceService.removeListener(deviceListener);
+        pipeconfService.removeListener(pipeconfListener);
+        cfgService.unregisterProperties(getClass(), false);
+        caches.forEach(PiTranslationCache::invalidateAll);
         flowRuleTranslator = null;
         groupTranslator = null;
         meterTranslator = null;
@@ -114,6 +204,30 @@ public class PiTranslationServiceImpl implements PiTranslationService {
         return repGroupTranslator;
     }
 
+    // Exposes the hit and miss counts and the hit rate of each cache.
+    private void registerMetrics() {
+        metricsComponent = metricsService.registerComponent(METRICS_COMPONENT);
+        for (int i = 0; i < caches.size(); i++) {
+            PiTranslationCache<?> cache = caches.get(i);
+            MetricsFeature feature = metricsComponent.registerFeature(cacheNames.get(i));
+            metricsService.registerMetric(metricsComponent, feature, CACHE_HITS,
+                                          (Gauge<Long>) cache::hitCount);
+            metricsService.registerMetric(metricsComponent, feature, CACHE_MISSES,
+                                          (Gauge<Long>) cache::missCount);
+            metricsService.registerMetric(metricsComponent, feature, CACHE_HIT_RATE,
+                                          (Gauge<Double>) cache::hitRate);
+        }
+    }
+
+    private void removeMetrics() {
+        for (String cacheName : cacheNames) {
+            MetricsFeature feature = metricsComponent.registerFeature(cacheName);
+            metricsService.removeMetric(metricsComponent, feature, CACHE_HITS);
+            metricsService.removeMetric(metricsComponent, feature, CACHE_MISSES);
+            metricsService.removeMetric(metricsComponent, feature, CACHE_HIT_RATE);
+        }
+    }
+
     private Device getDevice(DeviceId deviceId) throws PiTranslationException {
         final Device device = deviceService.getDevice(deviceId);
         if (device == null) {
@@ -135,8 +249,12 @@ public class PiTranslationServiceImpl implements PiTranslationService {
                 throws PiTranslationException {
             checkNotNull(original);
             checkNotNull(pipeconf);
-            return PiFlowRuleTranslatorImpl
-                    .translate(original, pipeconf, getDevice(original.deviceId()));
+            // Flow rule equality ignores the treatment and timeouts
+            final List<?> content = Arrays.asList(
+                    original.table(), original.selector(), original.treatment(),
+                    original.priority(), original.isPermanent(), original.timeout());
+            return flowRuleCache.get(pipeconf.id(), original.deviceId(), content, () ->
+                    PiFlowRuleTranslatorImpl.translate(original, pipeconf, getDevice(original.deviceId())));
         }
     }
 
@@ -153,8 +271,10 @@ public class PiTranslationServiceImpl implements PiTranslationService {
                 throws PiTranslationException {
             checkNotNull(original);
             checkNotNull(pipeconf);
-            return PiGroupTranslatorImpl
-                    .translate(original, pipeconf, getDevice(original.deviceId()));
+            final List<?> content = Arrays.asList(
+                    original.id(), original.type(), original.appCookie(), buckets(original));
+            return groupCache.get(pipeconf.id(), original.deviceId(), content, () ->
+                    PiGroupTranslatorImpl.translate(original, pipeconf, getDevice(original.deviceId())));
         }
     }
 
@@ -171,8 +291,11 @@ public class PiTranslationServiceImpl implements PiTranslationService {
                 throws PiTranslationException {
             checkNotNull(original);
             checkNotNull(pipeconf);
-            return PiReplicationGroupTranslatorImpl.translate(
-                    original, pipeconf, getDevice(original.deviceId()));
+            final List<?> content = Arrays.asList(
+                    original.id(), original.type(), buckets(original));
+            return repGroupCache.get(pipeconf.id(), original.deviceId(), content, () ->
+                    PiReplicationGroupTranslatorImpl.translate(
+                            original, pipeconf, getDevice(original.deviceId())));
         }
     }
 
@@ -189,8 +312,42 @@ public class PiTranslationServiceImpl implements PiTranslationService {
                 throws PiTranslationException {
             checkNotNull(original);
             checkNotNull(pipeconf);
-            return PiMeterTranslatorImpl
-                    .translate(original, pipeconf, getDevice(original.deviceId()));
+            // Bands do not implement equality
+            final List<?> content = Arrays.asList(
+                    original.meterCellId(),
+                    original.bands().stream()
+                            .map(band -> Arrays.asList(band.type(), band.rate(), band.burst()))
+                            .collect(toList()));
+            return meterCache.get(pipeconf.id(), original.deviceId(), content, () ->
+                    PiMeterTranslatorImpl.translate(original, pipeconf, getDevice(original.deviceId())));
+        }
+    }
+
+    // Bucket equality ignores the order of instructions and the weight
+    private static List<List<?>> buckets(Group group) {
+        return group.buckets().buckets().stream()
+                .map(bucket -> Arrays.asList(bucket.type(), bucket.treatment(), bucket.weight(),
+                                             bucket.watchPort(), bucket.watchGroup()))
+                .collect(toList());
+    }
+
+    private final class InternalPipeconfListener implements PiPipeconfListener {
+        @Override
+        public void event(PiPipeconfEvent event) {
+            // A pipeconf may be registered again with a different content
+            caches.forEach(cache -> cache.invalidate(event.subject()));
+        }
+    }
+
+    private final class InternalDeviceListener implements DeviceListener {
+        @Override
+        public boolean isRelevant(DeviceEvent event) {
+            return event.type() == DeviceEvent.Type.DEVICE_REMOVED;
+        }
+
+        @Override
+        public void event(DeviceEvent event) {
+            caches.forEach(cache -> cache.invalidate(event.subject().id()));
         }
     }
 }
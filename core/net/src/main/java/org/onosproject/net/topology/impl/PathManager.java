@@ -15,6 +15,11 @@
  */
 package org.onosproject.net.topology.impl;
 
+import com.codahale.metrics.Gauge;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
+import org.onosproject.common.DefaultTopology;
 import org.onosproject.net.DisjointPath;
 import org.onosproject.net.ElementId;
 import org.onosproject.net.Link;
@@ -47,6 +52,11 @@ import static org.slf4j.LoggerFactory.getLogger;
 @Component(immediate = true, service = PathService.class)
 public class PathManager extends AbstractPathService implements PathService {
 
+    private static final String METRICS_COMPONENT = "Topology";
+    private static final String METRICS_FEATURE = "PathCache";
+    private static final String CACHE_HITS = "hits";
+    private static final String CACHE_MISSES = "misses";
+
     private final Logger log = getLogger(getClass());
 
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
@@ -55,19 +65,42 @@ public class PathManager extends AbstractPathService implements PathService {
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected HostService hostService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected MetricsService metricsService;
+
+    private MetricsComponent metricsComponent;
+    private MetricsFeature metricsFeature;
+
     @Activate
     public void activate() {
         // initialize AbstractPathService
         super.topologyService = this.topologyService;
         super.hostService = this.hostService;
+        registerMetrics();
         log.info("Started");
     }
 
     @Deactivate
     public void deactivate() {
+        removeMetrics();
         log.info("Stopped");
     }
 
+    // Exposes the cumulative path cache hit and miss counts of the topologies.
+    private void registerMetrics() {
+        metricsComponent = metricsService.registerComponent(METRICS_COMPONENT);
+        metricsFeature = metricsComponent.registerFeature(METRICS_FEATURE);
+        metricsService.registerMetric(metricsComponent, metricsFeature, CACHE_HITS,
+                                      (Gauge<Long>) DefaultTopology::totalPathCacheHitCount);
+        metricsService.registerMetric(metricsComponent, metricsFeature, CACHE_MISSES,
+                                      (Gauge<Long>) DefaultTopology::totalPathCacheMissCount);
+    }
+
+    private void removeMetrics() {
+        metricsService.removeMetric(metricsComponent, metricsFeature, CACHE_HITS);
+        metricsService.removeMetric(metricsComponent, metricsFeature, CACHE_MISSES);
+    }
+
     @Override
     public Set<Path> getPaths(ElementId src, ElementId dst) {
         checkPermission(TOPOLOGY_READ);
@@ -15,6 +15,7 @@
  */
 package org.onosproject.cluster.impl;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -33,6 +34,7 @@ import org.onosproject.cluster.ControllerNode;
 import org.onosproject.cluster.DefaultControllerNode;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.common.event.impl.TestEventDispatcher;
+import org.onosproject.mastership.MastershipBalancePlan;
 import org.onosproject.mastership.MastershipService;
 import org.onosproject.mastership.MastershipStore;
 import org.onosproject.mastership.MastershipTermService;
@@ -245,6 +247,33 @@ public class MastershipManagerTest {
         assertEquals("incorrect balance for node 3", 3, mgr.getDevicesOf(NID3).size());
     }
 
+    @Test
+    public void balancePlan() {
+        testClusterService.put(CNODE1, ControllerNode.State.ACTIVE);
+        testClusterService.put(CNODE2, ControllerNode.State.INACTIVE);
+        testClusterService.put(CNODE3, ControllerNode.State.ACTIVE);
+
+        assignRoles(NID1, ImmutableSet.of(DID1, DID2, DID3, DID4));
+        assignRoles(NID2, ImmutableSet.of(DID5));
+        assignRoles(NID3, ImmutableSet.of(DID6));
+
+        // Dry run: only the orphan and one surplus device should move
+        mgr.maxMovesPerSecond = 1;
+        MastershipBalancePlan plan = mgr.planBalanceRoles();
+        assertEquals("incorrect number of moves", 2, plan.moves().size());
+        assertTrue("orphan should move", plan.moves().containsKey(DID5));
+        assertEquals("all moves should go to node 3", ImmutableSet.of(NID3),
+                     ImmutableSet.copyOf(plan.moves().values()));
+        assertEquals("incorrect estimate", Duration.ofSeconds(2), plan.estimatedDuration());
+        assertEquals("dry run should not move devices", 4, mgr.getDevicesOf(NID1).size());
+
+        Futures.getUnchecked(mgr.applyBalancePlan(plan));
+        assertEquals("incorrect balance for node 1", 3, mgr.getDevicesOf(NID1).size());
+        assertEquals("incorrect balance for node 2", 0, mgr.getDevicesOf(NID2).size());
+        assertEquals("incorrect balance for node 3", 3, mgr.getDevicesOf(NID3).size());
+        assertTrue("balanced roles should need no moves", mgr.planBalanceRoles().isEmpty());
+    }
+
     private void assignRoles(NodeId nid, Set<DeviceId> deviceIds) {
         Set<DeviceId> all = ImmutableSet.of(DID1, DID2, DID3, DID4, DID5, DID6);
         for (DeviceId did : all) {
@@ -354,6 +383,26 @@ public class MastershipManagerTest {
         checkDeviceMasters(deviceIds, expectedMasters);
     }
 
+    @Test
+    public void balanceWithRegionMastersDown() {
+        // region whose only set of masters is down
+        regionManager.createRegion(RID1, "R1", METRO, ImmutableList.of(ImmutableSet.of(NID3)));
+        regionManager.addDevices(RID1, ImmutableSet.of(DID1, DID2));
+
+        testClusterService.put(CNODE1, ControllerNode.State.ACTIVE);
+        testClusterService.put(CNODE2, ControllerNode.State.ACTIVE);
+        testClusterService.put(CNODE3, ControllerNode.State.INACTIVE);
+        ImmutableSet.of(DID1, DID2, DID3, DID4).forEach(deviceId -> mgr.setRole(NID1, deviceId, MASTER));
+
+        // devices of the region are left alone; the others are balanced
+        mgr.useRegionForBalanceRoles = true;
+        mgr.balanceRoles();
+        assertEquals("wrong master:", NID1, mgr.getMasterFor(DID1));
+        assertEquals("wrong master:", NID1, mgr.getMasterFor(DID2));
+        assertEquals("not balanced:", ImmutableSet.of(NID1, NID2),
+                     ImmutableSet.of(mgr.getMasterFor(DID3), mgr.getMasterFor(DID4)));
+    }
+
     private void checkDeviceMasters(Set<DeviceId> deviceIds, Set<NodeId> expectedMasters) {
         checkDeviceMasters(deviceIds, expectedMasters, null);
     }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.cluster.impl;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+import org.onosproject.cluster.NodeId;
+import org.onosproject.net.DeviceId;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the mastership rebalancer.
+ */
+public class MastershipRebalancerTest {
+
+    private static final NodeId NID1 = NodeId.nodeId("n1");
+    private static final NodeId NID2 = NodeId.nodeId("n2");
+    private static final NodeId NID3 = NodeId.nodeId("n3");
+    private static final NodeId NID_DOWN = NodeId.nodeId("down");
+
+    private static final DeviceId DID1 = DeviceId.deviceId("foo:d1");
+    private static final DeviceId DID2 = DeviceId.deviceId("foo:d2");
+    private static final DeviceId DID3 = DeviceId.deviceId("foo:d3");
+    private static final DeviceId DID4 = DeviceId.deviceId("foo:d4");
+    private static final DeviceId DID5 = DeviceId.deviceId("foo:d5");
+    private static final DeviceId DID6 = DeviceId.deviceId("foo:d6");
+
+    // Flow rule counts of the devices
+    private final Map<DeviceId, Long> flows = ImmutableMap.<DeviceId, Long>builder()
+            .put(DID1, 400L).put(DID2, 10L).put(DID3, 300L)
+            .put(DID4, 20L).put(DID5, 100L).put(DID6, 50L)
+            .build();
+
+    private final MastershipRebalancer rebalancer = new MastershipRebalancer(flows::get);
+
+    /**
+     * Tests that a balanced group is left alone.
+     */
+    @Test
+    public void balanced() {
+        rebalancer.balance(ImmutableSet.of(NID1, NID2, NID3),
+                           ImmutableMap.of(DID1, NID1, DID2, NID1, DID3, NID2, DID4, NID3));
+        assertTrue("nothing should move", rebalancer.moves().isEmpty());
+    }
+
+    /**
+     * Tests that only the surplus devices move, lightest first.
+     */
+    @Test
+    public void lightestSurplusMoves() {
+        Map<DeviceId, NodeId> masters = new HashMap<>();
+        masters.put(DID1, NID1);
+        masters.put(DID2, NID1);
+        masters.put(DID3, NID1);
+        masters.put(DID4, NID1);
+        masters.put(DID5, NID2);
+        rebalancer.balance(ImmutableSet.of(NID1, NID2, NID3), masters);
+
+        // n1 keeps two devices, n2 may keep a second one and n3 gets one
+        assertEquals("wrong moves", ImmutableSet.of(DID2, DID4), rebalancer.moves().keySet());
+        assertEquals("wrong moved weight", 30L, rebalancer.weight(rebalancer.moves().keySet()));
+        assertTrue("wrong destinations", rebalancer.moves().values().containsAll(ImmutableSet.of(NID2, NID3)));
+    }
+
+    /**
+     * Tests that devices without a candidate master are placed, heaviest
+     * first on the least loaded node.
+     */
+    @Test
+    public void orphansPlaced() {
+        Map<DeviceId, NodeId> masters = new HashMap<>();
+        masters.put(DID1, NID1);
+        masters.put(DID2, NID2);
+        masters.put(DID3, NID_DOWN);
+        masters.put(DID4, null);
+        rebalancer.balance(ImmutableSet.of(NID1, NID2), masters);
+
+        assertEquals("wrong moves", ImmutableMap.of(DID3, NID2, DID4, NID1), rebalancer.moves());
+    }
+
+    /**
+     * Tests that the plans of several groups add up.
+     */
+    @Test
+    public void groups() {
+        rebalancer.balance(ImmutableSet.of(NID1), ImmutableMap.of(DID1, NID2, DID2, NID1));
+        rebalancer.balance(ImmutableSet.of(NID2, NID3), ImmutableMap.of(DID5, NID2, DID6, NID2));
+
+        assertEquals("wrong moves", ImmutableMap.of(DID1, NID1, DID6, NID3), rebalancer.moves());
+    }
+}
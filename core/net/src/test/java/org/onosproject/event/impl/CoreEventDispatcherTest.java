@@ -18,16 +18,37 @@ package org.onosproject.event.impl;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import com.google.common.collect.ImmutableSet;
+import org.onlab.metrics.MetricsManager;
+import org.onlab.osgi.ComponentContextAdapter;
+import org.onlab.packet.IpAddress;
+import org.onlab.packet.MacAddress;
+import org.onlab.packet.VlanId;
 import org.onosproject.event.AbstractEvent;
 import org.onosproject.event.EventSink;
+import org.onosproject.net.DefaultHost;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.Host;
+import org.onosproject.net.HostId;
+import org.onosproject.net.HostLocation;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.host.HostEvent;
+import org.onosproject.net.provider.ProviderId;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Dictionary;
+import java.util.Hashtable;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.onlab.junit.TestTools.assertAfter;
 
 /**
  * Test of the event dispatcher mechanism.
@@ -37,10 +58,12 @@ public class CoreEventDispatcherTest {
     private final CoreEventDispatcher dispatcher = new CoreEventDispatcher();
     private final PrickleSink prickleSink = new PrickleSink();
     private final GooSink gooSink = new GooSink();
+    private final MetricsManager metricsService = new MetricsManager();
 
     @Before
     public void setUp() {
-        dispatcher.activate();
+        dispatcher.metricsService = metricsService;
+        dispatcher.activate(null);
         dispatcher.addSink(Prickle.class, prickleSink);
         dispatcher.addSink(Goo.class, gooSink);
     }
@@ -88,6 +111,109 @@ public class CoreEventDispatcherTest {
         assertTrue(takesTooLong.interrupted);
     }
 
+    @Test
+    public void postToPartitionedLane() throws Exception {
+        String lane = "seq";
+        dispatcher.modified(context(Seq.class.getName() + "=" + lane, lane + "=4", 0));
+        SeqSink seqSink = new SeqSink();
+        dispatcher.addSink(Seq.class, seqSink);
+
+        List<String> subjects = List.of("a", "b", "c", "d", "e", "f", "g");
+        int count = 100;
+        seqSink.latch = new CountDownLatch(subjects.size() * count);
+        for (int i = 0; i < count; i++) {
+            for (String subject : subjects) {
+                dispatcher.post(new Seq(subject, i));
+            }
+        }
+        assertTrue("events not delivered", seqSink.latch.await(5, TimeUnit.SECONDS));
+        dispatcher.removeSink(Seq.class);
+
+        for (String subject : subjects) {
+            List<Integer> sequence = seqSink.sequences.get(subject);
+            assertEquals("incorrect event count", count, sequence.size());
+            for (int i = 0; i < count; i++) {
+                assertEquals("events out of order", i, (int) sequence.get(i));
+            }
+        }
+        // Latency is recorded once the sink returns
+        assertAfter(1000, () -> assertEquals("incorrect latency samples", subjects.size() * count,
+                metricsService.getHistograms((name, metric) -> name.endsWith(
+                        lane + ".sinkLatency")).values().iterator().next().getCount()));
+        assertFalse("missing queue depth gauge",
+                    metricsService.getGauges((name, metric) -> name.endsWith(
+                            lane + ".queueDepth")).isEmpty());
+    }
+
+    @Test
+    public void postChangingSubjectToPartitionedLane() throws Exception {
+        String lane = "hosts";
+        dispatcher.modified(context(HostEvent.class.getName() + "=" + lane, lane + "=4", 0));
+        HostSink hostSink = new HostSink();
+        dispatcher.addSink(HostEvent.class, hostSink);
+
+        // Each event carries another version of the host, with a new address
+        List<MacAddress> macs = List.of(MacAddress.valueOf(1L), MacAddress.valueOf(2L),
+                                        MacAddress.valueOf(3L));
+        int count = 100;
+        hostSink.latch = new CountDownLatch(macs.size() * count);
+        for (int i = 0; i < count; i++) {
+            for (MacAddress mac : macs) {
+                dispatcher.post(new HostEvent(HostEvent.Type.HOST_UPDATED, host(mac, i)));
+            }
+        }
+        assertTrue("events not delivered", hostSink.latch.await(5, TimeUnit.SECONDS));
+        dispatcher.removeSink(HostEvent.class);
+
+        for (MacAddress mac : macs) {
+            List<Integer> sequence = hostSink.sequences.get(HostId.hostId(mac));
+            assertEquals("incorrect event count", count, sequence.size());
+            for (int i = 0; i < count; i++) {
+                assertEquals("events out of order", i, (int) sequence.get(i));
+            }
+        }
+    }
+
+    private static Host host(MacAddress mac, int version) {
+        return new DefaultHost(ProviderId.NONE, HostId.hostId(mac), mac, VlanId.NONE,
+                               new HostLocation(DeviceId.deviceId("of:1"), PortNumber.portNumber(1), 0),
+                               ImmutableSet.of(IpAddress.valueOf(version)));
+    }
+
+    @Test
+    public void postToFullQueue() throws Exception {
+        String lane = "seq";
+        dispatcher.modified(context(Seq.class.getName() + "=" + lane, "", 1));
+        BlockingSink blockingSink = new BlockingSink();
+        dispatcher.addSink(Seq.class, blockingSink);
+
+        // Occupy the loop, then fill its queue; the next event overflows.
+        dispatcher.post(new Seq("a", 0));
+        assertTrue("event not dispatched", blockingSink.entered.await(1, TimeUnit.SECONDS));
+        dispatcher.post(new Seq("a", 1));
+        dispatcher.post(new Seq("a", 2));
+        blockingSink.release.countDown();
+
+        assertEquals("incorrect drop count", 1,
+                     metricsService.getCounters((name, metric) -> name.endsWith(
+                             lane + ".droppedEvents")).values().iterator().next().getCount());
+        dispatcher.removeSink(Seq.class);
+    }
+
+    private ComponentContextAdapter context(String lanes, String widths, int capacity) {
+        return new ComponentContextAdapter() {
+            @Override
+            public Dictionary getProperties() {
+                Hashtable<String, Object> props = new Hashtable<>();
+                props.put("dispatchLanes", lanes);
+                props.put("dispatchLaneWidths", widths);
+                props.put("dispatchQueueCapacity", String.valueOf(capacity));
+                props.put("dispatchBackpressureMillis", "0");
+                return props;
+            }
+        };
+    }
+
     private void validate(Sink sink, String... strings) {
         int i = 0;
         assertEquals("incorrect event count", strings.length, sink.subjects.size());
@@ -141,6 +267,56 @@ public class CoreEventDispatcherTest {
         }
     }
 
+    private static class Seq extends AbstractEvent<Type, String> {
+        final int seq;
+
+        protected Seq(String subject, int seq) {
+            super(Type.FOO, subject);
+            this.seq = seq;
+        }
+    }
+
+    private static class SeqSink implements EventSink<Seq> {
+        final Map<String, List<Integer>> sequences = new ConcurrentHashMap<>();
+        CountDownLatch latch;
+
+        @Override
+        public void process(Seq event) {
+            sequences.computeIfAbsent(event.subject(),
+                                      s -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(event.seq);
+            latch.countDown();
+        }
+    }
+
+    private static class HostSink implements EventSink<HostEvent> {
+        final Map<HostId, List<Integer>> sequences = new ConcurrentHashMap<>();
+        CountDownLatch latch;
+
+        @Override
+        public void process(HostEvent event) {
+            sequences.computeIfAbsent(event.subject().id(),
+                                      id -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(event.subject().ipAddresses().iterator().next().getIp4Address().toInt());
+            latch.countDown();
+        }
+    }
+
+    private static class BlockingSink implements EventSink<Seq> {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void process(Seq event) {
+            entered.countDown();
+            try {
+                release.await(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     private static class TooLongEvent extends AbstractEvent<Type, String> {
         protected TooLongEvent(String subject) {
             super(Type.FOO, subject);
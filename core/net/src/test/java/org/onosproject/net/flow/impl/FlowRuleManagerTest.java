@@ -17,6 +17,8 @@ package org.onosproject.net.flow.impl;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -25,6 +27,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.onlab.junit.TestTools;
+import org.onlab.osgi.ComponentContextAdapter;
 import org.onlab.packet.Ip4Address;
 import org.onlab.packet.IpAddress;
 import org.onosproject.cfg.ComponentConfigAdapter;
@@ -59,6 +62,8 @@ import org.onosproject.net.flow.FlowEntry.FlowEntryState;
 import org.onosproject.net.flow.FlowRule;
 import org.onosproject.net.flow.FlowRuleEvent;
 import org.onosproject.net.flow.FlowRuleListener;
+import org.onosproject.net.flow.FlowRuleOperations;
+import org.onosproject.net.flow.FlowRuleOperationsContext;
 import org.onosproject.net.flow.FlowRuleProgrammable;
 import org.onosproject.net.flow.FlowRuleProvider;
 import org.onosproject.net.flow.FlowRuleProviderRegistry;
@@ -71,7 +76,10 @@ import org.onosproject.net.flow.criteria.Criterion;
 import org.onosproject.net.flow.instructions.Instruction;
 import org.onosproject.net.flow.instructions.Instructions;
 import org.onosproject.net.flow.instructions.Instructions.MetadataInstruction;
+import org.onosproject.net.flow.oldbatch.FlowRuleBatchEntry;
+import org.onosproject.net.flow.oldbatch.FlowRuleBatchEvent;
 import org.onosproject.net.flow.oldbatch.FlowRuleBatchOperation;
+import org.onosproject.net.flow.oldbatch.FlowRuleBatchRequest;
 import org.onosproject.net.pi.PiPipeconfServiceAdapter;
 import org.onosproject.net.provider.AbstractProvider;
 import org.onosproject.net.provider.ProviderId;
@@ -80,16 +88,21 @@ import org.onosproject.store.trivial.SimpleFlowRuleStore;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Dictionary;
 import java.util.HashMap;
+import java.util.Hashtable;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 import static org.easymock.EasyMock.*;
 import static org.junit.Assert.assertEquals;
@@ -114,6 +127,7 @@ public class FlowRuleManagerTest {
 
     private static final DeviceId DID = DeviceId.deviceId("of:001");
     private static final DeviceId FOO_DID = DeviceId.deviceId("foo:002");
+    private static final DeviceId DID2 = DeviceId.deviceId("of:002");
     private static final int TIMEOUT = 10;
 
     private static final DefaultAnnotations ANNOTATIONS =
@@ -125,6 +139,7 @@ public class FlowRuleManagerTest {
             new DefaultDevice(FOO_PID, FOO_DID, Type.SWITCH, "", "", "", "", null, ANNOTATIONS);
 
     private FlowRuleManager mgr;
+    private final TestFlowRuleStore store = new TestFlowRuleStore();
 
     protected FlowRuleService service;
     protected FlowRuleProviderRegistry registry;
@@ -139,7 +154,7 @@ public class FlowRuleManagerTest {
     @Before
     public void setUp() {
         mgr = new FlowRuleManager();
-        mgr.store = new SimpleFlowRuleStore();
+        mgr.store = store;
         injectEventDispatcher(mgr, new TestEventDispatcher());
         mgr.deviceService = new TestDeviceService();
         mgr.mastershipService = new TestMastershipService();
@@ -409,6 +424,33 @@ public class FlowRuleManagerTest {
 
     }
 
+    /*
+     * Tests whether a stored rule missing from the switch is reinstalled even
+     * when the switch reports another rule twice.
+     */
+    @Test
+    public void flowMissingWithDuplicateReport() {
+        FlowRule f1 = flowRule(1, 1);
+        FlowRule f2 = flowRule(2, 2);
+        FlowRule f3 = flowRule(3, 3);
+
+        mgr.applyFlowRules(f1, f2, f3);
+
+        FlowEntry fe1 = new DefaultFlowEntry(f1);
+        FlowEntry fe2 = new DefaultFlowEntry(f2);
+
+        providerService.pushFlowMetrics(DID, Lists.newArrayList(fe1, fe1, fe2));
+
+        assertTrue("Entries should be added.",
+                   validateState(ImmutableMap.of(
+                           f1, FlowEntryState.ADDED,
+                           f2, FlowEntryState.ADDED,
+                           f3, FlowEntryState.PENDING_ADD)));
+
+        validateEvents(RULE_ADD_REQUESTED, RULE_ADD_REQUESTED, RULE_ADD_REQUESTED,
+                       RULE_ADDED, RULE_UPDATED, RULE_ADDED, RULE_ADD_REQUESTED);
+    }
+
     /*
      * Tests whether a rule that was marked for removal but no flowRemoved was received
      * is indeed removed at the next stats update.
@@ -495,6 +537,153 @@ public class FlowRuleManagerTest {
         });
     }
 
+    @Test
+    public void accumulateOperations() throws InterruptedException {
+        mgr.modified(accumulatorContext());
+        store.completeBatches = true;
+
+        CountDownLatch latch = new CountDownLatch(12);
+        FlowRuleOperationsContext context = new FlowRuleOperationsContext() {
+            @Override
+            public void onSuccess(FlowRuleOperations ops) {
+                latch.countDown();
+            }
+        };
+        for (int i = 0; i < 10; i++) {
+            mgr.apply(FlowRuleOperations.builder().add(flowRule(i, i)).build(context));
+        }
+        mgr.apply(FlowRuleOperations.builder()
+                          .add(flowRule(DID2, 1, 1))
+                          .add(flowRule(DID2, 2, 2))
+                          .build(context));
+        mgr.apply(FlowRuleOperations.builder().remove(flowRule(0, 0)).build(context));
+
+        assertTrue("operations should complete", latch.await(2, TimeUnit.SECONDS));
+        // The removal of a rule added in the same window goes in a separate batch
+        assertEquals("incorrect batches", ImmutableList.of(10, 1), store.batchSizes(DID));
+        assertEquals("incorrect batches", ImmutableList.of(2), store.batchSizes(DID2));
+        assertEquals("10 rules should exist", 10, flowCount());
+        assertEquals("rule should be pending removal", FlowEntryState.PENDING_REMOVE,
+                     store.getFlowEntry(flowRule(0, 0)).state());
+    }
+
+    @Test
+    public void accumulatedOperationFailure() throws InterruptedException {
+        mgr.modified(accumulatorContext());
+        FlowRule failing = flowRule(3, 3);
+        store.completeBatches = true;
+        store.failedRules.add(failing);
+
+        CountDownLatch latch = new CountDownLatch(5);
+        List<FlowRuleOperations> failed = Collections.synchronizedList(new ArrayList<>());
+        FlowRuleOperationsContext context = new FlowRuleOperationsContext() {
+            @Override
+            public void onSuccess(FlowRuleOperations ops) {
+                latch.countDown();
+            }
+
+            @Override
+            public void onError(FlowRuleOperations ops) {
+                failed.add(ops);
+                latch.countDown();
+            }
+        };
+        for (int i = 1; i <= 5; i++) {
+            mgr.apply(FlowRuleOperations.builder().add(flowRule(i, i)).build(context));
+        }
+
+        assertTrue("operations should complete", latch.await(2, TimeUnit.SECONDS));
+        assertEquals("incorrect batches", ImmutableList.of(5), store.batchSizes(DID));
+        assertEquals("only one operation should fail", 1, failed.size());
+        assertEquals("incorrect failed rule", failing,
+                     failed.get(0).stages().get(0).iterator().next().rule());
+    }
+
+    @Test
+    public void accumulatedDeviceFailure() throws InterruptedException {
+        mgr.modified(accumulatorContext());
+        store.completeBatches = true;
+        store.failBatches = true;
+
+        CountDownLatch latch = new CountDownLatch(3);
+        List<FlowRuleOperations> failed = Collections.synchronizedList(new ArrayList<>());
+        FlowRuleOperationsContext context = new FlowRuleOperationsContext() {
+            @Override
+            public void onSuccess(FlowRuleOperations ops) {
+                latch.countDown();
+            }
+
+            @Override
+            public void onError(FlowRuleOperations ops) {
+                failed.add(ops);
+                latch.countDown();
+            }
+        };
+        for (int i = 1; i <= 3; i++) {
+            mgr.apply(FlowRuleOperations.builder().add(flowRule(i, i)).build(context));
+        }
+
+        // The failure names no rule, so each operation fails with its own rules
+        assertTrue("operations should complete", latch.await(2, TimeUnit.SECONDS));
+        assertEquals("incorrect batches", ImmutableList.of(3), store.batchSizes(DID));
+        assertEquals("all operations should fail", 3, failed.size());
+        assertEquals("incorrect failed rules",
+                     ImmutableSet.of(flowRule(1, 1), flowRule(2, 2), flowRule(3, 3)),
+                     failed.stream()
+                             .map(ops -> ops.stages().get(0).iterator().next().rule())
+                             .collect(Collectors.toSet()));
+    }
+
+    private ComponentContextAdapter accumulatorContext() {
+        return new ComponentContextAdapter() {
+            @Override
+            public Dictionary getProperties() {
+                Hashtable<String, Object> props = new Hashtable<>();
+                props.put("accumulateOperations", "true");
+                props.put("accumulatorMaxIdleMillis", "50");
+                props.put("accumulatorMaxBatchMillis", "200");
+                return props;
+            }
+        };
+    }
+
+    /**
+     * Flow rule store recording the batches it is given, which can optionally
+     * complete them right away.
+     */
+    private static class TestFlowRuleStore extends SimpleFlowRuleStore {
+        private final Map<DeviceId, List<Integer>> batchSizes = new ConcurrentHashMap<>();
+        private final Set<FlowRule> failedRules = Sets.newConcurrentHashSet();
+        private volatile boolean completeBatches = false;
+        private volatile boolean failBatches = false;
+
+        @Override
+        public void storeBatch(FlowRuleBatchOperation operation) {
+            batchSizes.computeIfAbsent(operation.deviceId(), d -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(operation.size());
+            super.storeBatch(operation);
+            if (completeBatches) {
+                Set<FlowRule> failures = operation.getOperations().stream()
+                        .map(FlowRuleBatchEntry::target)
+                        .filter(failedRules::contains)
+                        .collect(Collectors.toSet());
+                notifyDelegate(FlowRuleBatchEvent.completed(
+                        new FlowRuleBatchRequest(operation.id(), Collections.emptySet()),
+                        new CompletedBatchOperation(failures.isEmpty() && !failBatches, failures,
+                                                    operation.deviceId())));
+            }
+        }
+
+        @Override
+        public int getFlowRuleCount(DeviceId deviceId) {
+            return Iterables.size(getFlowEntries(deviceId));
+        }
+
+        private List<Integer> batchSizes(DeviceId deviceId) {
+            return ImmutableList.copyOf(batchSizes.getOrDefault(deviceId, ImmutableList.of()));
+        }
+    }
+
 
     private static class TestListener implements FlowRuleListener {
         final List<FlowRuleEvent> events = new ArrayList<>();
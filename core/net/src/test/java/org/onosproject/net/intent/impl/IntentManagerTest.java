@@ -26,6 +26,8 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.onlab.metrics.MetricsManager;
+import org.onlab.osgi.ComponentContextAdapter;
 import org.onosproject.TestApplicationId;
 import org.onosproject.cfg.ComponentConfigAdapter;
 import org.onosproject.cfg.ComponentConfigService;
@@ -59,6 +61,8 @@ import org.onosproject.store.trivial.SimpleIntentStore;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Dictionary;
+import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -294,6 +298,7 @@ public class IntentManagerTest {
         manager.flowRuleService = flowRuleService;
         manager.coreService = new TestCoreManager();
         manager.configService = mock(ComponentConfigService.class);
+        manager.metricsService = new MetricsManager();
         service = manager;
         extensionService = manager;
         intentInstallCoordinator = manager;
@@ -421,6 +426,41 @@ public class IntentManagerTest {
         verifyState();
     }
 
+    /**
+     * Tests that requests for the same intent are applied in order when
+     * several batches are in flight.
+     */
+    @Test
+    public void pipelinedBatches() {
+        manager.modified(new ComponentContextAdapter() {
+            @Override
+            public Dictionary getProperties() {
+                Hashtable<String, Object> props = new Hashtable<>();
+                props.put("maxBatchesInFlight", "4");
+                return props;
+            }
+        });
+        flowRuleService.setFuture(true);
+
+        int count = 100;
+        List<Intent> intents = Lists.newArrayList();
+        Intent same = new MockIntent(MockIntent.nextId());
+        for (int i = 0; i < count; i++) {
+            Intent intent = new MockIntent(MockIntent.nextId());
+            intents.add(intent);
+            service.submit(intent);
+            service.submit(same);
+            service.withdraw(same);
+        }
+
+        assertAfter(5000, () -> {
+            assertEquals(count + 1L, service.getIntentCount());
+            intents.forEach(intent -> assertEquals(INSTALLED, service.getIntentState(intent.key())));
+            assertEquals(WITHDRAWN, service.getIntentState(same.key()));
+        });
+        verifyState();
+    }
+
 
     /**
      * Tests for proper behavior of installation of an intent that triggers
@@ -18,18 +18,30 @@ package org.onosproject.net.packet.impl;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import org.junit.Before;
+import org.junit.After;
 import org.junit.Test;
+import org.onlab.metrics.MetricsManager;
+import org.onlab.osgi.ComponentContextAdapter;
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.IPv4;
+import org.onlab.packet.MacAddress;
+import org.onlab.packet.UDP;
+import org.onosproject.cfg.ComponentConfigAdapter;
 import org.onosproject.cluster.ClusterServiceAdapter;
 import org.onosproject.common.event.impl.TestEventDispatcher;
 import org.onosproject.core.CoreServiceAdapter;
 import org.onosproject.core.IdGenerator;
 import org.onosproject.event.TestListener;
 import org.onosproject.net.AnnotationKeys;
+import org.onosproject.net.ConnectPoint;
 import org.onosproject.net.DefaultAnnotations;
 import org.onosproject.net.DefaultDevice;
 import org.onosproject.net.Device;
 import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
 import org.onosproject.net.config.NetworkConfigServiceAdapter;
 import org.onosproject.net.device.DeviceServiceAdapter;
 import org.onosproject.net.driver.AbstractHandlerBehaviour;
@@ -38,19 +50,42 @@ import org.onosproject.net.driver.DriverRegistry;
 import org.onosproject.net.driver.impl.DriverManager;
 import org.onosproject.net.driver.impl.DriverRegistryManager;
 import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.packet.DefaultInboundPacket;
 import org.onosproject.net.packet.DefaultOutboundPacket;
+import org.onosproject.net.packet.DefaultPacketContext;
 import org.onosproject.net.packet.OutboundPacket;
+import org.onosproject.net.packet.PacketContext;
+import org.onosproject.net.packet.PacketInterest;
+import org.onosproject.net.packet.PacketProcessor;
 import org.onosproject.net.packet.PacketProgrammable;
+import org.onosproject.net.packet.PacketProvider;
 import org.onosproject.net.packet.PacketProviderRegistry;
+import org.onosproject.net.packet.PacketProviderService;
 import org.onosproject.net.pi.PiPipeconfServiceAdapter;
 import org.onosproject.net.provider.ProviderId;
 import org.onosproject.net.provider.TestProvider;
 import org.onosproject.store.trivial.SimplePacketStore;
 
 import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.onlab.junit.TestTools.assertAfter;
+import static org.onosproject.net.packet.PacketProcessor.advisor;
+import static org.onosproject.net.packet.PacketProcessor.director;
+import static org.onosproject.net.packet.PacketProcessor.observer;
 import static org.onosproject.net.NetTestTools.injectEventDispatcher;
 
 /**
@@ -77,6 +112,8 @@ public class PacketManagerTest {
 
     private TestDriverManager driverService;
 
+    private final MetricsManager metricsService = new MetricsManager();
+
     @Before
     public void setUp() {
         mgr = new PacketManager();
@@ -86,8 +123,10 @@ public class PacketManagerTest {
         mgr.deviceService = new TestDeviceService();
         mgr.deviceService = new TestDeviceService();
         mgr.coreService = new TestCoreService();
+        mgr.cfgService = new ComponentConfigAdapter();
+        mgr.metricsService = metricsService;
         providerRegistry = mgr;
-        mgr.activate();
+        mgr.activate(null);
 
         DriverRegistryManager driverRegistry = new DriverRegistryManager();
         driverService = new TestDriverManager(driverRegistry);
@@ -97,6 +136,11 @@ public class PacketManagerTest {
                                                    ImmutableMap.of()));
     }
 
+    @After
+    public void tearDown() {
+        mgr.deactivate();
+    }
+
     /**
      * Tests the correct usage of fallback driver provider for packets.
      */
@@ -108,6 +152,187 @@ public class PacketManagerTest {
         assertEquals("Packet not emitted correctly", packet, emittedPacket);
     }
 
+    /**
+     * Tests that packets are given only to the processors interested in them,
+     * in the order of priority.
+     */
+    @Test
+    public void processorInterests() {
+        List<String> seen = Lists.newArrayList();
+        PacketProcessor observer = context -> seen.add("observer");
+        mgr.addProcessor(observer, observer(0));
+        mgr.addProcessor(context -> seen.add("lldp"), advisor(0),
+                         ImmutableSet.of(PacketInterest.ethType(Ethernet.TYPE_LLDP)));
+        mgr.addProcessor(context -> seen.add("udp"), director(1),
+                         ImmutableSet.of(PacketInterest.ipProtocol(Ethernet.TYPE_IPV4,
+                                                                   IPv4.PROTOCOL_UDP)));
+        mgr.addProcessor(context -> seen.add("dhcp"), director(0),
+                         ImmutableSet.of(PacketInterest.udpDstPort(Ethernet.TYPE_IPV4, 67)));
+        PacketProviderService providerService = providerRegistry.register(new TestPacketProvider());
+
+        providerService.processPacket(context(new Ethernet().setEtherType(Ethernet.TYPE_LLDP)));
+        assertEquals(ImmutableList.of("lldp", "observer"), seen);
+
+        seen.clear();
+        providerService.processPacket(context(udp(67)));
+        assertEquals(ImmutableList.of("dhcp", "udp", "observer"), seen);
+
+        seen.clear();
+        providerService.processPacket(context(udp(53)));
+        assertEquals(ImmutableList.of("udp", "observer"), seen);
+
+        seen.clear();
+        providerService.processPacket(context(new Ethernet().setEtherType(Ethernet.TYPE_ARP)));
+        assertEquals(ImmutableList.of("observer"), seen);
+
+        // Without the observer, nobody is interested in ARP.
+        mgr.removeProcessor(observer);
+        seen.clear();
+        providerService.processPacket(context(new Ethernet().setEtherType(Ethernet.TYPE_ARP)));
+        assertEquals(ImmutableList.of(), seen);
+        assertEquals("incorrect unclaimed count", 1, mgr.unclaimedPacketCount());
+        assertEquals("incorrect hit count", 1, mgr.getProcessors().get(0).invocations());
+    }
+
+    /**
+     * Tests that packets are processed off the provider thread, in order
+     * within each flow.
+     */
+    @Test
+    public void packetInLanes() throws Exception {
+        mgr.modified(configuration(4, 1024));
+        int count = 100;
+        List<MacAddress> macs = ImmutableList.of(MacAddress.valueOf(1L), MacAddress.valueOf(2L),
+                                                 MacAddress.valueOf(3L));
+        Thread caller = Thread.currentThread();
+        Map<MacAddress, List<PacketContext>> processed = new ConcurrentHashMap<>();
+        CountDownLatch latch = new CountDownLatch(count * macs.size());
+        mgr.addProcessor(context -> {
+            assertNotSame("processed on the provider thread", caller, Thread.currentThread());
+            processed.computeIfAbsent(context.inPacket().parsed().getSourceMAC(),
+                                      mac -> Collections.synchronizedList(Lists.newArrayList()))
+                    .add(context);
+            latch.countDown();
+        }, director(0));
+        PacketProviderService providerService = providerRegistry.register(new TestPacketProvider());
+
+        Map<MacAddress, List<PacketContext>> sent = new ConcurrentHashMap<>();
+        for (int i = 0; i < count; i++) {
+            for (MacAddress mac : macs) {
+                PacketContext context = context(udp(i).setSourceMACAddress(mac));
+                sent.computeIfAbsent(mac, m -> Lists.newArrayList()).add(context);
+                providerService.processPacket(context);
+            }
+        }
+        assertTrue("packets not processed", latch.await(5, TimeUnit.SECONDS));
+        assertEquals("packets out of order", sent, processed);
+    }
+
+    /**
+     * Tests that packets are dropped when their lane is full.
+     */
+    @Test
+    public void fullPacketInLane() throws Exception {
+        mgr.modified(configuration(1, 1));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<PacketContext> processed = Collections.synchronizedList(Lists.newArrayList());
+        mgr.addProcessor(context -> {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            processed.add(context);
+        }, director(0));
+        PacketProviderService providerService = providerRegistry.register(new TestPacketProvider());
+
+        providerService.processPacket(context(udp(1)));
+        assertTrue("packet not processed", entered.await(5, TimeUnit.SECONDS));
+        providerService.processPacket(context(udp(2)));
+        providerService.processPacket(context(udp(3)));
+        assertEquals("incorrect drop count", 1,
+                     metricsService.getCounters((name, metric) -> name.endsWith(
+                             "lane-0.droppedPackets")).values().iterator().next().getCount());
+
+        release.countDown();
+        assertAfter(5000, () -> assertEquals("incorrect processed count", 2, processed.size()));
+    }
+
+    /**
+     * Tests that lanes are rebuilt only when their number or capacity
+     * changes, and that the metrics of the lanes removed go with them.
+     */
+    @Test
+    public void reconfigurePacketInLanes() throws Exception {
+        mgr.modified(configuration(2, 16));
+        List<Thread> threads = Collections.synchronizedList(Lists.newArrayList());
+        mgr.addProcessor(context -> threads.add(Thread.currentThread()), director(0));
+        PacketProviderService providerService = providerRegistry.register(new TestPacketProvider());
+
+        providerService.processPacket(context(udp(1)));
+        mgr.modified(configuration(2, 16));
+        providerService.processPacket(context(udp(1)));
+        assertAfter(5000, () -> assertEquals("incorrect processed count", 2, threads.size()));
+        assertSame("lanes should be kept", threads.get(0), threads.get(1));
+
+        mgr.modified(configuration(1, 16));
+        providerService.processPacket(context(udp(1)));
+        assertAfter(5000, () -> assertEquals("incorrect processed count", 3, threads.size()));
+        assertNotSame("lanes should be rebuilt", threads.get(0), threads.get(2));
+        assertTrue("lane metrics should be removed",
+                   metricsService.getMetrics().keySet().stream().noneMatch(name -> name.contains("lane-1.")));
+        assertFalse("lane metrics should be kept",
+                    metricsService.getCounters((name, metric) -> name.endsWith(
+                            "lane-0.droppedPackets")).isEmpty());
+    }
+
+    private ComponentContextAdapter configuration(int lanes, int capacity) {
+        return new ComponentContextAdapter() {
+            @Override
+            public Dictionary getProperties() {
+                Hashtable<String, Object> props = new Hashtable<>();
+                props.put("packetInLanes", String.valueOf(lanes));
+                props.put("packetInLaneCapacity", String.valueOf(capacity));
+                props.put("packetInBackpressureMillis", "0");
+                return props;
+            }
+        };
+    }
+
+    private static Ethernet udp(int dstPort) {
+        UDP udp = new UDP();
+        udp.setDestinationPort(dstPort);
+        IPv4 ip = new IPv4();
+        ip.setProtocol(IPv4.PROTOCOL_UDP);
+        ip.setPayload(udp);
+        Ethernet eth = new Ethernet();
+        eth.setEtherType(Ethernet.TYPE_IPV4);
+        eth.setPayload(ip);
+        return eth;
+    }
+
+    private static PacketContext context(Ethernet eth) {
+        ConnectPoint cp = new ConnectPoint(FOO_DID, PortNumber.portNumber(1));
+        return new DefaultPacketContext(0, new DefaultInboundPacket(cp, eth, ByteBuffer.allocate(0)),
+                                        null, false) {
+            @Override
+            public void send() {
+            }
+        };
+    }
+
+    private static class TestPacketProvider extends TestProvider implements PacketProvider {
+        TestPacketProvider() {
+            super(FOO_PID);
+        }
+
+        @Override
+        public void emit(OutboundPacket packet) {
+        }
+    }
+
     private static class TestDeviceService extends DeviceServiceAdapter {
         @Override
         public int getDeviceCount() {
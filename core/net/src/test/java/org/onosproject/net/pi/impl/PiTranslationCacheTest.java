@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.pi.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.junit.Test;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.pi.model.PiPipeconfId;
+import org.onosproject.net.pi.service.PiTranslationException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test for {@link PiTranslationCache}.
+ */
+public class PiTranslationCacheTest {
+
+    private static final PiPipeconfId PIPECONF1 = new PiPipeconfId("pipeconf1");
+    private static final PiPipeconfId PIPECONF2 = new PiPipeconfId("pipeconf2");
+    private static final DeviceId DEVICE1 = DeviceId.deviceId("device:1");
+    private static final DeviceId DEVICE2 = DeviceId.deviceId("device:2");
+
+    private final AtomicInteger translations = new AtomicInteger();
+
+    private String translate(PiTranslationCache<String> cache, PiPipeconfId pipeconfId,
+                             DeviceId deviceId, String content) throws PiTranslationException {
+        return cache.get(pipeconfId, deviceId, ImmutableList.of(content), () -> {
+            translations.incrementAndGet();
+            return content.toUpperCase();
+        });
+    }
+
+    @Test
+    public void testHitsAndMisses() throws PiTranslationException {
+        PiTranslationCache<String> cache = new PiTranslationCache<>(10);
+        assertEquals("a", "A", translate(cache, PIPECONF1, DEVICE1, "a"));
+        assertEquals("a", "A", translate(cache, PIPECONF1, DEVICE1, "a"));
+        assertEquals("b", "B", translate(cache, PIPECONF1, DEVICE1, "b"));
+        translate(cache, PIPECONF2, DEVICE1, "a");
+        translate(cache, PIPECONF1, DEVICE2, "a");
+
+        assertEquals("translations", 4, translations.get());
+        assertEquals("hits", 1, cache.hitCount());
+        assertEquals("misses", 4, cache.missCount());
+        assertEquals("hit rate", 0.2, cache.hitRate(), 1e-9);
+    }
+
+    @Test
+    public void testFailureNotCached() {
+        PiTranslationCache<String> cache = new PiTranslationCache<>(10);
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.get(PIPECONF1, DEVICE1, ImmutableList.of("a"), () -> {
+                    translations.incrementAndGet();
+                    throw new PiTranslationException("failed");
+                });
+                fail("translation should have failed");
+            } catch (PiTranslationException e) {
+                assertEquals("message", "failed", e.getMessage());
+            }
+        }
+        assertEquals("translations", 2, translations.get());
+    }
+
+    @Test
+    public void testInvalidate() throws PiTranslationException {
+        PiTranslationCache<String> cache = new PiTranslationCache<>(10);
+        translate(cache, PIPECONF1, DEVICE1, "a");
+        translate(cache, PIPECONF1, DEVICE2, "a");
+        translate(cache, PIPECONF2, DEVICE2, "a");
+
+        cache.invalidate(PIPECONF1);
+        translate(cache, PIPECONF1, DEVICE1, "a");
+        translate(cache, PIPECONF1, DEVICE2, "a");
+        translate(cache, PIPECONF2, DEVICE2, "a");
+        assertEquals("translations after pipeconf invalidation", 5, translations.get());
+
+        cache.invalidate(DEVICE2);
+        translate(cache, PIPECONF1, DEVICE1, "a");
+        translate(cache, PIPECONF1, DEVICE2, "a");
+        translate(cache, PIPECONF2, DEVICE2, "a");
+        assertEquals("translations after device invalidation", 7, translations.get());
+    }
+
+    @Test
+    public void testInvalidateAll() throws PiTranslationException {
+        PiTranslationCache<String> cache = new PiTranslationCache<>(10);
+        translate(cache, PIPECONF1, DEVICE1, "a");
+        translate(cache, PIPECONF2, DEVICE2, "a");
+
+        cache.invalidateAll();
+        translate(cache, PIPECONF1, DEVICE1, "a");
+        translate(cache, PIPECONF2, DEVICE2, "a");
+        assertEquals("translations", 4, translations.get());
+    }
+
+    @Test
+    public void testConcurrentLookups() throws Exception {
+        PiTranslationCache<String> cache = new PiTranslationCache<>(10);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> cache.get(
+                    PIPECONF1, DEVICE1, ImmutableList.of("a"), () -> {
+                        translations.incrementAndGet();
+                        started.countDown();
+                        Uninterruptibles.awaitUninterruptibly(release);
+                        return "A";
+                    }));
+            assertTrue("translation should have started", started.await(5, TimeUnit.SECONDS));
+            Future<String> second = executor.submit(() -> translate(cache, PIPECONF1, DEVICE1, "a"));
+            // Lets the second lookup reach the cache while the translation is running
+            Thread.sleep(100);
+            release.countDown();
+
+            assertEquals("first", "A", first.get(5, TimeUnit.SECONDS));
+            assertEquals("second", "A", second.get(5, TimeUnit.SECONDS));
+            assertEquals("translations", 1, translations.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDisabled() throws PiTranslationException {
+        PiTranslationCache<String> cache = new PiTranslationCache<>(10);
+        cache.resize(0);
+        translate(cache, PIPECONF1, DEVICE1, "a");
+        translate(cache, PIPECONF1, DEVICE1, "a");
+        assertEquals("translations", 2, translations.get());
+        assertEquals("hits", 0, cache.hitCount());
+    }
+}
@@ -19,6 +19,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.onlab.junit.TestUtils;
+import org.onlab.metrics.MetricsServiceAdapter;
 import org.onosproject.net.DeviceId;
 import org.onosproject.net.ElementId;
 import org.onosproject.net.Host;
@@ -60,6 +61,7 @@ public class PathManagerTest {
         service = mgr;
         TestUtils.setField(mgr, "topologyService", fakeTopoMgr);
         TestUtils.setField(mgr, "hostService", fakeHostMgr);
+        TestUtils.setField(mgr, "metricsService", new MetricsServiceAdapter());
         mgr.activate();
     }
 
@@ -64,4 +64,19 @@ public final class OsgiPropertyConstants {
 
     public static final String LINK_WEIGHT_FUNCTION = "linkWeightFunction";
     public static final String LINK_WEIGHT_FUNCTION_DEFAULT = "hopCount";
+
+    public static final String INCREMENTAL_TOPOLOGY = "incrementalTopology";
+    public static final boolean INCREMENTAL_TOPOLOGY_DEFAULT = false;
+
+    public static final String CACHE_RESOURCES = "cacheResources";
+    public static final boolean CACHE_RESOURCES_DEFAULT = false;
+
+    public static final String CCM_COALESCE_MESSAGES = "coalesceMessages";
+    public static final boolean CCM_COALESCE_MESSAGES_DEFAULT = false;
+
+    public static final String CCM_COALESCE_WINDOW_MICROS = "coalesceWindowMicros";
+    public static final int CCM_COALESCE_WINDOW_MICROS_DEFAULT = 200;
+
+    public static final String CCM_COMPRESSION_THRESHOLD = "compressionThreshold";
+    public static final int CCM_COMPRESSION_THRESHOLD_DEFAULT = 4096;
 }
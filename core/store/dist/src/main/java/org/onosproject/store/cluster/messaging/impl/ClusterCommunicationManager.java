@@ -17,8 +17,13 @@ package org.onosproject.store.cluster.messaging.impl;
 
 import java.time.Duration;
 import com.google.common.base.Objects;
+import com.codahale.metrics.Counter;
 import com.google.common.base.Throwables;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
 import org.onlab.util.Tools;
+import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.ControllerNode;
 import org.onosproject.cluster.NodeId;
@@ -29,18 +34,25 @@ import org.onosproject.store.cluster.messaging.Endpoint;
 import org.onosproject.store.cluster.messaging.MessageSubject;
 import org.onosproject.store.cluster.messaging.MessagingService;
 import org.onosproject.utils.MeteringAgent;
+import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Dictionary;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -49,10 +61,29 @@ import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static org.onlab.util.Tools.getIntegerProperty;
+import static org.onlab.util.Tools.groupedThreads;
+import static org.onlab.util.Tools.isPropertyEnabled;
 import static org.onosproject.security.AppGuard.checkPermission;
 import static org.onosproject.security.AppPermission.Type.CLUSTER_WRITE;
-
-@Component(immediate = true, service = ClusterCommunicationService.class)
+import static org.onosproject.store.OsgiPropertyConstants.CCM_COALESCE_MESSAGES;
+import static org.onosproject.store.OsgiPropertyConstants.CCM_COALESCE_MESSAGES_DEFAULT;
+import static org.onosproject.store.OsgiPropertyConstants.CCM_COALESCE_WINDOW_MICROS;
+import static org.onosproject.store.OsgiPropertyConstants.CCM_COALESCE_WINDOW_MICROS_DEFAULT;
+import static org.onosproject.store.OsgiPropertyConstants.CCM_COMPRESSION_THRESHOLD;
+import static org.onosproject.store.OsgiPropertyConstants.CCM_COMPRESSION_THRESHOLD_DEFAULT;
+
+@Component(
+        immediate = true,
+        service = ClusterCommunicationService.class,
+        property = {
+                CCM_COALESCE_MESSAGES + ":Boolean=" + CCM_COALESCE_MESSAGES_DEFAULT,
+                CCM_COALESCE_WINDOW_MICROS + ":Integer=" + CCM_COALESCE_WINDOW_MICROS_DEFAULT,
+                CCM_COMPRESSION_THRESHOLD + ":Integer=" + CCM_COMPRESSION_THRESHOLD_DEFAULT
+        }
+)
 public class ClusterCommunicationManager implements ClusterCommunicationService {
 
     private final Logger log = LoggerFactory.getLogger(getClass());
@@ -69,6 +100,11 @@ public class ClusterCommunicationManager implements ClusterCommunicationService
     private static final String NODE_PREFIX = "node:";
     private static final String ROUND_TRIP_SUFFIX = ".rtt";
     private static final String ONE_WAY_SUFFIX = ".oneway";
+    private static final String SENT_MESSAGES = "sentMessages";
+    private static final String SENT_BYTES = "sentBytes";
+
+    private static final String FORMAT =
+            "Settings: coalesceMessages={}, coalesceWindowMicros={}, compressionThreshold={}";
 
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected ClusterService clusterService;
@@ -76,19 +112,111 @@ public class ClusterCommunicationManager implements ClusterCommunicationService
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected MessagingService messagingService;
 
+    // Optional, as the configuration service depends on the stores that use this service
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL,
+            bind = "bindComponentConfigService",
+            unbind = "unbindComponentConfigService",
+            policy = ReferencePolicy.DYNAMIC)
+    protected volatile ComponentConfigService cfgService;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected MetricsService metricsService;
+
+    /** Coalesce the one-way messages sent to each node into frames. */
+    private boolean coalesceMessages = CCM_COALESCE_MESSAGES_DEFAULT;
+
+    /** Micros a message waits for others to share its frame. */
+    private int coalesceWindowMicros = CCM_COALESCE_WINDOW_MICROS_DEFAULT;
+
+    /** Frame size in bytes from which frames are compressed; 0 to never compress. */
+    private int compressionThreshold = CCM_COMPRESSION_THRESHOLD_DEFAULT;
+
     private NodeId localNodeId;
 
+    // Handlers of the messages unpacked from the coalesced frames
+    private final Map<String, BiConsumer<Endpoint, byte[]>> frameHandlers = new ConcurrentHashMap<>();
+    private final Map<String, Counter[]> subjectCounters = new ConcurrentHashMap<>();
+    private MetricsComponent metricsComponent;
+    private ScheduledExecutorService coalescerExecutor;
+    private ExecutorService frameExecutor;
+    private volatile MessageCoalescer coalescer;
+
+    /**
+     * Hook for wiring optional reference to the component configuration service.
+     *
+     * @param service service being bound
+     */
+    protected void bindComponentConfigService(ComponentConfigService service) {
+        if (cfgService == null) {
+            cfgService = service;
+            service.registerProperties(getClass());
+        }
+    }
+
+    /**
+     * Hook for unwiring optional reference to the component configuration service.
+     *
+     * @param service service being withdrawn
+     */
+    protected void unbindComponentConfigService(ComponentConfigService service) {
+        if (cfgService == service) {
+            service.unregisterProperties(getClass(), false);
+            cfgService = null;
+        }
+    }
+
     @Activate
-    public void activate() {
+    public void activate(ComponentContext context) {
         localNodeId = clusterService.getLocalNode().id();
+        metricsComponent = metricsService.registerComponent(PRIMITIVE_NAME);
+        coalescerExecutor = newSingleThreadScheduledExecutor(
+                groupedThreads("onos/cluster-messaging", "coalescer", log));
+        // A single thread keeps the frames from each sender in order
+        frameExecutor = newSingleThreadExecutor(
+                groupedThreads("onos/cluster-messaging", "frame-decoder", log));
+        messagingService.registerHandler(MessageCoalescer.FRAME_TYPE, this::processFrame, frameExecutor);
+        modified(context);
         log.info("Started");
     }
 
     @Deactivate
     public void deactivate() {
+        messagingService.unregisterHandler(MessageCoalescer.FRAME_TYPE);
+        MessageCoalescer oldCoalescer = coalescer;
+        coalescer = null;
+        if (oldCoalescer != null) {
+            oldCoalescer.flush();
+        }
+        coalescerExecutor.shutdown();
+        frameExecutor.shutdown();
         log.info("Stopped");
     }
 
+    @Modified
+    public void modified(ComponentContext context) {
+        if (context != null) {
+            Dictionary<?, ?> properties = context.getProperties();
+            coalesceMessages = isPropertyEnabled(properties, CCM_COALESCE_MESSAGES,
+                                                 CCM_COALESCE_MESSAGES_DEFAULT);
+            Integer newWindowMicros = getIntegerProperty(properties, CCM_COALESCE_WINDOW_MICROS);
+            coalesceWindowMicros = newWindowMicros != null && newWindowMicros >= 0 ?
+                    newWindowMicros : CCM_COALESCE_WINDOW_MICROS_DEFAULT;
+            Integer newThreshold = getIntegerProperty(properties, CCM_COMPRESSION_THRESHOLD);
+            compressionThreshold = newThreshold != null && newThreshold >= 0 ?
+                    newThreshold : CCM_COMPRESSION_THRESHOLD_DEFAULT;
+        }
+
+        // Send off the messages pending in the previous coalescer, if any
+        MessageCoalescer oldCoalescer = coalescer;
+        coalescer = coalesceMessages ?
+                new MessageCoalescer(coalesceWindowMicros, compressionThreshold,
+                                     messagingService::sendAsync, coalescerExecutor) : null;
+        if (oldCoalescer != null) {
+            oldCoalescer.flush();
+        }
+        log.info(FORMAT, coalesceMessages, coalesceWindowMicros, compressionThreshold);
+    }
+
     @Override
     public <M> void broadcast(M message,
                               MessageSubject subject,
@@ -175,8 +303,38 @@ public class ClusterCommunicationManager implements ClusterCommunicationService
         ControllerNode node = clusterService.getNode(toNodeId);
         checkArgument(node != null, "Unknown nodeId: %s", toNodeId);
         Endpoint nodeEp = new Endpoint(node.ip(), node.tcpPort());
+        Counter[] counters = subjectCounters.computeIfAbsent(subject.toString(), this::createSubjectCounters);
+        counters[0].inc();
+        counters[1].inc(payload.length);
         MeteringAgent.Context context = subjectMeteringAgent.startTimer(subject.toString() + ONE_WAY_SUFFIX);
-        return messagingService.sendAsync(nodeEp, subject.toString(), payload).whenComplete((r, e) -> context.stop(e));
+        MessageCoalescer messageCoalescer = coalescer;
+        CompletableFuture<Void> sent = messageCoalescer != null ?
+                messageCoalescer.send(nodeEp, subject.toString(), payload) :
+                messagingService.sendAsync(nodeEp, subject.toString(), payload);
+        return sent.whenComplete((r, e) -> context.stop(e));
+    }
+
+    private Counter[] createSubjectCounters(String subject) {
+        MetricsFeature feature = metricsComponent.registerFeature(subject);
+        return new Counter[]{
+                metricsService.createCounter(metricsComponent, feature, SENT_MESSAGES),
+                metricsService.createCounter(metricsComponent, feature, SENT_BYTES)
+        };
+    }
+
+    private void processFrame(Endpoint sender, byte[] frame) {
+        try {
+            MessageCoalescer.decode(frame, (type, payload) -> {
+                BiConsumer<Endpoint, byte[]> handler = frameHandlers.get(type);
+                if (handler != null) {
+                    handler.accept(sender, payload);
+                } else {
+                    log.debug("No handler for {} message from {}", type, sender);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to process frame from {}", sender, e);
+        }
     }
 
     private CompletableFuture<byte[]> sendAndReceive(
@@ -200,15 +358,16 @@ public class ClusterCommunicationManager implements ClusterCommunicationService
                               ClusterMessageHandler subscriber,
                               ExecutorService executor) {
         checkPermission(CLUSTER_WRITE);
-        messagingService.registerHandler(subject.toString(),
-                new InternalClusterMessageHandler(subscriber),
-                executor);
+        InternalClusterMessageHandler handler = new InternalClusterMessageHandler(subscriber);
+        messagingService.registerHandler(subject.toString(), handler, executor);
+        frameHandlers.put(subject.toString(), (ep, bytes) -> executor.execute(() -> handler.apply(ep, bytes)));
     }
 
     @Override
     public void removeSubscriber(MessageSubject subject) {
         checkPermission(CLUSTER_WRITE);
         messagingService.unregisterHandler(subject.toString());
+        frameHandlers.remove(subject.toString());
     }
 
     @Override
@@ -218,7 +377,7 @@ public class ClusterCommunicationManager implements ClusterCommunicationService
             Function<R, byte[]> encoder,
             Executor executor) {
         checkPermission(CLUSTER_WRITE);
-        messagingService.registerHandler(subject.toString(),
+        InternalMessageResponder<M, R> responder =
                 new InternalMessageResponder<M, R>(decoder, encoder, m -> {
                     CompletableFuture<R> responseFuture = new CompletableFuture<>();
                     executor.execute(() -> {
@@ -229,7 +388,9 @@ public class ClusterCommunicationManager implements ClusterCommunicationService
                         }
                     });
                     return responseFuture;
-                }));
+                });
+        messagingService.registerHandler(subject.toString(), responder);
+        frameHandlers.put(subject.toString(), responder::apply);
     }
 
     @Override
@@ -238,8 +399,9 @@ public class ClusterCommunicationManager implements ClusterCommunicationService
             Function<M, CompletableFuture<R>> handler,
             Function<R, byte[]> encoder) {
         checkPermission(CLUSTER_WRITE);
-        messagingService.registerHandler(subject.toString(),
-                new InternalMessageResponder<>(decoder, encoder, handler));
+        InternalMessageResponder<M, R> responder = new InternalMessageResponder<>(decoder, encoder, handler);
+        messagingService.registerHandler(subject.toString(), responder);
+        frameHandlers.put(subject.toString(), responder::apply);
     }
 
     @Override
@@ -248,9 +410,9 @@ public class ClusterCommunicationManager implements ClusterCommunicationService
             Consumer<M> handler,
             Executor executor) {
         checkPermission(CLUSTER_WRITE);
-        messagingService.registerHandler(subject.toString(),
-                new InternalMessageConsumer<>(decoder, handler),
-                executor);
+        InternalMessageConsumer<M> consumer = new InternalMessageConsumer<>(decoder, handler);
+        messagingService.registerHandler(subject.toString(), consumer, executor);
+        frameHandlers.put(subject.toString(), (ep, bytes) -> executor.execute(() -> consumer.accept(ep, bytes)));
     }
 
     /**
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.cluster.messaging.impl;
+
+import org.onosproject.store.cluster.messaging.Endpoint;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Transport coalescing the one-way messages sent to a node within a short
+ * window into a single frame, compressed when larger than a threshold.
+ * <p>
+ * Frames are sent on a dedicated message type and are unpacked by the
+ * receiving node into the original messages, which are then dispatched to
+ * the handlers of their own message types. Every message is framed, even
+ * when alone, so that the messages of a sender are dispatched in order.
+ * </p>
+ */
+final class MessageCoalescer {
+
+    /**
+     * Message type of the coalesced frames.
+     */
+    static final String FRAME_TYPE = "onos-cluster-coalesced-frame";
+
+    // Pending bytes past which a frame is sent without waiting for the window
+    private static final int MAX_FRAME_BYTES = 64 * 1024;
+
+    private static final byte RAW = 0;
+    private static final byte DEFLATED = 1;
+
+    /**
+     * Sender of the messages and frames to a node.
+     */
+    interface Sender {
+        /**
+         * Sends the payload to the given endpoint.
+         *
+         * @param ep      destination endpoint
+         * @param type    message type
+         * @param payload message payload
+         * @return future completed once the message is sent
+         */
+        CompletableFuture<Void> send(Endpoint ep, String type, byte[] payload);
+    }
+
+    private final int windowMicros;
+    private final int compressionThreshold;
+    private final Sender sender;
+    private final ScheduledExecutorService scheduler;
+    private final Map<Endpoint, Batch> batches = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a message coalescer.
+     *
+     * @param windowMicros         micros the first message of a frame waits for others
+     * @param compressionThreshold frame size in bytes from which frames are
+     *                             compressed; 0 to never compress
+     * @param sender               sender of the messages and frames
+     * @param scheduler            scheduler of the frame flushes
+     */
+    MessageCoalescer(int windowMicros, int compressionThreshold,
+                     Sender sender, ScheduledExecutorService scheduler) {
+        this.windowMicros = windowMicros;
+        this.compressionThreshold = compressionThreshold;
+        this.sender = sender;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Queues the message for the next frame to the given endpoint.
+     *
+     * @param ep      destination endpoint
+     * @param type    message type
+     * @param payload message payload
+     * @return future completed once the frame holding the message is sent
+     */
+    CompletableFuture<Void> send(Endpoint ep, String type, byte[] payload) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        Batch batch = batches.computeIfAbsent(ep, k -> new Batch());
+        List<Message> full = null;
+        boolean first;
+        synchronized (batch) {
+            first = batch.messages.isEmpty();
+            batch.messages.add(new Message(type, payload, future));
+            batch.bytes += type.length() + payload.length;
+            if (batch.bytes >= MAX_FRAME_BYTES) {
+                full = batch.drain();
+            }
+        }
+        if (full != null) {
+            transmit(ep, full);
+        } else if (first) {
+            scheduler.schedule(() -> flush(ep), windowMicros, TimeUnit.MICROSECONDS);
+        }
+        return future;
+    }
+
+    /**
+     * Sends the pending messages to all endpoints.
+     */
+    void flush() {
+        batches.keySet().forEach(this::flush);
+    }
+
+    private void flush(Endpoint ep) {
+        Batch batch = batches.get(ep);
+        if (batch == null) {
+            return;
+        }
+        List<Message> messages;
+        synchronized (batch) {
+            messages = batch.drain();
+        }
+        if (!messages.isEmpty()) {
+            transmit(ep, messages);
+        }
+    }
+
+    // Lone messages are framed as well: frames are unpacked off the I/O
+    // thread, so a message sent on its own could overtake earlier frames.
+    private void transmit(Endpoint ep, List<Message> messages) {
+        CompletableFuture<Void> sent = sender.send(ep, FRAME_TYPE, encode(messages));
+        sent.whenComplete((r, e) -> messages.forEach(m -> {
+            if (e != null) {
+                m.future.completeExceptionally(e);
+            } else {
+                m.future.complete(null);
+            }
+        }));
+    }
+
+    private byte[] encode(List<Message> messages) {
+        int length = Integer.BYTES;
+        List<byte[]> types = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            byte[] type = message.type.getBytes(StandardCharsets.UTF_8);
+            types.add(type);
+            length += 2 * Integer.BYTES + type.length + message.payload.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putInt(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            buffer.putInt(types.get(i).length).put(types.get(i));
+            buffer.putInt(messages.get(i).payload.length).put(messages.get(i).payload);
+        }
+        byte[] body = buffer.array();
+
+        if (compressionThreshold > 0 && body.length >= compressionThreshold) {
+            byte[] deflated = deflate(body);
+            if (deflated.length + Integer.BYTES < body.length) {
+                return ByteBuffer.allocate(1 + Integer.BYTES + deflated.length)
+                        .put(DEFLATED).putInt(body.length).put(deflated).array();
+            }
+        }
+        return ByteBuffer.allocate(1 + body.length).put(RAW).put(body).array();
+    }
+
+    /**
+     * Unpacks a frame, giving each of its messages to the consumer in order.
+     *
+     * @param frame    coalesced frame
+     * @param consumer consumer of the message types and payloads
+     * @throws IllegalArgumentException if the frame is malformed
+     */
+    static void decode(byte[] frame, BiConsumer<String, byte[]> consumer) {
+        ByteBuffer buffer = ByteBuffer.wrap(frame);
+        byte encoding = buffer.get();
+        if (encoding == DEFLATED) {
+            byte[] body = new byte[buffer.getInt()];
+            inflate(frame, buffer.position(), body);
+            buffer = ByteBuffer.wrap(body);
+        } else if (encoding != RAW) {
+            throw new IllegalArgumentException("Unknown frame encoding " + encoding);
+        }
+
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            byte[] type = new byte[buffer.getInt()];
+            buffer.get(type);
+            byte[] payload = new byte[buffer.getInt()];
+            buffer.get(payload);
+            consumer.accept(new String(type, StandardCharsets.UTF_8), payload);
+        }
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void inflate(byte[] bytes, int offset, byte[] body) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, offset, bytes.length - offset);
+            int length = 0;
+            while (length < body.length && !inflater.finished()) {
+                int inflated = inflater.inflate(body, length, body.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != body.length) {
+                throw new IllegalArgumentException("Truncated frame");
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Malformed frame", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    // Messages pending for an endpoint.
+    private static final class Batch {
+        private List<Message> messages = new ArrayList<>();
+        private int bytes;
+
+        private List<Message> drain() {
+            List<Message> drained = messages;
+            messages = new ArrayList<>();
+            bytes = 0;
+            return drained;
+        }
+    }
+
+    private static final class Message {
+        private final String type;
+        private final byte[] payload;
+        private final CompletableFuture<Void> future;
+
+        private Message(String type, byte[] payload, CompletableFuture<Void> future) {
+            this.type = type;
+            this.payload = payload;
+            this.future = future;
+        }
+    }
+}
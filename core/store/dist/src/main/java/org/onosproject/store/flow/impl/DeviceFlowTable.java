@@ -84,6 +84,8 @@ public class DeviceFlowTable {
     private final MessageSubject getBucketSubject;
     private final MessageSubject backupSubject;
     private final MessageSubject getFlowsSubject;
+    private final MessageSubject getFlowsByAppSubject;
+    private final MessageSubject getFlowsByGroupSubject;
 
     private final DeviceId deviceId;
     private final ClusterCommunicationService clusterCommunicator;
@@ -144,6 +146,8 @@ public class DeviceFlowTable {
         getBucketSubject = new MessageSubject(String.format("flow-store-%s-bucket", deviceId));
         backupSubject = new MessageSubject(String.format("flow-store-%s-backup", deviceId));
         getFlowsSubject = new MessageSubject(String.format("flow-store-%s-flows", deviceId));
+        getFlowsByAppSubject = new MessageSubject(String.format("flow-store-%s-flows-by-app", deviceId));
+        getFlowsByGroupSubject = new MessageSubject(String.format("flow-store-%s-flows-by-group", deviceId));
 
         addListeners();
 
@@ -272,6 +276,76 @@ public class DeviceFlowTable {
         }
     }
 
+    /**
+     * Returns the set of flow entries in the table that belong to the given application.
+     *
+     * @param appId the application identifier
+     * @return a future to be completed with the flow entries for the given application
+     */
+    public CompletableFuture<Set<FlowEntry>> getFlowEntriesByAppId(short appId) {
+        return getIndexedFlowEntries(
+            appId, getFlowsByAppSubject, bucket -> bucket.getFlowEntriesByAppId(appId));
+    }
+
+    /**
+     * Returns the set of flow entries in the table that belong to the given application group.
+     *
+     * @param groupKey the group key as computed by {@link FlowBucket#groupKey(short, short)}
+     * @return a future to be completed with the flow entries for the given application group
+     */
+    public CompletableFuture<Set<FlowEntry>> getFlowEntriesByGroupKey(long groupKey) {
+        return getIndexedFlowEntries(
+            groupKey, getFlowsByGroupSubject, bucket -> bucket.getFlowEntriesByGroupKey(groupKey));
+    }
+
+    /**
+     * Fetches the set of flow entries matching an index key from all buckets.
+     * <p>
+     * Lookups follow the same rules as {@link #getFlowEntries(FlowBucket)}, but the master is queried once
+     * for the whole table rather than once per bucket.
+     *
+     * @param key     the index key
+     * @param subject the subject via which to forward the lookup to the master
+     * @param lookup  the per-bucket index lookup
+     * @param <K>     the index key type
+     * @return a future to be completed once the flow entries have been retrieved
+     */
+    private <K> CompletableFuture<Set<FlowEntry>> getIndexedFlowEntries(
+        K key, MessageSubject subject, Function<FlowBucket, Set<FlowEntry>> lookup) {
+        DeviceReplicaInfo replicaInfo = lifecycleManager.getReplicaInfo();
+        if (replicaInfo.isMaster(localNodeId)) {
+            return CompletableFuture.completedFuture(lookupLocal(lookup));
+        } else if (replicaInfo.master() != null) {
+            return clusterCommunicator.sendAndReceive(
+                key,
+                subject,
+                SERIALIZER::encode,
+                SERIALIZER::decode,
+                replicaInfo.master(),
+                Duration.ofSeconds(GET_FLOW_ENTRIES_TIMEOUT));
+        } else if (deviceService.isAvailable(deviceId)) {
+            throw new FlowRuleStoreException("There is no master for available device " + deviceId);
+        } else if (clusterService.getNodes().size() <= 1 + ECFlowRuleStore.backupCount) {
+            //TODO remove this check when [ONOS-8080] is fixed
+            return CompletableFuture.completedFuture(lookupLocal(lookup));
+        } else {
+            return CompletableFuture.completedFuture(Collections.emptySet());
+        }
+    }
+
+    /**
+     * Applies the given index lookup to all local buckets.
+     *
+     * @param lookup the per-bucket index lookup
+     * @return the union of the lookup results
+     */
+    private Set<FlowEntry> lookupLocal(Function<FlowBucket, Set<FlowEntry>> lookup) {
+        return flowBuckets.values()
+            .stream()
+            .flatMap(bucket -> lookup.apply(bucket).stream())
+            .collect(Collectors.toSet());
+    }
+
     /**
      * Returns the bucket for the given flow identifier.
      *
@@ -913,6 +987,10 @@ public class DeviceFlowTable {
         receiveWithTimestamp(backupSubject, this::onBackup);
         clusterCommunicator.<BucketId, Set<FlowEntry>>addSubscriber(
             getFlowsSubject, SERIALIZER::decode, this::getFlowEntries, SERIALIZER::encode);
+        clusterCommunicator.<Short, Set<FlowEntry>>addSubscriber(
+            getFlowsByAppSubject, SERIALIZER::decode, this::getFlowEntriesByAppId, SERIALIZER::encode);
+        clusterCommunicator.<Long, Set<FlowEntry>>addSubscriber(
+            getFlowsByGroupSubject, SERIALIZER::decode, this::getFlowEntriesByGroupKey, SERIALIZER::encode);
     }
 
     /**
@@ -923,6 +1001,8 @@ public class DeviceFlowTable {
         clusterCommunicator.removeSubscriber(getBucketSubject);
         clusterCommunicator.removeSubscriber(backupSubject);
         clusterCommunicator.removeSubscriber(getFlowsSubject);
+        clusterCommunicator.removeSubscriber(getFlowsByAppSubject);
+        clusterCommunicator.removeSubscriber(getFlowsByGroupSubject);
     }
 
     /**
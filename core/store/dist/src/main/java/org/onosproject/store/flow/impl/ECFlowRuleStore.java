@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -44,6 +45,7 @@ import org.onlab.util.Tools;
 import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.NodeId;
+import org.onosproject.core.ApplicationId;
 import org.onosproject.core.CoreService;
 import org.onosproject.core.IdGenerator;
 import org.onosproject.event.AbstractListenerManager;
@@ -422,6 +424,16 @@ public class ECFlowRuleStore
         return flowTable.getFlowEntries(deviceId);
     }
 
+    @Override
+    public Iterable<FlowEntry> getFlowEntriesByAppId(DeviceId deviceId, ApplicationId appId) {
+        return flowTable.getFlowEntriesByAppId(deviceId, appId.id());
+    }
+
+    @Override
+    public Iterable<FlowEntry> getFlowEntriesByGroupId(DeviceId deviceId, ApplicationId appId, short groupId) {
+        return flowTable.getFlowEntriesByGroupKey(deviceId, FlowBucket.groupKey(appId.id(), groupId));
+    }
+
     @Override
     public void storeFlowRule(FlowRule rule) {
         storeBatch(new FlowRuleBatchOperation(
@@ -784,9 +796,40 @@ public class ECFlowRuleStore
          * @return the set of flow entries for the given device
          */
         public Iterable<FlowEntry> getFlowEntries(DeviceId deviceId) {
+            return getFlowEntries(getFlowTable(deviceId).getFlowEntries());
+        }
+
+        /**
+         * Returns the set of flow entries of the given application for the given device.
+         *
+         * @param deviceId the device for which to lookup flow entries
+         * @param appId    the application identifier
+         * @return the set of flow entries of the given application for the given device
+         */
+        public Iterable<FlowEntry> getFlowEntriesByAppId(DeviceId deviceId, short appId) {
+            return getFlowEntries(getFlowTable(deviceId).getFlowEntriesByAppId(appId));
+        }
+
+        /**
+         * Returns the set of flow entries of the given application group for the given device.
+         *
+         * @param deviceId the device for which to lookup flow entries
+         * @param groupKey the application group key
+         * @return the set of flow entries of the given application group for the given device
+         */
+        public Iterable<FlowEntry> getFlowEntriesByGroupKey(DeviceId deviceId, long groupKey) {
+            return getFlowEntries(getFlowTable(deviceId).getFlowEntriesByGroupKey(groupKey));
+        }
+
+        /**
+         * Waits for the given flow entries lookup to complete.
+         *
+         * @param future the flow entries lookup future
+         * @return the flow entries
+         */
+        private Iterable<FlowEntry> getFlowEntries(CompletableFuture<? extends Iterable<FlowEntry>> future) {
             try {
-                return getFlowTable(deviceId).getFlowEntries()
-                    .get(GET_FLOW_ENTRIES_TIMEOUT, TimeUnit.SECONDS);
+                return future.get(GET_FLOW_ENTRIES_TIMEOUT, TimeUnit.SECONDS);
             } catch (ExecutionException e) {
                 throw new FlowRuleStoreException(e.getCause());
             } catch (TimeoutException e) {
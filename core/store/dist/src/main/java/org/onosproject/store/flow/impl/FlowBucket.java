@@ -15,12 +15,15 @@
  */
 package org.onosproject.store.flow.impl;
 
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.onosproject.net.flow.DefaultFlowEntry;
 import org.onosproject.net.flow.FlowEntry;
 import org.onosproject.net.flow.FlowId;
@@ -35,6 +38,10 @@ import org.slf4j.LoggerFactory;
  * <p>
  * The bucket is mutable. When changes are made to the bucket, the term and timestamp in which the change
  * occurred is recorded for ordering changes.
+ * <p>
+ * Each bucket additionally maintains local secondary indexes of its flow identifiers by application and by
+ * application group. The indexes are not replicated; they are rebuilt lazily whenever a bucket is received
+ * from a peer and are otherwise updated in place as flows are added to and removed from the bucket.
  */
 public class FlowBucket {
     private static final Logger LOGGER = LoggerFactory.getLogger(FlowBucket.class);
@@ -42,6 +49,7 @@ public class FlowBucket {
     private volatile long term;
     private volatile LogicalTimestamp timestamp;
     private final Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> flowBucket;
+    private transient volatile FlowIndexes indexes;
 
     FlowBucket(BucketId bucketId) {
         this(bucketId, 0, new LogicalTimestamp(0), Maps.newConcurrentMap());
@@ -126,6 +134,90 @@ public class FlowBucket {
             .sum();
     }
 
+    /**
+     * Returns the flow entries in the bucket that belong to the given application.
+     *
+     * @param appId the application identifier
+     * @return the flow entries for the given application
+     */
+    public Set<FlowEntry> getFlowEntriesByAppId(short appId) {
+        Set<FlowId> flowIds = indexes().byAppId.get(appId);
+        if (flowIds == null) {
+            return Collections.emptySet();
+        }
+        return flowIds.stream()
+            .map(flowBucket::get)
+            .filter(entries -> entries != null)
+            .flatMap(entries -> entries.values().stream())
+            .filter(entry -> entry.appId() == appId)
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns the flow entries in the bucket whose flow identifiers belong to the given application group.
+     *
+     * @param groupKey the group key as computed by {@link #groupKey(short, short)}
+     * @return the flow entries for the given application group
+     */
+    public Set<FlowEntry> getFlowEntriesByGroupKey(long groupKey) {
+        Set<FlowId> flowIds = indexes().byGroupKey.get(groupKey);
+        if (flowIds == null) {
+            return Collections.emptySet();
+        }
+        return flowIds.stream()
+            .map(flowBucket::get)
+            .filter(entries -> entries != null)
+            .flatMap(entries -> entries.values().stream())
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns the group key for the given application and group identifiers.
+     * <p>
+     * The group key corresponds to the upper 32 bits of flow identifiers generated for the given group.
+     *
+     * @param appId   the application identifier
+     * @param groupId the group identifier
+     * @return the group key
+     */
+    static long groupKey(short appId, short groupId) {
+        return ((long) appId << 16) | groupId;
+    }
+
+    /**
+     * Returns the group key for the given flow identifier.
+     *
+     * @param flowId the flow identifier
+     * @return the group key
+     */
+    private static long groupKey(FlowId flowId) {
+        return flowId.value() >>> 32;
+    }
+
+    /**
+     * Returns the bucket indexes, building them from the bucket contents if necessary.
+     *
+     * @return the bucket indexes
+     */
+    private FlowIndexes indexes() {
+        FlowIndexes indexes = this.indexes;
+        if (indexes == null) {
+            synchronized (this) {
+                indexes = this.indexes;
+                if (indexes == null) {
+                    indexes = new FlowIndexes();
+                    for (Map<StoredFlowEntry, StoredFlowEntry> entries : flowBucket.values()) {
+                        for (StoredFlowEntry entry : entries.values()) {
+                            indexes.add(entry);
+                        }
+                    }
+                    this.indexes = indexes;
+                }
+            }
+        }
+        return indexes;
+    }
+
     /**
      * Returns a new copy of the flow bucket.
      *
@@ -163,6 +255,7 @@ public class FlowBucket {
             flowEntries = flowBucket.computeIfAbsent(rule.id(), id -> Maps.newConcurrentMap());
         }
         flowEntries.put((StoredFlowEntry) rule, (StoredFlowEntry) rule);
+        indexes().add(rule);
         recordUpdate(term, clock.getTimestamp());
     }
 
@@ -256,6 +349,9 @@ public class FlowBucket {
         });
 
         if (removedRule.get() != null) {
+            if (!flowBucket.containsKey(rule.id())) {
+                indexes().remove(removedRule.get());
+            }
             recordUpdate(term, clock.getTimestamp());
             return removedRule.get();
         } else {
@@ -268,6 +364,7 @@ public class FlowBucket {
      */
     public void purge() {
         flowBucket.clear();
+        indexes = null;
     }
 
     /**
@@ -277,5 +374,33 @@ public class FlowBucket {
         term = 0;
         timestamp = new LogicalTimestamp(0);
         flowBucket.clear();
+        indexes = null;
+    }
+
+    /**
+     * Local secondary indexes of the flow identifiers in the bucket.
+     * <p>
+     * Flow identifiers are only removed from the indexes once no entry remains for them in the bucket, so
+     * the application index may briefly reference colliding flows of other applications; lookups filter them out.
+     */
+    private static final class FlowIndexes {
+        private final Map<Short, Set<FlowId>> byAppId = Maps.newConcurrentMap();
+        private final Map<Long, Set<FlowId>> byGroupKey = Maps.newConcurrentMap();
+
+        private void add(FlowRule rule) {
+            byAppId.computeIfAbsent(rule.appId(), k -> Sets.newConcurrentHashSet()).add(rule.id());
+            byGroupKey.computeIfAbsent(groupKey(rule.id()), k -> Sets.newConcurrentHashSet()).add(rule.id());
+        }
+
+        private void remove(FlowRule rule) {
+            byAppId.computeIfPresent(rule.appId(), (k, flowIds) -> {
+                flowIds.remove(rule.id());
+                return flowIds.isEmpty() ? null : flowIds;
+            });
+            byGroupKey.computeIfPresent(groupKey(rule.id()), (k, flowIds) -> {
+                flowIds.remove(rule.id());
+                return flowIds.isEmpty() ? null : flowIds;
+            });
+        }
     }
 }
@@ -86,7 +86,6 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -170,7 +169,12 @@ public class DistributedGroupStore
 
     private final HashMap<DeviceId, Boolean> deviceAuditStatus = new HashMap<>();
 
-    private final AtomicInteger groupIdGen = new AtomicInteger();
+    // Per device allocator of the group ids in use by stored and extraneous groups
+    private final ConcurrentMap<DeviceId, GroupIdAllocator> groupIdAllocators =
+            new ConcurrentHashMap<>();
+    // Per device index of the extraneous group ids by their set of buckets
+    private final ConcurrentMap<DeviceId, ConcurrentMap<Set<GroupBucket>, Set<GroupId>>>
+            extraneousGroupIdsByBuckets = new ConcurrentHashMap<>();
 
     private KryoNamespace clusterMsgSerializer;
 
@@ -304,6 +308,7 @@ public class DistributedGroupStore
         for (Entry<GroupStoreKeyMapKey, StoredGroupEntry> entry : groupStoreEntriesByKey.asJavaMap().entrySet()) {
             StoredGroupEntry group = entry.getValue();
             getGroupIdTable(entry.getKey().deviceId()).put(group.id(), group);
+            getGroupIdAllocator(group.deviceId()).reserve(group.id().id());
         }
     }
 
@@ -314,6 +319,7 @@ public class DistributedGroupStore
             StoredGroupEntry value = entry.getValue();
             ConcurrentMap<GroupId, StoredGroupEntry> groupIdTable = getGroupIdTable(value.deviceId());
             groupIdTable.put(value.id(), value);
+            getGroupIdAllocator(value.deviceId()).reserve(value.id().id());
         }
     }
 
@@ -358,6 +364,41 @@ public class DistributedGroupStore
         return extraneousGroupEntriesById.computeIfAbsent(deviceId, k -> new ConcurrentHashMap<>());
     }
 
+    /**
+     * Returns the extraneous group id index by buckets for specified device.
+     *
+     * @param deviceId identifier of the device
+     * @return Map representing extraneous group ids by their set of buckets.
+     */
+    private ConcurrentMap<Set<GroupBucket>, Set<GroupId>>
+    getExtraneousGroupBucketsIndex(DeviceId deviceId) {
+        return extraneousGroupIdsByBuckets.computeIfAbsent(deviceId, k -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Returns the group id allocator for specified device.
+     *
+     * @param deviceId identifier of the device
+     * @return group id allocator of given device.
+     */
+    private GroupIdAllocator getGroupIdAllocator(DeviceId deviceId) {
+        return groupIdAllocators.computeIfAbsent(deviceId, k -> new GroupIdAllocator());
+    }
+
+    /**
+     * Frees the group id of specified device unless it is still used by a
+     * stored or an extraneous group.
+     *
+     * @param deviceId identifier of the device
+     * @param groupId  group id to free
+     */
+    private void releaseGroupId(DeviceId deviceId, GroupId groupId) {
+        if (!getGroupIdTable(deviceId).containsKey(groupId) &&
+                !getExtraneousGroupIdTable(deviceId).containsKey(groupId)) {
+            getGroupIdAllocator(deviceId).release(groupId.id());
+        }
+    }
+
     /**
      * Returns the number of groups for the specified device in the store.
      *
@@ -424,23 +465,14 @@ public class DistributedGroupStore
     }
 
     private int getFreeGroupIdValue(DeviceId deviceId) {
-        int freeId = groupIdGen.incrementAndGet();
-
-        while (true) {
-            Group existing = getGroup(deviceId, new GroupId(freeId));
-            if (existing == null) {
-                existing = (
-                        extraneousGroupEntriesById.get(deviceId) != null) ?
-                        extraneousGroupEntriesById.get(deviceId).
-                                get(new GroupId(freeId)) :
-                        null;
-            }
-            if (existing != null) {
-                freeId = groupIdGen.incrementAndGet();
-            } else {
-                break;
-            }
-        }
+        // The allocator may not have seen ids of groups being added
+        // concurrently by the map listener; check the tables as well
+        ConcurrentMap<GroupId, StoredGroupEntry> groupIdTable = getGroupIdTable(deviceId);
+        ConcurrentMap<GroupId, Group> extraneousIdTable = getExtraneousGroupIdTable(deviceId);
+        int freeId = getGroupIdAllocator(deviceId).allocate(id -> {
+            GroupId groupId = new GroupId(id);
+            return groupIdTable.containsKey(groupId) || extraneousIdTable.containsKey(groupId);
+        });
         log.debug("getFreeGroupIdValue: Next Free ID is {}", freeId);
         return freeId;
     }
@@ -534,8 +566,14 @@ public class DistributedGroupStore
             return null;
         }
 
-        for (Group extraneousGroup : extraneousMap.values()) {
-            if (extraneousGroup.buckets().equals(buckets)) {
+        Set<GroupId> groupIds = getExtraneousGroupBucketsIndex(deviceId)
+                .get(ImmutableSet.copyOf(buckets.buckets()));
+        if (groupIds == null) {
+            return null;
+        }
+        for (GroupId groupId : groupIds) {
+            Group extraneousGroup = extraneousMap.get(groupId);
+            if (extraneousGroup != null && extraneousGroup.buckets().equals(buckets)) {
                 return extraneousGroup;
             }
         }
@@ -671,6 +709,7 @@ public class DistributedGroupStore
             }
             id = new GroupId(groupDesc.givenGroupId());
         }
+        getGroupIdAllocator(groupDesc.deviceId()).reserve(id.id());
         // Create a group entry object
         StoredGroupEntry group = new DefaultGroup(id, groupDesc);
         // Insert the newly created group entry into key and id maps
@@ -1239,7 +1278,16 @@ public class DistributedGroupStore
                   group.deviceId());
         ConcurrentMap<GroupId, Group> extraneousIdTable =
                 getExtraneousGroupIdTable(group.deviceId());
-        extraneousIdTable.put(group.id(), group);
+        getGroupIdAllocator(group.deviceId()).reserve(group.id().id());
+        Group previous = extraneousIdTable.put(group.id(), group);
+        ConcurrentMap<Set<GroupBucket>, Set<GroupId>> bucketsIndex =
+                getExtraneousGroupBucketsIndex(group.deviceId());
+        if (previous != null) {
+            removeFromBucketsIndex(bucketsIndex, previous);
+        }
+        bucketsIndex.computeIfAbsent(ImmutableSet.copyOf(group.buckets().buckets()),
+                                     k -> ConcurrentHashMap.newKeySet())
+                .add(group.id());
         // Don't remove the extraneous groups, instead re-use it when
         // a group request comes with the same set of buckets
     }
@@ -1251,7 +1299,20 @@ public class DistributedGroupStore
                   group.deviceId());
         ConcurrentMap<GroupId, Group> extraneousIdTable =
                 getExtraneousGroupIdTable(group.deviceId());
-        extraneousIdTable.remove(group.id());
+        Group removed = extraneousIdTable.remove(group.id());
+        if (removed != null) {
+            removeFromBucketsIndex(getExtraneousGroupBucketsIndex(group.deviceId()), removed);
+            releaseGroupId(group.deviceId(), group.id());
+        }
+    }
+
+    private void removeFromBucketsIndex(ConcurrentMap<Set<GroupBucket>, Set<GroupId>> bucketsIndex,
+                                        Group group) {
+        bucketsIndex.computeIfPresent(ImmutableSet.copyOf(group.buckets().buckets()),
+                                      (buckets, groupIds) -> {
+                                          groupIds.remove(group.id());
+                                          return groupIds.isEmpty() ? null : groupIds;
+                                      });
     }
 
     @Override
@@ -1277,10 +1338,18 @@ public class DistributedGroupStore
                                   + "event {} with null entry", mapEvent.type());
                 return;
             } else if (group == null) {
-                group = getGroupIdTable(key.deviceId()).values()
-                        .stream()
-                        .filter((storedGroup) -> (storedGroup.appCookie().equals(key.appCookie)))
-                        .findFirst().orElse(null);
+                // Look the removed group up by its id, falling back to a scan
+                // of the device groups
+                StoredGroupEntry oldGroup = Versioned.valueOrNull(mapEvent.oldValue());
+                if (oldGroup != null) {
+                    group = getGroupIdTable(key.deviceId()).get(oldGroup.id());
+                }
+                if (group == null || !group.appCookie().equals(key.appCookie)) {
+                    group = getGroupIdTable(key.deviceId()).values()
+                            .stream()
+                            .filter((storedGroup) -> (storedGroup.appCookie().equals(key.appCookie)))
+                            .findFirst().orElse(null);
+                }
                 if (group == null) {
                     log.error("GroupStoreKeyMapListener: Received "
                                       + "event {} with null entry... can not process", mapEvent.type());
@@ -1294,6 +1363,7 @@ public class DistributedGroupStore
             if (mapEvent.type() == MapEvent.Type.INSERT || mapEvent.type() == MapEvent.Type.UPDATE) {
                 // Update the group ID table
                 getGroupIdTable(group.deviceId()).put(group.id(), group);
+                getGroupIdAllocator(group.deviceId()).reserve(group.id().id());
                 StoredGroupEntry value = Versioned.valueOrNull(mapEvent.newValue());
                 if (value.state() == Group.GroupState.ADDED) {
                     if (value.isGroupStateAddedFirstTime()) {
@@ -1312,6 +1382,7 @@ public class DistributedGroupStore
                 groupEvent = new GroupEvent(Type.GROUP_REMOVED, group);
                 // Remove the entry from the group ID table
                 getGroupIdTable(group.deviceId()).remove(group.id(), group);
+                releaseGroupId(group.deviceId(), group.id());
             }
 
             if (groupEvent != null) {
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.group.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Allocator of the group identifiers of a device, tracking the identifiers
+ * in use in a sparse bitmap. The bitmap is split into pages of 64K
+ * identifiers; pages without any identifier in use are not kept, and pages
+ * with all identifiers in use are skipped without being scanned, so that
+ * allocation stays constant time as the group table fills up.
+ * <p>
+ * Identifiers are handed out in increasing order, wrapping around at the
+ * end of the range, so that a released identifier is not reused before the
+ * device is done with the group it identified.
+ * </p>
+ */
+final class GroupIdAllocator {
+
+    static final int FIRST_ID = 1;
+    static final int LAST_ID = Integer.MAX_VALUE;
+
+    private static final int PAGE_BITS = 16;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private final Map<Integer, Page> pages = new HashMap<>();
+    private int next = FIRST_ID;
+    private int size;
+
+    /**
+     * Allocates the next free identifier. The given predicate is checked
+     * for identifiers used by groups this allocator has not been told of.
+     *
+     * @param inUse predicate telling whether an identifier is in use
+     * @return group identifier
+     * @throws IllegalStateException if all identifiers are in use
+     */
+    synchronized int allocate(IntPredicate inUse) {
+        int id = nextFree(next);
+        while (id >= FIRST_ID && inUse.test(id)) {
+            set(id);
+            id = nextFree(id);
+        }
+        checkState(id >= FIRST_ID, "No free group identifier");
+        set(id);
+        next = id == LAST_ID ? FIRST_ID : id + 1;
+        return id;
+    }
+
+    /**
+     * Marks the identifier as in use. Identifiers outside of the range of
+     * the allocator are ignored.
+     *
+     * @param id group identifier
+     */
+    synchronized void reserve(int id) {
+        if (id >= FIRST_ID) {
+            set(id);
+        }
+    }
+
+    /**
+     * Marks the identifier as free.
+     *
+     * @param id group identifier
+     */
+    synchronized void release(int id) {
+        if (id < FIRST_ID) {
+            return;
+        }
+        Page page = pages.get(id >>> PAGE_BITS);
+        if (page != null && page.clear(id & PAGE_MASK)) {
+            size--;
+            if (page.count == 0) {
+                pages.remove(id >>> PAGE_BITS);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of identifiers in use.
+     *
+     * @return number of identifiers in use
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    private void set(int id) {
+        if (pages.computeIfAbsent(id >>> PAGE_BITS, k -> new Page()).set(id & PAGE_MASK)) {
+            size++;
+        }
+    }
+
+    // Returns the first free identifier from the given one, wrapping around
+    // once at the end of the range; -1 if there is none.
+    private int nextFree(int from) {
+        int id = nextFree(from, LAST_ID);
+        return id >= FIRST_ID || from == FIRST_ID ? id : nextFree(FIRST_ID, from - 1);
+    }
+
+    private int nextFree(int from, int to) {
+        long id = from;
+        while (id <= to) {
+            int index = (int) (id >>> PAGE_BITS);
+            Page page = pages.get(index);
+            if (page == null) {
+                return (int) id;
+            }
+            if (page.count < PAGE_SIZE) {
+                int bit = page.nextClear((int) id & PAGE_MASK);
+                if (bit >= 0) {
+                    long free = (long) index << PAGE_BITS | bit;
+                    return free <= to ? (int) free : -1;
+                }
+            }
+            id = (long) (index + 1) << PAGE_BITS;
+        }
+        return -1;
+    }
+
+    // Fixed-size bitmap of a page of identifiers.
+    private static final class Page {
+        private final long[] words = new long[PAGE_SIZE / Long.SIZE];
+        private int count;
+
+        private boolean set(int bit) {
+            long mask = 1L << bit;
+            if ((words[bit >>> 6] & mask) != 0) {
+                return false;
+            }
+            words[bit >>> 6] |= mask;
+            count++;
+            return true;
+        }
+
+        private boolean clear(int bit) {
+            long mask = 1L << bit;
+            if ((words[bit >>> 6] & mask) == 0) {
+                return false;
+            }
+            words[bit >>> 6] &= ~mask;
+            count--;
+            return true;
+        }
+
+        private int nextClear(int bit) {
+            int index = bit >>> 6;
+            long word = ~words[index] & (-1L << bit);
+            while (word == 0) {
+                if (++index == words.length) {
+                    return -1;
+                }
+                word = ~words[index];
+            }
+            return index * Long.SIZE + Long.numberOfTrailingZeros(word);
+        }
+    }
+}
@@ -50,16 +50,12 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.slf4j.Logger;
 
-import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkState;
@@ -84,7 +80,10 @@ public class DistributedHostStore
 
     private ConsistentMap<HostId, DefaultHost> hostsConsistentMap;
     private Map<HostId, DefaultHost> hosts;
-    private Map<IpAddress, Set<Host>> hostsByIp;
+    // Secondary indexes maintained from the map events; see HostLocationTracker.
+    // Replaced as a whole when rebuilt, so that readers never see them empty.
+    private volatile HostIndexes indexes = new HostIndexes();
+    private final Object indexLock = new Object();
     MapEventListener<HostId, DefaultHost> hostLocationTracker =
             new HostLocationTracker();
 
@@ -107,11 +106,11 @@ public class DistributedHostStore
         executor = newSingleThreadScheduledExecutor(groupedThreads("onos/hosts", "status-listener", log));
         statusChangeListener = status -> {
             if (status == Status.ACTIVE) {
-                executor.execute(this::loadHostsByIp);
+                executor.execute(this::loadIndexes);
             }
         };
         hostsConsistentMap.addStatusChangeListener(statusChangeListener);
-        loadHostsByIp();
+        loadIndexes();
         log.info("Started");
     }
 
@@ -123,18 +122,16 @@ public class DistributedHostStore
         log.info("Stopped");
     }
 
-    private void loadHostsByIp() {
-        hostsByIp = new ConcurrentHashMap<IpAddress, Set<Host>>();
-        hostsConsistentMap.asJavaMap().values().forEach(host -> {
-            host.ipAddresses().forEach(ip -> {
-                Set<Host> existingHosts = hostsByIp.get(ip);
-                if (existingHosts == null) {
-                    hostsByIp.put(ip, addHosts(host));
-                } else {
-                    existingHosts.add(host);
-                }
-            });
-        });
+    // Rebuilds all secondary indexes from the current content of the map;
+    // used at start-up and whenever the map (re)gains its active status.
+    // Map events are held off while the new indexes are built, so that none
+    // is lost between the map snapshot and the swap.
+    private void loadIndexes() {
+        synchronized (indexLock) {
+            HostIndexes loaded = new HostIndexes();
+            hostsConsistentMap.asJavaMap().values().forEach(host -> loaded.update(host, null));
+            indexes = loaded;
+        }
     }
 
     private boolean shouldUpdate(DefaultHost existingHost,
@@ -244,7 +241,7 @@ public class DistributedHostStore
                 if (addresses != null && addresses.contains(ipAddress)) {
                     addresses = new HashSet<>(existingHost.ipAddresses());
                     addresses.remove(ipAddress);
-                    removeIpFromHostsByIp(existingHost, ipAddress);
+                    indexes.hostsByIp.remove(ipAddress, existingHost);
                     return new DefaultHost(existingHost.providerId(),
                             hostId,
                             existingHost.mac(),
@@ -334,18 +331,17 @@ public class DistributedHostStore
 
     @Override
     public Set<Host> getHosts(VlanId vlanId) {
-        return filter(hosts.values(), host -> Objects.equals(host.vlan(), vlanId));
+        return indexes.hostsByVlan.get(vlanId);
     }
 
     @Override
     public Set<Host> getHosts(MacAddress mac) {
-        return filter(hosts.values(), host -> Objects.equals(host.mac(), mac));
+        return indexes.hostsByMac.get(mac);
     }
 
     @Override
     public Set<Host> getHosts(IpAddress ip) {
-        Set<Host> hosts = hostsByIp.get(ip);
-        return hosts != null ? ImmutableSet.copyOf(hosts) : ImmutableSet.of();
+        return indexes.hostsByIp.get(ip);
     }
 
     @Override
@@ -355,31 +351,14 @@ public class DistributedHostStore
 
     @Override
     public Set<Host> getConnectedHosts(ConnectPoint connectPoint, boolean matchAuxLocations) {
-        Predicate<Map.Entry<HostId, DefaultHost>> predicate;
-        if (matchAuxLocations) {
-            predicate = entry -> {
-                Set<HostLocation> auxLocations = entry.getValue().auxLocations();
-                return auxLocations != null && entry.getValue().auxLocations().contains(connectPoint);
-            };
-        } else {
-            predicate = entry -> entry.getValue().locations().contains(connectPoint);
-        }
-
-        Set<Host> filtered = hosts.entrySet().stream()
-                .filter(predicate)
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toSet());
-        return ImmutableSet.copyOf(filtered);
+        HostIndexes current = indexes;
+        return matchAuxLocations ? current.hostsByAuxLocation.get(connectPoint) :
+                current.hostsByLocation.get(connectPoint);
     }
 
     @Override
     public Set<Host> getConnectedHosts(DeviceId deviceId) {
-        Set<Host> filtered = hosts.entrySet().stream()
-                .filter(entry -> entry.getValue().locations().stream()
-                        .map(HostLocation::deviceId).anyMatch(dpid -> dpid.equals(deviceId)))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toSet());
-        return ImmutableSet.copyOf(filtered);
+        return indexes.hostsByDevice.get(deviceId);
     }
 
     @Override
@@ -430,51 +409,50 @@ public class DistributedHostStore
         });
     }
 
-    private Set<Host> filter(Collection<DefaultHost> collection, Predicate<DefaultHost> predicate) {
-        return collection.stream().filter(predicate).collect(Collectors.toSet());
+    private static <K> Set<K> singleton(K key) {
+        return key != null ? ImmutableSet.of(key) : ImmutableSet.of();
     }
 
-    private Set<Host> addHosts(Host host) {
-        Set<Host> hosts = Sets.newConcurrentHashSet();
-        hosts.add(host);
-        return hosts;
+    private void updateIndexes(Host host, Host prevHost) {
+        synchronized (indexLock) {
+            indexes.update(host, prevHost);
+        }
     }
 
-    private Set<Host> updateHosts(Set<Host> existingHosts, Host host) {
-        existingHosts.removeIf(existingHost -> existingHost.id().equals(host.id()));
-        existingHosts.add(host);
-        return existingHosts;
+    private void removeFromIndexes(Host host) {
+        synchronized (indexLock) {
+            indexes.remove(host);
+        }
     }
 
-    private Set<Host> removeHosts(Set<Host> existingHosts, Host host) {
-
-        if (existingHosts != null) {
-            existingHosts.removeIf(existingHost -> existingHost.id().equals(host.id()));
+    // All the secondary indexes of the hosts
+    private static final class HostIndexes {
+        private final HostIndex<IpAddress> hostsByIp = new HostIndex<>(Host::ipAddresses);
+        private final HostIndex<MacAddress> hostsByMac = new HostIndex<>(host -> singleton(host.mac()));
+        private final HostIndex<VlanId> hostsByVlan = new HostIndex<>(host -> singleton(host.vlan()));
+        private final HostIndex<ConnectPoint> hostsByLocation = new HostIndex<>(Host::locations);
+        private final HostIndex<ConnectPoint> hostsByAuxLocation =
+                new HostIndex<>(host -> host.auxLocations() != null ? host.auxLocations() : ImmutableSet.of());
+        private final HostIndex<DeviceId> hostsByDevice = new HostIndex<>(
+                host -> host.locations().stream().map(HostLocation::deviceId).collect(Collectors.toSet()));
+
+        private void update(Host host, Host prevHost) {
+            hostsByIp.update(host, prevHost);
+            hostsByMac.update(host, prevHost);
+            hostsByVlan.update(host, prevHost);
+            hostsByLocation.update(host, prevHost);
+            hostsByAuxLocation.update(host, prevHost);
+            hostsByDevice.update(host, prevHost);
         }
 
-        if (existingHosts == null || existingHosts.isEmpty()) {
-            return null;
+        private void remove(Host host) {
+            hostsByIp.remove(host);
+            hostsByMac.remove(host);
+            hostsByVlan.remove(host);
+            hostsByLocation.remove(host);
+            hostsByAuxLocation.remove(host);
+            hostsByDevice.remove(host);
         }
-        return existingHosts;
-    }
-
-    private void updateHostsByIp(DefaultHost host, DefaultHost prevHost) {
-        // Let's update first the current ips
-        host.ipAddresses().forEach(
-                ip -> hostsByIp.compute(ip, (k, v) -> v == null ? addHosts(host) : updateHosts(v, host)));
-
-        // Let's remove then each old ip
-        Set<IpAddress> oldIps = prevHost != null ? prevHost.ipAddresses() : Collections.emptySet();
-        Sets.difference(oldIps, host.ipAddresses()).forEach(
-                ip -> hostsByIp.computeIfPresent(ip, (k, v) -> removeHosts(v, host)));
-    }
-
-    private void removeHostsByIp(DefaultHost host) {
-        host.ipAddresses().forEach(ip -> hostsByIp.computeIfPresent(ip, (k, v) -> removeHosts(v, host)));
-    }
-
-    private void removeIpFromHostsByIp(DefaultHost host, IpAddress ip) {
-        hostsByIp.computeIfPresent(ip, (k, v) -> removeHosts(v, host));
     }
 
     private class HostLocationTracker implements MapEventListener<HostId, DefaultHost> {
@@ -484,11 +462,11 @@ public class DistributedHostStore
             DefaultHost prevHost = Versioned.valueOrNull(event.oldValue());
             switch (event.type()) {
                 case INSERT:
-                    updateHostsByIp(host, prevHost);
+                    updateIndexes(host, prevHost);
                     notifyDelegate(new HostEvent(HOST_ADDED, host));
                     break;
                 case UPDATE:
-                    updateHostsByIp(host, prevHost);
+                    updateIndexes(host, prevHost);
                     if (host.suspended() && !prevHost.suspended()) {
                         notifyDelegate(new HostEvent(HOST_SUSPENDED, host, prevHost));
                     } else if (!host.suspended() && prevHost.suspended()) {
@@ -502,7 +480,7 @@ public class DistributedHostStore
                     }
                     break;
                 case REMOVE:
-                    removeHostsByIp(prevHost);
+                    removeFromIndexes(prevHost);
                     notifyDelegate(new HostEvent(HOST_REMOVED, prevHost));
                     break;
                 default:
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.host.impl;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import org.onosproject.net.Host;
+import org.onosproject.net.HostId;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Secondary index of hosts by one of their attributes, such as the MAC
+ * address or the locations. A host may be indexed under several keys.
+ *
+ * @param <K> index key type
+ */
+final class HostIndex<K> {
+
+    private final Function<Host, Set<? extends K>> keyFunction;
+    private final Map<K, Map<HostId, Host>> index = Maps.newConcurrentMap();
+
+    /**
+     * Creates a new index using the given function to extract the index
+     * keys of a host.
+     *
+     * @param keyFunction index keys function
+     */
+    HostIndex(Function<Host, Set<? extends K>> keyFunction) {
+        this.keyFunction = keyFunction;
+    }
+
+    /**
+     * Indexes the given host, removing it from any keys under which its
+     * previous incarnation was indexed but which no longer apply.
+     *
+     * @param host     current host
+     * @param prevHost previous host; null if none
+     */
+    void update(Host host, Host prevHost) {
+        Set<? extends K> keys = keyFunction.apply(host);
+        keys.forEach(key -> index.compute(key, (k, hosts) -> {
+            if (hosts == null) {
+                hosts = Maps.newConcurrentMap();
+            }
+            hosts.put(host.id(), host);
+            return hosts;
+        }));
+        if (prevHost != null) {
+            keyFunction.apply(prevHost).stream()
+                    .filter(key -> !keys.contains(key))
+                    .forEach(key -> remove(key, prevHost));
+        }
+    }
+
+    /**
+     * Removes the given host from all its index keys.
+     *
+     * @param host host
+     */
+    void remove(Host host) {
+        keyFunction.apply(host).forEach(key -> remove(key, host));
+    }
+
+    /**
+     * Removes the given host from the given index key.
+     *
+     * @param key  index key
+     * @param host host
+     */
+    void remove(K key, Host host) {
+        index.computeIfPresent(key, (k, hosts) -> {
+            hosts.remove(host.id());
+            return hosts.isEmpty() ? null : hosts;
+        });
+    }
+
+    /**
+     * Returns the hosts indexed under the given key.
+     *
+     * @param key index key
+     * @return immutable set of hosts
+     */
+    Set<Host> get(K key) {
+        Map<HostId, Host> hosts = key != null ? index.get(key) : null;
+        return hosts != null ? ImmutableSet.copyOf(hosts.values()) : ImmutableSet.of();
+    }
+}
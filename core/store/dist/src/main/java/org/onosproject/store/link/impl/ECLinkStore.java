@@ -64,13 +64,10 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.slf4j.Logger;
 
-import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import static org.onosproject.net.DefaultAnnotations.union;
 import static org.onosproject.net.Link.State.ACTIVE;
@@ -113,6 +110,11 @@ public class ECLinkStore
     private final Logger log = getLogger(getClass());
 
     private final Map<LinkKey, Link> links = Maps.newConcurrentMap();
+    // Secondary indexes kept in step with the links map; see indexLink
+    private final LinkIndex<DeviceId> srcDeviceIndex = new LinkIndex<>(link -> link.src().deviceId());
+    private final LinkIndex<DeviceId> dstDeviceIndex = new LinkIndex<>(link -> link.dst().deviceId());
+    private final LinkIndex<ConnectPoint> srcIndex = new LinkIndex<>(Link::src);
+    private final LinkIndex<ConnectPoint> dstIndex = new LinkIndex<>(Link::dst);
     private final Map<LinkKey, Set<ProviderId>> linkProviders = Maps.newConcurrentMap();
     private EventuallyConsistentMap<Provided<LinkKey>, LinkDescription> linkDescriptions;
 
@@ -197,7 +199,7 @@ public class ECLinkStore
         linkDescriptions.removeListener(linkTracker);
         linkDescriptions.destroy();
         linkProviders.clear();
-        links.clear();
+        clearLinks();
         clusterCommunicator.removeSubscriber(LINK_INJECT_MESSAGE);
         netCfgService.removeListener(cfgListener);
         netCfgService.unregisterConfigFactory(factory);
@@ -217,12 +219,12 @@ public class ECLinkStore
 
     @Override
     public Set<Link> getDeviceEgressLinks(DeviceId deviceId) {
-        return filter(links.values(), link -> deviceId.equals(link.src().deviceId()));
+        return srcDeviceIndex.get(deviceId);
     }
 
     @Override
     public Set<Link> getDeviceIngressLinks(DeviceId deviceId) {
-        return filter(links.values(), link -> deviceId.equals(link.dst().deviceId()));
+        return dstDeviceIndex.get(deviceId);
     }
 
     @Override
@@ -232,12 +234,12 @@ public class ECLinkStore
 
     @Override
     public Set<Link> getEgressLinks(ConnectPoint src) {
-        return filter(links.values(), link -> src.equals(link.src()));
+        return srcIndex.get(src);
     }
 
     @Override
     public Set<Link> getIngressLinks(ConnectPoint dst) {
-        return filter(links.values(), link -> dst.equals(link.dst()));
+        return dstIndex.get(dst);
     }
 
     @Override
@@ -319,16 +321,21 @@ public class ECLinkStore
         Link link = links.compute(linkKey, (key, existingLink) -> {
             Link newLink = composeLink(linkKey);
             if (newLink == null) {
+                if (existingLink != null) {
+                    unindexLink(key, existingLink);
+                }
                 return null;
             }
             if (existingLink == null) {
                 eventType.set(LINK_ADDED);
+                indexLink(key, newLink);
                 return newLink;
             } else if (existingLink.state() != newLink.state() ||
                     existingLink.isExpected() != newLink.isExpected() ||
                     (existingLink.type() !=  newLink.type()) ||
                     !AnnotationsUtil.isEqual(existingLink.annotations(), newLink.annotations())) {
                 eventType.set(LINK_UPDATED);
+                indexLink(key, newLink);
                 return newLink;
             } else {
                 return existingLink;
@@ -414,7 +421,10 @@ public class ECLinkStore
                 (oldLink.type() == INDIRECT && newLink.type() == DIRECT) ||
                 !AnnotationsUtil.isEqual(oldLink.annotations(), newLink.annotations())) {
 
-            links.put(key, newLink);
+            links.compute(key, (k, existingLink) -> {
+                indexLink(k, newLink);
+                return newLink;
+            });
             return new LinkEvent(LINK_UPDATED, newLink);
         }
         return null;
@@ -461,7 +471,13 @@ public class ECLinkStore
     }
 
     private LinkEvent purgeLinkCache(LinkKey linkKey) {
-        Link removedLink = links.remove(linkKey);
+        AtomicReference<Link> removed = new AtomicReference<>();
+        links.computeIfPresent(linkKey, (key, existingLink) -> {
+            unindexLink(key, existingLink);
+            removed.set(existingLink);
+            return null;
+        });
+        Link removedLink = removed.get();
         if (removedLink != null) {
             getAllProviders(linkKey).forEach(p -> linkDescriptions.remove(new Provided<>(linkKey, p)));
             linkProviders.remove(linkKey);
@@ -470,8 +486,30 @@ public class ECLinkStore
         return null;
     }
 
-    private Set<Link> filter(Collection<Link> links, Predicate<Link> predicate) {
-        return links.stream().filter(predicate).collect(Collectors.toSet());
+    // Adds the link to the secondary indexes; must be invoked from within
+    // a compute on the links map so that the indexes follow its ordering.
+    private void indexLink(LinkKey key, Link link) {
+        srcDeviceIndex.put(key, link);
+        dstDeviceIndex.put(key, link);
+        srcIndex.put(key, link);
+        dstIndex.put(key, link);
+    }
+
+    // Removes the link from the secondary indexes; same constraints apply
+    // as for indexLink.
+    private void unindexLink(LinkKey key, Link link) {
+        srcDeviceIndex.remove(key, link);
+        dstDeviceIndex.remove(key, link);
+        srcIndex.remove(key, link);
+        dstIndex.remove(key, link);
+    }
+
+    private void clearLinks() {
+        links.clear();
+        srcDeviceIndex.clear();
+        dstDeviceIndex.clear();
+        srcIndex.clear();
+        dstIndex.clear();
     }
 
     private LinkEvent injectLink(Provided<LinkDescription> linkInjectRequest) {
@@ -518,7 +556,7 @@ public class ECLinkStore
                     linkDescriptions.clear();
                 }
                 if (links != null) {
-                    links.clear();
+                    clearLinks();
                 }
             }
             log.debug("config set link discovery mode to {}",
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.link.impl;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import org.onosproject.net.Link;
+import org.onosproject.net.LinkKey;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Secondary index of links by an attribute of their end-points, such as the
+ * source device or the destination connect point.
+ *
+ * @param <K> index key type
+ */
+final class LinkIndex<K> {
+
+    private final Function<Link, K> keyFunction;
+    private final Map<K, Map<LinkKey, Link>> index = Maps.newConcurrentMap();
+
+    /**
+     * Creates a new index using the given function to extract the index key.
+     *
+     * @param keyFunction index key function
+     */
+    LinkIndex(Function<Link, K> keyFunction) {
+        this.keyFunction = keyFunction;
+    }
+
+    /**
+     * Adds or replaces the link stored under the given link key.
+     *
+     * @param linkKey link key
+     * @param link    link
+     */
+    void put(LinkKey linkKey, Link link) {
+        index.compute(keyFunction.apply(link), (k, links) -> {
+            if (links == null) {
+                links = Maps.newConcurrentMap();
+            }
+            links.put(linkKey, link);
+            return links;
+        });
+    }
+
+    /**
+     * Removes the given link stored under the given link key.
+     *
+     * @param linkKey link key
+     * @param link    link
+     */
+    void remove(LinkKey linkKey, Link link) {
+        index.computeIfPresent(keyFunction.apply(link), (k, links) -> {
+            links.remove(linkKey);
+            return links.isEmpty() ? null : links;
+        });
+    }
+
+    /**
+     * Removes all links from the index.
+     */
+    void clear() {
+        index.clear();
+    }
+
+    /**
+     * Returns a snapshot of the links with the given index key.
+     *
+     * @param key index key
+     * @return set of links
+     */
+    Set<Link> get(K key) {
+        Map<LinkKey, Link> links = index.get(key);
+        return links == null ? ImmutableSet.of() : ImmutableSet.copyOf(links.values());
+    }
+}
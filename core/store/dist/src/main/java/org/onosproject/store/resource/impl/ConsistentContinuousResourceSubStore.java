@@ -25,6 +25,7 @@ import org.onosproject.net.resource.Resource;
 import org.onosproject.net.resource.ResourceAllocation;
 import org.onosproject.net.resource.ResourceConsumerId;
 import org.onosproject.store.service.ConsistentMap;
+import org.onosproject.store.service.ConsistentMapBuilder;
 import org.onosproject.store.service.StorageException;
 import org.onosproject.store.service.StorageService;
 import org.onosproject.store.service.TransactionContext;
@@ -47,16 +48,29 @@ class ConsistentContinuousResourceSubStore implements ConsistentResourceSubStore
     private ConsistentMap<ContinuousResourceId, ContinuousResourceAllocation> consumers;
     private ConsistentMap<DiscreteResourceId, Set<ContinuousResource>> childMap;
 
+    /**
+     * Creates a substore backed by the consistent maps.
+     *
+     * @param service storage service
+     * @param cached  whether reads are served from a local cache, kept up
+     *                to date by the map events
+     */
     @SuppressWarnings("ReturnValueIgnored")
-    ConsistentContinuousResourceSubStore(StorageService service) {
-        this.consumers = service.<ContinuousResourceId, ContinuousResourceAllocation>consistentMapBuilder()
-                .withName(MapNames.CONTINUOUS_CONSUMER_MAP)
-                .withSerializer(SERIALIZER)
-                .build();
-        this.childMap = service.<DiscreteResourceId, Set<ContinuousResource>>consistentMapBuilder()
-                .withName(MapNames.CONTINUOUS_CHILD_MAP)
-                .withSerializer(SERIALIZER)
-                .build();
+    ConsistentContinuousResourceSubStore(StorageService service, boolean cached) {
+        ConsistentMapBuilder<ContinuousResourceId, ContinuousResourceAllocation> consumersBuilder =
+                service.<ContinuousResourceId, ContinuousResourceAllocation>consistentMapBuilder()
+                        .withName(MapNames.CONTINUOUS_CONSUMER_MAP)
+                        .withSerializer(SERIALIZER);
+        ConsistentMapBuilder<DiscreteResourceId, Set<ContinuousResource>> childMapBuilder =
+                service.<DiscreteResourceId, Set<ContinuousResource>>consistentMapBuilder()
+                        .withName(MapNames.CONTINUOUS_CHILD_MAP)
+                        .withSerializer(SERIALIZER);
+        if (cached) {
+            consumersBuilder.withRelaxedReadConsistency();
+            childMapBuilder.withRelaxedReadConsistency();
+        }
+        this.consumers = consumersBuilder.build();
+        this.childMap = childMapBuilder.build();
 
         Tools.retryable(
                 () -> childMap.putIfAbsent(Resource.ROOT.id(), new LinkedHashSet<>()),
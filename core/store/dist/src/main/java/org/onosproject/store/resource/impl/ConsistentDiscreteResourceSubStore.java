@@ -25,6 +25,7 @@ import org.onosproject.net.resource.ResourceAllocation;
 import org.onosproject.net.resource.ResourceConsumerId;
 import org.onosproject.net.resource.Resources;
 import org.onosproject.store.service.ConsistentMap;
+import org.onosproject.store.service.ConsistentMapBuilder;
 import org.onosproject.store.service.StorageException;
 import org.onosproject.store.service.StorageService;
 import org.onosproject.store.service.TransactionContext;
@@ -45,16 +46,29 @@ class ConsistentDiscreteResourceSubStore implements ConsistentResourceSubStore
     private ConsistentMap<DiscreteResourceId, ResourceConsumerId> consumers;
     private ConsistentMap<DiscreteResourceId, DiscreteResources> childMap;
 
+    /**
+     * Creates a substore backed by the consistent maps.
+     *
+     * @param service storage service
+     * @param cached  whether reads are served from a local cache, kept up
+     *                to date by the map events
+     */
     @SuppressWarnings("ReturnValueIgnored")
-    ConsistentDiscreteResourceSubStore(StorageService service) {
-        this.consumers = service.<DiscreteResourceId, ResourceConsumerId>consistentMapBuilder()
-                .withName(MapNames.DISCRETE_CONSUMER_MAP)
-                .withSerializer(SERIALIZER)
-                .build();
-        this.childMap = service.<DiscreteResourceId, DiscreteResources>consistentMapBuilder()
-                .withName(MapNames.DISCRETE_CHILD_MAP)
-                .withSerializer(SERIALIZER)
-                .build();
+    ConsistentDiscreteResourceSubStore(StorageService service, boolean cached) {
+        ConsistentMapBuilder<DiscreteResourceId, ResourceConsumerId> consumersBuilder =
+                service.<DiscreteResourceId, ResourceConsumerId>consistentMapBuilder()
+                        .withName(MapNames.DISCRETE_CONSUMER_MAP)
+                        .withSerializer(SERIALIZER);
+        ConsistentMapBuilder<DiscreteResourceId, DiscreteResources> childMapBuilder =
+                service.<DiscreteResourceId, DiscreteResources>consistentMapBuilder()
+                        .withName(MapNames.DISCRETE_CHILD_MAP)
+                        .withSerializer(SERIALIZER);
+        if (cached) {
+            consumersBuilder.withRelaxedReadConsistency();
+            childMapBuilder.withRelaxedReadConsistency();
+        }
+        this.consumers = consumersBuilder.build();
+        this.childMap = childMapBuilder.build();
 
         Tools.retryable(
                 () -> childMap.putIfAbsent(Resource.ROOT.id(), DiscreteResources.empty()),
@@ -19,6 +19,7 @@ import com.google.common.annotations.Beta;
 import com.google.common.collect.ImmutableSet;
 import org.onlab.util.KryoNamespace;
 import org.onlab.util.Tools;
+import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.net.resource.ContinuousResource;
 import org.onosproject.net.resource.ContinuousResourceId;
 import org.onosproject.net.resource.DiscreteResource;
@@ -39,8 +40,11 @@ import org.onosproject.store.service.DistributedPrimitive;
 import org.onosproject.store.service.Serializer;
 import org.onosproject.store.service.StorageService;
 import org.onosproject.store.service.TransactionContext;
+import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.slf4j.Logger;
@@ -63,13 +67,22 @@ import java.util.stream.Stream;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.stream.Collectors.groupingBy;
+import static org.onlab.util.Tools.isPropertyEnabled;
 import static org.onosproject.net.resource.ResourceEvent.Type.RESOURCE_ADDED;
 import static org.onosproject.net.resource.ResourceEvent.Type.RESOURCE_REMOVED;
+import static org.onosproject.store.OsgiPropertyConstants.CACHE_RESOURCES;
+import static org.onosproject.store.OsgiPropertyConstants.CACHE_RESOURCES_DEFAULT;
 
 /**
  * Implementation of ResourceStore using TransactionalMap.
  */
-@Component(immediate = true, service = ResourceStore.class)
+@Component(
+        immediate = true,
+        service = ResourceStore.class,
+        property = {
+                CACHE_RESOURCES + ":Boolean=" + CACHE_RESOURCES_DEFAULT
+        }
+)
 @Beta
 public class ConsistentResourceStore extends AbstractStore<ResourceEvent, ResourceStoreDelegate>
         implements ResourceStore {
@@ -91,15 +104,51 @@ public class ConsistentResourceStore extends AbstractStore<ResourceEvent, Resour
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected StorageService service;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected ComponentConfigService configService;
+
+    /** Serve resource queries from a local cache of the resource maps; applied on activation only. */
+    private boolean cacheResources = CACHE_RESOURCES_DEFAULT;
+
     private ConsistentDiscreteResourceSubStore discreteStore;
     private ConsistentContinuousResourceSubStore continuousStore;
 
     @Activate
-    public void activate() {
-        discreteStore = new ConsistentDiscreteResourceSubStore(service);
-        continuousStore = new ConsistentContinuousResourceSubStore(service);
+    public void activate(ComponentContext context) {
+        configService.registerProperties(getClass());
+        cacheResources = isCacheEnabled(context);
+        discreteStore = new ConsistentDiscreteResourceSubStore(service, cacheResources);
+        continuousStore = new ConsistentContinuousResourceSubStore(service, cacheResources);
+
+        log.info("Started with cacheResources={}", cacheResources);
+    }
+
+    @Deactivate
+    public void deactivate() {
+        configService.unregisterProperties(getClass(), false);
+        log.info("Stopped");
+    }
 
-        log.info("Started");
+    @Modified
+    public void modified(ComponentContext context) {
+        // The sub-stores hold on to the map handles built for the setting
+        // read on activation, so a change only applies after a restart.
+        boolean newCacheResources = isCacheEnabled(context);
+        if (newCacheResources != cacheResources) {
+            log.info("cacheResources={} will take effect on the next activation", newCacheResources);
+        }
+    }
+
+    private static boolean isCacheEnabled(ComponentContext context) {
+        if (context == null) {
+            return CACHE_RESOURCES_DEFAULT;
+        }
+        return isPropertyEnabled(context.getProperties(), CACHE_RESOURCES, CACHE_RESOURCES_DEFAULT);
+    }
+
+    @Override
+    public boolean isCachingResources() {
+        return cacheResources;
     }
 
     // Computational complexity: O(1) if the resource is discrete type.
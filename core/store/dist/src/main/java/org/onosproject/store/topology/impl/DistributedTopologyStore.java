@@ -70,8 +70,11 @@ import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static org.onlab.util.Tools.get;
+import static org.onlab.util.Tools.isPropertyEnabled;
 import static org.onlab.util.Tools.isNullOrEmpty;
 import static org.onosproject.net.topology.TopologyEvent.Type.TOPOLOGY_CHANGED;
+import static org.onosproject.store.OsgiPropertyConstants.INCREMENTAL_TOPOLOGY;
+import static org.onosproject.store.OsgiPropertyConstants.INCREMENTAL_TOPOLOGY_DEFAULT;
 import static org.onosproject.store.OsgiPropertyConstants.LINK_WEIGHT_FUNCTION;
 import static org.onosproject.store.OsgiPropertyConstants.LINK_WEIGHT_FUNCTION_DEFAULT;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -89,7 +92,8 @@ import static org.slf4j.LoggerFactory.getLogger;
                 TopologyStore.class, PathAdminService.class
         },
         property = {
-                LINK_WEIGHT_FUNCTION + "=" + LINK_WEIGHT_FUNCTION_DEFAULT
+                LINK_WEIGHT_FUNCTION + "=" + LINK_WEIGHT_FUNCTION_DEFAULT,
+                INCREMENTAL_TOPOLOGY + ":Boolean=" + INCREMENTAL_TOPOLOGY_DEFAULT
         }
 )
 public class DistributedTopologyStore
@@ -98,7 +102,7 @@ public class DistributedTopologyStore
 
     private final Logger log = getLogger(getClass());
 
-    private static final String FORMAT = "Settings: linkWeightFunction={}";
+    private static final String FORMAT = "Settings: linkWeightFunction={}, incrementalTopology={}";
 
     private volatile DefaultTopology current =
             new DefaultTopology(ProviderId.NONE,
@@ -128,6 +132,9 @@ public class DistributedTopologyStore
     /** Default link-weight function: hopCount, linkMetric, geoDistance. */
     private String linkWeightFunction = LINK_WEIGHT_FUNCTION_DEFAULT;
 
+    /** Derive each topology from the previous one, recomputing only affected clusters. */
+    private boolean incrementalTopology = INCREMENTAL_TOPOLOGY_DEFAULT;
+
     // Cluster root to broadcast points bindings to allow convergence to
     // a shared broadcast tree; node that is the master of the cluster root
     // is the primary.
@@ -174,7 +181,9 @@ public class DistributedTopologyStore
                             new GeoDistanceLinkWeight(deviceService) : null;
             setDefaultLinkWeigher(weight);
         }
-        log.info(FORMAT, linkWeightFunction);
+        incrementalTopology = isPropertyEnabled(properties, INCREMENTAL_TOPOLOGY,
+                                                INCREMENTAL_TOPOLOGY_DEFAULT);
+        log.info(FORMAT, linkWeightFunction, incrementalTopology);
     }
 
     @Override
@@ -295,10 +304,17 @@ public class DistributedTopologyStore
     public TopologyEvent updateTopology(ProviderId providerId,
                                         GraphDescription graphDescription,
                                         List<Event> reasons) {
-        // Have the default topology construct self from the description data.
+        // Have the default topology construct self from the description data,
+        // or from the changes to the current topology in incremental mode.
         DefaultTopology newTopology =
-                new DefaultTopology(providerId, graphDescription, this::isBroadcastPoint);
+                new DefaultTopology(providerId, graphDescription, this::isBroadcastPoint,
+                                    incrementalTopology ? current : null);
         updateBroadcastPoints(newTopology);
+        if (incrementalTopology) {
+            log.debug("Applied {} mutations; recomputed {} of {} clusters in {} ns",
+                      newTopology.mutationCount(), newTopology.recomputedClusterCount(),
+                      newTopology.clusterCount(), newTopology.computeCost());
+        }
 
         // Promote the new topology to current and return a ready-to-send event.
         synchronized (this) {
@@ -322,8 +338,11 @@ public class DistributedTopologyStore
         topology.getClusters().forEach(c -> {
             toRemove.remove(c.root().deviceId());
             if (mastershipService.isLocalMaster(c.root().deviceId())) {
-                broadcastPoints.put(c.root().deviceId(),
-                                    topology.broadcastPoints(c.id()));
+                // Skip trees that are unchanged to avoid needless replication.
+                Set<ConnectPoint> points = topology.broadcastPoints(c.id());
+                if (!points.equals(broadcastPoints.get(c.root().deviceId()))) {
+                    broadcastPoints.put(c.root().deviceId(), points);
+                }
             }
         });
 
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.cluster.messaging.impl;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Test;
+import org.onlab.packet.IpAddress;
+import org.onosproject.store.cluster.messaging.Endpoint;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the message coalescer.
+ */
+public class MessageCoalescerTest {
+
+    private static final Endpoint EP1 = new Endpoint(IpAddress.valueOf("10.0.0.1"), 9876);
+    private static final Endpoint EP2 = new Endpoint(IpAddress.valueOf("10.0.0.2"), 9876);
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final List<Sent> sent = Lists.newCopyOnWriteArrayList();
+    private final CompletableFuture<Void> sendFuture = new CompletableFuture<>();
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private MessageCoalescer coalescer(int compressionThreshold) {
+        // Long window, so that frames are only sent on flush
+        return new MessageCoalescer(60_000_000, compressionThreshold, (ep, type, payload) -> {
+            sent.add(new Sent(ep, type, payload));
+            return sendFuture;
+        }, scheduler);
+    }
+
+    /**
+     * Tests that messages to the same node share a frame.
+     */
+    @Test
+    public void coalesce() {
+        MessageCoalescer coalescer = coalescer(0);
+        CompletableFuture<Void> first = coalescer.send(EP1, "a", new byte[]{1});
+        coalescer.send(EP1, "b", new byte[]{2, 3});
+        coalescer.send(EP2, "a", new byte[]{4});
+        coalescer.send(EP1, "a", new byte[0]);
+        assertTrue(sent.isEmpty());
+
+        coalescer.flush();
+        assertEquals(2, sent.size());
+        // A lone message is framed too, to stay in order with the frames
+        Sent lone = sent.stream().filter(s -> s.ep.equals(EP2)).findFirst().get();
+        assertEquals(MessageCoalescer.FRAME_TYPE, lone.type);
+        List<Sent> unpackedLone = Lists.newArrayList();
+        MessageCoalescer.decode(lone.payload, (type, payload) -> unpackedLone.add(new Sent(EP2, type, payload)));
+        assertEquals(Arrays.asList(new Sent(EP2, "a", new byte[]{4})), unpackedLone);
+
+        Sent frame = sent.stream().filter(s -> s.ep.equals(EP1)).findFirst().get();
+        assertEquals(MessageCoalescer.FRAME_TYPE, frame.type);
+        List<Sent> unpacked = Lists.newArrayList();
+        MessageCoalescer.decode(frame.payload, (type, payload) -> unpacked.add(new Sent(EP1, type, payload)));
+        assertEquals(Arrays.asList(new Sent(EP1, "a", new byte[]{1}), new Sent(EP1, "b", new byte[]{2, 3}),
+                                   new Sent(EP1, "a", new byte[0])), unpacked);
+
+        assertFalse(first.isDone());
+        sendFuture.complete(null);
+        assertTrue(first.isDone());
+    }
+
+    /**
+     * Tests that large frames are compressed.
+     */
+    @Test
+    public void compress() {
+        MessageCoalescer coalescer = coalescer(1024);
+        byte[] payload = new byte[4096];
+        Arrays.fill(payload, (byte) 7);
+        coalescer.send(EP1, "a", payload);
+        coalescer.flush();
+
+        assertEquals(1, sent.size());
+        assertEquals(MessageCoalescer.FRAME_TYPE, sent.get(0).type);
+        assertTrue(sent.get(0).payload.length < payload.length);
+        List<byte[]> unpacked = Lists.newArrayList();
+        MessageCoalescer.decode(sent.get(0).payload, (type, bytes) -> unpacked.add(bytes));
+        assertEquals(1, unpacked.size());
+        assertArrayEquals(payload, unpacked.get(0));
+    }
+
+    private static final class Sent {
+        private final Endpoint ep;
+        private final String type;
+        private final byte[] payload;
+
+        private Sent(Endpoint ep, String type, byte[] payload) {
+            this.ep = ep;
+            this.type = type;
+            this.payload = payload;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Sent)) {
+                return false;
+            }
+            Sent that = (Sent) obj;
+            return ep.equals(that.ep) && type.equals(that.type) && Arrays.equals(payload, that.payload);
+        }
+
+        @Override
+        public int hashCode() {
+            return type.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return type + Arrays.toString(payload);
+        }
+    }
+}
@@ -27,7 +27,9 @@ import org.onosproject.cfg.ComponentConfigAdapter;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.ControllerNode;
+import org.onosproject.core.ApplicationId;
 import org.onosproject.core.CoreServiceAdapter;
+import org.onosproject.core.DefaultApplicationId;
 import org.onosproject.mastership.MastershipInfo;
 import org.onosproject.mastership.MastershipServiceAdapter;
 import org.onosproject.net.device.DeviceServiceAdapter;
@@ -59,6 +61,7 @@ import static org.easymock.EasyMock.createMock;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.replay;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.emptyIterable;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
@@ -310,4 +313,58 @@ public class ECFlowRuleStoreTest {
         }
         assertThat(sum3, is(0));
     }
+
+    /**
+     * Tests flow lookups by application and by application group.
+     */
+    @Test
+    public void testFlowEntriesByAppAndGroup() {
+        ApplicationId appId1 = new DefaultApplicationId(1, "app1");
+        ApplicationId appId2 = new DefaultApplicationId(2, "app2");
+        FlowRule rule1 = DefaultFlowRule.builder()
+                .forDevice(deviceId)
+                .withSelector(SELECTOR)
+                .withTreatment(TREATMENT)
+                .withPriority(10)
+                .makePermanent()
+                .fromApp(appId1)
+                .build();
+        FlowRule rule2 = DefaultFlowRule.builder()
+                .forDevice(deviceId)
+                .withSelector(SELECTOR)
+                .withTreatment(TREATMENT)
+                .withPriority(20)
+                .makePermanent()
+                .fromApp(appId1)
+                .build();
+        FlowRule rule3 = DefaultFlowRule.builder()
+                .forDevice(deviceId)
+                .withSelector(SELECTOR)
+                .withTreatment(TREATMENT)
+                .withPriority(30)
+                .makePermanent()
+                .fromApp(appId2)
+                .build();
+        FlowEntry entry1 = new DefaultFlowEntry(rule1);
+        FlowEntry entry2 = new DefaultFlowEntry(rule2);
+        FlowEntry entry3 = new DefaultFlowEntry(rule3);
+        flowStoreImpl.addOrUpdateFlowRule(entry1);
+        flowStoreImpl.addOrUpdateFlowRule(entry2);
+        flowStoreImpl.addOrUpdateFlowRule(entry3);
+
+        assertThat(flowStoreImpl.getFlowEntriesByAppId(deviceId, appId1), containsInAnyOrder(entry1, entry2));
+        assertThat(flowStoreImpl.getFlowEntriesByAppId(deviceId, appId2), containsInAnyOrder(entry3));
+        assertThat(flowStoreImpl.getFlowEntriesByGroupId(deviceId, appId1, (short) 0),
+                   containsInAnyOrder(entry1, entry2));
+        assertThat(flowStoreImpl.getFlowEntriesByGroupId(deviceId, appId1, (short) 1), is(emptyIterable()));
+
+        flowStoreImpl.removeFlowRule(entry1);
+        assertThat(flowStoreImpl.getFlowEntriesByAppId(deviceId, appId1), containsInAnyOrder(entry2));
+        assertThat(flowStoreImpl.getFlowEntriesByGroupId(deviceId, appId1, (short) 0),
+                   containsInAnyOrder(entry2));
+
+        flowStoreImpl.purgeFlowRule(deviceId);
+        assertThat(flowStoreImpl.getFlowEntriesByAppId(deviceId, appId1), is(emptyIterable()));
+        assertThat(flowStoreImpl.getFlowEntriesByAppId(deviceId, appId2), is(emptyIterable()));
+    }
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.group.impl;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Unit tests for the group id allocator.
+ */
+public class GroupIdAllocatorTest {
+
+    private final GroupIdAllocator allocator = new GroupIdAllocator();
+
+    /**
+     * Tests that ids are allocated in order, skipping the reserved ones.
+     */
+    @Test
+    public void allocateInOrder() {
+        allocator.reserve(2);
+        allocator.reserve(0);
+        allocator.reserve(-5);
+
+        assertThat(allocator.allocate(id -> false), is(1));
+        assertThat(allocator.allocate(id -> false), is(3));
+        assertThat(allocator.allocate(id -> id == 4), is(5));
+        assertThat(allocator.size(), is(5));
+    }
+
+    /**
+     * Tests that released ids are not reused right away.
+     */
+    @Test
+    public void release() {
+        assertThat(allocator.allocate(id -> false), is(1));
+        assertThat(allocator.allocate(id -> false), is(2));
+        allocator.release(1);
+        allocator.release(GroupIdAllocator.LAST_ID);
+        assertThat(allocator.size(), is(1));
+        assertThat(allocator.allocate(id -> false), is(3));
+    }
+
+    /**
+     * Tests allocation once a large range of ids is in use.
+     */
+    @Test
+    public void allocateWhenFull() {
+        int count = 200_000;
+        for (int id = GroupIdAllocator.FIRST_ID; id <= count; id++) {
+            allocator.reserve(id);
+        }
+        assertThat(allocator.allocate(id -> false), is(count + 1));
+
+        allocator.release(70_000);
+        allocator.release(70_000);
+        assertThat(allocator.size(), is(count));
+        assertThat(allocator.allocate(id -> false), is(count + 2));
+    }
+}
@@ -420,6 +420,35 @@ public class DistributedHostStoreTest {
                 ecXHostStore.getConnectedHosts(HOST_LOC12, true));
     }
 
+    @Test
+    public void testIndexesFollowRemoteUpdates() {
+        // Host learnt on two locations
+        ecXHostStore.hostLocationTracker.event(new MapEvent<>("event", HOSTID,
+                new Versioned<>(HOST3, 0), null));
+        assertEquals(ImmutableSet.of(HOST3), ecXHostStore.getHosts(HOSTID.mac()));
+        assertEquals(ImmutableSet.of(HOST3), ecXHostStore.getHosts(HOSTID.vlanId()));
+        assertEquals(ImmutableSet.of(HOST3), ecXHostStore.getConnectedHosts(CP12));
+        assertEquals(ImmutableSet.of(HOST3), ecXHostStore.getConnectedHosts(DEV1));
+
+        // Second location turns into an aux location
+        ecXHostStore.hostLocationTracker.event(new MapEvent<>("event", HOSTID,
+                new Versioned<>(HOST4, 1), new Versioned<>(HOST3, 0)));
+        assertEquals(ImmutableSet.of(HOST4), ecXHostStore.getConnectedHosts(CP11));
+        assertTrue(ecXHostStore.getConnectedHosts(CP12).isEmpty());
+        assertEquals(ImmutableSet.of(HOST4), ecXHostStore.getConnectedHosts(CP12, true));
+        assertEquals(ImmutableSet.of(HOST4), ecXHostStore.getHosts(HOSTID.mac()));
+
+        // Host removed
+        ecXHostStore.hostLocationTracker.event(new MapEvent<>("event", HOSTID,
+                null, new Versioned<>(HOST4, 1)));
+        assertTrue(ecXHostStore.getHosts(HOSTID.mac()).isEmpty());
+        assertTrue(ecXHostStore.getHosts(HOSTID.vlanId()).isEmpty());
+        assertTrue(ecXHostStore.getHosts(IP1).isEmpty());
+        assertTrue(ecXHostStore.getConnectedHosts(CP11).isEmpty());
+        assertTrue(ecXHostStore.getConnectedHosts(CP12, true).isEmpty());
+        assertTrue(ecXHostStore.getConnectedHosts(DEV1).isEmpty());
+    }
+
     private class TestStoreDelegate implements HostStoreDelegate {
         public HostEvent lastEvent;
 
@@ -453,6 +453,30 @@ public class ECLinkStoreTest {
         assertAnnotationsEquals(linkStore.getLink(d1P1, d2P2).annotations());
     }
 
+    @Test
+    public final void testIndexesFollowUpdatesAndRemoval() {
+        final ConnectPoint d1P1 = new ConnectPoint(DID1, P1);
+        final ConnectPoint d2P2 = new ConnectPoint(DID2, P2);
+        LinkKey linkId1 = LinkKey.linkKey(d1P1, d2P2);
+
+        putLink(linkId1, INDIRECT);
+        putLink(linkId1, DIRECT, A1);
+
+        Set<Link> egress = linkStore.getEgressLinks(d1P1);
+        assertEquals(1, egress.size());
+        assertLink(linkId1, DIRECT, egress.iterator().next());
+        assertTrue(egress.contains(linkStore.getLink(d1P1, d2P2)));
+        assertEquals(egress, linkStore.getDeviceEgressLinks(DID1));
+        assertEquals(egress, linkStore.getIngressLinks(d2P2));
+        assertEquals(egress, linkStore.getDeviceIngressLinks(DID2));
+
+        linkStore.removeLink(d1P1, d2P2);
+        assertTrue(linkStore.getEgressLinks(d1P1).isEmpty());
+        assertTrue(linkStore.getIngressLinks(d2P2).isEmpty());
+        assertTrue(linkStore.getDeviceEgressLinks(DID1).isEmpty());
+        assertTrue(linkStore.getDeviceIngressLinks(DID2).isEmpty());
+    }
+
     @Test
     public final void testAncillaryVisible() {
         ConnectPoint src = new ConnectPoint(DID1, P1);
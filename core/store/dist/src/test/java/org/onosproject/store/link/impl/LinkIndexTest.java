@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.link.impl;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+import org.onosproject.net.ConnectPoint;
+import org.onosproject.net.DefaultLink;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.Link;
+import org.onosproject.net.LinkKey;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.provider.ProviderId;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.onosproject.net.DeviceId.deviceId;
+
+/**
+ * Tests of the secondary link index.
+ */
+public class LinkIndexTest {
+
+    private static final ProviderId PID = new ProviderId("of", "foo");
+    private static final DeviceId DID1 = deviceId("of:foo");
+    private static final DeviceId DID2 = deviceId("of:bar");
+    private static final ConnectPoint D1P1 = new ConnectPoint(DID1, PortNumber.portNumber(1));
+    private static final ConnectPoint D1P2 = new ConnectPoint(DID1, PortNumber.portNumber(2));
+    private static final ConnectPoint D2P1 = new ConnectPoint(DID2, PortNumber.portNumber(1));
+
+    private final LinkIndex<DeviceId> index = new LinkIndex<>(link -> link.src().deviceId());
+
+    private static Link link(ConnectPoint src, ConnectPoint dst, Link.Type type) {
+        return DefaultLink.builder()
+                .providerId(PID)
+                .src(src)
+                .dst(dst)
+                .type(type)
+                .build();
+    }
+
+    private void put(Link link) {
+        index.put(LinkKey.linkKey(link), link);
+    }
+
+    private void remove(Link link) {
+        index.remove(LinkKey.linkKey(link), link);
+    }
+
+    @Test
+    public void putAndRemove() {
+        Link link1 = link(D1P1, D2P1, Link.Type.DIRECT);
+        Link link2 = link(D1P2, D2P1, Link.Type.DIRECT);
+        put(link1);
+        put(link2);
+        assertEquals(ImmutableSet.of(link1, link2), index.get(DID1));
+        assertTrue(index.get(DID2).isEmpty());
+
+        Link updated = link(D1P1, D2P1, Link.Type.INDIRECT);
+        put(updated);
+        assertEquals(2, index.get(DID1).size());
+        assertTrue(index.get(DID1).stream().anyMatch(l -> l.type() == Link.Type.INDIRECT));
+
+        remove(updated);
+        remove(link2);
+        assertTrue(index.get(DID1).isEmpty());
+    }
+
+    @Test
+    public void reAddAfterRemoval() {
+        Link link = link(D1P1, D2P1, Link.Type.DIRECT);
+        put(link);
+        Set<Link> before = index.get(DID1);
+
+        remove(link);
+        assertTrue(index.get(DID1).isEmpty());
+
+        Link readded = link(D1P1, D2P1, Link.Type.INDIRECT);
+        put(readded);
+        Set<Link> after = index.get(DID1);
+        assertEquals(1, after.size());
+        assertEquals(Link.Type.INDIRECT, after.iterator().next().type());
+
+        // sets handed out earlier are snapshots
+        assertEquals(1, before.size());
+        assertEquals(Link.Type.DIRECT, before.iterator().next().type());
+    }
+}
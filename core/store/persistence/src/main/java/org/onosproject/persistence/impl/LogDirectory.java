@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.persistence.impl;
+
+import org.slf4j.Logger;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Directory of the append-only logs backing persistent maps and sets, one
+ * log file per named structure.
+ */
+final class LogDirectory {
+
+    private static final String LOG_SUFFIX = ".log";
+
+    private final Logger log = getLogger(getClass());
+
+    private final Path path;
+
+    private final ConcurrentMap<String, LogStructure> structures = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a log directory rooted at the given existing directory.
+     *
+     * @param path directory path
+     */
+    LogDirectory(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Returns the structure with the given name, opening its log with the
+     * given factory if it is not open yet.
+     *
+     * @param name    prefixed structure name
+     * @param factory function opening the structure from its log file
+     * @param <T>     type of structure
+     * @return persistent structure
+     */
+    <T extends LogStructure> T open(String name, Function<Path, T> factory) {
+        return (T) structures.computeIfAbsent(name, n -> factory.apply(path.resolve(fileName(n))));
+    }
+
+    private static String fileName(String name) {
+        try {
+            return URLEncoder.encode(name, "UTF-8") + LOG_SUFFIX;
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Flushes all open logs, compacting those that have grown enough.
+     */
+    void sync() {
+        structures.forEach((name, structure) -> {
+            try {
+                structure.sync();
+            } catch (PersistenceException e) {
+                log.warn("Unable to sync persistent log of {}", name, e);
+            }
+        });
+    }
+
+    /**
+     * Closes all open logs, deleting those of empty structures.
+     */
+    void close() {
+        structures.values().forEach(structure -> {
+            if (structure.isEmpty()) {
+                structure.delete();
+            } else {
+                structure.close();
+            }
+        });
+        structures.clear();
+    }
+}
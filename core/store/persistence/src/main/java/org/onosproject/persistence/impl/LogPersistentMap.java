@@ -0,0 +1,233 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.persistence.impl;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
+import org.onosproject.store.service.Serializer;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A map implementation that keeps its entries in memory and writes every
+ * update through to a memory-mapped append-only log.
+ * <p>
+ * Reads never touch the log. On construction, the whole log is read in a
+ * single pass and its live entries are decoded in bulk. Values are expected
+ * to be immutable: updates returning the current value instance are not
+ * logged.
+ */
+public class LogPersistentMap<K, V> implements Map<K, V>, LogStructure {
+
+    private final Serializer serializer;
+
+    private final MappedLog log;
+
+    private final ConcurrentMap<K, V> items = new ConcurrentHashMap<>();
+
+    // Held shared by updates and exclusively by compaction, so that the
+    // compacted log reflects exactly the entries in memory
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public LogPersistentMap(Serializer serializer, Path path) {
+        this.serializer = checkNotNull(serializer);
+        this.log = new MappedLog(checkNotNull(path));
+        log.load().entrySet().parallelStream().forEach(e -> items.put(
+                serializer.decode(e.getKey().array()), serializer.decode(e.getValue())));
+    }
+
+    private V update(K key, BiFunction<? super K, ? super V, ? extends V> function) {
+        checkNotNull(key, "Key cannot be null.");
+        lock.readLock().lock();
+        try {
+            return items.compute(key, (k, v) -> {
+                V value = function.apply(k, v);
+                if (value != null && value != v) {
+                    log.append(serializer.encode(k), serializer.encode(value));
+                } else if (value == null && v != null) {
+                    log.append(serializer.encode(k), null);
+                }
+                return value;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void readInto(Map<K, V> items) {
+        items.putAll(this.items);
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        checkNotNull(key, "Key cannot be null.");
+        return items.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        checkNotNull(value, "Value cannot be null.");
+        return items.containsValue(value);
+    }
+
+    @Override
+    public V get(Object key) {
+        checkNotNull(key, "Key cannot be null.");
+        return items.get(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        checkNotNull(value, "Value cannot be null.");
+        Object[] previous = new Object[1];
+        update(key, (k, v) -> {
+            previous[0] = v;
+            return value;
+        });
+        return (V) previous[0];
+    }
+
+    @Override
+    public V remove(Object key) {
+        Object[] previous = new Object[1];
+        update((K) key, (k, v) -> {
+            previous[0] = v;
+            return null;
+        });
+        return (V) previous[0];
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        checkNotNull(m, "The passed in map cannot be null.");
+        m.forEach(this::put);
+    }
+
+    @Override
+    public void clear() {
+        items.keySet().forEach(this::remove);
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        checkNotNull(remappingFunction);
+        return update(key, remappingFunction);
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        checkNotNull(remappingFunction);
+        return update(key, (k, v) -> v == null ? null : remappingFunction.apply(k, v));
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        checkNotNull(mappingFunction);
+        V value = items.get(key);
+        return value != null ? value : update(key, (k, v) -> v != null ? v : mappingFunction.apply(k));
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        checkNotNull(value, "Value cannot be null.");
+        checkNotNull(remappingFunction);
+        return update(key, (k, v) -> v == null ? value : remappingFunction.apply(v, value));
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        items.forEach(action);
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return Collections.unmodifiableSet(items.keySet());
+    }
+
+    @Override
+    public Collection<V> values() {
+        return Collections.unmodifiableCollection(items.values());
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return Collections.unmodifiableSet(items.entrySet());
+    }
+
+    @Override
+    public void sync() {
+        if (!log.needsCompaction()) {
+            log.force();
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            log.rewrite(Iterables.transform(items.entrySet(), e -> Maps.immutableEntry(
+                    serializer.encode(e.getKey()), serializer.encode(e.getValue()))));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        log.close();
+    }
+
+    @Override
+    public void delete() {
+        log.delete();
+    }
+
+    @Override
+    public boolean equals(Object map) {
+        return map instanceof Map && items.equals(map);
+    }
+
+    @Override
+    public int hashCode() {
+        return items.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return items.toString();
+    }
+}
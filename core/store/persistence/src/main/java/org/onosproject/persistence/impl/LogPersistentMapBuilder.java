@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.persistence.impl;
+
+import org.onosproject.persistence.PersistentMapBuilder;
+import org.onosproject.store.service.Serializer;
+
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Builder for persistent maps stored in memory-mapped append-only logs via the persistence service.
+ */
+public class LogPersistentMapBuilder<K, V> implements PersistentMapBuilder<K, V> {
+
+    private final LogDirectory directory;
+
+    private String name = null;
+
+    private Serializer serializer = null;
+
+    LogPersistentMapBuilder(LogDirectory directory) {
+        this.directory = checkNotNull(directory, "The log directory cannot be null.");
+    }
+
+    public PersistentMapBuilder<K, V> withName(String name) {
+        this.name = PersistenceManager.MAP_PREFIX + checkNotNull(name);
+        return this;
+    }
+
+    public PersistentMapBuilder<K, V> withSerializer(Serializer serializer) {
+        checkArgument(this.serializer == null);
+        checkNotNull(serializer);
+        this.serializer = serializer;
+        return this;
+    }
+
+    public Map<K, V> build() {
+        checkNotNull(name, "The name must be assigned.");
+        checkNotNull(serializer, "The key serializer must be assigned.");
+
+        return directory.open(name, path -> new LogPersistentMap<K, V>(serializer, path));
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.persistence.impl;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
+import org.onosproject.store.service.Serializer;
+
+import java.nio.file.Path;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * A set implementation that keeps its items in memory and writes every
+ * update through to a memory-mapped append-only log.
+ */
+public class LogPersistentSet<E> extends AbstractSet<E> implements LogStructure {
+
+    private static final byte[] PRESENT = new byte[0];
+
+    private final Serializer serializer;
+
+    private final MappedLog log;
+
+    private final ConcurrentMap<E, Boolean> items = new ConcurrentHashMap<>();
+
+    // Held shared by updates and exclusively by compaction
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public LogPersistentSet(Serializer serializer, Path path) {
+        this.serializer = checkNotNull(serializer);
+        this.log = new MappedLog(checkNotNull(path));
+        log.load().keySet().parallelStream().forEach(
+                item -> items.put(serializer.decode(item.array()), Boolean.TRUE));
+    }
+
+    public void readInto(Set<E> items) {
+        items.addAll(this.items.keySet());
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        checkNotNull(o, "The argument cannot be null");
+        return items.containsKey(o);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        Iterator<E> iterator = items.keySet().iterator();
+        return new Iterator<E>() {
+            private E last;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public E next() {
+                last = iterator.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                checkState(last != null, "No item to remove.");
+                LogPersistentSet.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    @Override
+    public boolean add(E item) {
+        checkNotNull(item, "Item to be added cannot be null.");
+        boolean[] added = new boolean[1];
+        lock.readLock().lock();
+        try {
+            items.compute(item, (k, v) -> {
+                if (v == null) {
+                    log.append(serializer.encode(k), PRESENT);
+                    added[0] = true;
+                }
+                return Boolean.TRUE;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return added[0];
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        checkNotNull(o, "Item to be removed cannot be null.");
+        boolean[] removed = new boolean[1];
+        lock.readLock().lock();
+        try {
+            items.computeIfPresent((E) o, (k, v) -> {
+                log.append(serializer.encode(k), null);
+                removed[0] = true;
+                return null;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return removed[0];
+    }
+
+    @Override
+    public void clear() {
+        items.keySet().forEach(this::remove);
+    }
+
+    @Override
+    public void sync() {
+        if (!log.needsCompaction()) {
+            log.force();
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            log.rewrite(Iterables.transform(items.keySet(), item -> Maps.immutableEntry(
+                    serializer.encode(item), PRESENT)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        log.close();
+    }
+
+    @Override
+    public void delete() {
+        log.delete();
+    }
+}
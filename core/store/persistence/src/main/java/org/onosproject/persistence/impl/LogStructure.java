@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.persistence.impl;
+
+/**
+ * Persistent structure backed by a memory-mapped append-only log.
+ */
+interface LogStructure {
+
+    /**
+     * Returns whether the structure holds no entries.
+     *
+     * @return true if empty
+     */
+    boolean isEmpty();
+
+    /**
+     * Flushes the log to disk, compacting it first if it has grown enough.
+     */
+    void sync();
+
+    /**
+     * Flushes and closes the log.
+     */
+    void close();
+
+    /**
+     * Closes the log and deletes its file.
+     */
+    void delete();
+}
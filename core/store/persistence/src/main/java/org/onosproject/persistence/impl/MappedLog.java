@@ -0,0 +1,259 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.persistence.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Append-only log of key/value records kept in a memory-mapped file.
+ * <p>
+ * Each record holds the key length, the value length (or -1 for a removal),
+ * a checksum, and then the key and value bytes. The key length is written
+ * last, so that a record torn by a crash reads as the end of the log.
+ * Records are not overwritten in place; the log is instead rewritten with
+ * the live entries only once it has grown enough since it was last compacted.
+ */
+final class MappedLog {
+
+    private static final int MAGIC = 0x6f6e6f73;
+    private static final int HEADER_SIZE = Integer.BYTES;
+    private static final int RECORD_HEADER_SIZE = 3 * Integer.BYTES;
+    private static final int REMOVED = -1;
+
+    private static final int INITIAL_SIZE = 1 << 20;
+    private static final int MIN_COMPACTION_SIZE = 4 << 20;
+
+    private final Path path;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int position = HEADER_SIZE;
+    private int compactedSize = HEADER_SIZE;
+
+    /**
+     * Opens the log stored in the given file, creating it if needed.
+     *
+     * @param path log file
+     */
+    MappedLog(Path path) {
+        this.path = path;
+        try {
+            channel = FileChannel.open(path, CREATE, READ, WRITE);
+            boolean created = channel.size() == 0;
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                                 Math.max(channel.size(), INITIAL_SIZE));
+            if (created) {
+                buffer.putInt(0, MAGIC);
+            } else if (buffer.getInt(0) != MAGIC) {
+                channel.close();
+                throw new PersistenceException("Not a persistent log file: " + path);
+            }
+        } catch (IOException e) {
+            throw new PersistenceException("Unable to open persistent log " + path, e);
+        }
+    }
+
+    /**
+     * Reads the whole log in a single sequential pass and returns its live
+     * entries. Whatever follows the last valid record, such as the rest of a
+     * record torn by a crash, is cleared, and subsequent appends go after it.
+     *
+     * @return live entries keyed by their key bytes
+     */
+    synchronized Map<ByteBuffer, byte[]> load() {
+        Map<ByteBuffer, byte[]> entries = new HashMap<>();
+        ByteBuffer view = buffer.duplicate();
+        int pos = HEADER_SIZE;
+        while (pos + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int keyLength = buffer.getInt(pos);
+            int valueLength = buffer.getInt(pos + Integer.BYTES);
+            long end = (long) pos + RECORD_HEADER_SIZE + keyLength + Math.max(valueLength, 0);
+            if (keyLength <= 0 || valueLength < REMOVED || end > buffer.capacity()) {
+                break;
+            }
+            byte[] key = new byte[keyLength];
+            byte[] value = valueLength == REMOVED ? null : new byte[valueLength];
+            view.position(pos + RECORD_HEADER_SIZE);
+            view.get(key);
+            if (value != null) {
+                view.get(value);
+            }
+            if (buffer.getInt(pos + 2 * Integer.BYTES) != checksum(key, value)) {
+                break;
+            }
+            if (value == null) {
+                entries.remove(ByteBuffer.wrap(key));
+            } else {
+                entries.put(ByteBuffer.wrap(key), value);
+            }
+            pos = (int) end;
+        }
+        clearFrom(pos);
+        position = pos;
+        compactedSize = pos;
+        return entries;
+    }
+
+    // Zeroes the file from the given offset on, so that the remains of a torn
+    // record, or the valid records that followed it, are not read back after
+    // the records appended over them
+    private void clearFrom(int pos) {
+        boolean cleared = false;
+        for (int i = pos; i < buffer.capacity(); i++) {
+            if (buffer.get(i) != 0) {
+                buffer.put(i, (byte) 0);
+                cleared = true;
+            }
+        }
+        if (cleared) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Appends a record to the log.
+     *
+     * @param key   key bytes
+     * @param value value bytes; null to record the removal of the key
+     */
+    synchronized void append(byte[] key, byte[] value) {
+        int length = RECORD_HEADER_SIZE + key.length + (value == null ? 0 : value.length);
+        ensureCapacity(length);
+        ByteBuffer view = buffer.duplicate();
+        view.position(position + RECORD_HEADER_SIZE);
+        view.put(key);
+        if (value != null) {
+            view.put(value);
+        }
+        buffer.putInt(position + 2 * Integer.BYTES, checksum(key, value));
+        buffer.putInt(position + Integer.BYTES, value == null ? REMOVED : value.length);
+        buffer.putInt(position, key.length);
+        position += length;
+    }
+
+    private void ensureCapacity(int length) {
+        long required = (long) position + length;
+        if (required <= buffer.capacity()) {
+            return;
+        }
+        if (required > Integer.MAX_VALUE) {
+            throw new PersistenceException("Persistent log " + path + " is full");
+        }
+        long size = Math.min(Math.max(2L * buffer.capacity(), required), Integer.MAX_VALUE);
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new PersistenceException("Unable to grow persistent log " + path, e);
+        }
+    }
+
+    private static int checksum(byte[] key, byte[] value) {
+        CRC32 crc = new CRC32();
+        crc.update(key);
+        if (value != null) {
+            crc.update(value);
+        }
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Returns whether the log has at least doubled in size since it was last
+     * loaded or compacted.
+     *
+     * @return true if the log should be compacted
+     */
+    synchronized boolean needsCompaction() {
+        return position >= MIN_COMPACTION_SIZE && position >= 2L * compactedSize;
+    }
+
+    /**
+     * Replaces the content of the log with the given live entries. The new
+     * log is written aside and then atomically moved over the current one.
+     *
+     * @param entries live entries, as key and value bytes
+     */
+    synchronized void rewrite(Iterable<Map.Entry<byte[], byte[]>> entries) {
+        Path compactedPath = path.resolveSibling(path.getFileName() + ".compact");
+        try {
+            Files.deleteIfExists(compactedPath);
+            MappedLog compacted = new MappedLog(compactedPath);
+            entries.forEach(e -> compacted.append(e.getKey(), e.getValue()));
+            compacted.buffer.force();
+            Files.move(compactedPath, path, ATOMIC_MOVE);
+            channel.close();
+            channel = compacted.channel;
+            buffer = compacted.buffer;
+            position = compacted.position;
+            compactedSize = position;
+        } catch (IOException e) {
+            throw new PersistenceException("Unable to compact persistent log " + path, e);
+        }
+    }
+
+    /**
+     * Returns the size in bytes of the records of the log.
+     *
+     * @return log size
+     */
+    synchronized int size() {
+        return position;
+    }
+
+    /**
+     * Flushes the records appended so far to the storage device.
+     */
+    synchronized void force() {
+        buffer.force();
+    }
+
+    /**
+     * Flushes and closes the log.
+     */
+    synchronized void close() {
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            throw new PersistenceException("Unable to close persistent log " + path, e);
+        }
+    }
+
+    /**
+     * Closes the log and deletes its file.
+     */
+    synchronized void delete() {
+        try {
+            channel.close();
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new PersistenceException("Unable to delete persistent log " + path, e);
+        }
+    }
+}
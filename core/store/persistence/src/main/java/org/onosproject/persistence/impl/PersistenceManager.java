@@ -18,23 +18,36 @@ package org.onosproject.persistence.impl;
 
 import org.mapdb.DB;
 import org.mapdb.DBMaker;
+import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.persistence.PersistenceService;
 import org.onosproject.persistence.PersistentMapBuilder;
 import org.onosproject.persistence.PersistentSetBuilder;
+import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Dictionary;
 import java.util.Map;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 
+import static com.google.common.base.Strings.isNullOrEmpty;
+import static org.onlab.util.Tools.get;
+import static org.onosproject.persistence.impl.OsgiPropertyConstants.BACKEND;
+import static org.onosproject.persistence.impl.OsgiPropertyConstants.BACKEND_DEFAULT;
+import static org.onosproject.persistence.impl.OsgiPropertyConstants.BACKEND_LOG;
+import static org.onosproject.persistence.impl.OsgiPropertyConstants.BACKEND_MAPDB;
 import static org.onosproject.security.AppGuard.checkPermission;
 import static org.onosproject.security.AppPermission.Type.PERSISTENCE_WRITE;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -42,8 +55,18 @@ import static org.slf4j.LoggerFactory.getLogger;
 /**
  * Service that maintains local disk backed maps and sets.
  * This implementation automatically deletes empty structures on shutdown.
+ * <p>
+ * Structures are stored either in a MapDB database or, with the {@code log}
+ * backend, in memory-mapped append-only logs kept alongside it. The backend
+ * is chosen on activation only.
  */
-@Component(immediate = true, service = PersistenceService.class)
+@Component(
+    immediate = true,
+    service = PersistenceService.class,
+    property = {
+        BACKEND + "=" + BACKEND_DEFAULT
+    }
+)
 public class PersistenceManager implements PersistenceService {
 
     private static final String DATABASE_ROOT =
@@ -51,25 +74,67 @@ public class PersistenceManager implements PersistenceService {
 
     private static final String DATABASE_PATH = "cache";
 
+    private static final String LOG_PATH = "logs";
+
     static final String MAP_PREFIX = "map:";
     static final String SET_PREFIX = "set:";
 
     private final Logger log = getLogger(getClass());
 
+    // Optional, as the configuration service depends on the stores that use this service
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL,
+            bind = "bindComponentConfigService",
+            unbind = "unbindComponentConfigService",
+            policy = ReferencePolicy.DYNAMIC)
+    protected volatile ComponentConfigService cfgService;
+
+    /** Backend storing the structures, mapdb or log; applied on activation only. */
+    private String backend = BACKEND_DEFAULT;
+
     private DB localDB = null;
 
+    private LogDirectory logDirectory = null;
+
     private static final int FLUSH_FREQUENCY_MILLIS = 3000;
 
     private Timer timer;
 
     private final CommitTask commitTask = new CommitTask();
 
+    /**
+     * Hook for wiring optional reference to the component configuration service.
+     *
+     * @param service service being bound
+     */
+    protected void bindComponentConfigService(ComponentConfigService service) {
+        if (cfgService == null) {
+            cfgService = service;
+            service.registerProperties(getClass());
+        }
+    }
+
+    /**
+     * Hook for unwiring optional reference to the component configuration service.
+     *
+     * @param service service being withdrawn
+     */
+    protected void unbindComponentConfigService(ComponentConfigService service) {
+        if (cfgService == service) {
+            service.unregisterProperties(getClass(), false);
+            cfgService = null;
+        }
+    }
+
     @Activate
-    public void activate() {
+    public void activate(ComponentContext context) {
         timer = new Timer();
 
         File dbFolderPath = new File(DATABASE_ROOT);
         Path dbPath = dbFolderPath.toPath().resolve(DATABASE_PATH);
+        backend = backend(context);
+        if (BACKEND_LOG.equals(backend)) {
+            dbPath = dbFolderPath.toPath().resolve(LOG_PATH);
+        }
         log.debug("dbPath: {}", dbPath);
 
         //Make sure the directory exists, if it does not, make it.
@@ -90,17 +155,55 @@ public class PersistenceManager implements PersistenceService {
         } else {
             log.info("A previous database file has been found.");
         }
-        localDB = DBMaker.newFileDB(dbPath.toFile())
-                .asyncWriteEnable()
-                .closeOnJvmShutdown()
-                .make();
+        if (BACKEND_LOG.equals(backend)) {
+            try {
+                Files.createDirectories(dbPath);
+            } catch (IOException e) {
+                log.error("Could not create the required folder for the logs.");
+                throw new PersistenceException("Log folder could not be created.", e);
+            }
+            logDirectory = new LogDirectory(dbPath);
+        } else {
+            localDB = DBMaker.newFileDB(dbPath.toFile())
+                    .asyncWriteEnable()
+                    .closeOnJvmShutdown()
+                    .make();
+        }
         timer.schedule(commitTask, FLUSH_FREQUENCY_MILLIS, FLUSH_FREQUENCY_MILLIS);
-        log.info("Started");
+        log.info("Started with {} backend", backend);
+    }
+
+    private String backend(ComponentContext context) {
+        Dictionary<?, ?> properties = context != null ? context.getProperties() : null;
+        String backend = properties != null ? get(properties, BACKEND) : null;
+        if (isNullOrEmpty(backend)) {
+            return BACKEND_DEFAULT;
+        }
+        if (!BACKEND_LOG.equals(backend) && !BACKEND_MAPDB.equals(backend)) {
+            log.warn("Unknown persistence backend {}; using {}", backend, BACKEND_DEFAULT);
+            return BACKEND_DEFAULT;
+        }
+        return backend;
+    }
+
+    @Modified
+    public void modified(ComponentContext context) {
+        // The structures stay in the backend they were created in, so a
+        // change only applies after a restart.
+        String newBackend = backend(context);
+        if (!newBackend.equals(backend)) {
+            log.info("{} backend will be used from the next activation", newBackend);
+        }
     }
 
     @Deactivate
     public void deactivate() {
         timer.cancel();
+        if (logDirectory != null) {
+            logDirectory.close();
+            log.info("Stopped");
+            return;
+        }
         for (Map.Entry<String, Object> entry : localDB.getAll().entrySet()) {
             String key = entry.getKey();
             Object value = entry.getValue();
@@ -128,12 +231,18 @@ public class PersistenceManager implements PersistenceService {
     @Override
     public <K, V> PersistentMapBuilder<K, V> persistentMapBuilder() {
         checkPermission(PERSISTENCE_WRITE);
+        if (logDirectory != null) {
+            return new LogPersistentMapBuilder<>(logDirectory);
+        }
         return new DefaultPersistentMapBuilder<>(localDB);
     }
 
     @Override
     public <E> PersistentSetBuilder<E> persistentSetBuilder() {
         checkPermission(PERSISTENCE_WRITE);
+        if (logDirectory != null) {
+            return new LogPersistentSetBuilder<>(logDirectory);
+        }
         return new DefaultPersistentSetBuilder<>(localDB);
     }
 
@@ -141,6 +250,10 @@ public class PersistenceManager implements PersistenceService {
 
         @Override
         public void run() {
+            if (logDirectory != null) {
+                logDirectory.sync();
+                return;
+            }
             localDB.commit();
         }
     }
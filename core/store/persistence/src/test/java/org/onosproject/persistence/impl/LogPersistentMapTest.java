@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.persistence.impl;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.onosproject.store.service.Serializer;
+
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test suite for the log backed persistent map.
+ */
+public class LogPersistentMapTest {
+
+    /**
+     * Serializer of integers as their 4 bytes.
+     */
+    static final Serializer INTEGER_SERIALIZER = new Serializer() {
+        @Override
+        public <T> byte[] encode(T object) {
+            return ByteBuffer.allocate(Integer.BYTES).putInt((Integer) object).array();
+        }
+
+        @Override
+        public <T> T decode(byte[] bytes) {
+            return (T) Integer.valueOf(ByteBuffer.wrap(bytes).getInt());
+        }
+
+        @Override
+        public <T> T copy(T object) {
+            return object;
+        }
+    };
+
+    @Rule
+    public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+    private Path path;
+
+    private LogPersistentMap<Integer, Integer> map = null;
+
+    @Before
+    public void setUp() throws Exception {
+        path = tmpFolder.getRoot().toPath().resolve("map.log");
+        map = new LogPersistentMap<>(INTEGER_SERIALIZER, path);
+    }
+
+    @After
+    public void tearDown() {
+        map.close();
+    }
+
+    private void reopen() {
+        map.close();
+        map = new LogPersistentMap<>(INTEGER_SERIALIZER, path);
+    }
+
+    @Test
+    public void testBasics() {
+        assertTrue("Map should be empty", map.isEmpty());
+        for (int i = 0; i < 10; i++) {
+            assertNull("There should be no previous value", map.put(i, i));
+        }
+        assertEquals("The previous value was wrong.", Integer.valueOf(3), map.put(3, 30));
+        assertEquals("The previous value was wrong.", Integer.valueOf(5), map.remove(5));
+        assertNull("The previous value was wrong.", map.remove(5));
+        assertEquals("The map size is wrong.", 9, map.size());
+        assertEquals("The value was wrong.", Integer.valueOf(30), map.get(3));
+        assertFalse("Map should not contain the key", map.containsKey(5));
+        assertTrue("Map should contain the value", map.containsValue(30));
+        map.clear();
+        assertTrue("Map should have been cleared of entries.", map.isEmpty());
+    }
+
+    @Test
+    public void testCompute() {
+        map.compute(1, (k, v) -> v == null ? 1 : v + 1);
+        map.compute(1, (k, v) -> v == null ? 1 : v + 1);
+        map.computeIfAbsent(2, k -> 20);
+        map.computeIfAbsent(2, k -> 21);
+        map.computeIfPresent(3, (k, v) -> 30);
+        map.merge(4, 40, Integer::sum);
+        map.merge(4, 2, Integer::sum);
+        map.computeIfPresent(2, (k, v) -> null);
+
+        reopen();
+        assertEquals("The map size is wrong.", 2, map.size());
+        assertEquals("The value was wrong.", Integer.valueOf(2), map.get(1));
+        assertNull("The key should have been removed.", map.get(2));
+        assertNull("The key should not have been added.", map.get(3));
+        assertEquals("The value was wrong.", Integer.valueOf(42), map.get(4));
+    }
+
+    @Test
+    public void testReload() {
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        for (int i = 0; i < 100; i += 2) {
+            map.remove(i);
+        }
+        map.put(1, -1);
+
+        reopen();
+        assertEquals("The map size is wrong.", 50, map.size());
+        assertEquals("The value was wrong.", Integer.valueOf(-1), map.get(1));
+        for (int i = 3; i < 100; i += 2) {
+            assertEquals("The value was wrong.", Integer.valueOf(i), map.get(i));
+        }
+
+        // Appends after a reload go after the loaded records
+        map.put(0, 0);
+        reopen();
+        assertEquals("The map size is wrong.", 51, map.size());
+        assertEquals("The value was wrong.", Integer.valueOf(0), map.get(0));
+    }
+
+    @Test
+    public void testTornRecord() throws Exception {
+        map.put(1, 1);
+        map.put(2, 2);
+        map.close();
+
+        // Corrupt the value of the last record, as if torn by a crash
+        int lastValue = 4 + 2 * (12 + 4 + 4) - 1;
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(lastValue);
+            file.write(0xff);
+        }
+
+        map = new LogPersistentMap<>(INTEGER_SERIALIZER, path);
+        assertEquals("The torn record should be ignored.", 1, map.size());
+        assertEquals("The value was wrong.", Integer.valueOf(1), map.get(1));
+        map.put(3, 3);
+        reopen();
+        assertEquals("The map size is wrong.", 2, map.size());
+        assertEquals("The value was wrong.", Integer.valueOf(3), map.get(3));
+    }
+
+    @Test
+    public void testTornRecordFollowedByRecords() throws Exception {
+        map.put(1, 1);
+        map.put(2, 2);
+        map.put(3, 3);
+        map.close();
+
+        // Corrupt the value of the second record; the third one stays valid
+        int secondValue = 4 + 2 * (12 + 4 + 4) - 1;
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(secondValue);
+            file.write(0xff);
+        }
+
+        map = new LogPersistentMap<>(INTEGER_SERIALIZER, path);
+        assertEquals("The records after the torn one should be ignored.", 1, map.size());
+
+        // Overwrite the torn record with one of the same size
+        map.put(4, 4);
+        reopen();
+        assertEquals("The map size is wrong.", 2, map.size());
+        assertEquals("The value was wrong.", Integer.valueOf(4), map.get(4));
+        assertNull("The key should not have been restored.", map.get(3));
+    }
+
+    @Test
+    public void testCompaction() throws Exception {
+        // Overwrite a few keys until the log needs compaction
+        for (int i = 0; i < 300000; i++) {
+            map.put(i % 10, i);
+        }
+        long size = Files.size(path);
+        map.sync();
+        assertTrue("The log should have been compacted.", Files.size(path) < size);
+
+        map.put(10, 10);
+        reopen();
+        assertEquals("The map size is wrong.", 11, map.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("The value was wrong.", Integer.valueOf(299990 + i), map.get(i));
+        }
+        assertEquals("The value was wrong.", Integer.valueOf(10), map.get(10));
+    }
+}
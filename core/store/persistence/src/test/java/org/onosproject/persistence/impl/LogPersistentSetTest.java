@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.persistence.impl;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.onosproject.persistence.impl.LogPersistentMapTest.INTEGER_SERIALIZER;
+
+/**
+ * Test suite for the log backed persistent set.
+ */
+public class LogPersistentSetTest {
+
+    @Rule
+    public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+    private Path path;
+
+    private LogPersistentSet<Integer> set = null;
+
+    @Before
+    public void setUp() throws Exception {
+        path = tmpFolder.getRoot().toPath().resolve("set.log");
+        set = new LogPersistentSet<>(INTEGER_SERIALIZER, path);
+    }
+
+    @After
+    public void tearDown() {
+        set.close();
+    }
+
+    @Test
+    public void testAddRemove() {
+        assertTrue("The item should have been added.", set.add(1));
+        assertFalse("The item should already be present.", set.add(1));
+        assertTrue("The items should have been added.", set.addAll(ImmutableSet.of(2, 3, 4)));
+        assertTrue("The item should have been removed.", set.remove(2));
+        assertFalse("The item should already be absent.", set.remove(2));
+        assertTrue("The set should contain the item.", set.contains(3));
+        assertEquals("The set size is wrong.", 3, set.size());
+    }
+
+    @Test
+    public void testReload() {
+        set.addAll(ImmutableSet.of(1, 2, 3, 4));
+        Iterator<Integer> iterator = set.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+
+        set.close();
+        set = new LogPersistentSet<>(INTEGER_SERIALIZER, path);
+        assertEquals("The set contents are wrong.", ImmutableSet.of(1, 3), set);
+    }
+}
@@ -16,9 +16,11 @@
 package org.onosproject.store.atomix.primitives.impl;
 
 import java.util.Map;
+import java.util.Set;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import org.onosproject.cluster.NodeId;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -30,6 +32,7 @@ public class AntiEntropyAdvertisement<K> {
 
     private final NodeId sender;
     private final Map<K, MapValue.Digest> digest;
+    private final Set<Integer> buckets;
 
     /**
      * Creates a new anti entropy advertisement message.
@@ -39,8 +42,23 @@ public class AntiEntropyAdvertisement<K> {
      */
     public AntiEntropyAdvertisement(NodeId sender,
                                     Map<K, MapValue.Digest> digest) {
+        this(sender, digest, null);
+    }
+
+    /**
+     * Creates a new anti entropy advertisement message covering only the
+     * entries in the given buckets.
+     *
+     * @param sender  the sender's node ID
+     * @param digest  for map entries in the buckets
+     * @param buckets identifiers of the advertised buckets; null for all entries
+     */
+    public AntiEntropyAdvertisement(NodeId sender,
+                                    Map<K, MapValue.Digest> digest,
+                                    Set<Integer> buckets) {
         this.sender = checkNotNull(sender);
         this.digest = ImmutableMap.copyOf(checkNotNull(digest));
+        this.buckets = buckets != null ? ImmutableSet.copyOf(buckets) : null;
     }
 
     /**
@@ -61,11 +79,22 @@ public class AntiEntropyAdvertisement<K> {
         return digest;
     }
 
+    /**
+     * Returns the buckets of map entries covered by the digest.
+     *
+     * @return identifiers of the advertised buckets; null if the digest
+     * covers all entries
+     */
+    public Set<Integer> buckets() {
+        return buckets;
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(getClass())
                 .add("sender", sender)
                 .add("totalEntries", digest.size())
+                .add("buckets", buckets != null ? buckets.size() : "all")
                 .toString();
     }
 }
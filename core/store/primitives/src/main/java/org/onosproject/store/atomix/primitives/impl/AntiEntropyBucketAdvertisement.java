@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.atomix.primitives.impl;
+
+import com.google.common.base.MoreObjects;
+import org.onosproject.cluster.NodeId;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Anti-entropy advertisement message for eventually consistent map, carrying
+ * only the hashes of the map entry buckets.
+ */
+public class AntiEntropyBucketAdvertisement {
+
+    private final NodeId sender;
+    private final long[] hashes;
+
+    /**
+     * Creates a new anti entropy bucket advertisement message.
+     *
+     * @param sender the sender's node ID
+     * @param hashes hashes of the map entry buckets
+     */
+    public AntiEntropyBucketAdvertisement(NodeId sender, long[] hashes) {
+        this.sender = checkNotNull(sender);
+        this.hashes = checkNotNull(hashes);
+    }
+
+    /**
+     * Returns the sender's node ID.
+     *
+     * @return the sender's node ID
+     */
+    public NodeId sender() {
+        return sender;
+    }
+
+    /**
+     * Returns the hashes of the map entry buckets.
+     *
+     * @return bucket hashes
+     */
+    public long[] hashes() {
+        return hashes;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(getClass())
+                .add("sender", sender)
+                .add("buckets", hashes.length)
+                .toString();
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.atomix.primitives.impl;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.onosproject.store.service.Serializer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Hashes of the entries of an eventually consistent map, grouped into a fixed
+ * number of buckets by key, so that peers can locate the parts of the map
+ * where they differ without exchanging a digest of every entry.
+ * <p>
+ * The hash of a bucket combines the digests of all entries in the bucket and
+ * is maintained incrementally as entries are updated. Keys and timestamps are
+ * hashed in their serialized form, which is identical on all peers.
+ * </p>
+ *
+ * @param <K> map key type
+ */
+final class AntiEntropyBuckets<K> {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private final Serializer serializer;
+    private final AtomicLongArray hashes;
+    private final Map<K, Long> keyHashes = Maps.newConcurrentMap();
+    private final List<Set<K>> bucketKeys;
+
+    /**
+     * Creates a new set of empty buckets.
+     *
+     * @param bucketCount number of buckets
+     * @param serializer  serializer for keys and timestamps
+     */
+    AntiEntropyBuckets(int bucketCount, Serializer serializer) {
+        checkArgument(bucketCount > 0, "bucket count must be greater than 0");
+        this.hashes = new AtomicLongArray(bucketCount);
+        this.bucketKeys = IntStream.range(0, bucketCount)
+                .mapToObj(i -> Sets.<K>newConcurrentHashSet())
+                .collect(Collectors.toList());
+        this.serializer = serializer;
+    }
+
+    /**
+     * Returns the number of buckets.
+     *
+     * @return number of buckets
+     */
+    int bucketCount() {
+        return hashes.length();
+    }
+
+    /**
+     * Accounts for the replacement of the value of the given key. Updates of
+     * any one key must not be applied concurrently.
+     *
+     * @param key      key
+     * @param oldValue previous value; null if none
+     * @param newValue new value; null if the entry was removed
+     */
+    void update(K key, MapValue<?> oldValue, MapValue<?> newValue) {
+        if (oldValue == newValue) {
+            return;
+        }
+        long keyHash;
+        if (newValue != null) {
+            keyHash = keyHashes.computeIfAbsent(key, this::hashKey);
+            bucketKeys.get(bucket(keyHash)).add(key);
+        } else {
+            keyHash = removeKeyHash(key);
+            bucketKeys.get(bucket(keyHash)).remove(key);
+        }
+        long delta = 0;
+        if (oldValue != null) {
+            delta ^= hashEntry(keyHash, oldValue);
+        }
+        if (newValue != null) {
+            delta ^= hashEntry(keyHash, newValue);
+        }
+        if (delta != 0) {
+            long d = delta;
+            hashes.getAndUpdate(bucket(keyHash), hash -> hash ^ d);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the bucket hashes.
+     *
+     * @return bucket hashes
+     */
+    long[] hashes() {
+        long[] snapshot = new long[hashes.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = hashes.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the buckets whose hashes differ from the given ones.
+     *
+     * @param remoteHashes bucket hashes of a peer; must be as many as the local ones
+     * @return identifiers of the differing buckets
+     */
+    Set<Integer> differingBuckets(long[] remoteHashes) {
+        checkArgument(remoteHashes.length == hashes.length(), "bucket count mismatch");
+        ImmutableSet.Builder<Integer> buckets = ImmutableSet.builder();
+        for (int i = 0; i < remoteHashes.length; i++) {
+            if (remoteHashes[i] != hashes.get(i)) {
+                buckets.add(i);
+            }
+        }
+        return buckets.build();
+    }
+
+    /**
+     * Returns the keys that fall into the given buckets.
+     *
+     * @param buckets bucket identifiers
+     * @return keys in the buckets
+     */
+    Set<K> keys(Set<Integer> buckets) {
+        return buckets.stream()
+                .flatMap(bucket -> bucketKeys.get(bucket).stream())
+                .collect(Collectors.toSet());
+    }
+
+    private long removeKeyHash(K key) {
+        Long keyHash = keyHashes.remove(key);
+        return keyHash != null ? keyHash : hashKey(key);
+    }
+
+    private int bucket(long keyHash) {
+        return (int) Math.floorMod(keyHash, (long) hashes.length());
+    }
+
+    private long hashKey(K key) {
+        return HASH_FUNCTION.hashBytes(serializer.encode(key)).asLong();
+    }
+
+    private long hashEntry(long keyHash, MapValue<?> value) {
+        return HASH_FUNCTION.newHasher()
+                .putLong(keyHash)
+                .putBytes(serializer.encode(value.timestamp()))
+                .putBoolean(value.isTombstone())
+                .hash()
+                .asLong();
+    }
+}
@@ -54,6 +54,7 @@ public class EventuallyConsistentMapBuilderImpl<K, V>
     private long antiEntropyPeriod = 5;
     private TimeUnit antiEntropyTimeUnit = TimeUnit.SECONDS;
     private boolean convergeFaster = false;
+    private int antiEntropyBuckets = 0;
     private boolean persistent = false;
     private boolean persistentMap = false;
     private final PersistenceService persistenceService;
@@ -154,6 +155,13 @@ public class EventuallyConsistentMapBuilderImpl<K, V>
         return this;
     }
 
+    @Override
+    public EventuallyConsistentMapBuilder<K, V> withBucketedAntiEntropy(int buckets) {
+        checkArgument(buckets > 0, "number of buckets must be greater than 0");
+        antiEntropyBuckets = buckets;
+        return this;
+    }
+
     @Override
     public EventuallyConsistentMapBuilder<K, V> withPersistence() {
         checkNotNull(this.persistenceService);
@@ -185,6 +193,7 @@ public class EventuallyConsistentMapBuilderImpl<K, V>
                 antiEntropyPeriod,
                 antiEntropyTimeUnit,
                 convergeFaster,
+                antiEntropyBuckets,
                 persistent,
                 persistenceService,
                 peersSupplier,
@@ -35,6 +35,7 @@ import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -100,6 +101,8 @@ public class EventuallyConsistentMapImpl<K, V>
     private final MessageSubject updateMessageSubject;
     private final MessageSubject antiEntropyAdvertisementSubject;
     private final MessageSubject updateRequestSubject;
+    private final MessageSubject antiEntropyBucketSubject;
+    private final AntiEntropyBuckets<K> buckets;
     private final Set<EventuallyConsistentMapListener<K, V>> listeners
             = Sets.newCopyOnWriteArraySet();
     private final ExecutorService executor;
@@ -119,7 +122,7 @@ public class EventuallyConsistentMapImpl<K, V>
     private final NodeId localNodeId;
     private long previousTombstonePurgeTime;
     private volatile boolean destroyed = false;
-    private SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW_SIZE);
+    private volatile SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW_SIZE);
 
     /**
      * Creates a new eventually consistent map shared amongst multiple instances.
@@ -142,6 +145,8 @@ public class EventuallyConsistentMapImpl<K, V>
      * @param antiEntropyPeriod      period that the anti-entropy task should run
      * @param antiEntropyTimeUnit    time unit for anti-entropy period
      * @param convergeFaster         make anti-entropy try to converge faster
+     * @param antiEntropyBuckets     number of buckets for bucketed anti-entropy;
+     *                               0 to advertise the digest of every entry
      * @param persistent             persist data to disk
      * @param persistenceService     persistence service
      * @param peersSupplier          supplier for peers
@@ -162,6 +167,7 @@ public class EventuallyConsistentMapImpl<K, V>
             long antiEntropyPeriod,
             TimeUnit antiEntropyTimeUnit,
             boolean convergeFaster,
+            int antiEntropyBuckets,
             boolean persistent,
             PersistenceService persistenceService,
             Supplier<List<NodeId>> peersSupplier,
@@ -182,6 +188,12 @@ public class EventuallyConsistentMapImpl<K, V>
         } else {
             items = Maps.newConcurrentMap();
         }
+        if (antiEntropyBuckets > 0) {
+            buckets = new AntiEntropyBuckets<>(antiEntropyBuckets, serializer);
+            items.forEach((key, value) -> buckets.update(key, null, value));
+        } else {
+            buckets = null;
+        }
         senderPending = Maps.newConcurrentMap();
         destroyedMessage = mapName + ERROR_DESTROYED;
 
@@ -281,6 +293,19 @@ public class EventuallyConsistentMapImpl<K, V>
                 this.backgroundExecutor
         );
 
+        if (buckets != null) {
+            antiEntropyBucketSubject = new MessageSubject("ecm-" + mapName + "-anti-entropy-buckets");
+            clusterCommunicator.addSubscriber(
+                    antiEntropyBucketSubject,
+                    serializer::decode,
+                    (Function<AntiEntropyBucketAdvertisement, CompletableFuture<AntiEntropyResponse>>)
+                            this::handleAntiEntropyBucketAdvertisement,
+                    serializer::encode
+            );
+        } else {
+            antiEntropyBucketSubject = null;
+        }
+
         if (!tombstonesDisabled) {
             previousTombstonePurgeTime = 0;
             this.backgroundExecutor.scheduleWithFixedDelay(
@@ -313,6 +338,7 @@ public class EventuallyConsistentMapImpl<K, V>
                 .register(MapValue.class)
                 .register(MapValue.Digest.class)
                 .register(UpdateRequest.class)
+                .register(AntiEntropyBucketAdvertisement.class)
                 .build(name() + "-ecmap"));
     }
 
@@ -429,7 +455,9 @@ public class EventuallyConsistentMapImpl<K, V>
             }
             if (updated.get()) {
                 previousValue.set(existing);
-                return tombstone.orElse(null);
+                MapValue<V> result = tombstone.orElse(null);
+                updateBuckets(k, existing, result);
+                return result;
             } else {
                 return existing;
             }
@@ -457,7 +485,9 @@ public class EventuallyConsistentMapImpl<K, V>
                 updated.set(true);
                 // We return a copy to ensure updates to peers can be serialized.
                 // This prevents replica divergence due to serialization failures.
-                return serializer.copy(newValue);
+                MapValue<V> copy = serializer.copy(newValue);
+                updateBuckets(k, mv, copy);
+                return copy;
             } else {
                 return mv;
             }
@@ -528,6 +558,7 @@ public class EventuallyConsistentMapImpl<K, V>
         items.compute(key, (k, existing) -> {
             if (existing == null || newValue.isNewerThan(existing)) {
                 updated.set(true);
+                updateBuckets(k, existing, newValue);
                 return newValue;
             }
             return existing;
@@ -535,6 +566,12 @@ public class EventuallyConsistentMapImpl<K, V>
         return updated.get();
     }
 
+    private void updateBuckets(K key, MapValue<V> oldValue, MapValue<V> newValue) {
+        if (buckets != null) {
+            buckets.update(key, oldValue, newValue);
+        }
+    }
+
     @Override
     public void addListener(EventuallyConsistentMapListener<K, V> listener) {
         checkState(!destroyed, destroyedMessage);
@@ -569,6 +606,9 @@ public class EventuallyConsistentMapImpl<K, V>
         clusterCommunicator.removeSubscriber(updateMessageSubject);
         clusterCommunicator.removeSubscriber(updateRequestSubject);
         clusterCommunicator.removeSubscriber(antiEntropyAdvertisementSubject);
+        if (antiEntropyBucketSubject != null) {
+            clusterCommunicator.removeSubscriber(antiEntropyBucketSubject);
+        }
         return CompletableFuture.completedFuture(null);
     }
 
@@ -594,6 +634,17 @@ public class EventuallyConsistentMapImpl<K, V>
         return counter.get(LOAD_WINDOW) > HIGH_LOAD_THRESHOLD;
     }
 
+    /**
+     * Forgets the recent updates so that the map is no longer considered
+     * under high load and takes part in anti-entropy right away. Used by
+     * tests which drive anti-entropy rounds explicitly.
+     */
+    void resetLoad() {
+        SlidingWindowCounter previous = counter;
+        counter = new SlidingWindowCounter(WINDOW_SIZE);
+        previous.destroy();
+    }
+
     private void sendAdvertisement() {
         try {
             if (underHighLoad() || destroyed) {
@@ -614,20 +665,31 @@ public class EventuallyConsistentMapImpl<K, V>
 
     private void sendAdvertisementToPeer(NodeId peer) {
         long adCreationTime = System.currentTimeMillis();
-        AntiEntropyAdvertisement<K> ad = createAdvertisement();
-        clusterCommunicator.sendAndReceive(ad,
-                antiEntropyAdvertisementSubject,
-                serializer::encode,
-                serializer::decode,
-                peer)
-                .whenComplete((result, error) -> {
-                    if (error != null) {
-                        log.debug("Failed to send anti-entropy advertisement to {}: {}",
-                                peer, error.getMessage());
-                    } else if (result == AntiEntropyResponse.PROCESSED) {
-                        antiEntropyTimes.put(peer, adCreationTime);
-                    }
-                });
+        CompletableFuture<AntiEntropyResponse> response;
+        if (buckets != null) {
+            // Advertise bucket hashes only; the peer follows up with the
+            // digests of the entries in the buckets that differ.
+            response = clusterCommunicator.sendAndReceive(
+                    new AntiEntropyBucketAdvertisement(localNodeId, buckets.hashes()),
+                    antiEntropyBucketSubject,
+                    serializer::encode,
+                    serializer::decode,
+                    peer);
+        } else {
+            response = clusterCommunicator.sendAndReceive(createAdvertisement(),
+                    antiEntropyAdvertisementSubject,
+                    serializer::encode,
+                    serializer::decode,
+                    peer);
+        }
+        response.whenComplete((result, error) -> {
+            if (error != null) {
+                log.debug("Failed to send anti-entropy advertisement to {}: {}",
+                        peer, error.getMessage());
+            } else if (result == AntiEntropyResponse.PROCESSED) {
+                antiEntropyTimes.put(peer, adCreationTime);
+            }
+        });
     }
 
     private void sendUpdateRequestToPeer(NodeId peer, Set<K> keys) {
@@ -649,6 +711,69 @@ public class EventuallyConsistentMapImpl<K, V>
                 ImmutableMap.copyOf(Maps.transformValues(items, MapValue::digest)));
     }
 
+    private AntiEntropyAdvertisement<K> createAdvertisement(Set<Integer> bucketIds) {
+        Map<K, MapValue.Digest> digest = Maps.newHashMap();
+        buckets.keys(bucketIds).forEach(key -> {
+            MapValue<V> value = items.get(key);
+            if (value != null) {
+                digest.put(key, value.digest());
+            }
+        });
+        return new AntiEntropyAdvertisement<>(localNodeId, digest, bucketIds);
+    }
+
+    private CompletableFuture<AntiEntropyResponse> handleAntiEntropyBucketAdvertisement(
+            AntiEntropyBucketAdvertisement ad) {
+        // The advertisement is answered once the peer has processed the
+        // digests that follow it, so that only complete rounds are counted
+        CompletableFuture<AntiEntropyResponse> response = new CompletableFuture<>();
+        backgroundExecutor.execute(() -> {
+            if (destroyed || underHighLoad()) {
+                response.complete(AntiEntropyResponse.IGNORED);
+                return;
+            }
+            AntiEntropyAdvertisement<K> digestAd;
+            try {
+                if (ad.hashes().length == buckets.bucketCount()) {
+                    Set<Integer> differingBuckets = buckets.differingBuckets(ad.hashes());
+                    if (differingBuckets.isEmpty()) {
+                        response.complete(AntiEntropyResponse.PROCESSED);
+                        return;
+                    }
+                    digestAd = createAdvertisement(differingBuckets);
+                } else {
+                    log.debug("Bucket count mismatch with {} for {}; advertising all entries",
+                            ad.sender(), mapName);
+                    digestAd = createAdvertisement();
+                }
+            } catch (Exception e) {
+                log.warn("Error handling anti-entropy bucket advertisement", e);
+                response.complete(AntiEntropyResponse.FAILED);
+                return;
+            }
+            if (log.isTraceEnabled()) {
+                log.trace("Sending anti-entropy advertisement to {} for {} with {} entries in it",
+                        ad.sender(), mapName, digestAd.digest().size());
+            }
+            CompletableFuture<AntiEntropyResponse> digestResponse =
+                    clusterCommunicator.sendAndReceive(digestAd,
+                            antiEntropyAdvertisementSubject,
+                            serializer::encode,
+                            serializer::decode,
+                            ad.sender());
+            digestResponse.whenComplete((result, error) -> {
+                if (error != null) {
+                    log.debug("Failed to send anti-entropy advertisement to {}: {}",
+                            ad.sender(), error.getMessage());
+                    response.complete(AntiEntropyResponse.FAILED);
+                } else {
+                    response.complete(result);
+                }
+            });
+        });
+        return response;
+    }
+
     private AntiEntropyResponse handleAntiEntropyAdvertisement(AntiEntropyAdvertisement<K> ad) {
         if (destroyed || underHighLoad()) {
             return AntiEntropyResponse.IGNORED;
@@ -680,7 +805,7 @@ public class EventuallyConsistentMapImpl<K, V>
         Set<K> staleOrMissing = new HashSet<>();
         Set<K> locallyUnknown = new HashSet<>(ad.digest().keySet());
 
-        items.forEach((key, localValue) -> {
+        BiConsumer<K, MapValue<V>> checkLocalItem = (key, localValue) -> {
             locallyUnknown.remove(key);
             MapValue.Digest remoteValueDigest = ad.digest().get(key);
             if (remoteValueDigest == null || localValue.isNewerThan(remoteValueDigest.timestamp())) {
@@ -699,7 +824,18 @@ public class EventuallyConsistentMapImpl<K, V>
                 // Not a tombstone and remote is newer
                 staleOrMissing.add(key);
             }
-        });
+        };
+        if (ad.buckets() == null || buckets == null) {
+            items.forEach(checkLocalItem);
+        } else {
+            // Only the entries in the advertised buckets are to be reconciled
+            buckets.keys(ad.buckets()).forEach(key -> {
+                MapValue<V> localValue = items.get(key);
+                if (localValue != null) {
+                    checkLocalItem.accept(key, localValue);
+                }
+            });
+        }
         // Keys missing in local map
         staleOrMissing.addAll(locallyUnknown);
         // Request updates that we missed out on
@@ -738,7 +874,13 @@ public class EventuallyConsistentMapImpl<K, V>
                 .filter(e -> e.getValue().creationTime() <= currentSafeTombstonePurgeTime)
                 .collect(Collectors.toList());
         previousTombstonePurgeTime = currentSafeTombstonePurgeTime;
-        tombStonesToDelete.forEach(entry -> items.remove(entry.getKey(), entry.getValue()));
+        tombStonesToDelete.forEach(entry -> items.computeIfPresent(entry.getKey(), (key, value) -> {
+            if (value.equals(entry.getValue())) {
+                updateBuckets(key, value, null);
+                return null;
+            }
+            return value;
+        }));
     }
 
     private void processUpdates(Collection<UpdateEntry<K, V>> updates) {
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.atomix.primitives.impl;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.After;
+import org.junit.Test;
+import org.onlab.util.KryoNamespace;
+import org.onosproject.cluster.NodeId;
+import org.onosproject.store.cluster.messaging.ClusterCommunicationServiceAdapter;
+import org.onosproject.store.cluster.messaging.MessageSubject;
+import org.onosproject.store.serializers.KryoNamespaces;
+import org.onosproject.store.service.EventuallyConsistentMap;
+import org.onosproject.store.service.WallClockTimestamp;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.onlab.junit.TestTools.assertAfter;
+
+/**
+ * Tests anti-entropy between two eventually consistent map replicas connected
+ * through a simulated cluster.
+ */
+public class EventuallyConsistentMapAntiEntropyTest {
+
+    private static final String MAP_NAME = "test";
+    private static final int BUCKETS = 64;
+    private static final int ENTRIES = 2000;
+
+    private static final NodeId NODE_A = new NodeId("a");
+    private static final NodeId NODE_B = new NodeId("b");
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<Replica> replicas = Lists.newArrayList();
+
+    @After
+    public void tearDown() {
+        replicas.forEach(Replica::destroy);
+    }
+
+    /**
+     * Tests that a round of bucketed anti-entropy between converged replicas
+     * exchanges far less data than a round that advertises every entry.
+     */
+    @Test
+    public void testConvergedTraffic() {
+        long bucketed = convergedRoundBytes(BUCKETS);
+        long full = convergedRoundBytes(0);
+        assertTrue("bucketed round sent " + bucketed + " bytes; full round " + full,
+                   bucketed * 10 < full);
+    }
+
+    private long convergedRoundBytes(int buckets) {
+        SimulatedCluster cluster = new SimulatedCluster();
+        Replica a = new Replica(cluster, NODE_A, NODE_B, MAP_NAME + buckets, buckets);
+        Replica b = new Replica(cluster, NODE_B, NODE_A, MAP_NAME + buckets, buckets);
+        for (int i = 0; i < ENTRIES; i++) {
+            a.map.put("key" + i, "value" + i);
+        }
+        assertAfter(5000, () -> assertEquals(ENTRIES, b.map.size()));
+
+        cluster.bytes.set(0);
+        runAntiEntropyRound(cluster, a, b);
+        return cluster.bytes.get();
+    }
+
+    /**
+     * Runs an anti-entropy round from the given replica to its peer, failing
+     * unless the peer reports it as processed. Replicas skip rounds while
+     * under load, so the load of both is reset first.
+     */
+    private static void runAntiEntropyRound(SimulatedCluster cluster, Replica replica, Replica peer) {
+        replica.map.resetLoad();
+        peer.map.resetLoad();
+        cluster.lastResponse = null;
+        replica.runAntiEntropy();
+        assertEquals(AntiEntropyResponse.PROCESSED, cluster.lastResponse);
+    }
+
+    /**
+     * Tests that replicas which diverged while partitioned converge after a
+     * single round of bucketed anti-entropy.
+     */
+    @Test
+    public void testDivergedReplicas() {
+        SimulatedCluster cluster = new SimulatedCluster();
+        Replica a = new Replica(cluster, NODE_A, NODE_B, MAP_NAME, BUCKETS);
+        Replica b = new Replica(cluster, NODE_B, NODE_A, MAP_NAME, BUCKETS);
+        for (int i = 0; i < 100; i++) {
+            a.map.put("key" + i, "value" + i);
+        }
+        assertAfter(5000, () -> assertEquals(100, b.map.size()));
+
+        cluster.connected = false;
+        for (int i = 0; i < 10; i++) {
+            a.map.remove("key" + i);
+            a.map.put("a" + i, "value" + i);
+            b.map.put("b" + i, "value" + i);
+            b.map.put("key" + (50 + i), "updated" + i);
+        }
+        assertEquals(100, a.map.size());
+        assertEquals(110, b.map.size());
+
+        // Let the updates of both replicas be lost to the partition
+        assertAfter(5000, () -> assertEquals(Sets.newHashSet(NODE_A, NODE_B), cluster.unreachable));
+        cluster.connected = true;
+        runAntiEntropyRound(cluster, a, b);
+        assertAfter(5000, () -> {
+            assertEquals(110, a.map.size());
+            assertEquals(contents(a.map), contents(b.map));
+        });
+        assertEquals("updated0", a.map.get("key50"));
+    }
+
+    private static Map<String, String> contents(EventuallyConsistentMap<String, String> map) {
+        Map<String, String> contents = Maps.newHashMap();
+        map.entrySet().forEach(e -> contents.put(e.getKey(), e.getValue()));
+        return contents;
+    }
+
+    /**
+     * Map replica hosted on a simulated node.
+     */
+    private final class Replica {
+        private final EventuallyConsistentMapImpl<String, String> map;
+        private final ManualScheduler scheduler = new ManualScheduler();
+
+        private Replica(SimulatedCluster cluster, NodeId nodeId, NodeId peer,
+                        String name, int buckets) {
+            EventuallyConsistentMapBuilderImpl<String, String> builder =
+                    new EventuallyConsistentMapBuilderImpl<>(
+                            nodeId, new SimulatedCommunicator(cluster, nodeId), null,
+                            () -> Lists.newArrayList(peer), ArrayList::new);
+            builder.withName(name)
+                    .withSerializer(KryoNamespace.newBuilder().register(KryoNamespaces.API))
+                    .withTimestampProvider((k, v) -> new WallClockTimestamp(clock.incrementAndGet()))
+                    .withEventExecutor(MoreExecutors.newDirectExecutorService())
+                    .withCommunicationExecutor(MoreExecutors.newDirectExecutorService())
+                    .withBackgroundExecutor(scheduler);
+            if (buckets > 0) {
+                builder.withBucketedAntiEntropy(buckets);
+            }
+            map = (EventuallyConsistentMapImpl<String, String>) builder.build();
+            replicas.add(this);
+        }
+
+        private void runAntiEntropy() {
+            scheduler.antiEntropyTask.run();
+        }
+
+        private void destroy() {
+            map.destroy();
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Background executor that holds the periodic anti-entropy task so that
+     * tests can run it on demand.
+     */
+    private static final class ManualScheduler extends ScheduledThreadPoolExecutor {
+        private Runnable antiEntropyTask;
+
+        private ManualScheduler() {
+            super(1);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay,
+                                                      long period, TimeUnit unit) {
+            antiEntropyTask = command;
+            return super.scheduleAtFixedRate(command, 1, 1, TimeUnit.DAYS);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay,
+                                                         long delay, TimeUnit unit) {
+            return super.scheduleWithFixedDelay(command, 1, 1, TimeUnit.DAYS);
+        }
+    }
+
+    /**
+     * Delivers messages between simulated nodes and counts the bytes exchanged.
+     */
+    private static final class SimulatedCluster {
+        private final Map<NodeId, SimulatedCommunicator> nodes = Maps.newConcurrentMap();
+        private final AtomicLong bytes = new AtomicLong();
+        private final Set<NodeId> unreachable = Sets.newConcurrentHashSet();
+        private volatile boolean connected = true;
+        private volatile AntiEntropyResponse lastResponse;
+
+        private byte[] deliver(NodeId nodeId, MessageSubject subject, byte[] payload) {
+            if (!connected) {
+                unreachable.add(nodeId);
+                throw new IllegalStateException("partitioned");
+            }
+            bytes.addAndGet(payload.length);
+            Function<byte[], byte[]> handler = nodes.get(nodeId).handlers.get(subject);
+            if (handler == null) {
+                throw new IllegalStateException("no handler for " + subject);
+            }
+            byte[] reply = handler.apply(payload);
+            if (reply != null) {
+                bytes.addAndGet(reply.length);
+            }
+            return reply;
+        }
+    }
+
+    /**
+     * Cluster communicator of a simulated node.
+     */
+    private static final class SimulatedCommunicator extends ClusterCommunicationServiceAdapter {
+        private final SimulatedCluster cluster;
+        private final Map<MessageSubject, Function<byte[], byte[]>> handlers = Maps.newConcurrentMap();
+
+        private SimulatedCommunicator(SimulatedCluster cluster, NodeId nodeId) {
+            this.cluster = cluster;
+            cluster.nodes.put(nodeId, this);
+        }
+
+        @Override
+        public <M> CompletableFuture<Void> unicast(M message, MessageSubject subject,
+                                                   Function<M, byte[]> encoder, NodeId toNodeId) {
+            return sendAndReceive(message, subject, encoder, r -> null, toNodeId, null);
+        }
+
+        @Override
+        public <M, R> CompletableFuture<R> sendAndReceive(M message, MessageSubject subject,
+                                                          Function<M, byte[]> encoder,
+                                                          Function<byte[], R> decoder,
+                                                          NodeId toNodeId, Duration timeout) {
+            CompletableFuture<R> future = new CompletableFuture<>();
+            try {
+                byte[] reply = cluster.deliver(toNodeId, subject, encoder.apply(message));
+                R response = reply != null ? decoder.apply(reply) : null;
+                if (response instanceof AntiEntropyResponse) {
+                    cluster.lastResponse = (AntiEntropyResponse) response;
+                }
+                future.complete(response);
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+            return future;
+        }
+
+        @Override
+        public <M, R> void addSubscriber(MessageSubject subject, Function<byte[], M> decoder,
+                                         Function<M, R> handler, Function<R, byte[]> encoder,
+                                         Executor executor) {
+            handlers.put(subject, payload -> encoder.apply(handler.apply(decoder.apply(payload))));
+        }
+
+        @Override
+        public <M, R> void addSubscriber(MessageSubject subject, Function<byte[], M> decoder,
+                                         Function<M, CompletableFuture<R>> handler,
+                                         Function<R, byte[]> encoder) {
+            handlers.put(subject, payload -> encoder.apply(handler.apply(decoder.apply(payload)).join()));
+        }
+
+        @Override
+        public <M> void addSubscriber(MessageSubject subject, Function<byte[], M> decoder,
+                                      Consumer<M> handler, Executor executor) {
+            handlers.put(subject, payload -> {
+                handler.accept(decoder.apply(payload));
+                return null;
+            });
+        }
+
+        @Override
+        public void removeSubscriber(MessageSubject subject) {
+            handlers.remove(subject);
+        }
+    }
+}
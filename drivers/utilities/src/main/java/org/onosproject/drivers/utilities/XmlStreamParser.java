@@ -0,0 +1,215 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.drivers.utilities;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Helpers extracting data from Netconf replys with a StAX cursor, one
+ * element at a time, instead of loading the whole reply in memory.
+ * <p>
+ * Elements are matched by local name, regardless of their namespace. The
+ * helpers can be used as Netconf reply parsers, for example
+ * {@code session.asyncGet(filter, r -> XmlStreamParser.texts(r, "name"))}.
+ */
+public final class XmlStreamParser {
+
+    private static final String PATH_SEPARATOR = "/";
+
+    private XmlStreamParser() {
+        //not called, preventing any allocation
+    }
+
+    /**
+     * Advances the cursor to the start of the next element with the given
+     * local name.
+     *
+     * @param reader    cursor
+     * @param localName local name of the element
+     * @return true if the element was found, false at the end of the document
+     * @throws XMLStreamException if the document cannot be parsed
+     */
+    public static boolean nextElement(XMLStreamReader reader, String localName)
+            throws XMLStreamException {
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT &&
+                    localName.equals(reader.getLocalName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the text of the element at the cursor, including the text of
+     * its descendants, and leaves the cursor at the end of the element.
+     *
+     * @param reader cursor at the start of an element
+     * @return trimmed text of the element
+     * @throws XMLStreamException if the document cannot be parsed
+     */
+    public static String text(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                    text.append(reader.getText());
+                    break;
+                default:
+                    break;
+            }
+        }
+        return text.toString().trim();
+    }
+
+    /**
+     * Returns the text of the first element with the given local name,
+     * without reading the rest of the document.
+     *
+     * @param reader    cursor
+     * @param localName local name of the element
+     * @return text of the element, or null if there is no such element
+     * @throws XMLStreamException if the document cannot be parsed
+     */
+    public static String firstText(XMLStreamReader reader, String localName)
+            throws XMLStreamException {
+        return nextElement(reader, localName) ? text(reader) : null;
+    }
+
+    /**
+     * Returns the text of every element with the given local name.
+     *
+     * @param reader    cursor
+     * @param localName local name of the elements
+     * @return texts of the elements, in document order
+     * @throws XMLStreamException if the document cannot be parsed
+     */
+    public static List<String> texts(XMLStreamReader reader, String localName)
+            throws XMLStreamException {
+        List<String> texts = new ArrayList<>();
+        while (nextElement(reader, localName)) {
+            texts.add(text(reader));
+        }
+        return texts;
+    }
+
+    /**
+     * Reads the leaves of the element at the cursor, and leaves the cursor
+     * at the end of the element.
+     * <p>
+     * Leaves are keyed by their path relative to the element, made of the
+     * local names of their ancestors separated by "/", for example
+     * "state/oper-status". Only the first of repeated leaves is kept.
+     *
+     * @param reader cursor at the start of an element
+     * @return texts of the leaves by path, in document order
+     * @throws XMLStreamException if the document cannot be parsed
+     */
+    public static Map<String, String> leaves(XMLStreamReader reader) throws XMLStreamException {
+        Map<String, String> leaves = new LinkedHashMap<>();
+        Deque<String> path = new ArrayDeque<>();
+        StringBuilder text = new StringBuilder();
+        boolean leaf = false;
+        while (true) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    path.addLast(reader.getLocalName());
+                    text.setLength(0);
+                    leaf = true;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    if (path.isEmpty()) {
+                        return leaves;
+                    }
+                    if (leaf) {
+                        leaves.putIfAbsent(String.join(PATH_SEPARATOR, path),
+                                           text.toString().trim());
+                        leaf = false;
+                    }
+                    path.removeLast();
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                    text.append(reader.getText());
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Passes the leaves of every element with the given local name to the
+     * given consumer, as they are read.
+     *
+     * @param reader    cursor
+     * @param localName local name of the elements
+     * @param consumer  consumer of the leaves of each element
+     * @throws XMLStreamException if the document cannot be parsed
+     * @see #leaves(XMLStreamReader)
+     */
+    public static void forEach(XMLStreamReader reader, String localName,
+                               Consumer<Map<String, String>> consumer)
+            throws XMLStreamException {
+        while (nextElement(reader, localName)) {
+            consumer.accept(leaves(reader));
+        }
+    }
+
+    /**
+     * Maps the leaves of every element with the given local name with the
+     * given function, and returns the non-null results.
+     *
+     * @param reader    cursor
+     * @param localName local name of the elements
+     * @param mapper    function mapping the leaves of an element
+     * @param <T>       type of the results
+     * @return results of the function, in document order
+     * @throws XMLStreamException if the document cannot be parsed
+     * @see #leaves(XMLStreamReader)
+     */
+    public static <T> List<T> collect(XMLStreamReader reader, String localName,
+                                      Function<Map<String, String>, T> mapper)
+            throws XMLStreamException {
+        List<T> results = new ArrayList<>();
+        forEach(reader, localName, leaves -> {
+            T result = mapper.apply(leaves);
+            if (result != null) {
+                results.add(result);
+            }
+        });
+        return results;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.drivers.utilities;
+
+import org.junit.Test;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the streaming extraction of data from netconf replys.
+ */
+public class XmlStreamParserTest {
+
+    private static final String REPLY =
+            "<rpc-reply xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" message-id=\"7\">" +
+            "<data><interfaces xmlns=\"urn:ietf:params:xml:ns:yang:ietf-interfaces\">" +
+            "<interface><name>eth0</name><enabled>true</enabled>" +
+            "<state><oper-status>up</oper-status><speed>10000</speed></state></interface>" +
+            "<interface><name>eth1</name><enabled>false</enabled>" +
+            "<state><oper-status>down</oper-status></state></interface>" +
+            "<interface><name><![CDATA[eth2]]></name></interface>" +
+            "</interfaces><serial-number> SN123 </serial-number></data></rpc-reply>";
+
+    private static XMLStreamReader reader(String xml) throws XMLStreamException {
+        return XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(xml));
+    }
+
+    @Test
+    public void texts() throws XMLStreamException {
+        assertEquals(List.of("eth0", "eth1", "eth2"),
+                     XmlStreamParser.texts(reader(REPLY), "name"));
+        assertTrue(XmlStreamParser.texts(reader(REPLY), "missing").isEmpty());
+    }
+
+    @Test
+    public void firstText() throws XMLStreamException {
+        assertEquals("SN123", XmlStreamParser.firstText(reader(REPLY), "serial-number"));
+        assertNull(XmlStreamParser.firstText(reader(REPLY), "missing"));
+    }
+
+    @Test
+    public void firstTextStopsEarly() throws XMLStreamException {
+        XMLStreamReader reader = reader(REPLY);
+        assertEquals("eth0", XmlStreamParser.firstText(reader, "name"));
+        assertEquals("true", XmlStreamParser.firstText(reader, "enabled"));
+        assertEquals("eth1", XmlStreamParser.firstText(reader, "name"));
+    }
+
+    @Test
+    public void leaves() throws XMLStreamException {
+        XMLStreamReader reader = reader(REPLY);
+        assertTrue(XmlStreamParser.nextElement(reader, "interface"));
+        Map<String, String> leaves = XmlStreamParser.leaves(reader);
+        assertEquals(Map.of("name", "eth0", "enabled", "true",
+                            "state/oper-status", "up", "state/speed", "10000"),
+                     leaves);
+        assertEquals("interface", reader.getLocalName());
+        assertFalse(reader.isStartElement());
+    }
+
+    @Test
+    public void collect() throws XMLStreamException {
+        List<String> up = XmlStreamParser.collect(reader(REPLY), "interface",
+                leaves -> "up".equals(leaves.get("state/oper-status")) ? leaves.get("name") : null);
+        assertEquals(List.of("eth0"), up);
+    }
+
+    @Test
+    public void forEach() throws XMLStreamException {
+        StringBuilder names = new StringBuilder();
+        XmlStreamParser.forEach(reader(REPLY), "interface",
+                                leaves -> names.append(leaves.get("name")));
+        assertEquals("eth0eth1eth2", names.toString());
+    }
+}
@@ -127,6 +127,46 @@ public abstract class AbstractNetconfSession implements NetconfSession {
         return executeRpc(rpc.toString());
     }
 
+    @Override
+    public <T> CompletableFuture<T> asyncGet(String filterSchema, NetconfReplyParser<T> parser)
+            throws NetconfException {
+        StringBuilder rpc = new StringBuilder();
+        rpc.append(RPC_OPEN);
+        rpc.append(NETCONF_BASE_NAMESPACE).append(">\n");
+        rpc.append(GET_OPEN).append(NEW_LINE);
+        if (filterSchema != null) {
+            rpc.append(SUBTREE_FILTER_OPEN).append(NEW_LINE);
+            rpc.append(filterSchema).append(NEW_LINE);
+            rpc.append(SUBTREE_FILTER_CLOSE).append(NEW_LINE);
+        }
+        rpc.append(GET_CLOSE).append(NEW_LINE);
+        rpc.append(RPC_CLOSE).append(NEW_LINE);
+
+        return rpc(rpc.toString(), parser);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> asyncGetConfig(DatastoreId datastore, String filterSchema,
+                                                   NetconfReplyParser<T> parser)
+            throws NetconfException {
+        StringBuilder rpc = new StringBuilder();
+        rpc.append(RPC_OPEN);
+        rpc.append(NETCONF_BASE_NAMESPACE).append(">\n");
+        rpc.append(GET_CONFIG_OPEN).append(NEW_LINE);
+        rpc.append(SOURCE_OPEN).append(NEW_LINE);
+        rpc.append('<').append(checkNotNull(datastore)).append("/>");
+        rpc.append(SOURCE_CLOSE).append(NEW_LINE);
+        if (filterSchema != null) {
+            rpc.append(SUBTREE_FILTER_OPEN).append(NEW_LINE);
+            rpc.append(filterSchema).append(NEW_LINE);
+            rpc.append(SUBTREE_FILTER_CLOSE).append(NEW_LINE);
+        }
+        rpc.append(GET_CONFIG_CLOSE).append(NEW_LINE);
+        rpc.append(RPC_CLOSE);
+
+        return rpc(rpc.toString(), parser);
+    }
+
     @Override
     public String get(String request) throws NetconfException {
         return requestSync(request);
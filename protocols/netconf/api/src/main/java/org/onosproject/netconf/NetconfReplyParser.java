@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.netconf;
+
+import com.google.common.annotations.Beta;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.io.StringReader;
+
+/**
+ * Parser of NETCONF replies working on a StAX cursor, so that the data of
+ * interest can be extracted from a reply without building a DOM tree or,
+ * where the session supports it, a string for the whole reply.
+ * <p>
+ * The cursor is positioned at the start of the reply document. It fails
+ * with an {@link XMLStreamException} when it reaches an rpc-error element.
+ *
+ * @param <T> type of the data extracted from the reply
+ */
+@Beta
+@FunctionalInterface
+public interface NetconfReplyParser<T> {
+
+    /**
+     * Extracts data from the reply read by the given cursor.
+     *
+     * @param reader cursor over the reply
+     * @return data extracted from the reply
+     * @throws XMLStreamException if the reply cannot be parsed
+     */
+    T parse(XMLStreamReader reader) throws XMLStreamException;
+
+    /**
+     * Extracts data from the reply encoded in the given stream.
+     *
+     * @param reply stream of the reply
+     * @return data extracted from the reply
+     * @throws NetconfException if the reply cannot be parsed
+     */
+    default T parse(InputStream reply) throws NetconfException {
+        try {
+            return XmlReplyReaders.parse(this, XmlReplyReaders.createReader(reply));
+        } catch (XMLStreamException e) {
+            throw new NetconfException("Unable to parse reply: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Extracts data from the given reply.
+     *
+     * @param reply reply
+     * @return data extracted from the reply
+     * @throws NetconfException if the reply cannot be parsed
+     */
+    default T parse(CharSequence reply) throws NetconfException {
+        try {
+            return XmlReplyReaders.parse(this, XmlReplyReaders.createReader(
+                    new StringReader(reply.toString())));
+        } catch (XMLStreamException e) {
+            throw new NetconfException("Unable to parse reply: " + e.getMessage(), e);
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * NETCONF session object that allows NETCONF operations on top with the physical
@@ -78,6 +79,67 @@ public interface NetconfSession {
      */
     CompletableFuture<CharSequence> asyncGet() throws NetconfException;
 
+    /**
+     * Executes an asynchronous RPC request to the server and extracts data
+     * from its reply with the given parser.
+     * <p>
+     * Where the session supports it, the parser reads the reply as it was
+     * received, without the reply being materialized as a string.
+     *
+     * @param request the XML containing the RPC request for the server.
+     * @param parser  parser of the reply
+     * @param <T>     type of the data extracted from the reply
+     * @return future of the data extracted from the reply
+     * @throws NetconfException when there is a problem in the communication process on
+     * the underlying connection
+     */
+    @Beta
+    default <T> CompletableFuture<T> rpc(String request, NetconfReplyParser<T> parser)
+            throws NetconfException {
+        return rpc(request).thenApply(reply -> {
+            try {
+                return parser.parse(reply);
+            } catch (NetconfException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    /**
+     * Retrieves the requested data and extracts from it with the given parser.
+     *
+     * @param filterSchema XML subtrees to include in the reply, or null for all
+     * @param parser       parser of the reply
+     * @param <T>          type of the data extracted from the reply
+     * @return future of the data extracted from the reply
+     * @throws NetconfException when there is a problem in the communication process on
+     * the underlying connection
+     */
+    @Beta
+    default <T> CompletableFuture<T> asyncGet(String filterSchema, NetconfReplyParser<T> parser)
+            throws NetconfException {
+        return CompletableFuture.completedFuture(parser.parse(get(filterSchema, null)));
+    }
+
+    /**
+     * Retrieves the specified configuration and extracts from it with the
+     * given parser.
+     *
+     * @param datastore    to retrieve configuration from
+     * @param filterSchema XML subtrees to include in the reply, or null for all
+     * @param parser       parser of the reply
+     * @param <T>          type of the data extracted from the reply
+     * @return future of the data extracted from the reply
+     * @throws NetconfException when there is a problem in the communication process on
+     * the underlying connection
+     */
+    @Beta
+    default <T> CompletableFuture<T> asyncGetConfig(DatastoreId datastore, String filterSchema,
+                                                    NetconfReplyParser<T> parser)
+            throws NetconfException {
+        return CompletableFuture.completedFuture(parser.parse(getConfig(datastore, filterSchema)));
+    }
+
 
     /**
      * Retrieves the requested configuration, different from get-config.
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.netconf;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * Creates the StAX cursors handed to NETCONF reply parsers.
+ */
+final class XmlReplyReaders {
+
+    private static final String RPC_ERROR = "rpc-error";
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    private XmlReplyReaders() {
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        // Replies come from devices: neither DTDs nor external entities
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        return factory;
+    }
+
+    static XMLStreamReader createReader(InputStream reply) throws XMLStreamException {
+        return new RpcErrorCheckingReader(FACTORY.createXMLStreamReader(reply));
+    }
+
+    static XMLStreamReader createReader(Reader reply) throws XMLStreamException {
+        return new RpcErrorCheckingReader(FACTORY.createXMLStreamReader(reply));
+    }
+
+    static <T> T parse(NetconfReplyParser<T> parser, XMLStreamReader reader)
+            throws XMLStreamException {
+        try {
+            return parser.parse(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Cursor failing as soon as it reaches an rpc-error element.
+     */
+    private static final class RpcErrorCheckingReader extends StreamReaderDelegate {
+
+        private RpcErrorCheckingReader(XMLStreamReader reader) {
+            super(reader);
+        }
+
+        @Override
+        public int next() throws XMLStreamException {
+            return check(super.next());
+        }
+
+        @Override
+        public int nextTag() throws XMLStreamException {
+            return check(super.nextTag());
+        }
+
+        private int check(int event) throws XMLStreamException {
+            if (event == XMLStreamConstants.START_ELEMENT && RPC_ERROR.equals(getLocalName())) {
+                throw new XMLStreamException("Device replied with " + RPC_ERROR, getLocation());
+            }
+            return event;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.netconf.ctl.impl;
+
+import com.google.common.collect.Lists;
+import org.apache.sshd.common.io.IoInputStream;
+import org.apache.sshd.common.io.IoOutputStream;
+import org.apache.sshd.common.io.IoReadFuture;
+import org.apache.sshd.common.util.buffer.Buffer;
+import org.apache.sshd.common.util.buffer.ByteArrayBuffer;
+import org.onlab.util.OrderedExecutor;
+import org.onlab.util.SharedExecutors;
+import org.onosproject.netconf.NetconfDeviceInfo;
+import org.onosproject.netconf.NetconfDeviceOutputEvent;
+import org.onosproject.netconf.NetconfDeviceOutputEventListener;
+import org.onosproject.netconf.NetconfException;
+import org.onosproject.netconf.NetconfReplyParser;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.onosproject.netconf.ctl.impl.NetconfStreamThread.getMsgId;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Stream handler that reads the output of a NETCONF session asynchronously.
+ * <p>
+ * Instead of dedicating a thread to each session, reads are issued on the
+ * asynchronous streams of the SSH channel and completed by the I/O threads
+ * of the SSH client. Received bytes are framed incrementally, and replies
+ * complete the pending requests directly from those threads. Listeners are
+ * notified in order on the shared thread pool, so that a slow listener does
+ * not hold up reading from other sessions.
+ * <p>
+ * Replies to requests sent with a parser are not decoded into strings:
+ * the parser reads the received bytes on the shared thread pool.
+ */
+final class NetconfAsyncStreamHandler implements NetconfStreamHandler {
+
+    private static final Logger log = getLogger(NetconfAsyncStreamHandler.class);
+
+    private static final String HELLO = "<hello";
+    private static final String RPC_REPLY = "rpc-reply";
+    private static final String RPC_ERROR = "rpc-error";
+    private static final String NOTIFICATION_LABEL = "<notification";
+    private static final int READ_BUFFER_SIZE = 32 * 1024;
+    // Length of the beginning of a reply searched for its message-id
+    private static final int HEAD_LENGTH = 1024;
+
+    private final IoInputStream in;
+    private final IoOutputStream out;
+    private final NetconfDeviceInfo netconfDeviceInfo;
+    private final NetconfSessionDelegate sessionDelegate;
+    private final Map<Integer, CompletableFuture<String>> replies;
+    private final Map<Integer, ParsedReply<?>> parsedReplies = new ConcurrentHashMap<>();
+    private final int writeTimeout;
+    private final List<NetconfDeviceOutputEventListener> netconfDeviceEventListeners =
+            Lists.newCopyOnWriteArrayList();
+    private final Executor eventExecutor =
+            new OrderedExecutor(SharedExecutors.getPoolThreadExecutor());
+    private final NetconfFrameDecoder decoder = new NetconfFrameDecoder();
+    private final Buffer readBuffer = new ByteArrayBuffer(READ_BUFFER_SIZE);
+
+    private volatile boolean enableNotifications = true;
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a stream handler and starts reading from the given stream.
+     *
+     * @param in           asynchronous output stream of the channel
+     * @param out          asynchronous input stream of the channel
+     * @param deviceInfo   information about the device
+     * @param delegate     delegate notified of the replies
+     * @param replies      futures of the pending requests by message ID
+     * @param writeTimeout timeout in seconds of a write on the channel
+     */
+    NetconfAsyncStreamHandler(IoInputStream in, IoOutputStream out,
+                              NetconfDeviceInfo deviceInfo,
+                              NetconfSessionDelegate delegate,
+                              Map<Integer, CompletableFuture<String>> replies,
+                              int writeTimeout) {
+        this.in = in;
+        this.out = out;
+        this.netconfDeviceInfo = deviceInfo;
+        this.sessionDelegate = delegate;
+        this.replies = replies;
+        this.writeTimeout = writeTimeout;
+        log.debug("Stream handler for device {} session started", deviceInfo);
+        read();
+    }
+
+    @Override
+    public CompletableFuture<String> sendMessage(String request) {
+        Optional<Integer> messageId = getMsgId(request);
+        return sendMessage(request, messageId.get());
+    }
+
+    @Override
+    public CompletableFuture<String> sendMessage(String request, int messageId) {
+        log.debug("Sending message {} to device {}", request, netconfDeviceInfo);
+        CompletableFuture<String> cf = new CompletableFuture<>();
+        replies.put(messageId, cf);
+        write(request, cf);
+        return cf;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> sendMessage(String request, int messageId,
+                                                NetconfReplyParser<T> parser) {
+        log.debug("Sending message {} to device {}", request, netconfDeviceInfo);
+        ParsedReply<T> reply = new ParsedReply<>(parser);
+        parsedReplies.put(messageId, reply);
+        // Forget the request if the caller gives up on it
+        reply.future.whenComplete((r, t) -> parsedReplies.remove(messageId, reply));
+        write(request, reply.future);
+        return reply.future;
+    }
+
+    private void write(String request, CompletableFuture<?> cf) {
+        // The channel accepts a single pending write at a time
+        synchronized (out) {
+            try {
+                out.write(new ByteArrayBuffer(request.getBytes(StandardCharsets.UTF_8)))
+                        .verify(writeTimeout, TimeUnit.SECONDS);
+            } catch (IOException e) {
+                log.error("Writing to {} failed", netconfDeviceInfo, e);
+                cf.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void read() {
+        // Reads completing immediately are handled in this loop rather than
+        // recursively from the listener
+        while (!closed) {
+            readBuffer.clear();
+            IoReadFuture future = in.read(readBuffer);
+            if (!future.isDone()) {
+                future.addListener(f -> {
+                    if (handleRead(f)) {
+                        read();
+                    }
+                });
+                return;
+            }
+            if (!handleRead(future)) {
+                return;
+            }
+        }
+    }
+
+    // Returns whether the next read should be issued
+    private boolean handleRead(IoReadFuture future) {
+        if (closed) {
+            return false;
+        }
+        Throwable error = future.getException();
+        if (error != null) {
+            log.debug("Netconf device {} closed the session, will need to be reopened: {}",
+                      netconfDeviceInfo, error.getMessage());
+            closed = true;
+            failParsedReplies();
+            publish(new NetconfDeviceOutputEvent(
+                    NetconfDeviceOutputEvent.Type.SESSION_CLOSED,
+                    null, null, Optional.of(-1), netconfDeviceInfo));
+            return false;
+        }
+        Buffer buffer = future.getBuffer();
+        try {
+            decoder.decode(buffer.array(), buffer.rpos(), buffer.available(),
+                           this::dealWithReply);
+        } catch (NetconfException e) {
+            log.debug("Netconf device {} sent badly framed message: {}",
+                      netconfDeviceInfo, e.getMessage());
+            closeByDevice();
+        }
+        return !closed;
+    }
+
+    @Override
+    public void close() {
+        log.debug("Netconf device {} stream handler closed on request", netconfDeviceInfo);
+        closed = true;
+        failParsedReplies();
+    }
+
+    private void closeByDevice() {
+        log.debug("Netconf device {} socketClosed = true DEVICE_UNREGISTERED", netconfDeviceInfo);
+        closed = true;
+        failParsedReplies();
+        publish(new NetconfDeviceOutputEvent(
+                NetconfDeviceOutputEvent.Type.DEVICE_UNREGISTERED,
+                null, null, Optional.of(-1), netconfDeviceInfo));
+    }
+
+    private void failParsedReplies() {
+        parsedReplies.values().forEach(reply -> reply.future.completeExceptionally(
+                new NetconfException("Session with " + netconfDeviceInfo + " closed")));
+    }
+
+    private void dealWithReply(byte[] message, int length) {
+        if (closed) {
+            return;
+        }
+        if (!parsedReplies.isEmpty()) {
+            String head = new String(message, 0, Math.min(length, HEAD_LENGTH),
+                                     StandardCharsets.UTF_8);
+            if (head.contains(RPC_REPLY)) {
+                ParsedReply<?> reply = getMsgId(head).map(parsedReplies::remove).orElse(null);
+                if (reply != null) {
+                    log.debug("Netconf device {} parsing reply of {} bytes", netconfDeviceInfo, length);
+                    SharedExecutors.getPoolThreadExecutor().execute(
+                            () -> reply.complete(message, length));
+                    return;
+                }
+            }
+        }
+        dealWithReply(new String(message, 0, length, StandardCharsets.UTF_8));
+    }
+
+    private void dealWithReply(String deviceReply) {
+        if (closed) {
+            return;
+        }
+        if (deviceReply.isEmpty()) {
+            // Bare end-of-message marker
+            closeByDevice();
+        } else if (deviceReply.contains(RPC_REPLY) ||
+                deviceReply.contains(RPC_ERROR) ||
+                deviceReply.contains(HELLO)) {
+            Optional<Integer> messageId = getMsgId(deviceReply);
+            log.debug("Netconf device {} sessionDelegate.notify() DEVICE_REPLY {} {}",
+                      netconfDeviceInfo, messageId, deviceReply);
+            NetconfDeviceOutputEvent event = new NetconfDeviceOutputEvent(
+                    NetconfDeviceOutputEvent.Type.DEVICE_REPLY,
+                    null, deviceReply, messageId, netconfDeviceInfo);
+            sessionDelegate.notify(event);
+            publish(event);
+        } else if (deviceReply.contains(NOTIFICATION_LABEL)) {
+            log.debug("Netconf device {} DEVICE_NOTIFICATION {} {}",
+                      netconfDeviceInfo, enableNotifications, deviceReply);
+            if (enableNotifications) {
+                publish(new NetconfDeviceOutputEvent(
+                        NetconfDeviceOutputEvent.Type.DEVICE_NOTIFICATION,
+                        null, deviceReply, getMsgId(deviceReply), netconfDeviceInfo));
+            }
+        } else {
+            log.debug("Error on reply from device {} {}", netconfDeviceInfo, deviceReply);
+        }
+    }
+
+    private void publish(NetconfDeviceOutputEvent event) {
+        if (netconfDeviceEventListeners.isEmpty()) {
+            return;
+        }
+        eventExecutor.execute(() -> netconfDeviceEventListeners.forEach(
+                listener -> listener.event(event)));
+    }
+
+    @Override
+    public void addDeviceEventListener(NetconfDeviceOutputEventListener listener) {
+        if (!netconfDeviceEventListeners.contains(listener)) {
+            netconfDeviceEventListeners.add(listener);
+        }
+    }
+
+    @Override
+    public void removeDeviceEventListener(NetconfDeviceOutputEventListener listener) {
+        netconfDeviceEventListeners.remove(listener);
+    }
+
+    @Override
+    public void setEnableNotifications(boolean enableNotifications) {
+        this.enableNotifications = enableNotifications;
+    }
+
+    /**
+     * Reply to be extracted from by a parser.
+     */
+    private static final class ParsedReply<T> {
+
+        private final NetconfReplyParser<T> parser;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private ParsedReply(NetconfReplyParser<T> parser) {
+            this.parser = parser;
+        }
+
+        private void complete(byte[] message, int length) {
+            try {
+                future.complete(parser.parse(new ByteArrayInputStream(message, 0, length)));
+            } catch (NetconfException | RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.netconf.ctl.impl;
+
+import org.onosproject.netconf.NetconfException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Incremental decoder of the RFC 6242 framing of NETCONF messages.
+ * <p>
+ * Bytes are fed as they are received, and each message is decoded as soon
+ * as its last frame is complete. Both end-of-message and chunked framing
+ * are supported: a message whose first bytes are a chunk header is decoded
+ * as chunked, any other as delimited by the end-of-message marker.
+ * Whitespace between messages is discarded.
+ */
+final class NetconfFrameDecoder {
+
+    private static final byte[] END_OF_MESSAGE = "]]>]]>".getBytes(StandardCharsets.UTF_8);
+    // Length of the longest proper prefix of END_OF_MESSAGE[0..i] that is
+    // also its suffix, to resume matching the marker after a mismatch
+    private static final int[] END_OF_MESSAGE_FALLBACK = {0, 1, 0, 1, 2, 3};
+    private static final byte LF = '\n';
+    private static final byte HASH = '#';
+
+    private static final int INITIAL_CAPACITY = 8 * 1024;
+    // Buffers grown larger than this are released on framing errors
+    private static final int RETAINED_CAPACITY = 1024 * 1024;
+
+    /**
+     * Consumer of the decoded messages.
+     */
+    interface MessageConsumer {
+
+        /**
+         * Accepts a decoded message, as UTF-8 encoded bytes. The array is
+         * handed over to the consumer and never written by the decoder again.
+         *
+         * @param message array holding the message from its first byte
+         * @param length  length of the message
+         */
+        void accept(byte[] message, int length);
+    }
+
+    private enum State {
+        MESSAGE_START,
+        MESSAGE_START_LF,
+        END_OF_MESSAGE,
+        CHUNK_LF,
+        CHUNK_HASH,
+        CHUNK_SIZE_START,
+        CHUNK_SIZE,
+        CHUNK_DATA,
+        END_OF_CHUNKS_LF
+    }
+
+    private State state = State.MESSAGE_START;
+    private byte[] message = new byte[INITIAL_CAPACITY];
+    private int length;
+    private int matched;
+    private int chunkSize;
+    private int chunkRemaining;
+
+    /**
+     * Decodes the given bytes, passing each message completed by them to the
+     * given consumer.
+     *
+     * @param data     buffer holding the bytes
+     * @param offset   offset of the first byte
+     * @param count    number of bytes
+     * @param messages consumer of the decoded messages
+     * @throws NetconfException if the bytes violate the chunked framing
+     */
+    void decode(byte[] data, int offset, int count, MessageConsumer messages)
+            throws NetconfException {
+        int position = offset;
+        final int end = offset + count;
+        while (position < end) {
+            switch (state) {
+                case END_OF_MESSAGE:
+                    position = decodeEndOfMessage(data, position, end, messages);
+                    break;
+                case CHUNK_DATA:
+                    final int n = Math.min(chunkRemaining, end - position);
+                    append(data, position, n);
+                    position += n;
+                    chunkRemaining -= n;
+                    if (chunkRemaining == 0) {
+                        state = State.CHUNK_LF;
+                    }
+                    break;
+                default:
+                    if (decodeHeader(data[position], messages)) {
+                        position++;
+                    }
+                    break;
+            }
+        }
+    }
+
+    private int decodeEndOfMessage(byte[] data, int offset, int end,
+                                   MessageConsumer messages) {
+        int position = offset;
+        while (position < end) {
+            final byte b = data[position++];
+            while (matched > 0 && b != END_OF_MESSAGE[matched]) {
+                matched = END_OF_MESSAGE_FALLBACK[matched - 1];
+            }
+            if (b == END_OF_MESSAGE[matched]) {
+                matched++;
+            }
+            if (matched == END_OF_MESSAGE.length) {
+                append(data, offset, position - offset);
+                matched = 0;
+                emit(length - END_OF_MESSAGE.length, messages);
+                return position;
+            }
+        }
+        append(data, offset, end - offset);
+        return end;
+    }
+
+    // Returns whether the byte has been consumed
+    private boolean decodeHeader(byte b, MessageConsumer messages) throws NetconfException {
+        switch (state) {
+            case MESSAGE_START:
+            case MESSAGE_START_LF:
+                if (b == HASH && state == State.MESSAGE_START_LF) {
+                    state = State.CHUNK_SIZE_START;
+                } else if (b == LF) {
+                    state = State.MESSAGE_START_LF;
+                } else if (!isWhitespace(b)) {
+                    state = State.END_OF_MESSAGE;
+                    return false;
+                }
+                // Whitespace between messages is not part of either
+                return true;
+            case CHUNK_LF:
+                expect(b, LF);
+                state = State.CHUNK_HASH;
+                return true;
+            case CHUNK_HASH:
+                expect(b, HASH);
+                state = State.CHUNK_SIZE_START;
+                return true;
+            case CHUNK_SIZE_START:
+                if (b == HASH) {
+                    state = State.END_OF_CHUNKS_LF;
+                } else if (b >= '1' && b <= '9') {
+                    chunkSize = b - '0';
+                    state = State.CHUNK_SIZE;
+                } else {
+                    throw badFraming("invalid chunk size", b);
+                }
+                return true;
+            case CHUNK_SIZE:
+                if (b == LF) {
+                    chunkRemaining = chunkSize;
+                    state = State.CHUNK_DATA;
+                } else if (b >= '0' && b <= '9' && chunkSize <= (Integer.MAX_VALUE - 9) / 10) {
+                    chunkSize = chunkSize * 10 + b - '0';
+                } else {
+                    throw badFraming("invalid chunk size", b);
+                }
+                return true;
+            case END_OF_CHUNKS_LF:
+                expect(b, LF);
+                emit(length, messages);
+                return true;
+            default:
+                throw new IllegalStateException("Unexpected state " + state);
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private void expect(byte b, byte expected) throws NetconfException {
+        if (b != expected) {
+            throw badFraming("expected '" + (char) expected + "'", b);
+        }
+    }
+
+    private NetconfException badFraming(String reason, byte b) {
+        reset();
+        return new NetconfException("Bad chunked framing, " + reason +
+                                            " but found byte " + (b & 0xff));
+    }
+
+    private void append(byte[] data, int offset, int count) {
+        if (length + count > message.length) {
+            message = Arrays.copyOf(message, Math.max(2 * message.length, length + count));
+        }
+        System.arraycopy(data, offset, message, length, count);
+        length += count;
+    }
+
+    private void emit(int messageLength, MessageConsumer messages) {
+        final byte[] decoded = message;
+        message = new byte[INITIAL_CAPACITY];
+        reset();
+        messages.accept(decoded, messageLength);
+    }
+
+    private void reset() {
+        state = State.MESSAGE_START;
+        length = 0;
+        matched = 0;
+        if (message.length > RETAINED_CAPACITY) {
+            message = new byte[INITIAL_CAPACITY];
+        }
+    }
+}
@@ -47,6 +47,7 @@ import org.onosproject.netconf.NetconfDeviceOutputEvent;
 import org.onosproject.netconf.NetconfDeviceOutputEvent.Type;
 import org.onosproject.netconf.NetconfDeviceOutputEventListener;
 import org.onosproject.netconf.NetconfException;
+import org.onosproject.netconf.NetconfReplyParser;
 import org.onosproject.netconf.NetconfSession;
 import org.onosproject.netconf.NetconfSessionFactory;
 import org.onosproject.netconf.NetconfTransportException;
@@ -155,6 +156,10 @@ public class NetconfSessionMinaImpl extends AbstractNetconfSession {
     private ClientSession session = null;
     private SshClient client = null;
 
+    // Client shared by the sessions with the default idle timeout, so that
+    // the number of SSH I/O threads does not grow with the number of devices
+    private static SshClient sharedClient = null;
+
     private boolean disconnected = false;
 
     public NetconfSessionMinaImpl(NetconfDeviceInfo deviceInfo) throws NetconfException {
@@ -230,20 +235,41 @@ public class NetconfSessionMinaImpl extends AbstractNetconfSession {
         log.info("Creating NETCONF session to {}",
                 deviceInfo.getDeviceId());
 
-        client = SshClient.setUpDefaultClient();
         if (idleTimeout != NetconfControllerImpl.netconfIdleTimeout) {
+            client = SshClient.setUpDefaultClient();
             client.getProperties().putIfAbsent(FactoryManager.IDLE_TIMEOUT,
                     TimeUnit.SECONDS.toMillis(idleTimeout));
             client.getProperties().putIfAbsent(FactoryManager.NIO2_READ_TIMEOUT,
                     TimeUnit.SECONDS.toMillis(idleTimeout + 15L));
+            client.start();
+            client.setKeyPairProvider(new SimpleGeneratorHostKeyProvider());
+        } else {
+            client = sharedClient();
         }
-        client.start();
-        client.setKeyPairProvider(new SimpleGeneratorHostKeyProvider());
         startSession();
 
         disconnected = false;
     }
 
+    private static synchronized SshClient sharedClient() {
+        if (sharedClient == null || sharedClient.isClosed() || sharedClient.isClosing()) {
+            sharedClient = SshClient.setUpDefaultClient();
+            sharedClient.start();
+            sharedClient.setKeyPairProvider(new SimpleGeneratorHostKeyProvider());
+        }
+        return sharedClient;
+    }
+
+    /**
+     * Stops the SSH client shared by the sessions, if any.
+     */
+    static synchronized void stopSharedClient() {
+        if (sharedClient != null) {
+            sharedClient.stop();
+            sharedClient = null;
+        }
+    }
+
     //TODO: Remove the default methods already implemented in NetconfSession
 
     // FIXME blocking
@@ -297,12 +323,12 @@ public class NetconfSessionMinaImpl extends AbstractNetconfSession {
     @Deprecated
     private void openChannel() throws IOException {
         channel = session.createSubsystemChannel("netconf");
+        channel.setStreaming(ClientChannel.Streaming.Async);
         OpenFuture channelFuture = channel.open();
         if (channelFuture.await(connectTimeout, TimeUnit.SECONDS)) {
             if (channelFuture.isOpened()) {
-                streamHandler = new NetconfStreamThread(channel.getInvertedOut(), channel.getInvertedIn(),
-                        channel.getInvertedErr(), deviceInfo,
-                        new NetconfSessionDelegateImpl(), replies);
+                streamHandler = new NetconfAsyncStreamHandler(channel.getAsyncOut(), channel.getAsyncIn(),
+                        deviceInfo, new NetconfSessionDelegateImpl(), replies, replyTimeout);
                 primaryListeners.forEach(l -> streamHandler.addDeviceEventListener(l));
             } else {
                 throw new NetconfException("Failed to open channel with device " +
@@ -417,7 +443,7 @@ public class NetconfSessionMinaImpl extends AbstractNetconfSession {
             }
         }
 
-        if (client != null) {
+        if (client != null && client != sharedClient) {
             try {
                 client.close();
             } catch (IOException ex) {
@@ -576,17 +602,9 @@ public class NetconfSessionMinaImpl extends AbstractNetconfSession {
     @Override
     public CompletableFuture<String> rpc(String request) {
 
-        String rpc = request;
         //  - assign message-id
         int msgId = messageIdInteger.incrementAndGet();
-        //  - re-write request to insert message-id
-        // FIXME avoid using formatRequestMessageId
-        rpc = formatRequestMessageId(rpc, msgId);
-        //  - ensure it contains XML header
-        rpc = formatXmlHeader(rpc);
-        //  - use chunked framing if talking to NC 1.1 device
-        // FIXME avoid using formatNetconfMessage
-        rpc = formatNetconfMessage(rpc);
+        String rpc = formatRpc(request, msgId);
 
         // TODO session liveness check & recovery
 
@@ -609,6 +627,33 @@ public class NetconfSessionMinaImpl extends AbstractNetconfSession {
                 }, SharedExecutors.getPoolThreadExecutor());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The reply is not decoded into a string: the parser reads the bytes
+     * received from the device. As with {@link #rpc(String)}, {@code request}
+     * must not include message-id.
+     */
+    @Override
+    public <T> CompletableFuture<T> rpc(String request, NetconfReplyParser<T> parser) {
+        int msgId = messageIdInteger.incrementAndGet();
+        String rpc = formatRpc(request, msgId);
+        log.debug("Sending {} to {}", rpc, this.deviceInfo.getDeviceId());
+        return streamHandler.sendMessage(rpc, msgId, parser);
+    }
+
+    private String formatRpc(String request, int msgId) {
+        String rpc = request;
+        //  - re-write request to insert message-id
+        // FIXME avoid using formatRequestMessageId
+        rpc = formatRequestMessageId(rpc, msgId);
+        //  - ensure it contains XML header
+        rpc = formatXmlHeader(rpc);
+        //  - use chunked framing if talking to NC 1.1 device
+        // FIXME avoid using formatNetconfMessage
+        return formatNetconfMessage(rpc);
+    }
+
     @Override
     public int timeoutConnectSec() {
         return connectTimeout;
@@ -785,6 +830,9 @@ public class NetconfSessionMinaImpl extends AbstractNetconfSession {
             if (client != null && (client.isClosed() || client.isClosing())) {
                 return true;
             }
+            if (session != null && (session.isClosed() || session.isClosing())) {
+                return true;
+            }
 
             return super.close();
         } catch (IOException ioe) {
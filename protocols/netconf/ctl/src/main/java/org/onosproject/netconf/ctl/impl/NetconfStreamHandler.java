@@ -18,8 +18,11 @@ package org.onosproject.netconf.ctl.impl;
 
 import com.google.common.annotations.Beta;
 import org.onosproject.netconf.NetconfDeviceOutputEventListener;
+import org.onosproject.netconf.NetconfException;
+import org.onosproject.netconf.NetconfReplyParser;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Interface to represent an objects that does all the IO on a NETCONF session
@@ -47,6 +50,27 @@ public interface NetconfStreamHandler {
      */
     CompletableFuture<String> sendMessage(String request, int messageId);
 
+    /**
+     * Sends the request on the stream that is used to communicate to and from the device,
+     * and extracts data from the response with the given parser.
+     *
+     * @param request request to send to the physical device
+     * @param messageId The identifier of the message - should be unique for the session
+     * @param parser parser of the response
+     * @param <T> type of the data extracted from the response
+     * @return a CompletableFuture that will contain the data extracted from the response.
+     */
+    default <T> CompletableFuture<T> sendMessage(String request, int messageId,
+                                                 NetconfReplyParser<T> parser) {
+        return sendMessage(request, messageId).thenApply(reply -> {
+            try {
+                return parser.parse(reply);
+            } catch (NetconfException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
     /**
      * Adds a listener for netconf events on the handled stream.
      *
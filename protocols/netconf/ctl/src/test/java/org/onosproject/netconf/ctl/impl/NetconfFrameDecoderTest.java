@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.netconf.ctl.impl;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.onosproject.netconf.NetconfException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for the NETCONF frame decoder.
+ */
+public class NetconfFrameDecoderTest {
+
+    private static final String REPLY = "<rpc-reply message-id=\"7\"><ok/></rpc-reply>";
+    private static final String UNICODE_REPLY =
+            "<rpc-reply message-id=\"8\"><data>\u00e9\u4e2d</data></rpc-reply>";
+
+    private NetconfFrameDecoder decoder;
+    private List<String> messages;
+
+    @Before
+    public void setUp() {
+        decoder = new NetconfFrameDecoder();
+        messages = new ArrayList<>();
+    }
+
+    private void collect(byte[] message, int length) {
+        messages.add(new String(message, 0, length, StandardCharsets.UTF_8));
+    }
+
+    private void decode(String data) throws NetconfException {
+        byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+        decoder.decode(bytes, 0, bytes.length, this::collect);
+    }
+
+    // Feeds the data one byte at a time, as if each byte was a separate read
+    private void decodeBytewise(String data) throws NetconfException {
+        byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < bytes.length; i++) {
+            decoder.decode(bytes, i, 1, this::collect);
+        }
+    }
+
+    private static String chunked(String... chunks) {
+        StringBuilder builder = new StringBuilder();
+        for (String chunk : chunks) {
+            builder.append("\n#")
+                    .append(chunk.getBytes(StandardCharsets.UTF_8).length)
+                    .append('\n')
+                    .append(chunk);
+        }
+        return builder.append("\n##\n").toString();
+    }
+
+    @Test
+    public void testEndOfMessage() throws NetconfException {
+        decode(REPLY + "]]>]]>");
+        assertEquals(1, messages.size());
+        assertEquals(REPLY, messages.get(0));
+    }
+
+    @Test
+    public void testEndOfMessageSplit() throws NetconfException {
+        decodeBytewise(REPLY + "]]>]]>\n" + REPLY + "]]>]]>");
+        assertEquals(2, messages.size());
+        assertEquals(REPLY, messages.get(0));
+        assertEquals(REPLY, messages.get(1));
+    }
+
+    @Test
+    public void testEndOfMessagePartialMarker() throws NetconfException {
+        String content = "<data>]]]>]]]>]></data>";
+        decode(content + "]]>]]>");
+        assertEquals(1, messages.size());
+        assertEquals(content, messages.get(0));
+    }
+
+    @Test
+    public void testEmptyEndOfMessage() throws NetconfException {
+        decode("]]>]]>");
+        assertEquals(1, messages.size());
+        assertEquals("", messages.get(0));
+    }
+
+    @Test
+    public void testChunked() throws NetconfException {
+        decode(chunked("<rpc-reply message-id=\"7\">", "<ok/>", "</rpc-reply>"));
+        assertEquals(1, messages.size());
+        assertEquals(REPLY, messages.get(0));
+    }
+
+    @Test
+    public void testChunkedSplit() throws NetconfException {
+        decodeBytewise(chunked(UNICODE_REPLY.substring(0, 30), UNICODE_REPLY.substring(30))
+                               + chunked(REPLY));
+        assertEquals(2, messages.size());
+        assertEquals(UNICODE_REPLY, messages.get(0));
+        assertEquals(REPLY, messages.get(1));
+    }
+
+    @Test
+    public void testChunkedAfterHello() throws NetconfException {
+        String hello = "<hello><session-id>1</session-id></hello>";
+        decode(hello + "]]>]]>\n" + chunked(REPLY));
+        assertEquals(2, messages.size());
+        assertEquals(hello, messages.get(0));
+        assertEquals(REPLY, messages.get(1));
+    }
+
+    @Test
+    public void testChunkedLargerThanBuffer() throws NetconfException {
+        StringBuilder data = new StringBuilder("<data>");
+        for (int i = 0; i < 100000; i++) {
+            data.append("<leaf>").append(i).append("</leaf>");
+        }
+        String reply = data.append("</data>").toString();
+        decode(chunked(reply.substring(0, 500000), reply.substring(500000)));
+        assertEquals(1, messages.size());
+        assertEquals(reply, messages.get(0));
+    }
+
+    @Test
+    public void testBadChunkSize() throws NetconfException {
+        try {
+            decode("\n#0\n\n##\n");
+            fail("Chunk size of zero should be rejected");
+        } catch (NetconfException e) {
+            assertTrue(messages.isEmpty());
+        }
+        // The decoder is usable again after a framing error
+        decode(chunked(REPLY));
+        assertEquals(1, messages.size());
+    }
+
+    @Test
+    public void testWrongChunkSize() throws NetconfException {
+        try {
+            decode("\n#3\n<ok/>\n##\n");
+            fail("Chunk data longer than its size should be rejected");
+        } catch (NetconfException e) {
+            assertTrue(messages.isEmpty());
+        }
+    }
+}
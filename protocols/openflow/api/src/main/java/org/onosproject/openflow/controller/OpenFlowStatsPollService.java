@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.openflow.controller;
+
+import java.util.Collection;
+
+/**
+ * Abstraction of a scheduler shared by the OpenFlow statistics collectors.
+ * <p>
+ * Polls of all switches are spread over their interval and dispatched
+ * under global and per-switch limits on outstanding statistics requests,
+ * so that switches connecting together do not poll in lockstep.
+ */
+public interface OpenFlowStatsPollService {
+
+    /**
+     * Sends the statistics request(s) of a poll.
+     */
+    @FunctionalInterface
+    interface Poller {
+
+        /**
+         * Sends the statistics request(s) of a poll to the switch. Each
+         * request is charged against the limits on outstanding requests
+         * until the last part of its reply is received, and the poll is
+         * outstanding until all of them are answered or it times out.
+         *
+         * @return xids of the requests sent; empty if no request was sent
+         */
+        Collection<Long> poll();
+    }
+
+    /**
+     * Periodic poll of a switch.
+     */
+    interface Poll {
+
+        /**
+         * Changes the poll interval; the next poll is rescheduled at a random
+         * point of the new interval.
+         *
+         * @param intervalMillis poll interval in milliseconds; zero or less
+         *                       to stop polling periodically
+         */
+        void setInterval(long intervalMillis);
+
+        /**
+         * Polls as soon as the limits allow it, unless a poll is already
+         * pending.
+         */
+        void trigger();
+
+        /**
+         * Cancels the poll, releasing its outstanding request if any.
+         */
+        void cancel();
+    }
+
+    /**
+     * Schedules a periodic poll of the given switch. The first poll happens
+     * at a random point of the interval.
+     *
+     * @param dpid           switch to poll
+     * @param name           name of the poll, for logging
+     * @param intervalMillis poll interval in milliseconds; zero or less to
+     *                       poll only once, as soon as possible
+     * @param poller         sender of the statistics requests
+     * @return scheduled poll
+     */
+    Poll schedule(Dpid dpid, String name, long intervalMillis, Poller poller);
+}
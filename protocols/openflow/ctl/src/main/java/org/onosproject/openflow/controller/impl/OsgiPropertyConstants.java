@@ -68,4 +68,16 @@ public final class OsgiPropertyConstants {
     public static final int BULK_SIZE_DEFAULT = 100;
     public static final int QUEUE_SIZE_DEFAULT = 1;
 
+    public static final String MAX_OUTSTANDING_STATS = "maxOutstandingStatsRequests";
+    public static final int MAX_OUTSTANDING_STATS_DEFAULT = 64;
+
+    public static final String MAX_OUTSTANDING_STATS_PER_SWITCH = "maxOutstandingStatsRequestsPerSwitch";
+    public static final int MAX_OUTSTANDING_STATS_PER_SWITCH_DEFAULT = 1;
+
+    public static final String STATS_REPLY_ENTRIES_RATE = "statsReplyEntriesPerSecond";
+    public static final int STATS_REPLY_ENTRIES_RATE_DEFAULT = 100000;
+
+    public static final String STATS_REQUEST_TIMEOUT = "statsRequestTimeout";
+    public static final int STATS_REQUEST_TIMEOUT_DEFAULT = 10;
+
 }
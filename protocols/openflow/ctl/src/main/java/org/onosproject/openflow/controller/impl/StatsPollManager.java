@@ -0,0 +1,537 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.openflow.controller.impl;
+
+import com.codahale.metrics.Histogram;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
+import org.onlab.util.SharedExecutors;
+import org.onlab.util.Tools;
+import org.onosproject.cfg.ComponentConfigService;
+import org.onosproject.openflow.controller.Dpid;
+import org.onosproject.openflow.controller.OpenFlowController;
+import org.onosproject.openflow.controller.OpenFlowMessageListener;
+import org.onosproject.openflow.controller.OpenFlowStatsPollService;
+import org.osgi.service.component.ComponentContext;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.projectfloodlight.openflow.protocol.OFFlowLightweightStatsReply;
+import org.projectfloodlight.openflow.protocol.OFFlowStatsReply;
+import org.projectfloodlight.openflow.protocol.OFGroupStatsReply;
+import org.projectfloodlight.openflow.protocol.OFMessage;
+import org.projectfloodlight.openflow.protocol.OFMeterStatsReply;
+import org.projectfloodlight.openflow.protocol.OFPortStatsReply;
+import org.projectfloodlight.openflow.protocol.OFQueueStatsReply;
+import org.projectfloodlight.openflow.protocol.OFStatsReply;
+import org.projectfloodlight.openflow.protocol.OFStatsReplyFlags;
+import org.projectfloodlight.openflow.protocol.OFTableStatsReply;
+import org.projectfloodlight.openflow.protocol.OFType;
+import org.slf4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Dictionary;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static org.onlab.util.Tools.groupedThreads;
+import static org.onosproject.openflow.controller.impl.OsgiPropertyConstants.MAX_OUTSTANDING_STATS;
+import static org.onosproject.openflow.controller.impl.OsgiPropertyConstants.MAX_OUTSTANDING_STATS_DEFAULT;
+import static org.onosproject.openflow.controller.impl.OsgiPropertyConstants.MAX_OUTSTANDING_STATS_PER_SWITCH;
+import static org.onosproject.openflow.controller.impl.OsgiPropertyConstants.MAX_OUTSTANDING_STATS_PER_SWITCH_DEFAULT;
+import static org.onosproject.openflow.controller.impl.OsgiPropertyConstants.STATS_REPLY_ENTRIES_RATE;
+import static org.onosproject.openflow.controller.impl.OsgiPropertyConstants.STATS_REPLY_ENTRIES_RATE_DEFAULT;
+import static org.onosproject.openflow.controller.impl.OsgiPropertyConstants.STATS_REQUEST_TIMEOUT;
+import static org.onosproject.openflow.controller.impl.OsgiPropertyConstants.STATS_REQUEST_TIMEOUT_DEFAULT;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Schedules the statistics polls of all OpenFlow switches.
+ * <p>
+ * Each poll starts at a random point of its interval, and every period is
+ * jittered, so that switches connecting together do not poll in lockstep.
+ * Due polls are dispatched in order, as long as the global and per-switch
+ * limits on outstanding requests allow it; every request sent by a poll
+ * holds one slot of these limits until its reply, and a poll that is still
+ * pending when it is due again skips that period. The entries of the stats
+ * replies are charged against a global rate, so that large multipart replies
+ * delay the next polls instead of piling up.
+ */
+@Component(
+        immediate = true,
+        service = OpenFlowStatsPollService.class,
+        property = {
+                MAX_OUTSTANDING_STATS + ":Integer=" + MAX_OUTSTANDING_STATS_DEFAULT,
+                MAX_OUTSTANDING_STATS_PER_SWITCH + ":Integer=" + MAX_OUTSTANDING_STATS_PER_SWITCH_DEFAULT,
+                STATS_REPLY_ENTRIES_RATE + ":Integer=" + STATS_REPLY_ENTRIES_RATE_DEFAULT,
+                STATS_REQUEST_TIMEOUT + ":Integer=" + STATS_REQUEST_TIMEOUT_DEFAULT,
+        }
+)
+public class StatsPollManager implements OpenFlowStatsPollService {
+
+    private final Logger log = getLogger(getClass());
+
+    private static final String METRICS_COMPONENT = "OpenFlowStatsPoll";
+    private static final String POLL_LATENCY = "pollLatency";
+
+    // Fraction of the interval by which each period is randomly shifted
+    private static final int JITTER_DIVISOR = 10;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected OpenFlowController controller;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected ComponentConfigService cfgService;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected MetricsService metricsService;
+
+    /** Maximum number of outstanding stats requests, over all switches. */
+    private int maxOutstandingStatsRequests = MAX_OUTSTANDING_STATS_DEFAULT;
+
+    /** Maximum number of outstanding stats requests per switch. */
+    private int maxOutstandingStatsRequestsPerSwitch = MAX_OUTSTANDING_STATS_PER_SWITCH_DEFAULT;
+
+    /** Rate of stats reply entries paced over all switches; 0 to disable. */
+    private int statsReplyEntriesPerSecond = STATS_REPLY_ENTRIES_RATE_DEFAULT;
+
+    /** Time (in seconds) after which an unanswered stats request is dropped. */
+    private int statsRequestTimeout = STATS_REQUEST_TIMEOUT_DEFAULT;
+
+    private final InternalMessageListener listener = new InternalMessageListener();
+
+    private ScheduledExecutorService executor;
+    private MetricsComponent metricsComponent;
+
+    // All the following state is guarded by this
+    private final Map<Dpid, SwitchPolls> switches = Maps.newHashMap();
+    private final Deque<PollTask> ready = new ArrayDeque<>();
+    private int outstanding;
+    private double replyCredit;
+    private long replyCreditTime = System.nanoTime();
+    private ScheduledFuture<?> pacedDispatch;
+
+    @Activate
+    public void activate(ComponentContext context) {
+        cfgService.registerProperties(getClass());
+        executor = newScheduledThreadPool(1, groupedThreads("onos/of", "stats-poll", log));
+        // Evicts the tasks if cancelled
+        ((ScheduledThreadPoolExecutor) executor).setRemoveOnCancelPolicy(true);
+        metricsComponent = metricsService.registerComponent(METRICS_COMPONENT);
+        modified(context);
+        controller.addMessageListener(listener);
+        log.info("Started");
+    }
+
+    @Deactivate
+    public void deactivate() {
+        controller.removeMessageListener(listener);
+        cfgService.unregisterProperties(getClass(), false);
+        executor.shutdownNow();
+        synchronized (this) {
+            switches.keySet().forEach(this::removeMetrics);
+            switches.clear();
+            ready.clear();
+            outstanding = 0;
+        }
+        log.info("Stopped");
+    }
+
+    @Modified
+    public void modified(ComponentContext context) {
+        if (context == null) {
+            return;
+        }
+        Dictionary<?, ?> properties = context.getProperties();
+        synchronized (this) {
+            maxOutstandingStatsRequests = Math.max(1, Tools.getIntegerProperty(
+                    properties, MAX_OUTSTANDING_STATS, MAX_OUTSTANDING_STATS_DEFAULT));
+            maxOutstandingStatsRequestsPerSwitch = Math.max(1, Tools.getIntegerProperty(
+                    properties, MAX_OUTSTANDING_STATS_PER_SWITCH, MAX_OUTSTANDING_STATS_PER_SWITCH_DEFAULT));
+            statsReplyEntriesPerSecond = Math.max(0, Tools.getIntegerProperty(
+                    properties, STATS_REPLY_ENTRIES_RATE, STATS_REPLY_ENTRIES_RATE_DEFAULT));
+            statsRequestTimeout = Math.max(1, Tools.getIntegerProperty(
+                    properties, STATS_REQUEST_TIMEOUT, STATS_REQUEST_TIMEOUT_DEFAULT));
+            replyCredit = statsReplyEntriesPerSecond;
+            dispatch();
+        }
+        log.info("Settings: maxOutstandingStatsRequests={}, maxOutstandingStatsRequestsPerSwitch={}, " +
+                         "statsReplyEntriesPerSecond={}, statsRequestTimeout={}",
+                 maxOutstandingStatsRequests, maxOutstandingStatsRequestsPerSwitch,
+                 statsReplyEntriesPerSecond, statsRequestTimeout);
+    }
+
+    @Override
+    public Poll schedule(Dpid dpid, String name, long intervalMillis, Poller poller) {
+        checkNotNull(dpid, "Switch cannot be null");
+        checkNotNull(poller, "Poller cannot be null");
+        PollTask task = new PollTask(dpid, name, poller);
+        synchronized (this) {
+            switches.computeIfAbsent(dpid, SwitchPolls::new).tasks.add(task);
+            if (intervalMillis > 0) {
+                task.setInterval(intervalMillis);
+            } else {
+                task.trigger();
+            }
+        }
+        return task;
+    }
+
+    private static long jittered(long intervalNanos) {
+        long jitter = intervalNanos / JITTER_DIVISOR;
+        return jitter > 0 ? intervalNanos - jitter + ThreadLocalRandom.current().nextLong(2 * jitter) :
+                intervalNanos;
+    }
+
+    // Starts the ready polls allowed by the limits
+    private synchronized void dispatch() {
+        if (ready.isEmpty() || outstanding >= maxOutstandingStatsRequests || !hasReplyCredit()) {
+            return;
+        }
+        Iterator<PollTask> iterator = ready.iterator();
+        while (iterator.hasNext() && outstanding < maxOutstandingStatsRequests) {
+            PollTask task = iterator.next();
+            SwitchPolls polls = switches.get(task.dpid);
+            if (polls.outstanding < maxOutstandingStatsRequestsPerSwitch) {
+                iterator.remove();
+                start(task, polls);
+            }
+        }
+    }
+
+    private boolean hasReplyCredit() {
+        if (statsReplyEntriesPerSecond <= 0) {
+            return true;
+        }
+        long now = System.nanoTime();
+        replyCredit = Math.min(statsReplyEntriesPerSecond, replyCredit +
+                (now - replyCreditTime) * statsReplyEntriesPerSecond / (double) TimeUnit.SECONDS.toNanos(1));
+        replyCreditTime = now;
+        if (replyCredit >= 0) {
+            return true;
+        }
+        if (pacedDispatch == null || pacedDispatch.isDone()) {
+            long delay = (long) Math.ceil(-replyCredit * TimeUnit.SECONDS.toNanos(1) / statsReplyEntriesPerSecond);
+            pacedDispatch = executor.schedule(this::dispatch, delay, TimeUnit.NANOSECONDS);
+        }
+        return false;
+    }
+
+    private void start(PollTask task, SwitchPolls polls) {
+        task.queued = false;
+        task.outstanding = true;
+        long sequence = ++task.sequence;
+        // The poll holds a single slot until it tells how many requests it sent
+        charge(task, polls, 1);
+        polls.sending++;
+        task.timeout = executor.schedule(() -> timedOut(task, sequence), statsRequestTimeout, TimeUnit.SECONDS);
+        // Pollers may block while building or sending their requests
+        SharedExecutors.getPoolThreadExecutor().execute(() -> send(task, sequence));
+    }
+
+    private void send(PollTask task, long sequence) {
+        Collection<Long> xids;
+        try {
+            xids = task.poller.poll();
+        } catch (RuntimeException e) {
+            log.warn("Unable to poll {} stats of {}", task.name, task.dpid, e);
+            xids = Collections.emptySet();
+        }
+        synchronized (this) {
+            SwitchPolls polls = switches.get(task.dpid);
+            if (polls == null) {
+                return;
+            }
+            Set<Long> pending = Sets.newHashSet();
+            for (Long xid : xids) {
+                if (!polls.repliedXids.remove(xid)) {
+                    pending.add(xid);
+                }
+            }
+            if (--polls.sending == 0) {
+                polls.repliedXids.clear();
+            }
+            if (!task.outstanding || task.sequence != sequence) {
+                removeIfIdle(task.dpid, polls);
+                return;
+            }
+            if (xids.isEmpty()) {
+                release(task);
+            } else if (pending.isEmpty()) {
+                completed(task);
+            } else {
+                // Each request still unanswered holds a slot until its reply
+                charge(task, polls, pending.size() - task.charged);
+                for (Long xid : pending) {
+                    task.xids.add(xid);
+                    polls.awaiting.put(xid, task);
+                }
+            }
+            dispatch();
+        }
+    }
+
+    private void charge(PollTask task, SwitchPolls polls, int requests) {
+        task.charged += requests;
+        polls.outstanding += requests;
+        outstanding += requests;
+    }
+
+    private synchronized void timedOut(PollTask task, long sequence) {
+        if (task.outstanding && task.sequence == sequence) {
+            log.debug("No reply to {} stats request(s) {} of {} after {}s", task.name, task.xids,
+                      task.dpid, statsRequestTimeout);
+            release(task);
+            dispatch();
+        }
+    }
+
+    private void completed(PollTask task) {
+        SwitchPolls polls = switches.get(task.dpid);
+        if (polls != null && polls.latency != null) {
+            polls.latency.update(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - task.dueTime));
+        }
+        release(task);
+    }
+
+    private void release(PollTask task) {
+        task.outstanding = false;
+        if (task.timeout != null) {
+            task.timeout.cancel(false);
+            task.timeout = null;
+        }
+        SwitchPolls polls = switches.get(task.dpid);
+        if (polls == null) {
+            return;
+        }
+        task.xids.forEach(xid -> polls.awaiting.remove(xid, task));
+        task.xids.clear();
+        charge(task, polls, -task.charged);
+    }
+
+    private void removeIfIdle(Dpid dpid, SwitchPolls polls) {
+        if (polls.tasks.isEmpty() && polls.outstanding == 0 && polls.sending == 0) {
+            removeMetrics(dpid);
+            switches.remove(dpid);
+        }
+    }
+
+    private synchronized void replied(Dpid dpid, long xid, int entries, boolean last) {
+        if (statsReplyEntriesPerSecond > 0) {
+            replyCredit -= entries;
+        }
+        SwitchPolls polls = switches.get(dpid);
+        if (!last || polls == null) {
+            return;
+        }
+        PollTask task = polls.awaiting.remove(xid);
+        if (task != null) {
+            task.xids.remove(xid);
+            if (task.xids.isEmpty()) {
+                completed(task);
+            } else {
+                charge(task, polls, -1);
+            }
+            dispatch();
+        } else if (polls.sending > 0) {
+            // The reply raced with the poller returning its xid
+            polls.repliedXids.add(xid);
+        }
+    }
+
+    private void removeMetrics(Dpid dpid) {
+        SwitchPolls polls = switches.get(dpid);
+        if (polls != null && polls.latency != null) {
+            metricsService.removeMetric(metricsComponent, polls.feature, POLL_LATENCY);
+        }
+    }
+
+    private static int entries(OFStatsReply reply) {
+        switch (reply.getStatsType()) {
+            case FLOW:
+                return ((OFFlowStatsReply) reply).getEntries().size();
+            case FLOW_LIGHTWEIGHT:
+                return ((OFFlowLightweightStatsReply) reply).getEntries().size();
+            case PORT:
+                return ((OFPortStatsReply) reply).getEntries().size();
+            case TABLE:
+                return ((OFTableStatsReply) reply).getEntries().size();
+            case GROUP:
+                return ((OFGroupStatsReply) reply).getEntries().size();
+            case QUEUE:
+                return ((OFQueueStatsReply) reply).getEntries().size();
+            case METER:
+                return ((OFMeterStatsReply) reply).getEntries().size();
+            default:
+                return 1;
+        }
+    }
+
+    // Polls of a switch; guarded by the manager
+    private final class SwitchPolls {
+        private final Set<PollTask> tasks = Sets.newHashSet();
+        private final Map<Long, PollTask> awaiting = Maps.newHashMap();
+        private final Set<Long> repliedXids = Sets.newHashSet();
+        private final MetricsFeature feature;
+        private final Histogram latency;
+        private int outstanding;
+        private int sending;
+
+        private SwitchPolls(Dpid dpid) {
+            feature = metricsComponent != null ? metricsComponent.registerFeature(dpid.toString()) : null;
+            latency = feature != null ?
+                    metricsService.createHistogram(metricsComponent, feature, POLL_LATENCY) : null;
+        }
+    }
+
+    private final class PollTask implements Poll {
+        private final Dpid dpid;
+        private final String name;
+        private final Poller poller;
+
+        // All the following state is guarded by the manager
+        private long intervalNanos;
+        private ScheduledFuture<?> next;
+        private boolean cancelled;
+        private boolean queued;
+        private boolean outstanding;
+        private long sequence;
+        private long dueTime;
+        private int charged;
+        private final Set<Long> xids = Sets.newHashSet();
+        private ScheduledFuture<?> timeout;
+
+        private PollTask(Dpid dpid, String name, Poller poller) {
+            this.dpid = dpid;
+            this.name = name;
+            this.poller = poller;
+        }
+
+        @Override
+        public void setInterval(long intervalMillis) {
+            synchronized (StatsPollManager.this) {
+                if (cancelled) {
+                    return;
+                }
+                intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+                if (next != null) {
+                    next.cancel(false);
+                    next = null;
+                }
+                if (intervalNanos > 0) {
+                    // Starts at a random point of the interval
+                    next = executor.schedule(this::due, ThreadLocalRandom.current().nextLong(intervalNanos),
+                                             TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+
+        private void due() {
+            synchronized (StatsPollManager.this) {
+                if (cancelled) {
+                    return;
+                }
+                if (intervalNanos > 0) {
+                    next = executor.schedule(this::due, jittered(intervalNanos), TimeUnit.NANOSECONDS);
+                }
+                if (queued || outstanding) {
+                    log.debug("Skipping {} stats poll of {} still pending", name, dpid);
+                    return;
+                }
+                enqueue();
+            }
+        }
+
+        @Override
+        public void trigger() {
+            synchronized (StatsPollManager.this) {
+                if (!cancelled && !queued && !outstanding) {
+                    enqueue();
+                }
+            }
+        }
+
+        private void enqueue() {
+            queued = true;
+            dueTime = System.nanoTime();
+            ready.add(this);
+            dispatch();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (StatsPollManager.this) {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+                if (next != null) {
+                    next.cancel(false);
+                    next = null;
+                }
+                if (queued) {
+                    ready.remove(this);
+                    queued = false;
+                }
+                if (outstanding) {
+                    release(this);
+                }
+                SwitchPolls polls = switches.get(dpid);
+                if (polls != null) {
+                    polls.tasks.remove(this);
+                    removeIfIdle(dpid, polls);
+                }
+                dispatch();
+            }
+        }
+    }
+
+    private class InternalMessageListener implements OpenFlowMessageListener {
+
+        @Override
+        public void handleIncomingMessage(Dpid dpid, OFMessage msg) {
+            if (msg.getType() == OFType.STATS_REPLY) {
+                OFStatsReply reply = (OFStatsReply) msg;
+                replied(dpid, reply.getXid(), entries(reply),
+                        !reply.getFlags().contains(OFStatsReplyFlags.REPLY_MORE));
+            } else if (msg.getType() == OFType.ERROR) {
+                replied(dpid, msg.getXid(), 0, true);
+            }
+        }
+
+        @Override
+        public void handleOutgoingMessage(Dpid dpid, List<OFMessage> msgs) {
+        }
+    }
+}
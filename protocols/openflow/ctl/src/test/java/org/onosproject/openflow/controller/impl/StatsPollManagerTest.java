@@ -0,0 +1,247 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.openflow.controller.impl;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricFilter;
+import com.google.common.collect.ImmutableList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.metrics.MetricsManager;
+import org.onlab.osgi.ComponentContextAdapter;
+import org.onosproject.cfg.ComponentConfigAdapter;
+import org.onosproject.openflow.controller.Dpid;
+import org.onosproject.openflow.controller.OpenFlowMessageListener;
+import org.onosproject.openflow.controller.OpenFlowStatsPollService.Poll;
+import org.onosproject.openflow.controller.OpenflowControllerAdapter;
+import org.projectfloodlight.openflow.protocol.OFFactories;
+import org.projectfloodlight.openflow.protocol.OFFactory;
+import org.projectfloodlight.openflow.protocol.OFStatsReplyFlags;
+import org.projectfloodlight.openflow.protocol.OFVersion;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.onlab.junit.TestTools.assertAfter;
+import static org.onosproject.openflow.controller.impl.OsgiPropertyConstants.MAX_OUTSTANDING_STATS;
+import static org.onosproject.openflow.controller.impl.OsgiPropertyConstants.STATS_REPLY_ENTRIES_RATE;
+
+/**
+ * Tests for the shared scheduler of the OpenFlow stats polls.
+ */
+public class StatsPollManagerTest {
+
+    private static final Dpid DPID1 = new Dpid(1);
+    private static final Dpid DPID2 = new Dpid(2);
+    private static final int TIMEOUT = 2000;
+
+    private final OFFactory factory = OFFactories.getFactory(OFVersion.OF_13);
+    private final AtomicLong xids = new AtomicLong(1);
+    private final List<Long> polled = new CopyOnWriteArrayList<>();
+
+    private StatsPollManager manager;
+    private TestController controller;
+    private MetricsManager metricsService;
+
+    @Before
+    public void setUp() {
+        manager = new StatsPollManager();
+        controller = new TestController();
+        metricsService = new MetricsManager();
+        manager.controller = controller;
+        manager.cfgService = new ComponentConfigAdapter();
+        manager.metricsService = metricsService;
+    }
+
+    @After
+    public void tearDown() {
+        manager.deactivate();
+        assertNull(controller.listener);
+    }
+
+    private void activate(int maxOutstanding) {
+        Hashtable<String, Object> properties = new Hashtable<>();
+        properties.put(MAX_OUTSTANDING_STATS, maxOutstanding);
+        properties.put(STATS_REPLY_ENTRIES_RATE, 0);
+        manager.activate(new TestComponentContext(properties));
+        assertNotNull(controller.listener);
+    }
+
+    private long send() {
+        long xid = xids.getAndIncrement();
+        polled.add(xid);
+        return xid;
+    }
+
+    private Collection<Long> poll() {
+        return Collections.singleton(send());
+    }
+
+    private void reply(Dpid dpid, long xid, boolean more) {
+        controller.listener.handleIncomingMessage(dpid, factory.buildPortStatsReply()
+                .setXid(xid)
+                .setFlags(more ? Collections.singleton(OFStatsReplyFlags.REPLY_MORE) :
+                                  Collections.emptySet())
+                .build());
+    }
+
+    /**
+     * Tests that a switch has a single outstanding request, released by the
+     * last part of its reply.
+     */
+    @Test
+    public void perSwitchLimit() throws InterruptedException {
+        activate(8);
+        manager.schedule(DPID1, "port", 0, this::poll);
+        manager.schedule(DPID1, "flow", 0, this::poll);
+        assertAfter(TIMEOUT, () -> assertEquals(1, polled.size()));
+        Thread.sleep(100);
+        assertEquals(1, polled.size());
+
+        reply(DPID1, polled.get(0), true);
+        Thread.sleep(100);
+        assertEquals(1, polled.size());
+
+        reply(DPID1, polled.get(0), false);
+        assertAfter(TIMEOUT, () -> assertEquals(2, polled.size()));
+        reply(DPID1, polled.get(1), false);
+
+        Collection<Histogram> latencies = metricsService.getHistograms(MetricFilter.ALL).values();
+        assertAfter(TIMEOUT, () -> assertEquals(2, latencies.iterator().next().getCount()));
+    }
+
+    /**
+     * Tests that the outstanding requests are capped over all switches.
+     */
+    @Test
+    public void globalLimit() throws InterruptedException {
+        activate(1);
+        manager.schedule(DPID1, "port", 0, this::poll);
+        manager.schedule(DPID2, "port", 0, this::poll);
+        assertAfter(TIMEOUT, () -> assertEquals(1, polled.size()));
+        Thread.sleep(100);
+        assertEquals(1, polled.size());
+
+        reply(DPID1, polled.get(0), false);
+        assertAfter(TIMEOUT, () -> assertEquals(2, polled.size()));
+    }
+
+    /**
+     * Tests that a cancelled poll releases its outstanding request.
+     */
+    @Test
+    public void cancel() {
+        activate(1);
+        Poll poll = manager.schedule(DPID1, "port", 0, this::poll);
+        manager.schedule(DPID2, "port", 0, this::poll);
+        assertAfter(TIMEOUT, () -> assertEquals(1, polled.size()));
+
+        poll.cancel();
+        assertAfter(TIMEOUT, () -> assertEquals(2, polled.size()));
+    }
+
+    /**
+     * Tests that every request sent by a poll holds the limits until its
+     * reply.
+     */
+    @Test
+    public void multipleRequests() throws InterruptedException {
+        activate(2);
+        manager.schedule(DPID1, "adaptive", 0, () -> ImmutableList.of(send(), send(), send()));
+        assertAfter(TIMEOUT, () -> assertEquals(3, polled.size()));
+        Thread.sleep(100);
+        manager.schedule(DPID2, "port", 0, this::poll);
+        Thread.sleep(100);
+        assertEquals(3, polled.size());
+
+        reply(DPID1, polled.get(0), false);
+        Thread.sleep(100);
+        assertEquals(3, polled.size());
+
+        reply(DPID1, polled.get(2), false);
+        assertAfter(TIMEOUT, () -> assertEquals(4, polled.size()));
+        reply(DPID1, polled.get(1), false);
+
+        Collection<Histogram> latencies = metricsService.getHistograms(MetricFilter.ALL).values();
+        assertAfter(TIMEOUT, () -> assertEquals(1, latencies.stream().mapToLong(Histogram::getCount).sum()));
+    }
+
+    /**
+     * Tests that a poll that sends no request does not hold the limits.
+     */
+    @Test
+    public void noRequest() {
+        activate(1);
+        manager.schedule(DPID1, "port", 0, () -> {
+            polled.add(0L);
+            return Collections.emptySet();
+        });
+        manager.schedule(DPID1, "flow", 0, this::poll);
+        assertAfter(TIMEOUT, () -> assertEquals(2, polled.size()));
+    }
+
+    /**
+     * Tests that periodic polls are spread over their interval.
+     */
+    @Test
+    public void periodicPoll() {
+        activate(8);
+        Poll poll = manager.schedule(DPID1, "port", 200, () -> {
+            long xid = send();
+            reply(DPID1, xid, false);
+            return Collections.singleton(xid);
+        });
+        assertAfter(TIMEOUT, () -> assertTrue(polled.size() >= 3));
+        poll.cancel();
+    }
+
+    private static class TestComponentContext extends ComponentContextAdapter {
+        private final Dictionary<String, Object> properties;
+
+        TestComponentContext(Dictionary<String, Object> properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public Dictionary getProperties() {
+            return properties;
+        }
+    }
+
+    private static class TestController extends OpenflowControllerAdapter {
+        private OpenFlowMessageListener listener;
+
+        @Override
+        public void addMessageListener(OpenFlowMessageListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void removeMessageListener(OpenFlowMessageListener listener) {
+            this.listener = null;
+        }
+    }
+}
@@ -68,6 +68,7 @@ public final class P4RuntimeClientImpl
 
     private final P4RuntimeControllerImpl controller;
     private final PipelineConfigClientImpl pipelineConfigClient;
+    private final WritePipeline writePipeline;
     private final PiPipeconfService pipeconfService;
     private final MasterElectionIdStore masterElectionIdStore;
     private final ConcurrentMap<Long, StreamClientImpl> streamClients = Maps.newConcurrentMap();
@@ -96,12 +97,14 @@ public final class P4RuntimeClientImpl
         this.pipeconfService = pipeconfService;
         this.masterElectionIdStore = masterElectionIdStore;
         this.pipelineConfigClient = new PipelineConfigClientImpl(this);
+        this.writePipeline = new WritePipeline(this, controller);
     }
 
     @Override
     public void shutdown() {
         streamClients.forEach((p4DeviceId, streamClient) ->
                                       streamClient.closeSession(p4DeviceId));
+        writePipeline.shutdown();
         super.shutdown();
     }
 
@@ -249,6 +252,15 @@ public final class P4RuntimeClientImpl
         }
     }
 
+    /**
+     * Returns the pipeline executing the Write RPCs of this client.
+     *
+     * @return write pipeline
+     */
+    WritePipeline writePipeline() {
+        return writePipeline;
+    }
+
     /**
      * Forces execution of an RPC in a cancellable context with the given
      * timeout (in seconds).
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.p4runtime.ctl.client;
+
+import com.codahale.metrics.Histogram;
+import com.google.common.collect.Lists;
+import com.google.protobuf.TextFormat;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
+import org.onosproject.p4runtime.api.P4RuntimeWriteClient;
+import org.onosproject.p4runtime.ctl.controller.P4RuntimeControllerImpl;
+import org.slf4j.Logger;
+import p4.v1.P4RuntimeOuterClass;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.onosproject.p4runtime.ctl.client.P4RuntimeClientImpl.SHORT_TIMEOUT_SECONDS;
+import static org.onosproject.p4runtime.ctl.controller.OsgiPropertyConstants.WRITE_CHUNK_BYTES_DEFAULT;
+import static org.onosproject.p4runtime.ctl.controller.OsgiPropertyConstants.WRITE_CHUNK_SIZE_DEFAULT;
+import static org.onosproject.p4runtime.ctl.controller.OsgiPropertyConstants.WRITE_WINDOW_SIZE_DEFAULT;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Executes the Write RPCs of a client, splitting large write requests in
+ * chunks and keeping a bounded window of chunks in flight.
+ * <p>
+ * Chunks are bounded both in number of updates and in serialized size. The
+ * number of updates per chunk is further adapted to the device: it is halved
+ * every time a chunk exceeds its deadline, and grows back linearly as chunks
+ * succeed. Errors of each chunk are mapped back to the entities of the
+ * original request, which is completed once all of its chunks are.
+ */
+final class WritePipeline {
+
+    private static final Logger log = getLogger(WritePipeline.class);
+
+    private static final P4RuntimeOuterClass.WriteResponse P4RT_DEFAULT_WRITE_RESPONSE_MSG =
+            P4RuntimeOuterClass.WriteResponse.getDefaultInstance();
+
+    private static final String METRICS_COMPONENT = "P4Runtime";
+    private static final String WRITE_LATENCY = "writeLatency";
+    private static final String UPDATES_PER_WRITE = "updatesPerWrite";
+    // Fraction of the configured chunk size by which the limit grows back
+    private static final int CHUNK_INCREASE_DIVISOR = 16;
+
+    private final P4RuntimeClientImpl client;
+    private final P4RuntimeControllerImpl controller;
+
+    // Chunks waiting for a slot in the window
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger chunkLimit = new AtomicInteger(Integer.MAX_VALUE);
+
+    private final MetricsService metricsService;
+    private MetricsComponent metricsComponent;
+    private MetricsFeature metricsFeature;
+    private Histogram latencyHistogram;
+    private Histogram updatesHistogram;
+
+    /**
+     * Creates a new write pipeline for the given client.
+     *
+     * @param client     P4Runtime client
+     * @param controller P4Runtime controller instance
+     */
+    WritePipeline(P4RuntimeClientImpl client, P4RuntimeControllerImpl controller) {
+        this.client = client;
+        this.controller = controller;
+        this.metricsService = controller.metricsService();
+        if (metricsService != null) {
+            metricsComponent = metricsService.registerComponent(METRICS_COMPONENT);
+            metricsFeature = metricsComponent.registerFeature(client.deviceId().toString());
+            latencyHistogram = metricsService.createHistogram(
+                    metricsComponent, metricsFeature, WRITE_LATENCY);
+            updatesHistogram = metricsService.createHistogram(
+                    metricsComponent, metricsFeature, UPDATES_PER_WRITE);
+        }
+    }
+
+    /**
+     * Writes the updates of the given request on the server and sets the
+     * status of the corresponding entity responses.
+     *
+     * @param request         write request
+     * @param responseBuilder builder of the write response, holding one
+     *                        pending response for each update of the request
+     * @return completable future of the write response
+     */
+    CompletableFuture<P4RuntimeWriteClient.WriteResponse> write(
+            P4RuntimeOuterClass.WriteRequest request,
+            WriteResponseImpl.Builder responseBuilder) {
+        final List<P4RuntimeOuterClass.WriteRequest> chunks = split(request);
+        final CompletableFuture<P4RuntimeWriteClient.WriteResponse> future =
+                new CompletableFuture<>();
+        final AtomicInteger remaining = new AtomicInteger(chunks.size());
+        log.debug("Writing {} updates to {} in {} chunks...",
+                  request.getUpdatesCount(), client.deviceId(), chunks.size());
+        int from = 0;
+        for (P4RuntimeOuterClass.WriteRequest chunk : chunks) {
+            final int chunkFrom = from;
+            from += chunk.getUpdatesCount();
+            submit(() -> writeChunk(chunk, chunkFrom, responseBuilder, () -> {
+                if (remaining.decrementAndGet() == 0) {
+                    future.complete(responseBuilder.buildAsIs());
+                }
+            }));
+        }
+        return future;
+    }
+
+    /**
+     * Removes the metrics of this pipeline.
+     */
+    void shutdown() {
+        if (metricsService != null) {
+            metricsService.removeMetric(metricsComponent, metricsFeature, WRITE_LATENCY);
+            metricsService.removeMetric(metricsComponent, metricsFeature, UPDATES_PER_WRITE);
+        }
+    }
+
+    private List<P4RuntimeOuterClass.WriteRequest> split(
+            P4RuntimeOuterClass.WriteRequest request) {
+        final int maxUpdates = Math.min(chunkLimit.get(), maxChunkSize());
+        final int maxBytes = maxChunkBytes();
+        final List<P4RuntimeOuterClass.Update> updates = request.getUpdatesList();
+        final List<P4RuntimeOuterClass.WriteRequest> chunks = Lists.newArrayList();
+        int from = 0;
+        int bytes = 0;
+        for (int index = 0; index < updates.size(); index++) {
+            final int size = updates.get(index).getSerializedSize();
+            // A single update larger than the byte budget still gets its own chunk
+            if (index > from && (index - from == maxUpdates || bytes + size > maxBytes)) {
+                chunks.add(chunk(request, updates.subList(from, index)));
+                from = index;
+                bytes = 0;
+            }
+            bytes += size;
+        }
+        chunks.add(chunk(request, updates.subList(from, updates.size())));
+        return chunks;
+    }
+
+    private P4RuntimeOuterClass.WriteRequest chunk(
+            P4RuntimeOuterClass.WriteRequest request,
+            List<P4RuntimeOuterClass.Update> updates) {
+        if (updates.size() == request.getUpdatesCount()) {
+            return request;
+        }
+        return request.toBuilder().clearUpdates().addAllUpdates(updates).build();
+    }
+
+    private void submit(Runnable rpc) {
+        queue.add(rpc);
+        drain();
+    }
+
+    private void drain() {
+        while (!queue.isEmpty()) {
+            final int current = inFlight.get();
+            if (current >= maxWindowSize()) {
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            final Runnable rpc = queue.poll();
+            if (rpc == null) {
+                inFlight.decrementAndGet();
+                return;
+            }
+            rpc.run();
+        }
+    }
+
+    private void done() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    private void writeChunk(P4RuntimeOuterClass.WriteRequest chunk, int from,
+                            WriteResponseImpl.Builder responseBuilder,
+                            Runnable onCompleted) {
+        final int to = from + chunk.getUpdatesCount();
+        final long start = System.nanoTime();
+        final StreamObserver<P4RuntimeOuterClass.WriteResponse> observer =
+                new StreamObserver<P4RuntimeOuterClass.WriteResponse>() {
+                    @Override
+                    public void onNext(P4RuntimeOuterClass.WriteResponse value) {
+                        if (!P4RT_DEFAULT_WRITE_RESPONSE_MSG.equals(value)) {
+                            log.warn("Received invalid WriteResponse message from {}: {}",
+                                     client.deviceId(), TextFormat.shortDebugString(value));
+                            // Leave entity responses of this chunk in pending state.
+                        } else {
+                            log.debug("Received write response from {}...",
+                                      client.deviceId());
+                            // All good, all entities of this chunk written successfully.
+                            responseBuilder.setSuccess(from, to);
+                        }
+                        completed(chunk, start, Status.Code.OK);
+                        onCompleted.run();
+                        done();
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        responseBuilder.setErrors(t, from, to);
+                        final Status.Code code = Status.fromThrowable(t).getCode();
+                        if (code != Status.Code.UNKNOWN
+                                || responseBuilder.pendingCount(from, to) > 0) {
+                            // If UNKNOWN and no entities are in PENDING state,
+                            // it means we have processed the response error
+                            // details and a log message will be produced for
+                            // each failed entity. No need to log the top level
+                            // SRE. Otherwise, log a generic WRITE error.
+                            client.handleRpcError(t, "WRITE");
+                        }
+                        completed(chunk, start, code);
+                        onCompleted.run();
+                        done();
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        // Nothing to do, unary call.
+                    }
+                };
+        try {
+            // The deadline applies from the moment the chunk is sent, not
+            // while it waits for a slot in the window.
+            client.execRpc(s -> s.write(chunk, observer), SHORT_TIMEOUT_SECONDS);
+        } catch (RuntimeException e) {
+            observer.onError(e);
+        }
+    }
+
+    private void completed(P4RuntimeOuterClass.WriteRequest chunk, long start,
+                           Status.Code code) {
+        if (latencyHistogram != null) {
+            latencyHistogram.update(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+            updatesHistogram.update(chunk.getUpdatesCount());
+        }
+        final int configured = maxChunkSize();
+        if (code == Status.Code.DEADLINE_EXCEEDED) {
+            final int limit = chunkLimit.updateAndGet(
+                    l -> Math.max(1, Math.min(l, chunk.getUpdatesCount()) / 2));
+            log.warn("Write RPC with {} updates to {} exceeded its deadline, " +
+                             "reducing chunks to {} updates",
+                     chunk.getUpdatesCount(), client.deviceId(), limit);
+        } else if (code == Status.Code.OK) {
+            final int increase = Math.max(1, configured / CHUNK_INCREASE_DIVISOR);
+            chunkLimit.updateAndGet(l -> l >= configured ? Integer.MAX_VALUE : l + increase);
+        }
+    }
+
+    private int maxChunkSize() {
+        final int size = controller.writeChunkSize();
+        return size > 0 ? size : WRITE_CHUNK_SIZE_DEFAULT;
+    }
+
+    private int maxChunkBytes() {
+        final int bytes = controller.writeChunkBytes();
+        return bytes > 0 ? bytes : WRITE_CHUNK_BYTES_DEFAULT;
+    }
+
+    private int maxWindowSize() {
+        final int size = controller.writeWindowSize();
+        return size > 0 ? size : WRITE_WINDOW_SIZE_DEFAULT;
+    }
+}
@@ -183,6 +183,21 @@ final class WriteResponseImpl implements P4RuntimeWriteClient.WriteResponse {
             }
         }
 
+        /**
+         * Sets the pending responses in the given range of indexes as
+         * successful, as when a chunk of the request has been written.
+         *
+         * @param from index of the first pending response, inclusive
+         * @param to   index of the last pending response, exclusive
+         */
+        void setSuccess(int from, int to) {
+            synchronized (this) {
+                for (int index = from; index < to; index++) {
+                    setSuccess(index);
+                }
+            }
+        }
+
         WriteResponseImpl setFailAllAndBuild(Throwable throwable) {
             synchronized (this) {
                 pendingResponses.values().forEach(r -> r.setFailure(throwable));
@@ -192,7 +207,48 @@ final class WriteResponseImpl implements P4RuntimeWriteClient.WriteResponse {
 
         WriteResponseImpl setErrorsAndBuild(Throwable throwable) {
             synchronized (this) {
-                return doSetErrorsAndBuild(throwable);
+                doSetErrors(throwable, 0, pendingResponses.size());
+                return buildAsIs();
+            }
+        }
+
+        /**
+         * Sets the pending responses in the given range of indexes from the
+         * error returned by the Write RPC of a chunk of the request.
+         *
+         * @param throwable error of the Write RPC
+         * @param from      index of the first pending response, inclusive
+         * @param to        index of the last pending response, exclusive
+         */
+        void setErrors(Throwable throwable, int from, int to) {
+            synchronized (this) {
+                doSetErrors(throwable, from, to);
+            }
+        }
+
+        /**
+         * Returns the number of pending responses in the given range of
+         * indexes, i.e. with no status yet.
+         *
+         * @param from index of the first pending response, inclusive
+         * @param to   index of the last pending response, exclusive
+         * @return number of pending responses
+         */
+        int pendingCount(int from, int to) {
+            synchronized (this) {
+                int count = 0;
+                for (int index = from; index < to; index++) {
+                    if (pendingResponses.get(index).status() == EntityUpdateStatus.PENDING) {
+                        count++;
+                    }
+                }
+                return count;
+            }
+        }
+
+        private void setFailure(int from, int to, Throwable throwable) {
+            for (int index = from; index < to; index++) {
+                pendingResponses.get(index).setFailure(throwable);
             }
         }
 
@@ -232,45 +288,47 @@ final class WriteResponseImpl implements P4RuntimeWriteClient.WriteResponse {
             }
         }
 
-        private WriteResponseImpl doSetErrorsAndBuild(Throwable throwable) {
+        private void doSetErrors(Throwable throwable, int from, int to) {
             if (!(throwable instanceof StatusRuntimeException)) {
-                // Leave all entity responses in pending state.
-                return setFailAllAndBuild(throwable);
+                setFailure(from, to, throwable);
+                return;
             }
             final StatusRuntimeException sre = (StatusRuntimeException) throwable;
             if (sre.getStatus().getCode() != Status.Code.UNKNOWN) {
                 // Error trailers expected only if status is UNKNOWN.
-                return setFailAllAndBuild(throwable);
+                setFailure(from, to, throwable);
+                return;
             }
             // Extract error details.
             if (!sre.getTrailers().containsKey(STATUS_DETAILS_KEY)) {
                 log.warn("Cannot parse write error details from {}, " +
                                  "missing status trailers in StatusRuntimeException",
                          deviceId);
-                return setFailAllAndBuild(throwable);
+                setFailure(from, to, throwable);
+                return;
             }
             com.google.rpc.Status status = sre.getTrailers().get(STATUS_DETAILS_KEY);
             if (status == null) {
                 log.warn("Cannot parse write error details from {}, " +
                                  "found NULL status trailers in StatusRuntimeException",
                          deviceId);
-                return setFailAllAndBuild(throwable);
+                setFailure(from, to, throwable);
+                return;
             }
-            final boolean reconcilable = status.getDetailsList().size() == pendingResponses.size();
+            final boolean reconcilable = status.getDetailsList().size() == to - from;
             // We expect one error for each entity...
             if (!reconcilable) {
                 log.warn("Unable to reconcile write error details from {}, " +
                                  "sent {} updates, but server returned {} errors",
-                         deviceId, pendingResponses.size(), status.getDetailsList().size());
+                         deviceId, to - from, status.getDetailsList().size());
             }
             // ...in the same order as in the request.
-            int index = 0;
+            int index = from;
             for (Any any : status.getDetailsList()) {
                 // Set response entities only if reconcilable, otherwise log.
                 unpackP4Error(index, any, reconcilable);
                 index += 1;
             }
-            return buildAsIs();
         }
 
         private void unpackP4Error(int index, Any any, boolean reconcilable) {
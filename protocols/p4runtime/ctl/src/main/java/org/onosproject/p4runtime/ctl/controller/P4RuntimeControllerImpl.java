@@ -17,6 +17,9 @@
 package org.onosproject.p4runtime.ctl.controller;
 
 import io.grpc.ManagedChannel;
+import org.onlab.metrics.MetricsService;
+import org.onlab.util.Tools;
+import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.grpc.ctl.AbstractGrpcClientController;
 import org.onosproject.net.DeviceId;
 import org.onosproject.net.pi.service.PiPipeconfService;
@@ -25,29 +28,140 @@ import org.onosproject.p4runtime.api.P4RuntimeController;
 import org.onosproject.p4runtime.api.P4RuntimeEvent;
 import org.onosproject.p4runtime.api.P4RuntimeEventListener;
 import org.onosproject.p4runtime.ctl.client.P4RuntimeClientImpl;
+import org.osgi.service.component.ComponentContext;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.slf4j.Logger;
+
+import java.util.Dictionary;
+
+import static org.onosproject.p4runtime.ctl.controller.OsgiPropertyConstants.WRITE_CHUNK_BYTES;
+import static org.onosproject.p4runtime.ctl.controller.OsgiPropertyConstants.WRITE_CHUNK_BYTES_DEFAULT;
+import static org.onosproject.p4runtime.ctl.controller.OsgiPropertyConstants.WRITE_CHUNK_SIZE;
+import static org.onosproject.p4runtime.ctl.controller.OsgiPropertyConstants.WRITE_CHUNK_SIZE_DEFAULT;
+import static org.onosproject.p4runtime.ctl.controller.OsgiPropertyConstants.WRITE_WINDOW_SIZE;
+import static org.onosproject.p4runtime.ctl.controller.OsgiPropertyConstants.WRITE_WINDOW_SIZE_DEFAULT;
+import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * P4Runtime controller implementation.
  */
-@Component(immediate = true, service = P4RuntimeController.class)
+@Component(immediate = true, service = P4RuntimeController.class,
+        property = {
+                WRITE_CHUNK_SIZE + ":Integer=" + WRITE_CHUNK_SIZE_DEFAULT,
+                WRITE_CHUNK_BYTES + ":Integer=" + WRITE_CHUNK_BYTES_DEFAULT,
+                WRITE_WINDOW_SIZE + ":Integer=" + WRITE_WINDOW_SIZE_DEFAULT,
+        })
 public class P4RuntimeControllerImpl
         extends AbstractGrpcClientController
         <P4RuntimeClient, P4RuntimeEvent, P4RuntimeEventListener>
         implements P4RuntimeController {
 
+    private final Logger log = getLogger(getClass());
+
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     private PiPipeconfService pipeconfService;
 
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     private MasterElectionIdStore masterElectionIdStore;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    private ComponentConfigService componentConfigService;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    private MetricsService metricsService;
+
+    /**
+     * Maximum number of updates in a single Write RPC.
+     */
+    private int writeChunkSize = WRITE_CHUNK_SIZE_DEFAULT;
+
+    /**
+     * Maximum serialized size in bytes of the updates of a single Write RPC.
+     */
+    private int writeChunkBytes = WRITE_CHUNK_BYTES_DEFAULT;
+
+    /**
+     * Maximum number of concurrent Write RPCs per device.
+     */
+    private int writeWindowSize = WRITE_WINDOW_SIZE_DEFAULT;
+
     public P4RuntimeControllerImpl() {
         super(P4RuntimeEvent.class, "P4Runtime");
     }
 
+    @Activate
+    public void activate(ComponentContext context) {
+        super.activate();
+        componentConfigService.registerProperties(getClass());
+        modified(context);
+    }
+
+    @Modified
+    public void modified(ComponentContext context) {
+        if (context == null) {
+            return;
+        }
+        Dictionary<?, ?> properties = context.getProperties();
+        writeChunkSize = Math.max(1, Tools.getIntegerProperty(
+                properties, WRITE_CHUNK_SIZE, WRITE_CHUNK_SIZE_DEFAULT));
+        writeChunkBytes = Math.max(1, Tools.getIntegerProperty(
+                properties, WRITE_CHUNK_BYTES, WRITE_CHUNK_BYTES_DEFAULT));
+        writeWindowSize = Math.max(1, Tools.getIntegerProperty(
+                properties, WRITE_WINDOW_SIZE, WRITE_WINDOW_SIZE_DEFAULT));
+        log.info("Configured. Write RPCs carry up to {} updates and {} bytes, " +
+                         "with up to {} in flight per device",
+                 writeChunkSize, writeChunkBytes, writeWindowSize);
+    }
+
+    @Deactivate
+    @Override
+    public void deactivate() {
+        componentConfigService.unregisterProperties(getClass(), false);
+        super.deactivate();
+    }
+
+    /**
+     * Returns the maximum number of updates in a single Write RPC.
+     *
+     * @return maximum number of updates
+     */
+    public int writeChunkSize() {
+        return writeChunkSize;
+    }
+
+    /**
+     * Returns the maximum serialized size in bytes of the updates of a single
+     * Write RPC.
+     *
+     * @return maximum size in bytes
+     */
+    public int writeChunkBytes() {
+        return writeChunkBytes;
+    }
+
+    /**
+     * Returns the maximum number of concurrent Write RPCs per device.
+     *
+     * @return window size
+     */
+    public int writeWindowSize() {
+        return writeWindowSize;
+    }
+
+    /**
+     * Returns the metrics service used to record per-device write metrics.
+     *
+     * @return metrics service
+     */
+    public MetricsService metricsService() {
+        return metricsService;
+    }
+
     @Override
     public void remove(DeviceId deviceId) {
         super.remove(deviceId);
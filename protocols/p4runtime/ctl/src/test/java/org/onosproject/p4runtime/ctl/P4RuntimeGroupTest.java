@@ -227,6 +227,36 @@ public class P4RuntimeGroupTest {
         }
     }
 
+    @Test
+    public void testInsertPiActionMembersInChunks() throws Exception {
+        client.shutdown();
+        controller = EasyMock.createNiceMock(P4RuntimeControllerImpl.class);
+        EasyMock.expect(controller.writeChunkSize()).andReturn(2).anyTimes();
+        EasyMock.replay(controller);
+        client = new P4RuntimeClientImpl(
+                DEVICE_ID, grpcChannel, controller, new MockPipeconfService(),
+                new MockMasterElectionIdStore());
+
+        CompletableFuture<Void> complete = p4RuntimeServerImpl.expectRequests(2);
+        assertTrue(client.write(P4_DEVICE_ID, PIPECONF).insert(GROUP_MEMBER_INSTANCES)
+                           .submitSync().isSuccess());
+        complete.get(DEFAULT_TIMEOUT_TIME, TimeUnit.SECONDS);
+        List<WriteRequest> results = p4RuntimeServerImpl.getWriteReqs();
+        assertEquals(2, results.size());
+        assertEquals(2, results.get(0).getUpdatesCount());
+        assertEquals(1, results.get(1).getUpdatesCount());
+        List<Integer> memberIds = results.stream()
+                .flatMap(r -> r.getUpdatesList().stream())
+                .map(u -> u.getEntity().getActionProfileMember().getMemberId())
+                .collect(Collectors.toList());
+        assertEquals(MEMBER_IDS.size(), memberIds.size());
+        assertTrue(memberIds.containsAll(MEMBER_IDS));
+        for (WriteRequest result : results) {
+            assertEquals(1, result.getDeviceId());
+            assertEquals(DEFAULT_ELECTION_ID, result.getElectionId());
+        }
+    }
+
     @Test
     public void testReadGroups() throws Exception {
         ActionProfileGroup.Builder group = ActionProfileGroup.newBuilder()
@@ -61,6 +61,7 @@ import org.onosproject.openflow.controller.Dpid;
 import org.onosproject.openflow.controller.OpenFlowController;
 import org.onosproject.openflow.controller.OpenFlowEventListener;
 import org.onosproject.openflow.controller.OpenFlowOpticalSwitch;
+import org.onosproject.openflow.controller.OpenFlowStatsPollService;
 import org.onosproject.openflow.controller.OpenFlowSwitch;
 import org.onosproject.openflow.controller.OpenFlowSwitchListener;
 import org.onosproject.openflow.controller.PortDescPropertyType;
@@ -125,7 +126,6 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
-import java.util.Timer;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Strings.isNullOrEmpty;
@@ -449,6 +449,9 @@ public class OpenFlowDeviceProvider extends AbstractProvider implements DevicePr
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected DriverService driverService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected OpenFlowStatsPollService statsPollService;
+
     private DeviceProviderService providerService;
 
     private final InternalDeviceProvider listener = new InternalDeviceProvider();
@@ -459,8 +462,6 @@ public class OpenFlowDeviceProvider extends AbstractProvider implements DevicePr
     /** It indicates frequency must be used instead of wavelength for port tuning. */
     private static boolean propertyFrequency = PROP_FREQ_DEFAULT;
 
-    private final Timer timer = new Timer("onos-openflow-portstats-collector");
-
     private Map<Dpid, PortStatsCollector> collectors = Maps.newConcurrentMap();
 
     /**
@@ -823,7 +824,7 @@ public class OpenFlowDeviceProvider extends AbstractProvider implements DevicePr
             }
 
             if (sw.features().getCapabilities().contains(OFCapabilities.PORT_STATS)) {
-                PortStatsCollector psc = new PortStatsCollector(timer, sw, portStatsPollFrequency);
+                PortStatsCollector psc = new PortStatsCollector(statsPollService, sw, portStatsPollFrequency);
                 stopCollectorIfNeeded(collectors.put(dpid, psc));
                 psc.start();
             }
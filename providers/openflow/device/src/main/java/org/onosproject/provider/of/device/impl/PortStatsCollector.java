@@ -16,14 +16,17 @@
 
 package org.onosproject.provider.of.device.impl;
 
+import org.onosproject.openflow.controller.Dpid;
+import org.onosproject.openflow.controller.OpenFlowStatsPollService;
+import org.onosproject.openflow.controller.OpenFlowStatsPollService.Poll;
 import org.onosproject.openflow.controller.OpenFlowSwitch;
 import org.onosproject.openflow.controller.RoleState;
 import org.projectfloodlight.openflow.protocol.OFPortStatsRequest;
 import org.projectfloodlight.openflow.types.OFPort;
 import org.slf4j.Logger;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -39,8 +42,8 @@ public class PortStatsCollector {
     private static final long SECONDS = 1000L;
 
     private OpenFlowSwitch sw;
-    private Timer timer;
-    private TimerTask task;
+    private OpenFlowStatsPollService pollService;
+    private Poll poll;
 
     private int refreshInterval;
     private final AtomicLong xidAtomic = new AtomicLong(1);
@@ -48,32 +51,23 @@ public class PortStatsCollector {
     /**
      * Creates a port states collector object.
      *
-     * @param timer     timer to use for scheduling
-     * @param sw        switch to pull
-     * @param interval  interval for collecting port statistic
+     * @param pollService scheduler of the stats polls
+     * @param sw          switch to pull
+     * @param interval    interval for collecting port statistic
      */
-    PortStatsCollector(Timer timer, OpenFlowSwitch sw, int interval) {
-        this.timer = timer;
+    PortStatsCollector(OpenFlowStatsPollService pollService, OpenFlowSwitch sw, int interval) {
+        this.pollService = pollService;
         this.sw = checkNotNull(sw, "Null switch");
         this.refreshInterval = interval;
     }
 
-    private class InternalTimerTask extends TimerTask {
-
-        @Override
-        public void run() {
-            sendPortStatisticRequest();
-        }
-    }
-
     /**
      * Starts the port statistic collector.
      */
     public synchronized void start() {
         log.info("Starting Port Stats collection thread for {}", sw.getStringId());
-        task = new InternalTimerTask();
-        timer.scheduleAtFixedRate(task, 1 * SECONDS,
-                                  refreshInterval * SECONDS);
+        poll = pollService.schedule(new Dpid(sw.getId()), "port", refreshInterval * SECONDS,
+                                    this::sendPortStatisticRequest);
     }
 
     /**
@@ -81,8 +75,8 @@ public class PortStatsCollector {
      */
     public synchronized void stop() {
         log.info("Stopping Port Stats collection thread for {}", sw.getStringId());
-        task.cancel();
-        task = null;
+        poll.cancel();
+        poll = null;
     }
 
     /**
@@ -92,18 +86,17 @@ public class PortStatsCollector {
      */
     public synchronized void adjustPollInterval(int pollInterval) {
         this.refreshInterval = pollInterval;
-        task.cancel();
-        task = new InternalTimerTask();
-        timer.scheduleAtFixedRate(task, refreshInterval * SECONDS,
-                                  refreshInterval * SECONDS);
+        poll.setInterval(refreshInterval * SECONDS);
     }
 
     /**
      * Sends port statistic request to switch.
+     *
+     * @return xid of the request, or none if not master of the switch
      */
-    private void sendPortStatisticRequest() {
+    private Collection<Long> sendPortStatisticRequest() {
         if (sw.getRole() != RoleState.MASTER) {
-            return;
+            return Collections.emptySet();
         }
         Long statsXid = xidAtomic.getAndIncrement();
         OFPortStatsRequest statsRequest = sw.factory().buildPortStatsRequest()
@@ -111,5 +104,6 @@ public class PortStatsCollector {
                 .setXid(statsXid)
                 .build();
         sw.sendMsg(statsRequest);
+        return Collections.singleton(statsXid);
     }
-}
\ No newline at end of file
+}
@@ -28,6 +28,9 @@ import org.onosproject.net.flow.instructions.Instructions;
 import org.onosproject.net.statistic.DefaultLoad;
 import org.onosproject.net.statistic.PollInterval;
 import org.onosproject.openflow.controller.Dpid;
+import org.onosproject.openflow.controller.OpenFlowStatsPollService;
+import org.onosproject.openflow.controller.OpenFlowStatsPollService.Poll;
+import org.onosproject.openflow.controller.OpenFlowStatsPollService.Poller;
 import org.onosproject.openflow.controller.OpenFlowSwitch;
 import org.onosproject.openflow.controller.RoleState;
 import org.projectfloodlight.openflow.protocol.OFFlowStatsRequest;
@@ -36,15 +39,14 @@ import org.projectfloodlight.openflow.types.OFPort;
 import org.projectfloodlight.openflow.types.TableId;
 import org.slf4j.Logger;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.lang.Thread.sleep;
-import static org.onlab.util.Tools.groupedThreads;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
@@ -65,16 +67,16 @@ public class NewAdaptiveFlowStatsCollector implements SwitchDataCollector {
 
     private static final int SLEEP_LOOP_COUNT = 10;
     private static final int SLEEP_MS = 100;
+    private static final long MS = 1000;
 
     private final DriverService driverService;
+    private final OpenFlowStatsPollService pollService;
     private final OpenFlowSwitch sw;
     private final DeviceId did;
 
-    private ScheduledExecutorService adaptiveFlowStatsScheduler =
-            Executors.newScheduledThreadPool(4, groupedThreads("onos/flow", "device-stats-collector-%d", log));
-    private ScheduledFuture<?> calAndShortFlowsThread;
-    private ScheduledFuture<?> midFlowsThread;
-    private ScheduledFuture<?> longFlowsThread;
+    private Poll calAndShortFlowsThread;
+    private Poll midFlowsThread;
+    private Poll longFlowsThread;
 
     // Task that calculates all flowEntries' FlowLiveType and collects stats IMMEDIATE flows every calAndPollInterval
     private CalAndShortFlowsTask calAndShortFlowsTask;
@@ -118,11 +120,14 @@ public class NewAdaptiveFlowStatsCollector implements SwitchDataCollector {
      * Creates a new adaptive collector for the given switch and default cal_and_poll frequency.
      *
      * @param driverService driver service reference
+     * @param pollService   scheduler of the stats polls
      * @param sw            switch to pull
      * @param pollInterval  cal and immediate poll frequency in seconds
      */
-    NewAdaptiveFlowStatsCollector(DriverService driverService, OpenFlowSwitch sw, int pollInterval) {
+    NewAdaptiveFlowStatsCollector(DriverService driverService, OpenFlowStatsPollService pollService,
+                                  OpenFlowSwitch sw, int pollInterval) {
         this.driverService = driverService;
+        this.pollService = pollService;
         this.sw = sw;
         this.did = DeviceId.deviceId(Dpid.uri(sw.getId()));
 
@@ -186,43 +191,44 @@ public class NewAdaptiveFlowStatsCollector implements SwitchDataCollector {
     synchronized void adjustCalAndPollInterval(int pollInterval) {
         initMemberVars(pollInterval);
 
-        if (calAndShortFlowsThread != null) {
-            calAndShortFlowsThread.cancel(false);
-        }
-        if (midFlowsThread != null) {
-            midFlowsThread.cancel(false);
-        }
-        if (longFlowsThread != null) {
-            longFlowsThread.cancel(false);
-        }
+        cancelPolls();
 
         calAndShortFlowsTask = new CalAndShortFlowsTask();
-        calAndShortFlowsThread = adaptiveFlowStatsScheduler.scheduleWithFixedDelay(
-                calAndShortFlowsTask,
-                0,
-                calAndPollInterval,
-                TimeUnit.SECONDS);
+        calAndShortFlowsThread = schedule("adaptive-short", calAndPollInterval, calAndShortFlowsTask);
 
         midFlowsTask = new MidFlowsTask();
-        midFlowsThread = adaptiveFlowStatsScheduler.scheduleWithFixedDelay(
-                midFlowsTask,
-                0,
-                midPollInterval,
-                TimeUnit.SECONDS);
+        midFlowsThread = schedule("adaptive-mid", midPollInterval, midFlowsTask);
 
         longFlowsTask = new LongFlowsTask();
-        longFlowsThread = adaptiveFlowStatsScheduler.scheduleWithFixedDelay(
-                longFlowsTask,
-                0,
-                longPollInterval,
-                TimeUnit.SECONDS);
+        longFlowsThread = schedule("adaptive-long", longPollInterval, longFlowsTask);
 
         log.debug("calAndPollInterval={} is adjusted", calAndPollInterval);
     }
 
-    private class CalAndShortFlowsTask implements Runnable {
+    // Schedules a poll with the given interval in seconds; polls only once if there is no interval
+    private Poll schedule(String name, int interval, Poller poller) {
+        return pollService.schedule(new Dpid(sw.getId()), name, Math.max(interval, 0) * MS, poller);
+    }
+
+    private void cancelPolls() {
+        if (calAndShortFlowsThread != null) {
+            calAndShortFlowsThread.cancel();
+            calAndShortFlowsThread = null;
+        }
+        if (midFlowsThread != null) {
+            midFlowsThread.cancel();
+            midFlowsThread = null;
+        }
+        if (longFlowsThread != null) {
+            longFlowsThread.cancel();
+            longFlowsThread = null;
+        }
+    }
+
+    private class CalAndShortFlowsTask implements Poller {
         @Override
-        public void run() {
+        public Collection<Long> poll() {
+            Collection<Long> xids = Collections.emptyList();
             if (sw.getRole() == RoleState.MASTER) {
                 log.trace("CalAndShortFlowsTask Collecting AdaptiveStats for {}", sw.getStringId());
 
@@ -230,28 +236,29 @@ public class NewAdaptiveFlowStatsCollector implements SwitchDataCollector {
                     // isFirstTimeStart, get entire flow stats from a given switch sw
                     log.trace("CalAndShortFlowsTask Collecting Entire AdaptiveStats at first time start for {}",
                             sw.getStringId());
-                    ofFlowStatsRequestAllSend();
+                    xids = Collections.singleton(ofFlowStatsRequestAllSend());
 
                     callCountCalAndShortFlowsTask += CAL_AND_POLL_TIMES;
                     isFirstTimeStart = false;
                 } else  if (callCountCalAndShortFlowsTask >= ENTIRE_POLL_TIMES) {
                     // entire_poll_times, get entire flow stats from a given switch sw
                     log.trace("CalAndShortFlowsTask Collecting Entire AdaptiveStats for {}", sw.getStringId());
-                    ofFlowStatsRequestAllSend();
+                    xids = Collections.singleton(ofFlowStatsRequestAllSend());
 
                     callCountCalAndShortFlowsTask = CAL_AND_POLL_TIMES;
                     //TODO: check flows deleted in switch, but exist in controller flow table, then remove them
                     //
                 } else {
-                    calAndShortFlowsTaskInternal();
+                    xids = calAndShortFlowsTaskInternal();
                     callCountCalAndShortFlowsTask += CAL_AND_POLL_TIMES;
                 }
             }
+            return xids;
         }
     }
 
     // send openflow flow stats request message with getting all flow entries to a given switch sw
-    private synchronized void ofFlowStatsRequestAllSend() {
+    private synchronized long ofFlowStatsRequestAllSend() {
         OFFlowStatsRequest request = sw.factory().buildFlowStatsRequest()
                 .setMatch(sw.factory().matchWildcardAll())
                 .setTableId(TableId.ALL)
@@ -266,10 +273,11 @@ public class NewAdaptiveFlowStatsCollector implements SwitchDataCollector {
                     request.toString(), sw.getStringId());
 
         sw.sendMsg(request);
+        return request.getXid();
     }
 
     // send openflow flow stats request message with getting the specific flow entry(fe) to a given switch sw
-    private void ofFlowStatsRequestFlowSend(FlowEntry fe) {
+    private long ofFlowStatsRequestFlowSend(FlowEntry fe) {
         // set find match
         Match match = FlowModBuilder.builder(fe, sw.factory(), Optional.empty(),
                 Optional.of(driverService)).buildMatch();
@@ -326,28 +334,32 @@ public class NewAdaptiveFlowStatsCollector implements SwitchDataCollector {
         }
 
         sw.sendMsg(request);
-
+        return request.getXid();
     }
 
-    private void calAndShortFlowsTaskInternal() {
+    private List<Long> calAndShortFlowsTaskInternal() {
         checkAndMoveLiveFlowAll();
 
-        ofFlowStatsRequestInternal(FlowEntry.FlowLiveType.SHORT);
+        return ofFlowStatsRequestInternal(FlowEntry.FlowLiveType.SHORT);
     }
 
-    private void ofFlowStatsRequestInternal(FlowEntry.FlowLiveType liveType) {
+    // returns the xids of the requests sent, one per flow entry of the given live type
+    private List<Long> ofFlowStatsRequestInternal(FlowEntry.FlowLiveType liveType) {
 
         Iterable<FlowEntry> flowEntries =
                 flowRuleService.getFlowEntriesByLiveType(did, liveType);
 
-        flowEntries.forEach(fe -> {
-            ofFlowStatsRequestFlowSend(fe);
-        });
+        List<Long> xids = new ArrayList<>();
+        for (FlowEntry fe : flowEntries) {
+            xids.add(ofFlowStatsRequestFlowSend(fe));
+        }
+        return xids;
     }
 
-    private class MidFlowsTask implements Runnable {
+    private class MidFlowsTask implements Poller {
         @Override
-        public void run() {
+        public Collection<Long> poll() {
+            Collection<Long> xids = Collections.emptyList();
             if (sw.getRole() == RoleState.MASTER) {
                 log.trace("MidFlowsTask Collecting AdaptiveStats for {}", sw.getStringId());
 
@@ -355,20 +367,22 @@ public class NewAdaptiveFlowStatsCollector implements SwitchDataCollector {
                 if (callCountMidFlowsTask >= ENTIRE_POLL_TIMES) {
                     callCountMidFlowsTask = MID_POLL_TIMES;
                 } else {
-                    midFlowsTaskInternal();
+                    xids = midFlowsTaskInternal();
                     callCountMidFlowsTask += MID_POLL_TIMES;
                 }
             }
+            return xids;
         }
     }
 
-    private void midFlowsTaskInternal() {
-        ofFlowStatsRequestInternal(FlowEntry.FlowLiveType.MID);
+    private List<Long> midFlowsTaskInternal() {
+        return ofFlowStatsRequestInternal(FlowEntry.FlowLiveType.MID);
     }
 
-    private class LongFlowsTask implements Runnable {
+    private class LongFlowsTask implements Poller {
         @Override
-        public void run() {
+        public Collection<Long> poll() {
+            Collection<Long> xids = Collections.emptyList();
             if (sw.getRole() == RoleState.MASTER) {
                 log.trace("LongFlowsTask Collecting AdaptiveStats for {}", sw.getStringId());
 
@@ -376,15 +390,16 @@ public class NewAdaptiveFlowStatsCollector implements SwitchDataCollector {
                 if (callCountLongFlowsTask >= ENTIRE_POLL_TIMES) {
                     callCountLongFlowsTask = LONG_POLL_TIMES;
                 } else {
-                    longFlowsTaskInternal();
+                    xids = longFlowsTaskInternal();
                     callCountLongFlowsTask += LONG_POLL_TIMES;
                 }
             }
+            return xids;
         }
     }
 
-    private void longFlowsTaskInternal() {
-        ofFlowStatsRequestInternal(FlowEntry.FlowLiveType.LONG);
+    private List<Long> longFlowsTaskInternal() {
+        return ofFlowStatsRequestInternal(FlowEntry.FlowLiveType.LONG);
     }
 
     /**
@@ -402,45 +417,13 @@ public class NewAdaptiveFlowStatsCollector implements SwitchDataCollector {
         midFlowsTask = new MidFlowsTask();
         longFlowsTask = new LongFlowsTask();
 
-        if (pollPeriodically) {
-            // Initially start polling quickly. Then drop down to configured value
-
-            calAndShortFlowsThread = adaptiveFlowStatsScheduler.scheduleWithFixedDelay(
-                    calAndShortFlowsTask,
-                    1,
-                    calAndPollInterval,
-                    TimeUnit.SECONDS);
-
-
-            midFlowsThread = adaptiveFlowStatsScheduler.scheduleWithFixedDelay(
-                    midFlowsTask,
-                    1,
-                    midPollInterval,
-                    TimeUnit.SECONDS);
-
-
-            longFlowsThread = adaptiveFlowStatsScheduler.scheduleWithFixedDelay(
-                    longFlowsTask,
-                    1,
-                    longPollInterval,
-                    TimeUnit.SECONDS);
-        } else {
-            // Trigger the polls only once
-            adaptiveFlowStatsScheduler.schedule(
-                    calAndShortFlowsTask,
-                    0,
-                    TimeUnit.SECONDS);
-
-            adaptiveFlowStatsScheduler.schedule(
-                    midFlowsTask,
-                    0,
-                    TimeUnit.SECONDS);
-
-            adaptiveFlowStatsScheduler.schedule(
-                    longFlowsTask,
-                    0,
-                    TimeUnit.SECONDS);
-        }
+        cancelPolls();
+        // The shared scheduler spreads the first polls over their interval,
+        // or triggers the polls only once if not polling periodically
+        calAndShortFlowsThread = schedule("adaptive-short", pollPeriodically ? calAndPollInterval : 0,
+                                          calAndShortFlowsTask);
+        midFlowsThread = schedule("adaptive-mid", pollPeriodically ? midPollInterval : 0, midFlowsTask);
+        longFlowsThread = schedule("adaptive-long", pollPeriodically ? longPollInterval : 0, longFlowsTask);
 
         log.info("Started");
     }
@@ -450,17 +433,7 @@ public class NewAdaptiveFlowStatsCollector implements SwitchDataCollector {
      */
     public synchronized void stop() {
         log.debug("Stopping AdaptiveStats collection thread for {}", sw.getStringId());
-        if (calAndShortFlowsThread != null) {
-            calAndShortFlowsThread.cancel(true);
-        }
-        if (midFlowsThread != null) {
-            midFlowsThread.cancel(true);
-        }
-        if (longFlowsThread != null) {
-            longFlowsThread.cancel(true);
-        }
-
-        adaptiveFlowStatsScheduler.shutdownNow();
+        cancelPolls();
 
         isFirstTimeStart = false;
 
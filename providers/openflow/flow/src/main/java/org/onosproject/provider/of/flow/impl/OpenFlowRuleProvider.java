@@ -49,6 +49,7 @@ import org.onosproject.net.statistic.DefaultLoad;
 import org.onosproject.openflow.controller.Dpid;
 import org.onosproject.openflow.controller.OpenFlowController;
 import org.onosproject.openflow.controller.OpenFlowEventListener;
+import org.onosproject.openflow.controller.OpenFlowStatsPollService;
 import org.onosproject.openflow.controller.OpenFlowSwitch;
 import org.onosproject.openflow.controller.OpenFlowSwitchListener;
 import org.onosproject.openflow.controller.RoleState;
@@ -136,6 +137,9 @@ public class OpenFlowRuleProvider extends AbstractProvider
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected DriverService driverService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected OpenFlowStatsPollService statsPollService;
+
     private static final int MIN_EXPECTED_BYTE_LEN = 56;
     private static final int SKIP_BYTES = 4;
 
@@ -269,17 +273,17 @@ public class OpenFlowRuleProvider extends AbstractProvider
             if (adaptiveFlowSampling) {
                 // NewAdaptiveFlowStatsCollector Constructor
                 NewAdaptiveFlowStatsCollector fsc =
-                        new NewAdaptiveFlowStatsCollector(driverService, sw, flowPollFrequency);
+                        new NewAdaptiveFlowStatsCollector(driverService, statsPollService, sw, flowPollFrequency);
                 stopCollectorIfNeeded(afsCollectors.put(new Dpid(sw.getId()), fsc));
                 fsc.start();
             } else {
-                FlowStatsCollector fsc = new FlowStatsCollector(executorService, sw, flowPollFrequency);
+                FlowStatsCollector fsc = new FlowStatsCollector(executorService, statsPollService, sw, flowPollFrequency);
                 stopCollectorIfNeeded(simpleCollectors.put(new Dpid(sw.getId()), fsc));
                 fsc.start();
             }
         }
         if (sw.features().getCapabilities().contains(OFCapabilities.TABLE_STATS)) {
-            TableStatisticsCollector tsc = new TableStatisticsCollector(executorService, sw, flowPollFrequency);
+            TableStatisticsCollector tsc = new TableStatisticsCollector(statsPollService, sw, flowPollFrequency);
             stopCollectorIfNeeded(tableStatsCollectors.put(new Dpid(sw.getId()), tsc));
             tsc.start();
         }
@@ -449,10 +453,10 @@ public class OpenFlowRuleProvider extends AbstractProvider
         SwitchDataCollector sdc = adaptiveFlowSampling ? afsCollectors.get(dpid) : simpleCollectors.get(dpid);
         if (sdc == null) {
             if (adaptiveFlowSampling) {
-                sdc = new NewAdaptiveFlowStatsCollector(driverService, sw, -1);
+                sdc = new NewAdaptiveFlowStatsCollector(driverService, statsPollService, sw, -1);
                 afsCollectors.put(dpid, (NewAdaptiveFlowStatsCollector) sdc);
             } else {
-                sdc = new FlowStatsCollector(executorService, sw, -1);
+                sdc = new FlowStatsCollector(executorService, statsPollService, sw, -1);
                 simpleCollectors.put(dpid, (FlowStatsCollector) sdc);
             }
         }
@@ -460,7 +464,7 @@ public class OpenFlowRuleProvider extends AbstractProvider
 
         TableStatisticsCollector tsc = tableStatsCollectors.get(dpid);
         if (tsc == null) {
-            tsc = new TableStatisticsCollector(executorService, sw, -1);
+            tsc = new TableStatisticsCollector(statsPollService, sw, -1);
             tableStatsCollectors.put(dpid, tsc);
         }
         tsc.start();
@@ -514,16 +518,6 @@ public class OpenFlowRuleProvider extends AbstractProvider
                     break;
                 case STATS_REPLY:
                     if (((OFStatsReply) msg).getStatsType() == OFStatsType.FLOW) {
-                        // Let's unblock first the collector
-                        SwitchDataCollector collector;
-                        if (adaptiveFlowSampling) {
-                            collector = afsCollectors.get(dpid);
-                        } else {
-                            collector = simpleCollectors.get(dpid);
-                        }
-                        if (collector != null) {
-                            collector.received();
-                        }
                         pushFlowMetrics(dpid, (OFFlowStatsReply) msg, getDriver(deviceId));
                     } else if (((OFStatsReply) msg).getStatsType() == OFStatsType.TABLE) {
                         pushTableStatistics(dpid, (OFTableStatsReply) msg);
@@ -31,13 +31,6 @@ interface SwitchDataCollector {
      */
     void stop();
 
-    /**
-     * Signals reply has been received.
-     */
-    default void received() {
-
-    }
-
     /**
      * Records the number of events seen.
      *
@@ -15,15 +15,16 @@
  */
 package org.onosproject.provider.of.flow.impl;
 
+import org.onosproject.openflow.controller.Dpid;
+import org.onosproject.openflow.controller.OpenFlowStatsPollService;
+import org.onosproject.openflow.controller.OpenFlowStatsPollService.Poll;
 import org.onosproject.openflow.controller.OpenFlowSwitch;
 import org.onosproject.openflow.controller.RoleState;
 import org.projectfloodlight.openflow.protocol.OFTableStatsRequest;
 import org.slf4j.Logger;
 
-import java.util.TimerTask;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.Collection;
+import java.util.Collections;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -37,21 +38,20 @@ class TableStatisticsCollector implements SwitchDataCollector {
     public static final long MS = 1000;
 
     private final OpenFlowSwitch sw;
-    private ScheduledExecutorService executorService;
-    private TimerTask task;
-    private ScheduledFuture<?> scheduledTask;
+    private OpenFlowStatsPollService pollService;
+    private Poll poll;
 
     private int pollInterval;
 
     /**
      * Creates a new table statistics collector for the given switch and poll frequency.
      *
-     * @param executorService executor used for scheduling
+     * @param pollService scheduler of the stats polls
      * @param sw switch to pull
      * @param pollInterval poll frequency in seconds
      */
-    TableStatisticsCollector(ScheduledExecutorService executorService, OpenFlowSwitch sw, int pollInterval) {
-        this.executorService = executorService;
+    TableStatisticsCollector(OpenFlowStatsPollService pollService, OpenFlowSwitch sw, int pollInterval) {
+        this.pollService = pollService;
         this.sw = sw;
         this.pollInterval = pollInterval;
     }
@@ -63,52 +63,39 @@ class TableStatisticsCollector implements SwitchDataCollector {
      */
     synchronized void adjustPollInterval(int pollInterval) {
         this.pollInterval = pollInterval;
-        if (task != null) {
-            task.cancel();
-        }
-        task = new InternalTimerTask();
-        if (scheduledTask != null) {
-            scheduledTask.cancel(false);
+        if (poll != null) {
+            poll.setInterval(pollInterval * MS);
+        } else {
+            poll = pollService.schedule(new Dpid(sw.getId()), "table", pollInterval * MS, this::poll);
         }
-        scheduledTask = executorService.scheduleAtFixedRate(task, pollInterval * MS,
-                                            pollInterval * MS, TimeUnit.MILLISECONDS);
     }
 
-    private class InternalTimerTask extends TimerTask {
-        @Override
-        public void run() {
-            if (sw.getRole() == RoleState.MASTER) {
-                log.trace("Collecting stats for {}", sw.getStringId());
-                OFTableStatsRequest request = sw.factory().buildTableStatsRequest()
-                        .build();
-                sw.sendMsg(request);
-            }
+    private Collection<Long> poll() {
+        if (sw.getRole() != RoleState.MASTER) {
+            return Collections.emptySet();
         }
+        log.trace("Collecting stats for {}", sw.getStringId());
+        OFTableStatsRequest request = sw.factory().buildTableStatsRequest()
+                .build();
+        sw.sendMsg(request);
+        return Collections.singleton(request.getXid());
     }
 
     public synchronized void start() {
         log.debug("Starting Table Stats collection thread for {}", sw.getStringId());
-        task = new InternalTimerTask();
-        if (pollInterval > 0) {
-            // Initially start polling quickly. Then drop down to configured value
-            scheduledTask = executorService.scheduleAtFixedRate(task, 1 * MS,
-                    pollInterval * MS, TimeUnit.MILLISECONDS);
-        } else {
-            // Trigger the poll only once
-            executorService.schedule(task, 0, TimeUnit.MILLISECONDS);
+        if (poll != null) {
+            poll.cancel();
         }
+        // Polls only once if there is no interval
+        poll = pollService.schedule(new Dpid(sw.getId()), "table", Math.max(pollInterval, 0) * MS, this::poll);
     }
 
     public synchronized void stop() {
         log.debug("Stopping Table Stats collection thread for {}", sw.getStringId());
-        if (task != null) {
-            task.cancel();
-        }
-        task = null;
-        if (scheduledTask != null) {
-            scheduledTask.cancel(false);
+        if (poll != null) {
+            poll.cancel();
         }
-        scheduledTask = null;
+        poll = null;
     }
 
 }
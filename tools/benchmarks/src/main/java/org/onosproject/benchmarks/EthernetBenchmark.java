@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import org.onlab.packet.ARP;
+import org.onlab.packet.Data;
+import org.onlab.packet.DeserializationException;
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.IPv4;
+import org.onlab.packet.Ip4Address;
+import org.onlab.packet.MacAddress;
+import org.onlab.packet.UDP;
+import org.onlab.packet.VlanId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks parsing of packet-in payloads with the Ethernet deserializer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EthernetBenchmark {
+
+    private static final MacAddress SRC_MAC = MacAddress.valueOf("00:00:00:00:00:01");
+    private static final MacAddress DST_MAC = MacAddress.valueOf("00:00:00:00:00:02");
+    private static final Ip4Address SRC_IP = Ip4Address.valueOf("10.0.0.1");
+    private static final Ip4Address DST_IP = Ip4Address.valueOf("10.0.0.2");
+
+    private byte[] udpFrame;
+    private byte[] arpFrame;
+
+    @Setup
+    public void setUp() {
+        UDP udp = new UDP();
+        udp.setSourcePort(5000).setDestinationPort(5001);
+        udp.setPayload(new Data(new byte[64]));
+
+        IPv4 ipv4 = new IPv4();
+        ipv4.setSourceAddress(SRC_IP.toInt())
+                .setDestinationAddress(DST_IP.toInt())
+                .setTtl((byte) 64)
+                .setProtocol(IPv4.PROTOCOL_UDP);
+        ipv4.setPayload(udp);
+
+        Ethernet eth = new Ethernet();
+        eth.setSourceMACAddress(SRC_MAC)
+                .setDestinationMACAddress(DST_MAC)
+                .setVlanID((short) 100)
+                .setEtherType(Ethernet.TYPE_IPV4);
+        eth.setPayload(ipv4);
+        udpFrame = eth.serialize();
+
+        arpFrame = ARP.buildArpRequest(SRC_MAC.toBytes(), SRC_IP.toOctets(),
+                                       DST_IP.toOctets(), VlanId.UNTAGGED).serialize();
+    }
+
+    /**
+     * Parses a VLAN tagged IPv4/UDP frame.
+     *
+     * @return parsed frame
+     * @throws DeserializationException if the frame is malformed
+     */
+    @Benchmark
+    public Ethernet deserializeUdp() throws DeserializationException {
+        return Ethernet.deserializer().deserialize(udpFrame, 0, udpFrame.length);
+    }
+
+    /**
+     * Parses an ARP request frame.
+     *
+     * @return parsed frame
+     * @throws DeserializationException if the frame is malformed
+     */
+    @Benchmark
+    public Ethernet deserializeArp() throws DeserializationException {
+        return Ethernet.deserializer().deserialize(arpFrame, 0, arpFrame.length);
+    }
+}
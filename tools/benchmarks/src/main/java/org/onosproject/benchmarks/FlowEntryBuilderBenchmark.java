@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.driver.DefaultDriver;
+import org.onosproject.net.driver.DefaultDriverData;
+import org.onosproject.net.driver.DefaultDriverHandler;
+import org.onosproject.net.driver.DriverHandler;
+import org.onosproject.net.flow.FlowEntry;
+import org.onosproject.provider.of.flow.util.FlowEntryBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.projectfloodlight.openflow.protocol.OFFactories;
+import org.projectfloodlight.openflow.protocol.OFFactory;
+import org.projectfloodlight.openflow.protocol.OFFlowStatsEntry;
+import org.projectfloodlight.openflow.protocol.OFVersion;
+import org.projectfloodlight.openflow.protocol.action.OFAction;
+import org.projectfloodlight.openflow.protocol.match.Match;
+import org.projectfloodlight.openflow.protocol.match.MatchField;
+import org.projectfloodlight.openflow.types.EthType;
+import org.projectfloodlight.openflow.types.IPv4AddressWithMask;
+import org.projectfloodlight.openflow.types.IpProtocol;
+import org.projectfloodlight.openflow.types.OFPort;
+import org.projectfloodlight.openflow.types.OFVlanVidMatch;
+import org.projectfloodlight.openflow.types.TableId;
+import org.projectfloodlight.openflow.types.TransportPort;
+import org.projectfloodlight.openflow.types.U64;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the conversion of OpenFlow 1.3 flow stats entries to flow
+ * entries, as done for every entry of every flow stats reply.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FlowEntryBuilderBenchmark {
+
+    private static final DeviceId DEVICE_ID = DeviceId.deviceId("of:0000000000000001");
+
+    private DriverHandler driverHandler;
+    private OFFlowStatsEntry entry;
+
+    @Setup
+    public void setUp() {
+        // Driver without extension interpreters
+        driverHandler = new DefaultDriverHandler(new DefaultDriverData(
+                new DefaultDriver("benchmark", ImmutableList.of(), "ONF", "1.0", "1.0",
+                                  ImmutableMap.of(), ImmutableMap.of()),
+                DEVICE_ID));
+
+        OFFactory factory = OFFactories.getFactory(OFVersion.OF_13);
+        Match match = factory.buildMatch()
+                .setExact(MatchField.IN_PORT, OFPort.of(1))
+                .setExact(MatchField.VLAN_VID, OFVlanVidMatch.ofVlan(100))
+                .setExact(MatchField.ETH_TYPE, EthType.IPv4)
+                .setExact(MatchField.IP_PROTO, IpProtocol.TCP)
+                .setMasked(MatchField.IPV4_DST, IPv4AddressWithMask.of("10.0.1.0/24"))
+                .setExact(MatchField.TCP_DST, TransportPort.of(80))
+                .build();
+        List<OFAction> actions = ImmutableList.of(
+                factory.actions().popVlan(),
+                factory.actions().buildOutput().setPort(OFPort.of(2)).build());
+        entry = factory.buildFlowStatsEntry()
+                .setMatch(match)
+                .setInstructions(ImmutableList.of(factory.instructions().applyActions(actions)))
+                .setTableId(TableId.of(0))
+                .setPriority(40000)
+                .setCookie(U64.of(0x1234))
+                .setDurationSec(60)
+                .setPacketCount(U64.of(1000))
+                .setByteCount(U64.of(64000))
+                .build();
+    }
+
+    /**
+     * Builds a flow entry from a flow stats entry.
+     *
+     * @return flow entry
+     */
+    @Benchmark
+    public FlowEntry buildFromStats() {
+        return new FlowEntryBuilder(DEVICE_ID, entry, driverHandler).build();
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.IPv4;
+import org.onlab.packet.Ip4Prefix;
+import org.onlab.packet.MacAddress;
+import org.onlab.packet.TpPort;
+import org.onlab.packet.VlanId;
+import org.onosproject.core.ApplicationId;
+import org.onosproject.core.DefaultApplicationId;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.flow.DefaultFlowRule;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.flow.FlowRule;
+import org.onosproject.net.flow.TrafficSelector;
+import org.onosproject.net.flow.TrafficTreatment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks construction, hashing and comparison of selectors and flow
+ * rules, as done for every rule going through the flow subsystem.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FlowRuleBenchmark {
+
+    private static final ApplicationId APP_ID = new DefaultApplicationId(1, "org.onosproject.benchmarks");
+    private static final DeviceId DEVICE_ID = DeviceId.deviceId("of:0000000000000001");
+
+    private TrafficSelector selector;
+    private TrafficTreatment treatment;
+    private FlowRule rule;
+    private FlowRule sameRule;
+
+    @Setup
+    public void setUp() {
+        selector = selector();
+        treatment = DefaultTrafficTreatment.builder()
+                .setVlanId(VlanId.vlanId((short) 200))
+                .setOutput(PortNumber.portNumber(2))
+                .build();
+        rule = flowRule(selector);
+        sameRule = flowRule(selector());
+    }
+
+    private static TrafficSelector selector() {
+        return DefaultTrafficSelector.builder()
+                .matchInPort(PortNumber.portNumber(1))
+                .matchEthSrc(MacAddress.valueOf("00:00:00:00:00:01"))
+                .matchEthDst(MacAddress.valueOf("00:00:00:00:00:02"))
+                .matchVlanId(VlanId.vlanId((short) 100))
+                .matchEthType(Ethernet.TYPE_IPV4)
+                .matchIPProtocol(IPv4.PROTOCOL_TCP)
+                .matchIPSrc(Ip4Prefix.valueOf("10.0.0.0/24"))
+                .matchIPDst(Ip4Prefix.valueOf("10.0.1.0/24"))
+                .matchTcpDst(TpPort.tpPort(80))
+                .build();
+    }
+
+    private FlowRule flowRule(TrafficSelector ruleSelector) {
+        return DefaultFlowRule.builder()
+                .forDevice(DEVICE_ID)
+                .fromApp(APP_ID)
+                .withSelector(ruleSelector)
+                .withTreatment(treatment)
+                .withPriority(40000)
+                .makePermanent()
+                .build();
+    }
+
+    /**
+     * Builds a selector matching on a typical 5-tuple.
+     *
+     * @return selector
+     */
+    @Benchmark
+    public TrafficSelector buildSelector() {
+        return selector();
+    }
+
+    /**
+     * Builds a flow rule, including the computation of its identifier.
+     *
+     * @return flow rule
+     */
+    @Benchmark
+    public FlowRule buildFlowRule() {
+        return flowRule(selector);
+    }
+
+    /**
+     * Hashes a selector.
+     *
+     * @return hash code
+     */
+    @Benchmark
+    public int hashSelector() {
+        return selector.hashCode();
+    }
+
+    /**
+     * Hashes a flow rule.
+     *
+     * @return hash code
+     */
+    @Benchmark
+    public int hashFlowRule() {
+        return rule.hashCode();
+    }
+
+    /**
+     * Compares two equal flow rules built from distinct selectors.
+     *
+     * @return true
+     */
+    @Benchmark
+    public boolean equalFlowRules() {
+        return rule.equals(sameRule);
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import org.onlab.graph.AdjacencyListsGraph;
+import org.onlab.graph.CompactDijkstraGraphSearch;
+import org.onlab.graph.CompactGraph;
+import org.onlab.graph.DijkstraGraphSearch;
+import org.onlab.graph.Graph;
+import org.onlab.graph.GraphPathSearch;
+import org.onosproject.net.ConnectPoint;
+import org.onosproject.net.DefaultLink;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.Link;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.provider.ProviderId;
+import org.onosproject.net.topology.DefaultTopologyEdge;
+import org.onosproject.net.topology.DefaultTopologyVertex;
+import org.onosproject.net.topology.TopologyEdge;
+import org.onosproject.net.topology.TopologyVertex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks shortest path searches on topology graphs laid out as the
+ * grids of the null provider's grid topology simulator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class GraphSearchBenchmark {
+
+    private static final ProviderId PID = new ProviderId("null", "org.onosproject.benchmarks");
+
+    /** Number of rows and columns of the grid. */
+    @Param({"10", "30"})
+    public int size;
+
+    private Graph<TopologyVertex, TopologyEdge> graph;
+    private CompactGraph<TopologyVertex, TopologyEdge> compactGraph;
+    private TopologyVertex src;
+    private TopologyVertex dst;
+
+    private final DijkstraGraphSearch<TopologyVertex, TopologyEdge> dijkstra =
+            new DijkstraGraphSearch<>();
+    private final CompactDijkstraGraphSearch<TopologyVertex, TopologyEdge> compactDijkstra =
+            new CompactDijkstraGraphSearch<>();
+
+    @Setup
+    public void setUp() {
+        TopologyVertex[] vertexes = new TopologyVertex[size * size];
+        for (int i = 0; i < vertexes.length; i++) {
+            vertexes[i] = new DefaultTopologyVertex(DeviceId.deviceId(String.format("null:%016x", i)));
+        }
+
+        // Same layout and port numbering as GridTopologySimulator
+        Set<TopologyEdge> edges = new HashSet<>();
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                int i = r * size + c;
+                if (c < size - 1) {
+                    addLinks(edges, vertexes[i], 3, vertexes[i + 1], 1);
+                }
+                if (r < size - 1) {
+                    addLinks(edges, vertexes[i], 4, vertexes[i + size], 2);
+                }
+            }
+        }
+
+        Set<TopologyVertex> vertexSet = new HashSet<>();
+        for (TopologyVertex vertex : vertexes) {
+            vertexSet.add(vertex);
+        }
+        graph = new AdjacencyListsGraph<>(vertexSet, edges);
+        compactGraph = CompactGraph.of(graph);
+        src = vertexes[0];
+        dst = vertexes[vertexes.length - 1];
+    }
+
+    private static void addLinks(Set<TopologyEdge> edges, TopologyVertex one, int onePort,
+                                 TopologyVertex two, int twoPort) {
+        ConnectPoint oneCp = new ConnectPoint(one.deviceId(), PortNumber.portNumber(onePort));
+        ConnectPoint twoCp = new ConnectPoint(two.deviceId(), PortNumber.portNumber(twoPort));
+        edges.add(new DefaultTopologyEdge(one, two, link(oneCp, twoCp)));
+        edges.add(new DefaultTopologyEdge(two, one, link(twoCp, oneCp)));
+    }
+
+    private static Link link(ConnectPoint src, ConnectPoint dst) {
+        return DefaultLink.builder()
+                .providerId(PID)
+                .src(src)
+                .dst(dst)
+                .type(Link.Type.DIRECT)
+                .state(Link.State.ACTIVE)
+                .build();
+    }
+
+    /**
+     * Finds a shortest path between opposite corners of the grid.
+     *
+     * @return search result
+     */
+    @Benchmark
+    public GraphPathSearch.Result<TopologyVertex, TopologyEdge> dijkstraPath() {
+        return dijkstra.search(graph, src, dst, null, 1);
+    }
+
+    /**
+     * Finds a shortest path to every vertex of the grid, as done when
+     * computing the paths of a topology.
+     *
+     * @return search result
+     */
+    @Benchmark
+    public GraphPathSearch.Result<TopologyVertex, TopologyEdge> dijkstraTree() {
+        return dijkstra.search(graph, src, null, null, 1);
+    }
+
+    /**
+     * Finds a shortest path between opposite corners of the grid, with the
+     * compact search converting the graph first.
+     *
+     * @return search result
+     */
+    @Benchmark
+    public GraphPathSearch.Result<TopologyVertex, TopologyEdge> compactDijkstraPath() {
+        return compactDijkstra.search(graph, src, dst, null, 1);
+    }
+
+    /**
+     * Finds a shortest path to every vertex of the grid on the converted
+     * graph.
+     *
+     * @return search result
+     */
+    @Benchmark
+    public GraphPathSearch.Result<TopologyVertex, TopologyEdge> compactDijkstraTree() {
+        return compactDijkstra.search(compactGraph, src, null, null, 1);
+    }
+}
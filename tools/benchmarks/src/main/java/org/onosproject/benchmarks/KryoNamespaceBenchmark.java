@@ -0,0 +1,203 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.Ip4Prefix;
+import org.onlab.packet.IpAddress;
+import org.onlab.packet.MacAddress;
+import org.onlab.packet.VlanId;
+import org.onlab.util.KryoNamespace;
+import org.onosproject.core.DefaultApplicationId;
+import org.onosproject.net.ConnectPoint;
+import org.onosproject.net.DefaultHost;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.Host;
+import org.onosproject.net.HostId;
+import org.onosproject.net.HostLocation;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.flow.DefaultFlowEntry;
+import org.onosproject.net.flow.DefaultFlowRule;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.flow.FlowEntry;
+import org.onosproject.net.provider.ProviderId;
+import org.onosproject.store.atomix.primitives.impl.MapValue;
+import org.onosproject.store.serializers.KryoNamespaces;
+import org.onosproject.store.service.WallClockTimestamp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks serialization round trips through the API Kryo namespace, as
+ * done for the objects exchanged between cluster nodes and kept in the
+ * distributed stores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class KryoNamespaceBenchmark {
+
+    private static final DeviceId DEVICE_ID = DeviceId.deviceId("of:0000000000000001");
+    private static final MacAddress MAC = MacAddress.valueOf("00:00:00:00:00:01");
+
+    /** Number of flow entries in the batch. */
+    @Param({"1", "100"})
+    public int batchSize;
+
+    private KryoNamespace namespace;
+    private KryoNamespace mapNamespace;
+    private ConnectPoint connectPoint;
+    private Host host;
+    private MapValue<Host> mapValue;
+    private List<FlowEntry> batch;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setUp() {
+        namespace = KryoNamespaces.API;
+        connectPoint = new ConnectPoint(DEVICE_ID, PortNumber.portNumber(1));
+        host = new DefaultHost(new ProviderId("of", "org.onosproject.benchmarks"),
+                               HostId.hostId(MAC, VlanId.NONE), MAC, VlanId.NONE,
+                               new HostLocation(DEVICE_ID, PortNumber.portNumber(3), 0),
+                               ImmutableSet.of(IpAddress.valueOf("10.0.0.1")));
+        mapValue = new MapValue<>(host, new WallClockTimestamp());
+        // Registered the way eventually consistent maps register their values
+        mapNamespace = KryoNamespace.newBuilder()
+                .register(namespace)
+                .nextId(KryoNamespaces.BEGIN_USER_CUSTOM_ID + 100)
+                .register(KryoNamespaces.BASIC)
+                .register(WallClockTimestamp.class)
+                .register(MapValue.class)
+                .build("benchmark-ecmap");
+        batch = ImmutableList.copyOf(IntStream.range(0, batchSize)
+                .mapToObj(this::flowEntry)
+                .collect(Collectors.toList()));
+        buffer = ByteBuffer.allocate(2 * namespace.serialize(batch).length);
+    }
+
+    private FlowEntry flowEntry(int i) {
+        return new DefaultFlowEntry(DefaultFlowRule.builder()
+                .forDevice(DEVICE_ID)
+                .fromApp(new DefaultApplicationId(1, "org.onosproject.benchmarks"))
+                .withSelector(DefaultTrafficSelector.builder()
+                        .matchInPort(PortNumber.portNumber(1))
+                        .matchEthType(Ethernet.TYPE_IPV4)
+                        .matchIPDst(Ip4Prefix.valueOf(0x0a000000 + (i << 8), 24))
+                        .build())
+                .withTreatment(DefaultTrafficTreatment.builder()
+                        .setOutput(PortNumber.portNumber(2))
+                        .build())
+                .withPriority(40000)
+                .makePermanent()
+                .build(), FlowEntry.FlowEntryState.ADDED, 60, 1000, 64000);
+    }
+
+    /**
+     * Round trips a connect point through a byte array.
+     *
+     * @return deserialized connect point
+     */
+    @Benchmark
+    public ConnectPoint connectPoint() {
+        return namespace.deserialize(namespace.serialize(connectPoint));
+    }
+
+    /**
+     * Round trips a host through a byte array.
+     *
+     * @return deserialized host
+     */
+    @Benchmark
+    public Host host() {
+        return namespace.deserialize(namespace.serialize(host));
+    }
+
+    /**
+     * Round trips a host through the pooled serialization buffer.
+     *
+     * @return deserialized host
+     */
+    @Benchmark
+    public Host hostPooled() {
+        return namespace.serialize(host, bytes -> namespace.<Host>deserialize(bytes));
+    }
+
+    /**
+     * Round trips an eventually consistent map value holding a host through
+     * a byte array.
+     *
+     * @return deserialized map value
+     */
+    @Benchmark
+    public MapValue<Host> mapValue() {
+        return mapNamespace.deserialize(mapNamespace.serialize(mapValue));
+    }
+
+    /**
+     * Round trips an eventually consistent map value holding a host through
+     * the pooled serialization buffer.
+     *
+     * @return deserialized map value
+     */
+    @Benchmark
+    public MapValue<Host> mapValuePooled() {
+        return mapNamespace.serialize(mapValue, bytes -> mapNamespace.<MapValue<Host>>deserialize(bytes));
+    }
+
+    /**
+     * Round trips a batch of flow entries through a byte array.
+     *
+     * @return deserialized flow entries
+     */
+    @Benchmark
+    public List<FlowEntry> flowEntries() {
+        return namespace.deserialize(namespace.serialize(batch));
+    }
+
+    /**
+     * Round trips a batch of flow entries through a reused byte buffer.
+     *
+     * @return deserialized flow entries
+     */
+    @Benchmark
+    public List<FlowEntry> flowEntriesBuffer() {
+        buffer.clear();
+        namespace.serialize(batch, buffer);
+        buffer.flip();
+        return namespace.deserialize(buffer);
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import org.mapdb.DB;
+import org.mapdb.DBMaker;
+import org.onosproject.persistence.impl.LogPersistentMap;
+import org.onosproject.persistence.impl.PersistentMap;
+import org.onosproject.store.serializers.KryoNamespaces;
+import org.onosproject.store.service.Serializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks the write throughput and restart time of the persistent maps of
+ * the MapDB and memory-mapped log backends of the persistence service.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PersistenceBenchmark {
+
+    private static final String MAPDB = "mapdb";
+    private static final String NAME = "map:benchmark";
+    private static final int VALUE_SIZE = 100;
+
+    private static final Serializer SERIALIZER = Serializer.using(KryoNamespaces.BASIC);
+
+    /**
+     * Persistent map of one of the backends in a scratch directory.
+     */
+    public abstract static class Backend {
+
+        /** Persistence backend, either mapdb or log. */
+        @Param({"mapdb", "log"})
+        public String backend;
+
+        /** Number of distinct keys. */
+        @Param({"10000", "100000"})
+        public int entries;
+
+        Path directory;
+        DB database;
+        Map<Integer, byte[]> map;
+
+        void open() {
+            if (MAPDB.equals(backend)) {
+                database = DBMaker.newFileDB(directory.resolve("cache").toFile())
+                        .asyncWriteEnable()
+                        .make();
+                map = new PersistentMap<>(SERIALIZER, database, NAME);
+            } else {
+                map = new LogPersistentMap<>(SERIALIZER, directory.resolve("benchmark.log"));
+            }
+        }
+
+        void sync() {
+            if (database != null) {
+                database.commit();
+            } else {
+                ((LogPersistentMap<Integer, byte[]>) map).sync();
+            }
+        }
+
+        void close() {
+            if (database != null) {
+                database.commit();
+                database.close();
+                database = null;
+            } else {
+                ((LogPersistentMap<Integer, byte[]>) map).close();
+            }
+        }
+
+        void fill() {
+            for (int i = 0; i < entries; i++) {
+                map.put(i, new byte[VALUE_SIZE]);
+            }
+        }
+
+        @Setup(Level.Trial)
+        public void createDirectory() throws IOException {
+            directory = Files.createTempDirectory("onos-persistence");
+        }
+
+        @TearDown(Level.Trial)
+        public void deleteDirectory() throws IOException {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(f -> f.delete());
+            }
+        }
+    }
+
+    /**
+     * Open map, synced to disk after every iteration as by the periodic
+     * commit of the persistence service.
+     */
+    @State(Scope.Benchmark)
+    public static class WriteState extends Backend {
+
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            open();
+            fill();
+        }
+
+        @TearDown(Level.Iteration)
+        public void commit() {
+            sync();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            close();
+        }
+    }
+
+    /**
+     * Map written and closed before the measurement, to be reopened.
+     */
+    @State(Scope.Benchmark)
+    public static class RestartState extends Backend {
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            open();
+            fill();
+            close();
+        }
+    }
+
+    /**
+     * Overwrites the entries of the map in turn.
+     *
+     * @param state open map
+     * @return previous value
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public byte[] write(WriteState state) {
+        int key = state.next++ % state.entries;
+        return state.map.put(key, new byte[VALUE_SIZE]);
+    }
+
+    /**
+     * Reopens the map and reads all its entries once, as the first
+     * anti-entropy round of an eventually consistent map does.
+     *
+     * @param state closed map
+     * @return entries read
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<Integer, byte[]> restart(RestartState state) {
+        state.open();
+        Map<Integer, byte[]> items = new HashMap<>(state.map);
+        state.close();
+        return items;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.graph;
+
+import org.onlab.graph.CompactShortestPaths.UnsupportedWeightException;
+
+/**
+ * Dijkstra shortest-path graph search algorithm operating on the array
+ * layout of a {@link CompactGraph}; produces the same results as
+ * {@link DijkstraGraphSearch}.
+ * <p>
+ * Graphs other than {@link CompactGraph} are converted prior to the search,
+ * so callers issuing many searches over the same graph should convert it
+ * once up front. Edge weighers producing weights other than
+ * {@link ScalarWeight} are delegated to {@link DijkstraGraphSearch}.
+ * </p>
+ */
+public class CompactDijkstraGraphSearch<V extends Vertex, E extends Edge<V>>
+        extends AbstractGraphPathSearch<V, E> {
+
+    private final DijkstraGraphSearch<V, E> fallback = new DijkstraGraphSearch<>();
+
+    @Override
+    protected Result<V, E> internalSearch(Graph<V, E> graph, V src, V dst,
+                                          EdgeWeigher<V, E> weigher, int maxPaths) {
+        CompactGraph<V, E> compact = CompactGraph.of(graph);
+        CompactShortestPaths<V, E> engine;
+        try {
+            engine = new CompactShortestPaths<>(compact, weigher);
+            engine.search(compact.vertexId(src),
+                          dst == null ? -1 : compact.vertexId(dst),
+                          maxPaths, null);
+        } catch (UnsupportedWeightException e) {
+            return fallback.search(graph, src, dst, weigher, maxPaths);
+        }
+
+        // Transcribe the accrued costs and parent edges into the result.
+        DefaultResult result = new DefaultResult(src, dst, maxPaths);
+        for (int v = 0; v < compact.vertexCount(); v++) {
+            if (!engine.reached(v)) {
+                continue;
+            }
+            V vertex = compact.vertex(v);
+            Weight cost = new ScalarWeight(engine.cost(v));
+            result.updateVertex(vertex, null, cost, false);
+            for (int e = engine.parentHead(v); e >= 0; e = engine.nextParent(e)) {
+                result.updateVertex(vertex, compact.edge(e), cost, false);
+            }
+        }
+
+        result.buildPaths();
+        return result;
+    }
+
+}
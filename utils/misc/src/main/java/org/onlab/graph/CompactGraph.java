@@ -0,0 +1,302 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.graph;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Immutable graph using a compressed sparse row layout.
+ * <p>
+ * Vertexes and edges are assigned dense integer identifiers and the egress
+ * and ingress adjacencies of each vertex are kept in flat {@code int} arrays.
+ * This allows the array-based searches, such as
+ * {@link CompactDijkstraGraphSearch}, to run without per-vertex hashing or
+ * boxing. The graph also implements the regular {@link Graph} contract, so it
+ * can be handed to any other search as well; the egress and ingress edges of
+ * each vertex retain the iteration order of the graph it was built from.
+ * </p>
+ *
+ * @param <V> vertex type
+ * @param <E> edge type
+ */
+public final class CompactGraph<V extends Vertex, E extends Edge<V>>
+        implements Graph<V, E> {
+
+    private final Set<V> vertexSet;
+    private final Set<E> edgeSet;
+
+    private final List<V> vertexes;
+    private final List<E> edges;
+    private final Map<V, Integer> vertexIds;
+
+    private final int[] edgeSrc;
+    private final int[] edgeDst;
+
+    private final int[] outOffsets;
+    private final int[] outEdges;
+    private final int[] inOffsets;
+    private final int[] inEdges;
+
+    /**
+     * Creates a compact copy of the specified graph.
+     *
+     * @param graph graph to copy
+     * @param <V>   vertex type
+     * @param <E>   edge type
+     * @return compact graph
+     */
+    public static <V extends Vertex, E extends Edge<V>> CompactGraph<V, E> of(Graph<V, E> graph) {
+        checkNotNull(graph, "Graph cannot be null");
+        if (graph instanceof CompactGraph) {
+            return (CompactGraph<V, E>) graph;
+        }
+        return new CompactGraph<>(graph);
+    }
+
+    private CompactGraph(Graph<V, E> graph) {
+        // Make sure that all edge end-points are part of the vertexes
+        ImmutableSet.Builder<V> actualVertexes = ImmutableSet.builder();
+        actualVertexes.addAll(graph.getVertexes());
+        for (E edge : graph.getEdges()) {
+            actualVertexes.add(edge.src());
+            actualVertexes.add(edge.dst());
+        }
+        this.vertexSet = actualVertexes.build();
+        this.edgeSet = ImmutableSet.copyOf(graph.getEdges());
+
+        this.vertexes = new ArrayList<>(vertexSet);
+        this.vertexIds = new HashMap<>(vertexes.size() * 2);
+        for (int i = 0; i < vertexes.size(); i++) {
+            vertexIds.put(vertexes.get(i), i);
+        }
+
+        this.edges = new ArrayList<>(edgeSet);
+        Map<E, Integer> edgeIds = new HashMap<>(edges.size() * 2);
+        this.edgeSrc = new int[edges.size()];
+        this.edgeDst = new int[edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            E edge = edges.get(i);
+            edgeIds.put(edge, i);
+            edgeSrc[i] = vertexIds.get(edge.src());
+            edgeDst[i] = vertexIds.get(edge.dst());
+        }
+
+        this.outOffsets = new int[vertexes.size() + 1];
+        this.outEdges = new int[edges.size()];
+        this.inOffsets = new int[vertexes.size() + 1];
+        this.inEdges = new int[edges.size()];
+        fill(graph, edgeIds, true, outOffsets, outEdges);
+        fill(graph, edgeIds, false, inOffsets, inEdges);
+    }
+
+    // Lays out the egress or ingress adjacencies of all vertexes.
+    private void fill(Graph<V, E> graph, Map<E, Integer> edgeIds, boolean egress,
+                      int[] offsets, int[] adjacencies) {
+        int next = 0;
+        for (int v = 0; v < vertexes.size(); v++) {
+            offsets[v] = next;
+            V vertex = vertexes.get(v);
+            Set<E> adjacent = egress ? graph.getEdgesFrom(vertex) : graph.getEdgesTo(vertex);
+            for (E edge : adjacent) {
+                Integer id = edgeIds.get(edge);
+                if (id != null && next < adjacencies.length) {
+                    adjacencies[next++] = id;
+                }
+            }
+        }
+        offsets[vertexes.size()] = next;
+    }
+
+    /**
+     * Returns the number of vertexes in the graph.
+     *
+     * @return vertex count
+     */
+    public int vertexCount() {
+        return vertexes.size();
+    }
+
+    /**
+     * Returns the number of edges in the graph.
+     *
+     * @return edge count
+     */
+    public int edgeCount() {
+        return edges.size();
+    }
+
+    /**
+     * Returns the identifier of the specified vertex.
+     *
+     * @param vertex vertex
+     * @return vertex identifier; -1 if the vertex is not in the graph
+     */
+    public int vertexId(V vertex) {
+        Integer id = vertexIds.get(vertex);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Returns the vertex with the specified identifier.
+     *
+     * @param id vertex identifier
+     * @return vertex
+     */
+    public V vertex(int id) {
+        return vertexes.get(id);
+    }
+
+    /**
+     * Returns the edge with the specified identifier.
+     *
+     * @param id edge identifier
+     * @return edge
+     */
+    public E edge(int id) {
+        return edges.get(id);
+    }
+
+    /**
+     * Returns the identifier of the source vertex of the specified edge.
+     *
+     * @param edge edge identifier
+     * @return source vertex identifier
+     */
+    public int edgeSrc(int edge) {
+        return edgeSrc[edge];
+    }
+
+    /**
+     * Returns the identifier of the destination vertex of the specified edge.
+     *
+     * @param edge edge identifier
+     * @return destination vertex identifier
+     */
+    public int edgeDst(int edge) {
+        return edgeDst[edge];
+    }
+
+    /**
+     * Returns the position of the first egress edge of the specified vertex;
+     * egress edges are accessed via {@link #outEdge(int)} for positions
+     * ranging from this value, inclusive, to {@link #outEnd(int)}, exclusive.
+     *
+     * @param vertex vertex identifier
+     * @return position of the first egress edge
+     */
+    public int outStart(int vertex) {
+        return outOffsets[vertex];
+    }
+
+    /**
+     * Returns the position past the last egress edge of the specified vertex.
+     *
+     * @param vertex vertex identifier
+     * @return position past the last egress edge
+     */
+    public int outEnd(int vertex) {
+        return outOffsets[vertex + 1];
+    }
+
+    /**
+     * Returns the egress edge at the specified position.
+     *
+     * @param position egress edge position
+     * @return edge identifier
+     */
+    public int outEdge(int position) {
+        return outEdges[position];
+    }
+
+    /**
+     * Returns the position of the first ingress edge of the specified vertex;
+     * ingress edges are accessed via {@link #inEdge(int)} for positions
+     * ranging from this value, inclusive, to {@link #inEnd(int)}, exclusive.
+     *
+     * @param vertex vertex identifier
+     * @return position of the first ingress edge
+     */
+    public int inStart(int vertex) {
+        return inOffsets[vertex];
+    }
+
+    /**
+     * Returns the position past the last ingress edge of the specified vertex.
+     *
+     * @param vertex vertex identifier
+     * @return position past the last ingress edge
+     */
+    public int inEnd(int vertex) {
+        return inOffsets[vertex + 1];
+    }
+
+    /**
+     * Returns the ingress edge at the specified position.
+     *
+     * @param position ingress edge position
+     * @return edge identifier
+     */
+    public int inEdge(int position) {
+        return inEdges[position];
+    }
+
+    @Override
+    public Set<V> getVertexes() {
+        return vertexSet;
+    }
+
+    @Override
+    public Set<E> getEdges() {
+        return edgeSet;
+    }
+
+    @Override
+    public Set<E> getEdgesFrom(V src) {
+        int v = vertexId(src);
+        return v < 0 ? ImmutableSet.of() : edgeSet(outEdges, outOffsets[v], outOffsets[v + 1]);
+    }
+
+    @Override
+    public Set<E> getEdgesTo(V dst) {
+        int v = vertexId(dst);
+        return v < 0 ? ImmutableSet.of() : edgeSet(inEdges, inOffsets[v], inOffsets[v + 1]);
+    }
+
+    private Set<E> edgeSet(int[] adjacencies, int start, int end) {
+        ImmutableSet.Builder<E> builder = ImmutableSet.builder();
+        for (int i = start; i < end; i++) {
+            builder.add(edges.get(adjacencies[i]));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("vertexes", vertexSet)
+                .add("edges", edgeSet)
+                .toString();
+    }
+}
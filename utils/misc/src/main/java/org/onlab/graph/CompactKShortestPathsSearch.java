@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.graph;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.onlab.graph.CompactShortestPaths.UnsupportedWeightException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Yen's K shortest paths algorithm operating on the array layout of a
+ * {@link CompactGraph}; produces the same results as
+ * {@link KShortestPathsSearch}.
+ * <p>
+ * Instead of wrapping the edge weigher, the edges removed for each spur
+ * search are tracked in a mask over the edge identifiers, and the edge
+ * weights are computed only once for all the spur searches. Edge weighers
+ * producing weights other than {@link ScalarWeight} are delegated to
+ * {@link KShortestPathsSearch}.
+ * </p>
+ */
+public class CompactKShortestPathsSearch<V extends Vertex, E extends Edge<V>>
+        extends AbstractGraphPathSearch<V, E> {
+
+    private final KShortestPathsSearch<V, E> fallback = new KShortestPathsSearch<>();
+
+    @Override
+    protected Result<V, E> internalSearch(Graph<V, E> graph, V src, V dst,
+                                          EdgeWeigher<V, E> weigher, int maxPaths) {
+        checkNotNull(weigher);
+        checkArgument(maxPaths != ALL_PATHS, "KShortestPath search cannot" +
+                "be used with ALL_PATHS.");
+        checkArgument(maxPaths > 0, "The max number of paths must be greater" +
+                " than 0");
+        if (dst == null) {
+            return fallback.search(graph, src, dst, weigher, maxPaths);
+        }
+        try {
+            return search(CompactGraph.of(graph), src, dst, weigher, maxPaths);
+        } catch (UnsupportedWeightException e) {
+            return fallback.search(graph, src, dst, weigher, maxPaths);
+        }
+    }
+
+    private Result<V, E> search(CompactGraph<V, E> graph, V src, V dst,
+                                EdgeWeigher<V, E> weigher, int maxPaths) {
+        OrderedResult result = new OrderedResult(src, dst, maxPaths);
+        CompactShortestPaths<V, E> engine = new CompactShortestPaths<>(graph, weigher);
+        int srcId = graph.vertexId(src);
+        int dstId = graph.vertexId(dst);
+
+        int[] first = engine.shortestPath(srcId, dstId, null);
+        if (first == null) {
+            return result;
+        }
+
+        List<Candidate> resultPaths = new ArrayList<>(maxPaths);
+        List<Candidate> potentialPaths = new ArrayList<>();
+        resultPaths.add(new Candidate(first, path(graph, weigher, first)));
+
+        boolean[] removed = new boolean[graph.edgeCount()];
+        for (int k = 1; k < maxPaths; k++) {
+            int[] previous = resultPaths.get(k - 1).edges;
+
+            for (int i = 0; i < previous.length; i++) {
+                int spurNode = graph.edgeSrc(previous[i]);
+
+                // Remove the next edge of all known paths sharing the root path
+                for (Candidate candidate : resultPaths) {
+                    int[] edges = candidate.edges;
+                    if (edges.length > i && Arrays.equals(edges, 0, i, previous, 0, i)) {
+                        removed[edges[i]] = true;
+                    }
+                }
+
+                // Effectively remove all nodes of the root path
+                for (int j = 0; j < i; j++) {
+                    int v = graph.edgeSrc(previous[j]);
+                    for (int p = graph.outStart(v); p < graph.outEnd(v); p++) {
+                        removed[graph.outEdge(p)] = true;
+                    }
+                    for (int p = graph.inStart(v); p < graph.inEnd(v); p++) {
+                        removed[graph.inEdge(p)] = true;
+                    }
+                }
+
+                int[] spurPath = engine.shortestPath(spurNode, dstId, removed);
+                if (spurPath != null) {
+                    int[] totalPath = Arrays.copyOf(previous, i + spurPath.length);
+                    System.arraycopy(spurPath, 0, totalPath, i, spurPath.length);
+                    potentialPaths.add(new Candidate(totalPath, path(graph, weigher, totalPath)));
+                }
+
+                // Restore all removed edges and nodes
+                Arrays.fill(removed, false);
+            }
+            if (potentialPaths.isEmpty()) {
+                break;
+            }
+            potentialPaths.sort(Comparator.comparing(c -> c.path.cost()));
+            resultPaths.add(potentialPaths.remove(0));
+        }
+        resultPaths.forEach(c -> result.pathSet.add(c.path));
+        return result;
+    }
+
+    // Creates a path from the given edges, priced using the original weigher.
+    private Path<V, E> path(CompactGraph<V, E> graph, EdgeWeigher<V, E> weigher,
+                            int[] edgeIds) {
+        ImmutableList.Builder<E> edges = ImmutableList.builder();
+        Weight cost = weigher.getInitialWeight();
+        for (int e : edgeIds) {
+            E edge = graph.edge(e);
+            edges.add(edge);
+            cost = cost.merge(weigher.weight(edge));
+        }
+        return new DefaultPath<>(edges.build(), cost);
+    }
+
+    // Path found by the search along with its edge identifiers.
+    private final class Candidate {
+        private final int[] edges;
+        private final Path<V, E> path;
+
+        private Candidate(int[] edges, Path<V, E> path) {
+            this.edges = edges;
+            this.path = path;
+        }
+    }
+
+    /**
+     * A result returning paths in ascending order of their costs.
+     */
+    private final class OrderedResult extends DefaultResult {
+
+        private final TreeSet<Path<V, E>> pathSet = new TreeSet<>((one, two) -> {
+            int comparison = one.cost().compareTo(two.cost());
+            if (comparison != 0) {
+                return comparison;
+            }
+            return one.edges().equals(two.edges()) ? 0 : 1;
+        });
+
+        private OrderedResult(V src, V dst, int maxPaths) {
+            super(src, dst, maxPaths);
+        }
+
+        @Override
+        public Set<Path<V, E>> paths() {
+            return ImmutableSet.copyOf(pathSet);
+        }
+    }
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.graph;
+
+import com.google.common.math.DoubleMath;
+
+import java.util.Arrays;
+
+import static org.onlab.graph.GraphPathSearch.ALL_PATHS;
+
+/**
+ * Array-based Dijkstra engine over a {@link CompactGraph}.
+ * <p>
+ * Edge weights are obtained lazily from the edge weigher and kept in a
+ * {@code double[]} for the lifetime of the engine, so repeated searches over
+ * the same graph and weigher, such as the spur searches of Yen's algorithm,
+ * evaluate each edge weight only once. Only {@link ScalarWeight} weights are
+ * supported; {@link UnsupportedWeightException} is thrown otherwise so that
+ * callers can fall back to the generic search implementations.
+ * </p>
+ * <p>
+ * Costs are compared the same way as {@link ScalarWeight#compareTo} does,
+ * i.e. within the configured sameness threshold, and edges with non-viable
+ * or negative weights are never traversed.
+ * </p>
+ *
+ * @param <V> vertex type
+ * @param <E> edge type
+ */
+final class CompactShortestPaths<V extends Vertex, E extends Edge<V>> {
+
+    private static final int NONE = -1;
+
+    private final CompactGraph<V, E> graph;
+    private final EdgeWeigher<V, E> weigher;
+    private final double initialCost;
+
+    private final double[] weights;
+    private final boolean[] weighed;
+
+    private final double[] costs;
+    private final boolean[] reached;
+    private final int[] firstParent;
+    private final int[] parentHead;
+    private final int[] parentCount;
+    private final int[] parentNext;
+
+    private final int[] heap;
+    private final int[] heapPosition;
+    private int heapSize;
+
+    /**
+     * Signals that a weight other than {@link ScalarWeight} was encountered.
+     */
+    static final class UnsupportedWeightException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private UnsupportedWeightException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final UnsupportedWeightException UNSUPPORTED_WEIGHT =
+            new UnsupportedWeightException();
+
+    /**
+     * Creates a search engine for the given graph and edge weigher.
+     *
+     * @param graph   compact graph
+     * @param weigher edge weigher
+     * @throws UnsupportedWeightException if the weigher does not produce
+     *                                    scalar weights
+     */
+    CompactShortestPaths(CompactGraph<V, E> graph, EdgeWeigher<V, E> weigher) {
+        this.graph = graph;
+        this.weigher = weigher;
+        this.initialCost = scalar(weigher.getInitialWeight());
+
+        int vertexCount = graph.vertexCount();
+        int edgeCount = graph.edgeCount();
+        this.weights = new double[edgeCount];
+        this.weighed = new boolean[edgeCount];
+        this.costs = new double[vertexCount];
+        this.reached = new boolean[vertexCount];
+        this.firstParent = new int[vertexCount];
+        this.parentHead = new int[vertexCount];
+        this.parentCount = new int[vertexCount];
+        this.parentNext = new int[edgeCount];
+        this.heap = new int[vertexCount];
+        this.heapPosition = new int[vertexCount];
+    }
+
+    private static double scalar(Weight weight) {
+        if (!(weight instanceof ScalarWeight)) {
+            throw UNSUPPORTED_WEIGHT;
+        }
+        return ((ScalarWeight) weight).value();
+    }
+
+    // Returns the traversal weight of the edge; infinite if not traversable.
+    private double weight(int edge) {
+        if (!weighed[edge]) {
+            Weight weight = weigher.weight(graph.edge(edge));
+            double value = scalar(weight);
+            weights[edge] = !weight.isViable() || weight.isNegative()
+                    ? Double.POSITIVE_INFINITY : value;
+            weighed[edge] = true;
+        }
+        return weights[edge];
+    }
+
+    /**
+     * Runs the search from the source vertex until the destination vertex is
+     * reached or, if no destination is given, until all reachable vertexes
+     * have been settled.
+     *
+     * @param src      source vertex identifier
+     * @param dst      destination vertex identifier; -1 for all
+     * @param maxPaths limit on parent edges accrued per vertex;
+     *                 {@link GraphPathSearch#ALL_PATHS} if no limit
+     * @param removed  optional mask of edges that must not be traversed
+     * @throws UnsupportedWeightException if a non-scalar weight is met
+     */
+    void search(int src, int dst, int maxPaths, boolean[] removed) {
+        Arrays.fill(reached, false);
+        Arrays.fill(heapPosition, NONE);
+        heapSize = 0;
+
+        reach(src, initialCost, NONE);
+        push(src);
+
+        while (heapSize > 0) {
+            int nearest = pop();
+            if (nearest == dst) {
+                break;
+            }
+            double cost = costs[nearest];
+            for (int p = graph.outStart(nearest); p < graph.outEnd(nearest); p++) {
+                int edge = graph.outEdge(p);
+                if (removed != null && removed[edge]) {
+                    continue;
+                }
+                double hop = weight(edge);
+                if (hop == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                relax(graph.edgeDst(edge), edge, cost + hop, maxPaths);
+            }
+        }
+    }
+
+    // Relaxes the edge leading to the given vertex with the given new cost.
+    private void relax(int vertex, int edge, double cost, int maxPaths) {
+        if (!reached[vertex]) {
+            reach(vertex, cost, edge);
+            push(vertex);
+            return;
+        }
+        int comparison = compare(cost, costs[vertex]);
+        if (comparison < 0) {
+            reach(vertex, cost, edge);
+            if (heapPosition[vertex] == NONE) {
+                push(vertex);
+            } else {
+                siftUp(heapPosition[vertex]);
+            }
+        } else if (comparison == 0 &&
+                (maxPaths == ALL_PATHS || parentCount[vertex] < maxPaths)) {
+            parentNext[edge] = parentHead[vertex];
+            parentHead[vertex] = edge;
+            parentCount[vertex]++;
+        }
+    }
+
+    // Records the vertex cost, replacing any accrued parent edges.
+    private void reach(int vertex, double cost, int edge) {
+        reached[vertex] = true;
+        costs[vertex] = cost;
+        firstParent[vertex] = edge;
+        parentHead[vertex] = edge;
+        parentCount[vertex] = edge == NONE ? 0 : 1;
+        if (edge != NONE) {
+            parentNext[edge] = NONE;
+        }
+    }
+
+    private static int compare(double cost, double other) {
+        if (DoubleMath.fuzzyEquals(cost, other, ScalarWeight.samenessThreshold())) {
+            return 0;
+        }
+        return Double.compare(cost, other);
+    }
+
+    /**
+     * Indicates whether the vertex was reached by the last search.
+     *
+     * @param vertex vertex identifier
+     * @return true if reached
+     */
+    boolean reached(int vertex) {
+        return reached[vertex];
+    }
+
+    /**
+     * Returns the cost of reaching the vertex in the last search.
+     *
+     * @param vertex vertex identifier
+     * @return cost; undefined if the vertex was not reached
+     */
+    double cost(int vertex) {
+        return costs[vertex];
+    }
+
+    /**
+     * Returns the first of the parent edges accrued for the vertex.
+     *
+     * @param vertex vertex identifier
+     * @return edge identifier; -1 if none
+     */
+    int parentHead(int vertex) {
+        return reached[vertex] ? parentHead[vertex] : NONE;
+    }
+
+    /**
+     * Returns the parent edge following the given one for the same vertex.
+     *
+     * @param edge edge identifier
+     * @return edge identifier; -1 if none
+     */
+    int nextParent(int edge) {
+        return parentNext[edge];
+    }
+
+    /**
+     * Returns one shortest path between the given vertexes, following for
+     * each vertex the parent edge through which it was first reached.
+     *
+     * @param src     source vertex identifier
+     * @param dst     destination vertex identifier
+     * @param removed optional mask of edges that must not be traversed
+     * @return edge identifiers of the path; null if there is no path
+     * @throws UnsupportedWeightException if a non-scalar weight is met
+     */
+    int[] shortestPath(int src, int dst, boolean[] removed) {
+        search(src, dst, 1, removed);
+        if (!reached[dst] || src == dst) {
+            return null;
+        }
+        int length = 0;
+        for (int v = dst; v != src; v = graph.edgeSrc(firstParent[v])) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int v = dst; v != src; v = graph.edgeSrc(firstParent[v])) {
+            path[--length] = firstParent[v];
+        }
+        return path;
+    }
+
+    // Binary min-heap of vertex identifiers ordered by their costs.
+
+    private void push(int vertex) {
+        heap[heapSize] = vertex;
+        heapPosition[vertex] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    private int pop() {
+        int top = heap[0];
+        heapPosition[top] = NONE;
+        heapSize--;
+        if (heapSize > 0) {
+            heap[0] = heap[heapSize];
+            heapPosition[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int position) {
+        int vertex = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (costs[heap[parent]] <= costs[vertex]) {
+                break;
+            }
+            heap[position] = heap[parent];
+            heapPosition[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = vertex;
+        heapPosition[vertex] = position;
+    }
+
+    private void siftDown(int position) {
+        int vertex = heap[position];
+        int half = heapSize >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < heapSize && costs[heap[right]] < costs[heap[child]]) {
+                child = right;
+            }
+            if (costs[vertex] <= costs[heap[child]]) {
+                break;
+            }
+            heap[position] = heap[child];
+            heapPosition[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = vertex;
+        heapPosition[vertex] = position;
+    }
+}
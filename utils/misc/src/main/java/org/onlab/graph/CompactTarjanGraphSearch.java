@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.graph;
+
+import org.onlab.graph.TarjanGraphSearch.SccResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tarjan algorithm for searching a graph and producing results describing
+ * the graph SCC (strongly-connected components), operating on the array
+ * layout of a {@link CompactGraph}.
+ * <p>
+ * Unlike {@link TarjanGraphSearch}, the depth-first traversal is iterative
+ * and therefore not limited by the thread stack size. Vertexes and edges are
+ * visited in the same order, so that the clusters are produced in the same
+ * order as well.
+ * </p>
+ */
+public class CompactTarjanGraphSearch<V extends Vertex, E extends Edge<V>>
+        implements GraphSearch<V, E> {
+
+    private static final int UNVISITED = -1;
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation produces results augmented with information on
+     * SCCs within the graph.
+     * </p>
+     * <p>
+     * To prevent traversal of an edge, the {@link EdgeWeigher#weight} should
+     * return a non-viable weight.
+     * </p>
+     */
+    @Override
+    public SccResult<V, E> search(Graph<V, E> graph, EdgeWeigher<V, E> weigher) {
+        CompactGraph<V, E> compact = CompactGraph.of(graph);
+        int vertexCount = compact.vertexCount();
+
+        boolean[] viable = new boolean[compact.edgeCount()];
+        for (int e = 0; e < viable.length; e++) {
+            viable[e] = weigher == null || weigher.weight(compact.edge(e)).isViable();
+        }
+
+        int[] index = new int[vertexCount];
+        int[] lowLink = new int[vertexCount];
+        int[] cluster = new int[vertexCount];
+        boolean[] onStack = new boolean[vertexCount];
+        int[] stack = new int[vertexCount];
+        int[] callVertex = new int[vertexCount];
+        int[] callPosition = new int[vertexCount];
+        Arrays.fill(index, UNVISITED);
+        Arrays.fill(cluster, UNVISITED);
+
+        List<Set<V>> clusterVertexes = new ArrayList<>();
+        List<Set<E>> clusterEdges = new ArrayList<>();
+        int counter = 0;
+        int sp = 0;
+
+        // Visit vertexes in the order the source graph yields them.
+        for (V root : graph.getVertexes()) {
+            int r = compact.vertexId(root);
+            if (index[r] != UNVISITED) {
+                continue;
+            }
+
+            int fp = 0;
+            index[r] = lowLink[r] = counter++;
+            stack[sp++] = r;
+            onStack[r] = true;
+            callVertex[fp] = r;
+            callPosition[fp++] = compact.outStart(r);
+
+            while (fp > 0) {
+                int v = callVertex[fp - 1];
+                if (callPosition[fp - 1] < compact.outEnd(v)) {
+                    int e = compact.outEdge(callPosition[fp - 1]++);
+                    if (!viable[e]) {
+                        continue;
+                    }
+                    int w = compact.edgeDst(e);
+                    if (index[w] == UNVISITED) {
+                        // Descend into the next vertex
+                        index[w] = lowLink[w] = counter++;
+                        stack[sp++] = w;
+                        onStack[w] = true;
+                        callVertex[fp] = w;
+                        callPosition[fp++] = compact.outStart(w);
+                    } else if (onStack[w]) {
+                        lowLink[v] = Math.min(lowLink[v], index[w]);
+                    }
+                    continue;
+                }
+
+                // All egress edges scanned; emit a cluster if v is its root.
+                if (lowLink[v] == index[v]) {
+                    int id = clusterVertexes.size();
+                    int top = sp;
+                    Set<V> vertexes = new HashSet<>();
+                    int member;
+                    do {
+                        member = stack[--sp];
+                        onStack[member] = false;
+                        cluster[member] = id;
+                        vertexes.add(compact.vertex(member));
+                    } while (member != v);
+                    clusterVertexes.add(Collections.unmodifiableSet(vertexes));
+                    clusterEdges.add(findClusterEdges(compact, cluster, stack, sp, top));
+                }
+
+                // Return to the caller, propagating the low link.
+                fp--;
+                if (fp > 0) {
+                    int u = callVertex[fp - 1];
+                    lowLink[u] = Math.min(lowLink[u], lowLink[v]);
+                }
+            }
+        }
+        return SccResult.of(graph, clusterVertexes, clusterEdges);
+    }
+
+    // Collects all edges, viable or not, between vertexes of the cluster
+    // whose members have just been popped off the given stack range.
+    private Set<E> findClusterEdges(CompactGraph<V, E> graph, int[] cluster,
+                                    int[] stack, int from, int to) {
+        Set<E> edges = new HashSet<>();
+        for (int i = from; i < to; i++) {
+            int v = stack[i];
+            for (int p = graph.outStart(v); p < graph.outEnd(v); p++) {
+                int e = graph.outEdge(p);
+                if (cluster[graph.edgeDst(e)] == cluster[v]) {
+                    edges.add(graph.edge(e));
+                }
+            }
+        }
+        return Collections.unmodifiableSet(edges);
+    }
+}
@@ -114,6 +114,17 @@ public class TarjanGraphSearch<V extends Vertex, E extends Edge<V>>
             this.graph = graph;
         }
 
+        // Creates a result from clusters computed elsewhere; the clusters are
+        // expected to be unmodifiable.
+        static <V extends Vertex, E extends Edge<V>> SccResult<V, E> of(
+                Graph<V, E> graph, List<Set<V>> clusterVertexes,
+                List<Set<E>> clusterEdges) {
+            SccResult<V, E> result = new SccResult<>(graph);
+            result.clusterVertexes.addAll(clusterVertexes);
+            result.clusterEdges.addAll(clusterEdges);
+            return result.build();
+        }
+
         /**
          * Returns the number of SCC clusters in the graph.
          *
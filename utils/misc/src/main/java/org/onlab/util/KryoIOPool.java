@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.util;
+
+import java.lang.ref.SoftReference;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+
+/**
+ * Pool of Kryo input or output buffers, softly referenced so that idle
+ * buffers can be reclaimed under memory pressure.
+ *
+ * @param <T> pooled buffer type
+ */
+abstract class KryoIOPool<T> {
+
+    private final Queue<SoftReference<T>> queue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates a new buffer.
+     *
+     * @param bufferSize initial size of the buffer
+     * @return new buffer
+     */
+    protected abstract T create(int bufferSize);
+
+    /**
+     * Resets the given buffer prior to returning it to the pool.
+     *
+     * @param element buffer to recycle
+     * @return true if the buffer may be pooled; false to discard it
+     */
+    protected abstract boolean recycle(T element);
+
+    /**
+     * Applies the given function to a pooled buffer, returning the buffer to
+     * the pool afterwards.
+     *
+     * @param function   function to apply
+     * @param bufferSize initial size of the buffer, should one be created
+     * @param <R>        function result type
+     * @return function result
+     */
+    <R> R run(Function<T, R> function, int bufferSize) {
+        T element = borrow(bufferSize);
+        try {
+            return function.apply(element);
+        } finally {
+            if (recycle(element)) {
+                queue.offer(new SoftReference<>(element));
+            }
+        }
+    }
+
+    private T borrow(int bufferSize) {
+        SoftReference<T> reference;
+        while ((reference = queue.poll()) != null) {
+            T element = reference.get();
+            if (element != null) {
+                return element;
+            }
+        }
+        return create(bufferSize);
+    }
+}
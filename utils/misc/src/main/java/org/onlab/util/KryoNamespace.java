@@ -20,8 +20,6 @@ import com.esotericsoftware.kryo.Registration;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.ByteBufferInput;
 import com.esotericsoftware.kryo.io.ByteBufferOutput;
-import com.esotericsoftware.kryo.io.Input;
-import com.esotericsoftware.kryo.io.Output;
 import com.esotericsoftware.kryo.pool.KryoCallback;
 import com.esotericsoftware.kryo.pool.KryoFactory;
 import com.esotericsoftware.kryo.pool.KryoPool;
@@ -33,8 +31,6 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.objenesis.strategy.StdInstantiatorStrategy;
 import org.slf4j.Logger;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
@@ -42,6 +38,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -77,6 +74,8 @@ public final class KryoNamespace implements KryoFactory, KryoPool {
     private final KryoPool pool = new KryoPool.Builder(this)
                                         .softReferences()
                                         .build();
+    private final KryoOutputPool outputPool = new KryoOutputPool();
+    private final KryoInputPool inputPool = new KryoInputPool();
 
     private final ImmutableList<RegistrationBlock> registeredBlocks;
 
@@ -299,19 +298,43 @@ public final class KryoNamespace implements KryoFactory, KryoPool {
 
     /**
      * Serializes given object to byte array using Kryo instance in pool.
+     * <p>
+     * Note: Serialized bytes must be smaller than {@link #MAX_BUFFER_SIZE}.
      *
      * @param obj Object to serialize
-     * @param bufferSize maximum size of serialized bytes
+     * @param bufferSize initial size of the serialization buffer
      * @return serialized bytes
      */
     public byte[] serialize(final Object obj, final int bufferSize) {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bufferSize);
-        Output out = new Output(outputStream);
-        return pool.run(kryo -> {
+        return outputPool.run(out -> pool.run(kryo -> {
             kryo.writeClassAndObject(out, obj);
-            out.flush();
-            return outputStream.toByteArray();
-        });
+            return out.toBytes();
+        }), bufferSize);
+    }
+
+    /**
+     * Serializes given object using Kryo instance in pool and hands the
+     * serialized bytes to the given function, without copying them out of
+     * the pooled serialization buffer.
+     * <p>
+     * The buffer is only valid for the duration of the call and must not be
+     * retained by the function.
+     * Note: Serialized bytes must be smaller than {@link #MAX_BUFFER_SIZE}.
+     *
+     * @param obj Object to serialize
+     * @param function function consuming a read-only view of the serialized bytes
+     * @param <T> function result type
+     * @return function result
+     */
+    public <T> T serialize(final Object obj, final Function<ByteBuffer, T> function) {
+        return outputPool.run(out -> {
+            pool.run(kryo -> {
+                kryo.writeClassAndObject(out, obj);
+                return null;
+            });
+            return function.apply(ByteBuffer.wrap(out.getBuffer(), 0, out.position())
+                                          .asReadOnlyBuffer());
+        }, DEFAULT_BUFFER_SIZE);
     }
 
     /**
@@ -367,15 +390,17 @@ public final class KryoNamespace implements KryoFactory, KryoPool {
      * @return deserialized Object
      */
     public <T> T deserialize(final byte[] bytes) {
-        Input in = new Input(new ByteArrayInputStream(bytes));
-        Kryo kryo = borrow();
-        try {
-            @SuppressWarnings("unchecked")
-            T obj = (T) kryo.readClassAndObject(in);
-            return obj;
-        } finally {
-            release(kryo);
-        }
+        return inputPool.run(in -> {
+            in.setBuffer(bytes);
+            Kryo kryo = borrow();
+            try {
+                @SuppressWarnings("unchecked")
+                T obj = (T) kryo.readClassAndObject(in);
+                return obj;
+            } finally {
+                release(kryo);
+            }
+        }, DEFAULT_BUFFER_SIZE);
     }
 
     /**
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.graph;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.onlab.graph.GraphPathSearch.ALL_PATHS;
+
+/**
+ * Test of the compact Dijkstra algorithm.
+ */
+public class CompactDijkstraGraphSearchTest extends DijkstraGraphSearchTest {
+
+    @Override
+    protected AbstractGraphPathSearch<TestVertex, TestEdge> graphSearch() {
+        return new CompactDijkstraGraphSearch<>();
+    }
+
+    @Test
+    public void sameAsDijkstra() {
+        graph = randomGraph(1L, 60, 240, true);
+        CompactGraph<TestVertex, TestEdge> compact = CompactGraph.of(graph);
+        GraphPathSearch<TestVertex, TestEdge> dijkstra = new DijkstraGraphSearch<>();
+        GraphPathSearch<TestVertex, TestEdge> search = graphSearch();
+
+        for (TestVertex src : graph.getVertexes()) {
+            GraphPathSearch.Result<TestVertex, TestEdge> expected =
+                    dijkstra.search(graph, src, null, scalarWeigher, ALL_PATHS);
+            GraphPathSearch.Result<TestVertex, TestEdge> actual =
+                    search.search(compact, src, null, scalarWeigher, ALL_PATHS);
+            assertEquals("incorrect costs", expected.costs(), actual.costs());
+            assertEquals("incorrect paths", expected.paths(), actual.paths());
+
+            for (TestVertex dst : graph.getVertexes()) {
+                expected = dijkstra.search(graph, src, dst, scalarWeigher, 1);
+                actual = search.search(compact, src, dst, scalarWeigher, 1);
+                assertEquals("incorrect path count",
+                             expected.paths().size(), actual.paths().size());
+                assertEquals("incorrect cost", expected.costs().get(dst),
+                             actual.costs().get(dst));
+            }
+        }
+    }
+
+}
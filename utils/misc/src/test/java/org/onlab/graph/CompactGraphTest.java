@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.graph;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests of the compact graph.
+ */
+public class CompactGraphTest extends GraphTest {
+
+    @Test
+    public void basics() {
+        graph = new AdjacencyListsGraph<>(vertexes(), edges());
+        CompactGraph<TestVertex, TestEdge> compact = CompactGraph.of(graph);
+        assertSame("should not copy compact graph", compact, CompactGraph.of(compact));
+
+        assertEquals("incorrect vertexes", graph.getVertexes(), compact.getVertexes());
+        assertEquals("incorrect edges", graph.getEdges(), compact.getEdges());
+        assertEquals("incorrect vertex count", 8, compact.vertexCount());
+        assertEquals("incorrect edge count", 12, compact.edgeCount());
+        assertEquals("incorrect vertex id", -1, compact.vertexId(Z));
+
+        for (TestVertex vertex : graph.getVertexes()) {
+            assertEquals("incorrect egress edges",
+                         graph.getEdgesFrom(vertex), compact.getEdgesFrom(vertex));
+            assertEquals("incorrect ingress edges",
+                         graph.getEdgesTo(vertex), compact.getEdgesTo(vertex));
+
+            int v = compact.vertexId(vertex);
+            assertSame("incorrect vertex", vertex, compact.vertex(v));
+            Set<TestEdge> egress = new HashSet<>();
+            for (int p = compact.outStart(v); p < compact.outEnd(v); p++) {
+                int e = compact.outEdge(p);
+                assertEquals("incorrect edge source", v, compact.edgeSrc(e));
+                egress.add(compact.edge(e));
+            }
+            assertEquals("incorrect egress adjacency", graph.getEdgesFrom(vertex), egress);
+            Set<TestEdge> ingress = new HashSet<>();
+            for (int p = compact.inStart(v); p < compact.inEnd(v); p++) {
+                int e = compact.inEdge(p);
+                assertEquals("incorrect edge destination", v, compact.edgeDst(e));
+                ingress.add(compact.edge(e));
+            }
+            assertEquals("incorrect ingress adjacency", graph.getEdgesTo(vertex), ingress);
+        }
+    }
+
+}
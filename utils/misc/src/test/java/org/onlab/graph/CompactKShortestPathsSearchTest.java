@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.graph;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.collect.ImmutableSet.of;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test of the compact K shortest paths search.
+ */
+public class CompactKShortestPathsSearchTest extends GraphTest {
+
+    private final CompactKShortestPathsSearch<TestVertex, TestEdge> search =
+            new CompactKShortestPathsSearch<>();
+
+    @Test
+    public void noPath() {
+        graph = new AdjacencyListsGraph<>(of(A, B, C, D),
+                                          of(new TestEdge(A, B, new ScalarWeight(1)),
+                                             new TestEdge(B, A, new ScalarWeight(1)),
+                                             new TestEdge(C, D, new ScalarWeight(1)),
+                                             new TestEdge(D, C, new ScalarWeight(1))));
+        assertTrue("There should not be any paths.",
+                   search.search(graph, A, D, scalarWeigher, 1).paths().isEmpty());
+    }
+
+    @Test
+    public void fallback() {
+        graph = new AdjacencyListsGraph<>(vertexes(), edges());
+        assertEquals("incorrect paths",
+                     new ArrayList<>(new KShortestPathsSearch<TestVertex, TestEdge>()
+                                             .search(graph, A, G, weigher, 5).paths()),
+                     new ArrayList<>(search.search(graph, A, G, weigher, 5).paths()));
+    }
+
+    @Test
+    public void sameAsKShortestPaths() {
+        graph = randomGraph(2L, 40, 160, false);
+        CompactGraph<TestVertex, TestEdge> compact = CompactGraph.of(graph);
+        KShortestPathsSearch<TestVertex, TestEdge> yen = new KShortestPathsSearch<>();
+
+        List<TestVertex> vertexes = new ArrayList<>(graph.getVertexes());
+        for (int i = 0; i < vertexes.size(); i += 3) {
+            TestVertex src = vertexes.get(i);
+            TestVertex dst = vertexes.get(vertexes.size() - 1 - i);
+            if (src.equals(dst)) {
+                continue;
+            }
+            List<Path<TestVertex, TestEdge>> expected =
+                    new ArrayList<>(yen.search(graph, src, dst, scalarWeigher, 8).paths());
+            List<Path<TestVertex, TestEdge>> actual =
+                    new ArrayList<>(search.search(compact, src, dst, scalarWeigher, 8).paths());
+            assertEquals("incorrect paths", expected, actual);
+        }
+    }
+
+}
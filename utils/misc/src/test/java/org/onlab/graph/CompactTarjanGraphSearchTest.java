@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.graph;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.onlab.graph.TarjanGraphSearch.SccResult;
+
+/**
+ * Test of the compact Tarjan graph search.
+ */
+public class CompactTarjanGraphSearchTest extends GraphTest {
+
+    private final CompactTarjanGraphSearch<TestVertex, TestEdge> search =
+            new CompactTarjanGraphSearch<>();
+
+    private void assertSameClusters(SccResult<TestVertex, TestEdge> expected,
+                                    SccResult<TestVertex, TestEdge> actual) {
+        assertEquals("incorrect cluster count", expected.clusterCount(), actual.clusterCount());
+        assertEquals("incorrect cluster vertexes",
+                     expected.clusterVertexes(), actual.clusterVertexes());
+        assertEquals("incorrect cluster edges",
+                     expected.clusterEdges(), actual.clusterEdges());
+    }
+
+    @Test
+    public void basic() {
+        graph = new AdjacencyListsGraph<>(vertexes(), edges());
+        assertSameClusters(new TarjanGraphSearch<TestVertex, TestEdge>().search(graph, null),
+                           search.search(graph, null));
+    }
+
+    @Test
+    public void sameAsTarjan() {
+        TarjanGraphSearch<TestVertex, TestEdge> tarjan = new TarjanGraphSearch<>();
+        for (long seed = 0; seed < 5; seed++) {
+            graph = randomGraph(seed, 80, 120, true);
+            assertSameClusters(tarjan.search(graph, scalarWeigher),
+                               search.search(CompactGraph.of(graph), scalarWeigher));
+        }
+    }
+
+    @Test
+    public void deepGraph() {
+        // Long enough a cycle to exhaust the stack of a recursive search
+        List<TestVertex> vertexes = new ArrayList<>();
+        ImmutableSet.Builder<TestEdge> edges = ImmutableSet.builder();
+        for (int i = 0; i < 100_000; i++) {
+            vertexes.add(new TestVertex("V" + i));
+            if (i > 0) {
+                edges.add(new TestEdge(vertexes.get(i - 1), vertexes.get(i)));
+            }
+        }
+        edges.add(new TestEdge(vertexes.get(vertexes.size() - 1), vertexes.get(0)));
+        graph = new AdjacencyListsGraph<>(ImmutableSet.copyOf(vertexes), edges.build());
+
+        SccResult<TestVertex, TestEdge> result = search.search(graph, null);
+        assertEquals("incorrect cluster count", 1, result.clusterCount());
+        Set<TestVertex> cluster = result.clusterVertexes().get(0);
+        assertEquals("incorrect cluster size", vertexes.size(), cluster.size());
+        assertEquals("incorrect edge count", vertexes.size(), result.clusterEdges().get(0).size());
+    }
+
+}
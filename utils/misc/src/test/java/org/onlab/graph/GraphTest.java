@@ -15,6 +15,12 @@
  */
 package org.onlab.graph;
 
+import com.google.common.collect.ImmutableSet;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 import static com.google.common.collect.ImmutableSet.of;
@@ -85,6 +91,59 @@ public class GraphTest {
                 }
             };
 
+    /**
+     * EdgeWeigher for edges carrying {@link ScalarWeight} weights.
+     */
+    protected final EdgeWeigher<TestVertex, TestEdge> scalarWeigher =
+            new EdgeWeigher<TestVertex, TestEdge>() {
+                @Override
+                public Weight weight(TestEdge edge) {
+                    return edge.weight();
+                }
+
+                @Override
+                public Weight getInitialWeight() {
+                    return new ScalarWeight(0);
+                }
+
+                @Override
+                public Weight getNonViableWeight() {
+                    return ScalarWeight.NON_VIABLE_WEIGHT;
+                }
+            };
+
+    /**
+     * Creates a pseudo-random graph whose edges carry {@link ScalarWeight}
+     * weights; roughly one in ten edges is not viable.
+     *
+     * @param seed        random seed
+     * @param vertexCount number of vertexes
+     * @param edgeCount   number of edges
+     * @param integral    true for small integral weights, which yield many
+     *                    paths of equal cost; false for fractional weights
+     * @return random graph
+     */
+    protected Graph<TestVertex, TestEdge> randomGraph(long seed, int vertexCount,
+                                                      int edgeCount, boolean integral) {
+        Random random = new Random(seed);
+        List<TestVertex> vertexes = new ArrayList<>();
+        for (int i = 0; i < vertexCount; i++) {
+            vertexes.add(new TestVertex("V" + i));
+        }
+        Set<TestEdge> edges = new HashSet<>();
+        while (edges.size() < edgeCount) {
+            TestVertex src = vertexes.get(random.nextInt(vertexCount));
+            TestVertex dst = vertexes.get(random.nextInt(vertexCount));
+            if (src.equals(dst)) {
+                continue;
+            }
+            Weight weight = random.nextInt(10) == 0 ? ScalarWeight.NON_VIABLE_WEIGHT :
+                    new ScalarWeight(integral ? 1 + random.nextInt(3) : 1 + random.nextDouble());
+            edges.add(new TestEdge(src, dst, weight));
+        }
+        return new AdjacencyListsGraph<>(ImmutableSet.copyOf(vertexes), edges);
+    }
+
     protected void printPaths(Set<Path<TestVertex, TestEdge>> paths) {
         for (Path p : paths) {
             System.out.println(p);
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.util;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for KryoNamespace serialization with pooled buffers.
+ */
+public class KryoNamespaceTest {
+
+    private final KryoNamespace namespace = KryoNamespace.newBuilder()
+            .register(ArrayList.class, byte[].class)
+            .build();
+
+    /**
+     * Tests round trips of objects of various sizes through the pooled buffers.
+     */
+    @Test
+    public void testRoundTrip() {
+        for (int size : new int[]{0, 10, KryoNamespace.DEFAULT_BUFFER_SIZE * 3,
+                KryoOutputPool.MAX_POOLED_BUFFER_SIZE * 2, 10}) {
+            byte[] payload = new byte[size];
+            Arrays.fill(payload, (byte) size);
+            List<Object> original = new ArrayList<>(Arrays.asList("payload", payload));
+
+            List<Object> copy = namespace.deserialize(namespace.serialize(original));
+            assertThat(copy.get(0), is("payload"));
+            assertArrayEquals((byte[]) original.get(1), (byte[]) copy.get(1));
+        }
+    }
+
+    /**
+     * Tests that the serialized bytes handed to a function match those
+     * produced by the copying serialization.
+     */
+    @Test
+    public void testSerializeToFunction() {
+        String original = "The quick brown fox jumps over the lazy dog";
+        byte[] bytes = namespace.serialize(original);
+
+        byte[] viewed = namespace.serialize(original, buffer -> {
+            assertTrue(buffer.isReadOnly());
+            return toArray(buffer);
+        });
+        assertArrayEquals(bytes, viewed);
+
+        String copy = namespace.serialize(original,
+                buffer -> namespace.deserialize(toArray(buffer)));
+        assertThat(copy, is(original));
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}